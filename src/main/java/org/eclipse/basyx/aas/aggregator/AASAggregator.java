@@ -25,9 +25,9 @@
 package org.eclipse.basyx.aas.aggregator;
 
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
@@ -56,7 +56,11 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
  */
 public class AASAggregator implements IAASAggregator {
 
-	protected Map<String, MultiSubmodelProvider> aasProviderMap = new LinkedHashMap<>();
+	/**
+	 * Concurrent map, so that requests for different AAS do not block each other.
+	 * Updates are atomic per AAS id.
+	 */
+	protected Map<String, MultiSubmodelProvider> aasProviderMap = new ConcurrentHashMap<>();
 
 	protected IAASRegistry registry;
 
@@ -148,14 +152,19 @@ public class AASAggregator implements IAASAggregator {
 
 	@Override
 	public void updateAAS(AssetAdministrationShell aas) {
-		MultiSubmodelProvider oldProvider = (MultiSubmodelProvider) getAASProvider(aas.getIdentification());
-		IAASAPI aasApi = aasApiFactory.create(aas);
-		AASModelProvider contentProvider = new AASModelProvider(aasApi);
-		IConnectorFactory connectorFactory = oldProvider.getConnectorFactory();
-
-		MultiSubmodelProvider updatedProvider = new MultiSubmodelProvider(contentProvider, registry, connectorFactory, aasApiFactory, oldProvider.getSmAggregator());
-
-		aasProviderMap.put(aas.getIdentification().getId(), updatedProvider);
+		// Replace the provider atomically, so that a concurrent delete can not be
+		// reverted by the update
+		MultiSubmodelProvider updatedProvider = aasProviderMap.computeIfPresent(aas.getIdentification().getId(), (id, oldProvider) -> {
+			IAASAPI aasApi = aasApiFactory.create(aas);
+			AASModelProvider contentProvider = new AASModelProvider(aasApi);
+			IConnectorFactory connectorFactory = oldProvider.getConnectorFactory();
+
+			return new MultiSubmodelProvider(contentProvider, registry, connectorFactory, aasApiFactory, oldProvider.getSmAggregator());
+		});
+
+		if (updatedProvider == null) {
+			throw new ResourceNotFoundException("AAS with Id " + aas.getIdentification().getId() + " does not exist");
+		}
 	}
 
 	private MultiSubmodelProvider createMultiSubmodelProvider(AssetAdministrationShell aas) {
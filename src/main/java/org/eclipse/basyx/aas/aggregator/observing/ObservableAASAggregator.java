@@ -70,18 +70,26 @@ public class ObservableAASAggregator extends Observable<IAASAggregatorObserver>
 	@Override
 	public void createAAS(AssetAdministrationShell aas) {
 		aasAggregator.createAAS(aas);
-		observers.stream().forEach(o -> o.aasCreated(aas.getIdentification().getId()));
+		if (observers.isEmpty()) {
+			return;
+		}
+		String aasId = aas.getIdentification().getId();
+		notifyObservers(o -> o.aasCreated(aasId));
 	}
 
 	@Override
 	public void updateAAS(AssetAdministrationShell aas) throws ResourceNotFoundException {
 		aasAggregator.updateAAS(aas);
-		observers.stream().forEach(o -> o.aasUpdated(aas.getIdentification().getId()));
+		if (observers.isEmpty()) {
+			return;
+		}
+		String aasId = aas.getIdentification().getId();
+		notifyObservers(o -> o.aasUpdated(aasId));
 	}
 
 	@Override
 	public void deleteAAS(IIdentifier aasId) {
 		aasAggregator.deleteAAS(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aasId.getId()));
+		notifyObservers(o -> o.aasDeleted(aasId.getId()));
 	}
 }
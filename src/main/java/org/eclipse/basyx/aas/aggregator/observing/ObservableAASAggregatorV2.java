@@ -77,19 +77,19 @@ public class ObservableAASAggregatorV2 extends Observable<IAASAggregatorObserver
 	@Override
 	public void createAAS(AssetAdministrationShell aas) {
 		aasAggregator.createAAS(aas);
-		observers.stream().forEach(o -> o.aasCreated(aas, this.aasServerId));
+		notifyObservers(o -> o.aasCreated(aas, this.aasServerId));
 	}
 
 	@Override
 	public void updateAAS(AssetAdministrationShell aas) throws ResourceNotFoundException {
 		aasAggregator.updateAAS(aas);
-		observers.stream().forEach(o -> o.aasUpdated(aas, this.aasServerId));
+		notifyObservers(o -> o.aasUpdated(aas, this.aasServerId));
 	}
 
 	@Override
 	public void deleteAAS(IIdentifier aasId) {
 		IAssetAdministrationShell aas = aasAggregator.getAAS(aasId);
 		aasAggregator.deleteAAS(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aas, this.aasServerId));
+		notifyObservers(o -> o.aasDeleted(aas, this.aasServerId));
 	}
 }
@@ -39,6 +39,7 @@ import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
 
 /**
  * Connects an IAASAggregator to the VAB
@@ -46,7 +47,7 @@ import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
  * @author conradi
  *
  */
-public class AASAggregatorProvider implements IModelProvider {
+public class AASAggregatorProvider implements IVersionedModelProvider {
 
 	protected IAASAggregator aggregator;
 
@@ -128,6 +129,30 @@ public class AASAggregatorProvider implements IModelProvider {
 		}
 	}
 
+	/**
+	 * Returns the change version for paths within a specific AAS, if the provider
+	 * of the AAS tracks its modifications
+	 */
+	@Override
+	public long getChangeVersion(String path) {
+		try {
+			path = stripPrefix(path);
+			String[] splitted = VABPathTools.splitPath(path);
+			if (splitted.length < 2) {
+				return UNVERSIONED;
+			}
+
+			String id = VABPathTools.decodePathElement(splitted[0]);
+			IModelProvider provider = aggregator.getAASProvider(new Identifier(IdentifierType.CUSTOM, id));
+			if (!(provider instanceof IVersionedModelProvider)) {
+				return UNVERSIONED;
+			}
+			return ((IVersionedModelProvider) provider).getChangeVersion(VABPathTools.skipEntries(path, 1));
+		} catch (ProviderException e) {
+			return UNVERSIONED;
+		}
+	}
+
 	@Override
 	public void setValue(String path, Object newValue) throws ProviderException {
 		path = stripPrefix(path);
@@ -29,10 +29,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,9 +42,10 @@ import java.util.Set;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
 import org.apache.poi.openxml4j.opc.PackagingURIHelper;
@@ -94,6 +93,7 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 	public static final String TEMP_DIRECTORY = "basyx-temp";
 
 	private String aasxPath;
+	private Path aasxFile;
 	private OPCPackage aasxRoot;
 	private InputStream aasxInputStream;
 
@@ -113,15 +113,38 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 		loadAASX();
 	}
 
+	/**
+	 * Opens the .aasx file in file-backed mode. The package is read lazily via
+	 * random access, i.e. parts are only read and inflated when they are
+	 * requested.
+	 * 
+	 * @param aasxFile
+	 *            the .aasx file in the file system
+	 */
+	public AASXToMetamodelConverter(Path aasxFile) {
+		this.aasxFile = aasxFile;
+		this.aasxPath = aasxFile.toString();
+		loadAASX();
+	}
+
 	public AasEnv retrieveAasEnv() throws ParserConfigurationException, SAXException, IOException, InvalidFormatException {
 		if (aasEnv != null) {
 			return aasEnv;
 		}
-		
-		String xmlContent = getXMLResourceString(aasxRoot);
-		XMLToMetamodelConverter converter = new XMLToMetamodelConverter(xmlContent);
-		
-		return converter.parseAasEnv();
+
+		try (InputStream xmlStream = getXMLResourceStream(aasxRoot)) {
+			aasEnv = new XMLToMetamodelConverter(xmlStream).parseAasEnv();
+		}
+
+		return aasEnv;
+	}
+
+	/**
+	 * Returns whether the package is read from a file via random access instead
+	 * of being loaded into memory
+	 */
+	public boolean isFileBacked() {
+		return aasxFile != null;
 	}
 	
 	public InputStream retrieveThumbnail() throws IOException {
@@ -143,6 +166,16 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 		return (Set<T>) bundles;
 	}
 
+	/**
+	 * Opens the content of a file contained in the package. In file-backed mode,
+	 * only the requested entry is read from the .aasx, so File elements can be
+	 * served directly from the package without unzipping it.
+	 * 
+	 * @param path
+	 *            the path of the file inside the package, e.g.
+	 *            "/aasx/Document/docu.pdf"
+	 * @return the content of the file
+	 */
 	public InputStream retrieveFileInputStream(String path) throws InvalidFormatException, IOException {
 		PackagePart filePart = aasxRoot.getPart(PackagingURIHelper.createPartName(path));
 		
@@ -158,7 +191,7 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 	@Override
 	public void close() {
 		try {
-			aasxRoot.close();
+			closePackage();
 		} catch (IOException e) {
 			e.printStackTrace();
 			logger.error("Error clearing the resource OPCPackage");
@@ -174,16 +207,25 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 		}
 	}
 
+	private void closePackage() throws IOException {
+		if (isFileBacked()) {
+			// The package is opened read-only, so it is reverted instead of saved
+			aasxRoot.revert();
+		} else {
+			aasxRoot.close();
+		}
+	}
+
 	/**
-	 * Return the Content of the XML file in the aasx-package as String
+	 * Return the Content of the XML file in the aasx-package as Stream
 	 * 
 	 * @param aasxPackage
 	 *            - the root package of the AASX
-	 * @return Content of XML as String
+	 * @return Content of XML as Stream
 	 * @throws InvalidFormatException
 	 * @throws IOException
 	 */
-	private String getXMLResourceString(OPCPackage aasxPackage) throws InvalidFormatException, IOException {
+	private InputStream getXMLResourceStream(OPCPackage aasxPackage) throws InvalidFormatException, IOException {
 
 		// Get the "/aasx/aasx-origin" Part. It is Relationship source for the
 		// XML-Document
@@ -202,11 +244,7 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 		// Get the PackagePart of the XML-Document
 		PackagePart xmlPart = originPart.getRelatedPart(originRelationships.getRelationship(0));
 
-		// Read the content from the PackagePart
-		InputStream stream = xmlPart.getInputStream();
-		StringWriter writer = new StringWriter();
-		IOUtils.copy(stream, writer, StandardCharsets.UTF_8);
-		return writer.toString();
+		return xmlPart.getInputStream();
 	}
 	
 	private InputStream getThumbnailStream(OPCPackage aasxPackage) throws IOException {
@@ -389,11 +427,21 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 		}
 
 		String targetPath = destDir.toString() + "/" + VABPathTools.getLastElement(filePath);
-		InputStream stream = part.getInputStream();
-		FileUtils.copyInputStreamToFile(stream, new File(targetPath));
+		try (InputStream stream = part.getInputStream()) {
+			FileUtils.copyInputStreamToFile(stream, new File(targetPath));
+		}
 	}
 	
 	private void loadAASX() {
+		if (aasxFile == null && aasxInputStream == null && FileLoaderHelper.isFileSystemFile(aasxPath)) {
+			aasxFile = Paths.get(aasxPath);
+		}
+
+		if (aasxFile != null) {
+			loadFileBackedAASX();
+			return;
+		}
+
 		if (aasxInputStream == null) {
 			try {
 				aasxInputStream = FileLoaderHelper.getInputStream(aasxPath);
@@ -412,4 +460,18 @@ public class AASXToMetamodelConverter implements AutoCloseable {
 			}
 		}
 	}
+
+	/**
+	 * Opens the package read-only directly from the file. In contrast to opening
+	 * it from a stream, the package is not loaded into memory completely.
+	 */
+	private void loadFileBackedAASX() {
+		try {
+			aasxRoot = OPCPackage.open(aasxFile.toFile(), PackageAccess.READ);
+		} catch (InvalidFormatException | InvalidOperationException e) {
+			String message = "Exception occurred while opening the OPC Package " + aasxPath;
+			logger.error(message, e);
+			throw new RuntimeException(message, e);
+		}
+	}
 }
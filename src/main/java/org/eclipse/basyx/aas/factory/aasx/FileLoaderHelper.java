@@ -28,6 +28,10 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,9 +59,27 @@ public class FileLoaderHelper {
 		}
 	}
 
-	private static InputStream getResourceStream(String relativeResourcePath) {
-		ClassLoader classLoader = AASXToMetamodelConverter.class.getClassLoader();
+	/**
+	 * Checks whether the given path refers to a regular file in the file system
+	 * that is not shadowed by a resource of the same name
+	 */
+	public static boolean isFileSystemFile(String aasxFilePath) {
+		if (aasxFilePath == null || getResourceClassLoader().getResource(aasxFilePath) != null) {
+			return false;
+		}
 
-		return classLoader.getResourceAsStream(relativeResourcePath);
+		try {
+			return Files.isRegularFile(Paths.get(aasxFilePath));
+		} catch (InvalidPathException e) {
+			return false;
+		}
+	}
+
+	private static ClassLoader getResourceClassLoader() {
+		return AASXToMetamodelConverter.class.getClassLoader();
+	}
+
+	private static InputStream getResourceStream(String relativeResourcePath) {
+		return getResourceClassLoader().getResourceAsStream(relativeResourcePath);
 	}
 }
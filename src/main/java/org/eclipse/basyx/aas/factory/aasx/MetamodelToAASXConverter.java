@@ -24,18 +24,20 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.factory.aasx;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.StringWriter;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.stream.StreamResult;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
@@ -52,7 +54,7 @@ import org.apache.poi.openxml4j.opc.RelationshipSource;
 import org.apache.poi.openxml4j.opc.TargetMode;
 import org.apache.poi.openxml4j.opc.internal.MemoryPackagePart;
 import org.eclipse.basyx.aas.factory.exception.MultipleThumbnailFoundException;
-import org.eclipse.basyx.aas.factory.xml.MetamodelToXMLConverter;
+import org.eclipse.basyx.aas.factory.xml.MetamodelToXMLStreamConverter;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
 import org.eclipse.basyx.aas.metamodel.map.AasEnv;
@@ -159,7 +161,8 @@ public class MetamodelToAASXConverter {
 	 * @param submodelList
 	 *            the Submodels to be saved in the .aasx
 	 * @param files
-	 *            the files referred to in the Submodels
+	 *            the files referred to in the Submodels; the content of
+	 *            {@link PathFile}s is streamed from the file system
 	 * @param thumbnail
 	 * @param os
 	 *            the OutputStream the resulting .aasx is written to
@@ -175,15 +178,19 @@ public class MetamodelToAASXConverter {
 
 		PackagePart origin = createAASXPart(rootPackage, rootPackage, ORIGIN_PATH, MIME_PLAINTXT, ORIGIN_RELTYPE, ORIGIN_CONTENT.getBytes());
 
-		String xml = convertToXML(aasList, assetList, conceptDescriptionList, submodelList);
+		Path xmlFile = Files.createTempFile("aasenv", ".xml");
+		try {
+			writeXMLToFile(xmlFile, aasList, assetList, conceptDescriptionList, submodelList);
+			PackagePart xmlPart = createAASXPart(rootPackage, origin, XML_PATH, MIME_XML, AASSPEC_RELTYPE, xmlFile);
 
-		PackagePart xmlPart = createAASXPart(rootPackage, origin, XML_PATH, MIME_XML, AASSPEC_RELTYPE, xml.getBytes());
+			storeFilesInAASX(submodelList, files, rootPackage, xmlPart);
 
-		storeFilesInAASX(submodelList, files, rootPackage, xmlPart);
-		
-		addThumbnail(thumbnail, rootPackage);
+			addThumbnail(thumbnail, rootPackage);
 
-		saveAASX(os, rootPackage);
+			saveAASX(os, rootPackage);
+		} finally {
+			Files.deleteIfExists(xmlFile);
+		}
 	}
 	
 	public static void addThumbnail(Thumbnail thumbnail, OPCPackage rootPackage) throws IOException {
@@ -216,7 +223,7 @@ public class MetamodelToAASXConverter {
 
         rootPackage.addRelationship(thumbnailPartName, TargetMode.EXTERNAL, PackageRelationshipTypes.THUMBNAIL, createUniqueID());
         
-        writeDataToPart(thumbnailPart, IOUtils.toByteArray(data));
+        writeDataToPart(thumbnailPart, data);
         
         rootPackage.registerPartAndContentType(thumbnailPart);
     }
@@ -286,7 +293,11 @@ public class MetamodelToAASXConverter {
 		try {
 			InMemoryFile content = findFileByPath(files, filePath);
 			logger.trace("Writing file '" + filePath + "' to .aasx.");
-			createAASXPart(rootPackage, xmlPart, filePath, file.getMimeType(), AASSUPPL_RELTYPE, content.getFileContent());
+			if (content instanceof PathFile) {
+				createAASXPart(rootPackage, xmlPart, filePath, file.getMimeType(), AASSUPPL_RELTYPE, ((PathFile) content).getSource());
+			} else {
+				createAASXPart(rootPackage, xmlPart, filePath, file.getMimeType(), AASSUPPL_RELTYPE, content.getFileContent());
+			}
 		} catch (ResourceNotFoundException e) {
 			// Log that a file is missing and continue building the .aasx
 			logger.warn("Could not add File '" + filePath + "'. It was not contained in given InMemoryFiles.");
@@ -357,21 +368,81 @@ public class MetamodelToAASXConverter {
 	 *         to relate to
 	 */
 	private static PackagePart createAASXPart(OPCPackage root, RelationshipSource relateTo, String path, String mimeType, String relType, byte[] content) {
+		return createAASXPart(root, relateTo, path, mimeType, relType, part -> writeDataToPart(part, content));
+	}
+
+	/**
+	 * Creates a Part (a file in the .aasx) of the .aasx and adds it to the Package
+	 * 
+	 * @param root
+	 *            the OPCPackage
+	 * @param relateTo
+	 *            the Part of the OPC the relationship of the new Part should be
+	 *            added to
+	 * @param path
+	 *            the path inside the .aasx where the new Part should be created
+	 * @param mimeType
+	 *            the mime-type of the file
+	 * @param relType
+	 *            the type of the Relationship
+	 * @param contentWriter
+	 *            writes the data the new part should contain
+	 * @return the created PackagePart; Returned in case it is needed late as a Part
+	 *         to relate to
+	 */
+	private static PackagePart createAASXPart(OPCPackage root, RelationshipSource relateTo, String path, String mimeType, String relType, Consumer<PackagePart> contentWriter) {
 		if (mimeType == null || mimeType.equals("")) {
 			throw new RuntimeException("Could not create AASX Part '" + path + "'. No MIME_TYPE specified.");
 		}
 
-		PackagePartName partName = null;
 		MemoryPackagePart part = null;
 		try {
-			partName = PackagingURIHelper.createPartName(path);
-			part = new MemoryPackagePart(root, partName, mimeType);
+			part = new MemoryPackagePart(root, PackagingURIHelper.createPartName(path), mimeType);
 		} catch (InvalidFormatException e) {
 			// This occurs if the given MIME-Type is not valid according to RFC2046
 			throw new RuntimeException("Could not create AASX Part '" + path + "'", e);
 		}
 		
-		writeDataToPart(part, content);
+		contentWriter.accept(part);
+		return registerAASXPart(root, relateTo, part, relType);
+	}
+
+	/**
+	 * Creates a Part (a file in the .aasx) whose content is streamed from the file
+	 * system when the package is saved and adds it to the Package
+	 * 
+	 * @param root
+	 *            the OPCPackage
+	 * @param relateTo
+	 *            the Part of the OPC the relationship of the new Part should be
+	 *            added to
+	 * @param path
+	 *            the path inside the .aasx where the new Part should be created
+	 * @param mimeType
+	 *            the mime-type of the file
+	 * @param relType
+	 *            the type of the Relationship
+	 * @param source
+	 *            the file containing the data the new part should contain
+	 * @return the created PackagePart
+	 */
+	private static PackagePart createAASXPart(OPCPackage root, RelationshipSource relateTo, String path, String mimeType, String relType, Path source) {
+		if (mimeType == null || mimeType.equals("")) {
+			throw new RuntimeException("Could not create AASX Part '" + path + "'. No MIME_TYPE specified.");
+		}
+
+		PathPackagePart part = null;
+		try {
+			part = new PathPackagePart(root, PackagingURIHelper.createPartName(path), mimeType, source);
+		} catch (InvalidFormatException e) {
+			throw new RuntimeException("Could not create AASX Part '" + path + "'", e);
+		}
+
+		return registerAASXPart(root, relateTo, part, relType);
+	}
+
+	private static PackagePart registerAASXPart(OPCPackage root, RelationshipSource relateTo, PackagePart part, String relType) {
+		PackagePartName partName = part.getPartName();
 		root.registerPartAndContentType(part);
 		// set TargetMode to EXTERNAL to force absolute file paths
 		// this step is necessary for compatibility reasons with AASXPackageExplorer
@@ -398,15 +469,32 @@ public class MetamodelToAASXConverter {
 	}
 
 	/**
-	 * Uses the MetamodelToXMLConverter to generate the XML
+	 * Copies the content of an InputStream to a Part
+	 * 
+	 * @param part
+	 *            the Part to be written to
+	 * @param content
+	 *            the content to be written to the part
 	 */
-	private static String convertToXML(Collection<IAssetAdministrationShell> aasList, Collection<IAsset> assetList, Collection<IConceptDescription> conceptDescriptionList, Collection<ISubmodel> submodelList)
-			throws TransformerException, ParserConfigurationException {
-
-		StringWriter writer = new StringWriter();
-		MetamodelToXMLConverter.convertToXML(aasList, assetList, conceptDescriptionList, submodelList, new StreamResult(writer));
+	private static void writeDataToPart(PackagePart part, InputStream content) {
+		try (OutputStream ostream = part.getOutputStream();) {
+			IOUtils.copy(content, ostream);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write content to AASX Part '" + part.getPartName().getName() + "'", e);
+		}
+	}
 
-		return writer.toString();
+	/**
+	 * Uses the MetamodelToXMLStreamConverter to write the XML to a temporary file.
+	 * The file is copied into the .aasx when the package is saved, so that the
+	 * serialized environment is never held in memory as a whole.
+	 */
+	private static void writeXMLToFile(Path target, Collection<IAssetAdministrationShell> aasList, Collection<IAsset> assetList, Collection<IConceptDescription> conceptDescriptionList, Collection<ISubmodel> submodelList) {
+		try (OutputStream ostream = new BufferedOutputStream(Files.newOutputStream(target))) {
+			MetamodelToXMLStreamConverter.convertToXML(aasList, assetList, conceptDescriptionList, submodelList, ostream);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write the AAS XML to '" + target + "'", e);
+		}
 	}
 
 	/**
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.factory.aasx;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * File whose content is located in the file system. When building an .aasx,
+ * its content is streamed from the given source into the package instead of
+ * being held in memory.
+ * 
+ * @author agent
+ *
+ */
+public class PathFile extends InMemoryFile {
+
+	private Path source;
+
+	/**
+	 * 
+	 * @param source
+	 *            the file in the file system containing the content
+	 * @param path
+	 *            the path of the file inside the .aasx
+	 */
+	public PathFile(Path source, String path) {
+		super(null, path);
+		this.source = source;
+	}
+
+	public Path getSource() {
+		return source;
+	}
+
+	/**
+	 * Reads the complete content of the source file. Prefer streaming via
+	 * {@link #getSource()} for large files.
+	 */
+	@Override
+	public byte[] getFileContent() {
+		try {
+			return Files.readAllBytes(source);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read file '" + source + "'", e);
+		}
+	}
+}
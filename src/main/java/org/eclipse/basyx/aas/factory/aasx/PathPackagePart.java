@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.factory.aasx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.openxml4j.opc.internal.marshallers.ZipPartMarshaller;
+
+/**
+ * Read-only PackagePart backed by a file in the file system. The content is
+ * only opened when the package is saved and is then copied directly into the
+ * zip stream, so large attachments are never buffered in memory.
+ * 
+ * @author agent
+ *
+ */
+class PathPackagePart extends PackagePart {
+
+	private Path source;
+
+	public PathPackagePart(OPCPackage pack, PackagePartName partName, String contentType, Path source) throws InvalidFormatException {
+		super(pack, partName, contentType);
+		this.source = source;
+	}
+
+	@Override
+	protected InputStream getInputStreamImpl() throws IOException {
+		return Files.newInputStream(source);
+	}
+
+	@Override
+	protected OutputStream getOutputStreamImpl() {
+		throw new UnsupportedOperationException("PackagePart '" + getPartName().getName() + "' is backed by '" + source + "' and can not be written to");
+	}
+
+	@Override
+	public long getSize() {
+		try {
+			return Files.size(source);
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	@Override
+	public boolean save(OutputStream zos) throws OpenXML4JException {
+		return new ZipPartMarshaller().marshall(this, zos);
+	}
+
+	@Override
+	public boolean load(InputStream ios) {
+		throw new UnsupportedOperationException("PackagePart '" + getPartName().getName() + "' is backed by '" + source + "' and can not be loaded");
+	}
+
+	@Override
+	public void close() {
+		// Nothing to close, the source is only opened on demand
+	}
+
+	@Override
+	public void flush() {
+		// Nothing to flush, the content is read from the source on save
+	}
+}
@@ -49,7 +49,8 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /**
- * This class can be used to build XML from Metamodel Objects
+ * This class can be used to build XML from Metamodel Objects. For large
+ * environments, see {@link MetamodelToXMLStreamConverter}.
  * 
  * @author conradi
  *
@@ -57,6 +58,11 @@ import org.w3c.dom.Element;
 public class MetamodelToXMLConverter {
 	public static final String AASENV = "aas:aasenv";
 
+	static final String AAS_NAMESPACE = "http://www.admin-shell.io/aas/2/0";
+	static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+	static final String IEC61360_NAMESPACE = "http://www.admin-shell.io/IEC61360/2/0";
+	static final String SCHEMA_LOCATION = "http://www.admin-shell.io/aas/2/0 AAS.xsd http://www.admin-shell.io/IEC61360/2/0 IEC61360.xsd";
+
 	/**
 	 * Builds the XML for the given aasEnv
 	 * 
@@ -95,10 +101,10 @@ public class MetamodelToXMLConverter {
 		Element root = document.createElement(AASENV);
 
 		// creating the Header information
-		root.setAttribute("xmlns:aas", "http://www.admin-shell.io/aas/2/0");
-		root.setAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
-		root.setAttribute("xmlns:IEC61360", "http://www.admin-shell.io/IEC61360/2/0");
-		root.setAttribute("xsi:schemaLocation", "http://www.admin-shell.io/aas/2/0 AAS.xsd http://www.admin-shell.io/IEC61360/2/0 IEC61360.xsd");
+		root.setAttribute("xmlns:aas", AAS_NAMESPACE);
+		root.setAttribute("xmlns:xsi", XSI_NAMESPACE);
+		root.setAttribute("xmlns:IEC61360", IEC61360_NAMESPACE);
+		root.setAttribute("xsi:schemaLocation", SCHEMA_LOCATION);
 		document.appendChild(root);
 
 		Element buildAssetadminsroot = AssetAdministrationShellXMLConverter.buildAssetAdministrationShellsXML(document, aasList);
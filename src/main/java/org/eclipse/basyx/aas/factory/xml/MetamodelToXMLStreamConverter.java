@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.factory.xml;
+
+import java.io.OutputStream;
+import java.util.Collection;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.basyx.aas.factory.xml.api.parts.AssetXMLConverter;
+import org.eclipse.basyx.aas.factory.xml.converters.AssetAdministrationShellXMLConverter;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
+import org.eclipse.basyx.aas.metamodel.map.AasEnv;
+import org.eclipse.basyx.submodel.factory.xml.api.parts.ConceptDescriptionXMLConverter;
+import org.eclipse.basyx.submodel.factory.xml.converters.SubmodelXMLConverter;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.parts.IConceptDescription;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Writes the XML of Metamodel Objects directly to a stream. In contrast to
+ * {@link MetamodelToXMLConverter}, no DOM of the complete environment is
+ * created. Each submodel is converted on its own and written as soon as it has
+ * been converted, so that only a single submodel has to be held in memory as
+ * XML at once. The resulting XML is equivalent to the one of
+ * {@link MetamodelToXMLConverter}.
+ * 
+ * @author agent
+ *
+ */
+public class MetamodelToXMLStreamConverter {
+	private static final String INDENT = "    ";
+	private static final String ENCODING = "UTF-8";
+
+	/**
+	 * Writes the XML for the given aasEnv as UTF-8
+	 * 
+	 * @param aasEnv
+	 * @param outputStream
+	 *            the stream the XML is written to. It is not closed.
+	 * @throws XMLStreamException
+	 * @throws ParserConfigurationException
+	 */
+	public static void convertToXML(AasEnv aasEnv, OutputStream outputStream) throws XMLStreamException, ParserConfigurationException {
+		convertToXML(aasEnv.getAssetAdministrationShells(), aasEnv.getAssets(), aasEnv.getConceptDescriptions(), aasEnv.getSubmodels(), outputStream);
+	}
+
+	/**
+	 * Writes the XML for the given metamodel Objects as UTF-8
+	 * 
+	 * @param aasList
+	 *            the AASs to build the XML for
+	 * @param assetList
+	 *            the Assets to build the XML for
+	 * @param conceptDescriptionList
+	 *            the ConceptDescriptions to build the XML for
+	 * @param submodelList
+	 *            the Submodels to build the XML for
+	 * @param outputStream
+	 *            the stream the XML is written to. It is not closed.
+	 * @throws XMLStreamException
+	 * @throws ParserConfigurationException
+	 */
+	public static void convertToXML(Collection<IAssetAdministrationShell> aasList, Collection<IAsset> assetList, Collection<IConceptDescription> conceptDescriptionList, Collection<ISubmodel> submodelList, OutputStream outputStream)
+			throws XMLStreamException, ParserConfigurationException {
+		DocumentBuilderFactory documentFactory = DocumentBuilderFactory.newInstance();
+		XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, ENCODING);
+
+		writer.writeStartDocument(ENCODING, "1.0");
+		writer.writeCharacters("\n");
+		writer.writeStartElement(MetamodelToXMLConverter.AASENV);
+		writer.writeNamespace("aas", MetamodelToXMLConverter.AAS_NAMESPACE);
+		writer.writeNamespace("xsi", MetamodelToXMLConverter.XSI_NAMESPACE);
+		writer.writeNamespace("IEC61360", MetamodelToXMLConverter.IEC61360_NAMESPACE);
+		writer.writeAttribute("xsi:schemaLocation", MetamodelToXMLConverter.SCHEMA_LOCATION);
+
+		// The sections are small compared to the submodels, thus they are converted
+		// as a whole
+		Document document = documentFactory.newDocumentBuilder().newDocument();
+		writeElement(writer, AssetAdministrationShellXMLConverter.buildAssetAdministrationShellsXML(document, aasList), 1);
+		writeElement(writer, AssetXMLConverter.buildAssetsXML(document, assetList), 1);
+
+		indent(writer, 1);
+		if (submodelList.isEmpty()) {
+			writer.writeEmptyElement(SubmodelXMLConverter.SUBMODELS);
+		} else {
+			writer.writeStartElement(SubmodelXMLConverter.SUBMODELS);
+			for (ISubmodel submodel : submodelList) {
+				// A new document for each submodel, so that the previous one can be freed
+				Document submodelDocument = documentFactory.newDocumentBuilder().newDocument();
+				writeElement(writer, SubmodelXMLConverter.buildSubmodelXML(submodelDocument, submodel), 2);
+			}
+			indent(writer, 1);
+			writer.writeEndElement();
+		}
+
+		writeElement(writer, ConceptDescriptionXMLConverter.buildConceptDescriptionsXML(document, conceptDescriptionList), 1);
+
+		indent(writer, 0);
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.flush();
+		writer.close();
+	}
+
+	/**
+	 * Writes a DOM element and its children. Elements only containing text are
+	 * written in a single line, all other elements are indented.
+	 */
+	private static void writeElement(XMLStreamWriter writer, Element element, int depth) throws XMLStreamException {
+		indent(writer, depth);
+
+		NodeList children = element.getChildNodes();
+		if (children.getLength() == 0) {
+			writer.writeEmptyElement(element.getTagName());
+			writeAttributes(writer, element);
+			return;
+		}
+
+		writer.writeStartElement(element.getTagName());
+		writeAttributes(writer, element);
+
+		boolean hasChildElements = false;
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			switch (child.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				hasChildElements = true;
+				writeElement(writer, (Element) child, depth + 1);
+				break;
+			case Node.TEXT_NODE:
+			case Node.CDATA_SECTION_NODE:
+				writer.writeCharacters(child.getNodeValue());
+				break;
+			default:
+				break;
+			}
+		}
+
+		if (hasChildElements) {
+			indent(writer, depth);
+		}
+		writer.writeEndElement();
+	}
+
+	private static void writeAttributes(XMLStreamWriter writer, Element element) throws XMLStreamException {
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node attribute = attributes.item(i);
+			writer.writeAttribute(attribute.getNodeName(), attribute.getNodeValue());
+		}
+	}
+
+	private static void indent(XMLStreamWriter writer, int depth) throws XMLStreamException {
+		writer.writeCharacters("\n");
+		for (int i = 0; i < depth; i++) {
+			writer.writeCharacters(INDENT);
+		}
+	}
+}
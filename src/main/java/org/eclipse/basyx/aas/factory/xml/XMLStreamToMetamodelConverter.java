@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.factory.xml;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.basyx.aas.factory.xml.api.parts.AssetXMLConverter;
+import org.eclipse.basyx.aas.factory.xml.converters.AssetAdministrationShellXMLConverter;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
+import org.eclipse.basyx.aas.metamodel.map.AasEnv;
+import org.eclipse.basyx.submodel.factory.xml.api.parts.ConceptDescriptionXMLConverter;
+import org.eclipse.basyx.submodel.factory.xml.converters.SubmodelXMLConverter;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.parts.IConceptDescription;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.factory.xml.XmlStreamParser;
+
+/**
+ * Parses XML to Metamodel Objects while reading the XML as a stream. In
+ * contrast to {@link XMLToMetamodelConverter}, the document is never held in
+ * memory as a whole. Each submodel is converted as soon as it has been read
+ * and can be handed to a consumer, e.g. for adding it to an aggregator.
+ * Thus, only a single submodel has to be held in memory at once. <br>
+ * Shells, assets and concept descriptions are converted after the document
+ * has been read, since shells refer to assets and concept descriptions that
+ * may follow them in the document.
+ * 
+ * @author agent
+ *
+ */
+public class XMLStreamToMetamodelConverter {
+	private static final XMLInputFactory INPUT_FACTORY = XmlStreamParser.createInputFactory();
+
+	private InputStream xmlStream;
+	private Reader xmlReader;
+
+	/**
+	 * Initializes the Parser with XML given as a stream. The stream is read when
+	 * parsing, but not closed.
+	 * 
+	 * @param xmlStream
+	 */
+	public XMLStreamToMetamodelConverter(InputStream xmlStream) {
+		this.xmlStream = xmlStream;
+	}
+
+	/**
+	 * Initializes the Parser with XML given as a reader. The reader is read when
+	 * parsing, but not closed.
+	 * 
+	 * @param xmlReader
+	 */
+	public XMLStreamToMetamodelConverter(Reader xmlReader) {
+		this.xmlReader = xmlReader;
+	}
+
+	/**
+	 * Parses the AasEnv from the XML. Can only be called once, since the XML is
+	 * consumed.
+	 * 
+	 * @return the AasEnv parsed from the XML
+	 * @throws XMLStreamException
+	 */
+	public AasEnv parseAasEnv() throws XMLStreamException {
+		List<ISubmodel> submodels = new ArrayList<>();
+		return parse(submodels::add, submodels);
+	}
+
+	/**
+	 * Parses the XML and passes each submodel to the consumer as soon as it has
+	 * been parsed. Can only be called once, since the XML is consumed.
+	 * 
+	 * @param submodelConsumer
+	 *            is called for each submodel in document order
+	 * @return the AasEnv parsed from the XML without the submodels
+	 * @throws XMLStreamException
+	 */
+	public AasEnv parseAasEnv(Consumer<Submodel> submodelConsumer) throws XMLStreamException {
+		return parse(submodelConsumer, Collections.emptyList());
+	}
+
+	/**
+	 * @param submodels
+	 *            the submodels the returned AasEnv is created with. They are only
+	 *            read after the document has been parsed
+	 */
+	private AasEnv parse(Consumer<Submodel> submodelConsumer, List<ISubmodel> submodels) throws XMLStreamException {
+		XMLStreamReader reader = createReader();
+
+		Map<String, Object> xmlAASs = null;
+		Map<String, Object> xmlAssets = null;
+		Map<String, Object> xmlConceptDescriptions = null;
+		try {
+			// Move to <aas:aasenv>
+			if (!XmlStreamParser.nextStartElement(reader)) {
+				throw new XMLStreamException("The XML does not contain an environment");
+			}
+
+			while (XmlStreamParser.nextStartElement(reader)) {
+				String name = XmlStreamParser.getQualifiedName(reader);
+				if (name.equals(SubmodelXMLConverter.SUBMODELS)) {
+					parseSubmodels(reader, submodelConsumer);
+				} else if (name.equals(AssetAdministrationShellXMLConverter.ASSET_ADMINISTRATION_SHELLS)) {
+					xmlAASs = asMap(XmlStreamParser.readElement(reader));
+				} else if (name.equals(AssetXMLConverter.ASSETS)) {
+					xmlAssets = asMap(XmlStreamParser.readElement(reader));
+				} else if (name.equals(ConceptDescriptionXMLConverter.CONCEPT_DESCRIPTIONS)) {
+					xmlConceptDescriptions = asMap(XmlStreamParser.readElement(reader));
+				} else {
+					XmlStreamParser.skipElement(reader);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+
+		List<IConceptDescription> conceptDescriptions = ConceptDescriptionXMLConverter.parseConceptDescriptions(xmlConceptDescriptions);
+		List<IAsset> assets = xmlAssets == null ? new ArrayList<>() : AssetXMLConverter.parseAssets(xmlAssets);
+		List<IAssetAdministrationShell> shells = AssetAdministrationShellXMLConverter.parseAssetAdministrationShells(xmlAASs, conceptDescriptions, assets);
+
+		return new AasEnv(shells, assets, conceptDescriptions, submodels);
+	}
+
+	private XMLStreamReader createReader() throws XMLStreamException {
+		if (xmlStream != null) {
+			return INPUT_FACTORY.createXMLStreamReader(xmlStream);
+		} else {
+			return INPUT_FACTORY.createXMLStreamReader(xmlReader);
+		}
+	}
+
+	/**
+	 * Reads the children of &lt;aas:submodels&gt; one after another
+	 */
+	private void parseSubmodels(XMLStreamReader reader, Consumer<Submodel> submodelConsumer) throws XMLStreamException {
+		while (XmlStreamParser.nextStartElement(reader)) {
+			if (!XmlStreamParser.getQualifiedName(reader).equals(SubmodelXMLConverter.SUBMODEL)) {
+				XmlStreamParser.skipElement(reader);
+				continue;
+			}
+
+			Object xmlSubmodel = XmlStreamParser.readElement(reader);
+			if (xmlSubmodel instanceof Map<?, ?>) {
+				submodelConsumer.accept(SubmodelXMLConverter.parseSubmodel(asMap(xmlSubmodel)));
+			}
+		}
+	}
+
+	/**
+	 * Empty elements are represented as empty Maps, elements only containing text
+	 * as String. The latter are treated as empty, too.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asMap(Object xmlObject) {
+		if (xmlObject instanceof Map<?, ?>) {
+			return (Map<String, Object>) xmlObject;
+		}
+		return Collections.emptyMap();
+	}
+}
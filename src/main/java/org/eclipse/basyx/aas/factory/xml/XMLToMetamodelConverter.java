@@ -25,27 +25,24 @@
 package org.eclipse.basyx.aas.factory.xml;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
-import org.eclipse.basyx.aas.factory.xml.api.parts.AssetXMLConverter;
-import org.eclipse.basyx.aas.factory.xml.converters.AssetAdministrationShellXMLConverter;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
 import org.eclipse.basyx.aas.metamodel.map.AasEnv;
-import org.eclipse.basyx.submodel.factory.xml.api.parts.ConceptDescriptionXMLConverter;
-import org.eclipse.basyx.submodel.factory.xml.converters.SubmodelXMLConverter;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.parts.IConceptDescription;
-import org.eclipse.basyx.vab.factory.xml.XmlParser;
 import org.xml.sax.SAXException;
 
 /**
- * This class can be used to parse XML to Metamodel Objects
+ * This class can be used to parse XML to Metamodel Objects. The XML is read
+ * using {@link XMLStreamToMetamodelConverter}.
  * 
  * @author conradi
  *
@@ -63,26 +60,28 @@ public class XMLToMetamodelConverter {
 	 * @throws SAXException
 	 * @throws IOException
 	 */
-	@SuppressWarnings("unchecked")
 	public XMLToMetamodelConverter(String xmlContent) throws ParserConfigurationException, SAXException, IOException {
-		Map<String, Object> root = new LinkedHashMap<>();
-		root.putAll((Map<? extends String, ? extends Object>) XmlParser.buildXmlMap(xmlContent).get(MetamodelToXMLConverter.AASENV));
-
-		Map<String, Object> xmlAASs = (Map<String, Object>) root.get(AssetAdministrationShellXMLConverter.ASSET_ADMINISTRATION_SHELLS);
-
-		Map<String, Object> xmlConceptDescriptions = (Map<String, Object>) root.get(ConceptDescriptionXMLConverter.CONCEPT_DESCRIPTIONS);
-
-		List<IConceptDescription> conceptDescriptions = ConceptDescriptionXMLConverter.parseConceptDescriptions(xmlConceptDescriptions);
-		
-		Map<String, Object> xmlAssets = (Map<String, Object>) root.get(AssetXMLConverter.ASSETS);
-		List<IAsset> assets = AssetXMLConverter.parseAssets(xmlAssets);
-
-		List<IAssetAdministrationShell> shells = AssetAdministrationShellXMLConverter.parseAssetAdministrationShells(xmlAASs, conceptDescriptions, assets);
+		this(new XMLStreamToMetamodelConverter(new StringReader(xmlContent)));
+	}
 
-		Map<String, Object> xmlSubmodels = (Map<String, Object>) root.get(SubmodelXMLConverter.SUBMODELS);
-		List<ISubmodel> submodels = SubmodelXMLConverter.parseSubmodels(xmlSubmodels);
+	/**
+	 * Initializes the Parser with XML given as a stream. The stream is read
+	 * completely, but not closed.
+	 * 
+	 * @param xmlStream
+	 *            the XML content to be parsed
+	 * @throws SAXException
+	 */
+	public XMLToMetamodelConverter(InputStream xmlStream) throws SAXException {
+		this(new XMLStreamToMetamodelConverter(xmlStream));
+	}
 
-		aasEnv = new AasEnv(shells, assets, conceptDescriptions, submodels);
+	private XMLToMetamodelConverter(XMLStreamToMetamodelConverter streamConverter) throws SAXException {
+		try {
+			aasEnv = streamConverter.parseAasEnv();
+		} catch (XMLStreamException e) {
+			throw new SAXException(e);
+		}
 	}
 
 	/**
@@ -24,12 +24,12 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.manager;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.aggregator.AASAggregatorAPIHelper;
 import org.eclipse.basyx.aas.aggregator.proxy.AASAggregatorProxy;
@@ -52,6 +52,7 @@ import org.eclipse.basyx.vab.factory.java.ModelProxyFactory;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.api.ConcurrentRemoteRetriever;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
@@ -67,6 +68,7 @@ public class ConnectedAssetAdministrationShellManager implements IAssetAdministr
 	protected IAASRegistry aasDirectory;
 	protected IConnectorFactory connectorFactory;
 	protected ModelProxyFactory proxyFactory;
+	protected ConcurrentRemoteRetriever remoteRetriever = ConcurrentRemoteRetriever.getDefault();
 
 	/**
 	 * Creates a manager assuming an HTTP connection
@@ -87,42 +89,58 @@ public class ConnectedAssetAdministrationShellManager implements IAssetAdministr
 		this.proxyFactory = new ModelProxyFactory(provider);
 	}
 
+	/**
+	 * Sets the retriever used to connect to several submodels or AASs
+	 * concurrently
+	 * 
+	 * @param remoteRetriever
+	 */
+	public void setRemoteRetriever(ConcurrentRemoteRetriever remoteRetriever) {
+		this.remoteRetriever = remoteRetriever;
+	}
+
+	public ConcurrentRemoteRetriever getRemoteRetriever() {
+		return remoteRetriever;
+	}
+
 	@Override
 	public ISubmodel retrieveSubmodel(IIdentifier aasId, IIdentifier smId) {
-		VABElementProxy proxy = getSubmodelProxyFromId(aasId, smId);
-		return new ConnectedSubmodel(proxy);
+		return connectToSubmodel(aasDirectory.lookupSubmodel(aasId, smId));
 	}
 
 	@Override
 	public ConnectedAssetAdministrationShell retrieveAAS(IIdentifier aasId) {
-		VABElementProxy proxy = getAASProxyFromId(aasId);
-		return new ConnectedAssetAdministrationShell(proxy);
+		return connectToAAS(aasDirectory.lookupAAS(aasId));
 	}
 
+	/**
+	 * Connects to all submodels of an AAS concurrently. Submodels whose retrieval
+	 * failed or timed out are omitted and only logged, thus the result can be
+	 * partial. Use {@link #getRemoteRetriever()} directly to get the failures.
+	 */
 	@Override
 	public Map<String, ISubmodel> retrieveSubmodels(IIdentifier aasId) {
 		AASDescriptor aasDesc = aasDirectory.lookupAAS(aasId);
 		Collection<SubmodelDescriptor> smDescriptors = aasDesc.getSubmodelDescriptors();
+		Map<SubmodelDescriptor, ConnectedSubmodel> connected = remoteRetriever.retrieve(smDescriptors, SubmodelDescriptor::getFirstEndpoint, this::connectToSubmodel).getValues();
+
 		Map<String, ISubmodel> submodels = new LinkedHashMap<>();
-		for (SubmodelDescriptor smDesc : smDescriptors) {
-			String smIdShort = smDesc.getIdShort();
-			ISubmodel connectedSM = retrieveSubmodel(aasDesc.getIdentifier(), smDesc.getIdentifier());
-			submodels.put(smIdShort, connectedSM);
-		}
-		
+		connected.forEach((smDesc, connectedSM) -> submodels.put(smDesc.getIdShort(), connectedSM));
 		return submodels;
 	}
 
 	/**
 	 * Retrieves all AASs registered. This can take a long time if many AASs are
-	 * present! Use with caution!
+	 * present! Use with caution! <br>
+	 * The AASs are connected concurrently. AASs whose retrieval failed or timed
+	 * out are omitted and only logged, thus the result can be partial.
 	 * 
 	 * @return all AASs registered
 	 */
 	@Override
 	public Collection<IAssetAdministrationShell> retrieveAASAll() {
 		List<AASDescriptor> aasDescriptors = aasDirectory.lookupAll();
-		return aasDescriptors.stream().map(d -> retrieveAAS(d.getIdentifier())).collect(Collectors.toList());
+		return new ArrayList<>(remoteRetriever.retrieve(aasDescriptors, AASDescriptor::getFirstEndpoint, this::connectToAAS).getValues().values());
 	}
 
 	@Override
@@ -187,26 +205,22 @@ public class ConnectedAssetAdministrationShellManager implements IAssetAdministr
 		aasDirectory.register(new AASDescriptor(aas, combinedEndpoint));
 	}
 	
-	private VABElementProxy getAASProxyFromId(IIdentifier aasId) {
-		AASDescriptor aasDescriptor = aasDirectory.lookupAAS(aasId);
-		
+	private ConnectedAssetAdministrationShell connectToAAS(AASDescriptor aasDescriptor) {
 		Optional<Map<String, Object>> optionalAasDescriptor = getWorkingAasEndpoint(aasDescriptor.getEndpoints());
 		
 		if (!optionalAasDescriptor.isPresent())
-			throw new ResourceNotFoundException("The resource with id : " + aasId + " could not be found!");
+			throw new ResourceNotFoundException("The resource with id : " + aasDescriptor.getIdentifier() + " could not be found!");
 		
-		return proxyFactory.createProxy((String) optionalAasDescriptor.get().get(AssetAdministrationShell.ADDRESS));
+		return new ConnectedAssetAdministrationShell(createProxy(optionalAasDescriptor.get()));
 	}
 	
-	private VABElementProxy getSubmodelProxyFromId(IIdentifier aasId, IIdentifier smId) {
-		SubmodelDescriptor smDescriptor = aasDirectory.lookupSubmodel(aasId, smId);
-
+	private ConnectedSubmodel connectToSubmodel(SubmodelDescriptor smDescriptor) {
 		Optional<Map<String, Object>> optionalSubmodelDescriptor = getWorkingSubmodelEndpoint(smDescriptor.getEndpoints());
 		
 		if (!optionalSubmodelDescriptor.isPresent())
-			throw new ResourceNotFoundException("The resource with id : " + aasId + " could not be found!");
+			throw new ResourceNotFoundException("The resource with id : " + smDescriptor.getIdentifier() + " could not be found!");
 
-		return proxyFactory.createProxy((String) optionalSubmodelDescriptor.get().get(AssetAdministrationShell.ADDRESS));
+		return new ConnectedSubmodel(createProxy(optionalSubmodelDescriptor.get()));
 	}
 
 	private Optional<Map<String, Object>> getWorkingAasEndpoint(Collection<Map<String, Object>> endpoints) {
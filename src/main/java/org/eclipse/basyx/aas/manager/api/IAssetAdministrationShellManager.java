@@ -47,7 +47,10 @@ public interface IAssetAdministrationShellManager {
 	public IAssetAdministrationShell retrieveAAS(IIdentifier aasId) throws Exception;
 
 	/**
-	 * Retrieve all local AAS from the technology layer
+	 * Retrieve all local AAS from the technology layer <br>
+	 * Implementations may omit AAS that could not be retrieved, e.g. because their
+	 * endpoint is unreachable or did not respond in time, so the result can be
+	 * partial.
 	 */
 	public Collection<IAssetAdministrationShell> retrieveAASAll();
 
@@ -84,7 +87,10 @@ public interface IAssetAdministrationShellManager {
 	void deleteSubmodel(IIdentifier aasId, IIdentifier submodelId);
 
 	/**
-	 * Retrieves all submodels in a specific AAS
+	 * Retrieves all submodels in a specific AAS <br>
+	 * Implementations may omit submodels that could not be retrieved, e.g. because
+	 * their endpoint is unreachable or did not respond in time, so the result can
+	 * be partial.
 	 */
 	Map<String, ISubmodel> retrieveSubmodels(IIdentifier aasId);
 }
@@ -172,6 +172,8 @@ public class ConnectedAssetAdministrationShell extends ConnectedElement implemen
 		Map<String, Object> convertedMap = SubmodelElementMapCollectionConverter.smToMap(subModel);
 		String accessPath = VABPathTools.concatenatePaths(AssetAdministrationShell.SUBMODELS, subModel.getIdShort());
 		getProxy().setValue(accessPath, convertedMap);
+		invalidateSharedCache(VABPathTools.concatenatePaths(accessPath, SubmodelProvider.SUBMODEL));
+		invalidateSharedCache();
 	}
 
 	@Override
@@ -231,6 +233,8 @@ public class ConnectedAssetAdministrationShell extends ConnectedElement implemen
 
 		String path = VABPathTools.concatenatePaths(AssetAdministrationShell.SUBMODELS, sm.getIdShort());
 		getProxy().deleteValue(path);
+		invalidateSharedCache(VABPathTools.concatenatePaths(path, SubmodelProvider.SUBMODEL));
+		invalidateSharedCache();
 	}
 
 	@Override
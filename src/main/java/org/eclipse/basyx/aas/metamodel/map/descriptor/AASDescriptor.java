@@ -24,8 +24,10 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.metamodel.map.descriptor;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -116,10 +118,10 @@ public class AASDescriptor extends ModelDescriptor {
 	/**
 	 * Add a sub model descriptor
 	 */
-	@SuppressWarnings("unchecked")
 	public AASDescriptor addSubmodelDescriptor(SubmodelDescriptor desc) {
-		// Sub model descriptors are stored in a list
-		Collection<Map<String, Object>> submodelDescriptors = (Collection<Map<String, Object>>) get(AssetAdministrationShell.SUBMODELS);
+		// Sub model descriptors are stored in a list, which is replaced by a modified
+		// copy
+		Collection<Object> submodelDescriptors = copySubmodelDescriptorCollection();
 
 		// Add new sub model descriptor to list
 		submodelDescriptors.add(desc);
@@ -129,25 +131,43 @@ public class AASDescriptor extends ModelDescriptor {
 		return this;
 	}
 
-	@SuppressWarnings("unchecked")
 	public void removeSubmodelDescriptor(String idShort) {
 		Optional<SubmodelDescriptor> toRemove = getSubmodelDescriptors().stream().filter(x -> x.getIdShort().equals(idShort)).findAny();
 
 		// TODO: Exception in else case
 		if (toRemove.isPresent()) {
-			// Don't use getSubmodelDescriptors here since it returns a copy
-			((Collection<Object>) get(AssetAdministrationShell.SUBMODELS)).remove(toRemove.get());
+			removeFromSubmodelDescriptorCollection(toRemove.get());
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	public void removeSubmodelDescriptor(IIdentifier id) {
 		Optional<SubmodelDescriptor> toRemove = getSubmodelDescriptors().stream().filter(x -> x.getIdentifier().getId().equals(id.getId())).findAny();
 
 		// TODO: Exception in else case
 		if (toRemove.isPresent()) {
-			// Don't use getSubmodelDescriptors here since it returns a copy
-			((Collection<Object>) get(AssetAdministrationShell.SUBMODELS)).remove(toRemove.get());
+			removeFromSubmodelDescriptorCollection(toRemove.get());
+		}
+	}
+
+	private void removeFromSubmodelDescriptorCollection(SubmodelDescriptor toRemove) {
+		// Don't use getSubmodelDescriptors here since it returns a copy
+		Collection<Object> submodelDescriptors = copySubmodelDescriptorCollection();
+		submodelDescriptors.remove(toRemove);
+		put(AssetAdministrationShell.SUBMODELS, submodelDescriptors);
+	}
+
+	/**
+	 * The collection of submodel descriptors is never modified in place. Instead,
+	 * a modified copy replaces it, so that registries can hand out descriptors to
+	 * concurrent readers while submodels are registered.
+	 */
+	@SuppressWarnings("unchecked")
+	private Collection<Object> copySubmodelDescriptorCollection() {
+		Collection<Object> submodelDescriptors = (Collection<Object>) get(AssetAdministrationShell.SUBMODELS);
+		if (submodelDescriptors instanceof List<?>) {
+			return new ArrayList<>(submodelDescriptors);
+		} else {
+			return new HashSet<>(submodelDescriptors);
 		}
 	}
 
@@ -26,6 +26,7 @@
 
 package org.eclipse.basyx.aas.registration;
 
+import org.eclipse.basyx.aas.registration.api.RegistryPagination;
 import org.eclipse.basyx.aas.registration.restapi.AASRegistryModelProvider;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
@@ -48,6 +49,17 @@ public class AASRegistryAPIHelper {
 		return AASRegistryModelProvider.PREFIX;
 	}
 
+	/**
+	 * Retrieves the access path for a page of all AAS
+	 * 
+	 * @param offset
+	 * @param limit
+	 * @return
+	 */
+	public static String getRegistryPath(int offset, int limit) {
+		return getRegistryPath() + "?" + RegistryPagination.OFFSET + "=" + offset + "&" + RegistryPagination.LIMIT + "=" + limit;
+	}
+
 	/**
 	 * Retrieves an access path for an AAS
 	 * 
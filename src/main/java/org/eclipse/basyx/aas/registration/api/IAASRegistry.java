@@ -71,6 +71,20 @@ public interface IAASRegistry {
 	 */
 	public List<AASDescriptor> lookupAll() throws ProviderException;
 
+	/**
+	 * Retrieve a page of all registered AAS
+	 *
+	 * @param offset
+	 *            index of the first AAS descriptor of the page
+	 * @param limit
+	 *            maximum number of AAS descriptors of the page
+	 * @return the AAS descriptors [offset, offset + limit) of {@link #lookupAll()}
+	 * @throws ProviderException
+	 */
+	public default List<AASDescriptor> lookupAll(int offset, int limit) throws ProviderException {
+		return RegistryPagination.getPage(lookupAll(), offset, limit);
+	}
+
 	/**
 	 * Retrieves all SubmodelDescriptors of submodels of an AAS
 	 * 
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.api;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+
+/**
+ * Helper for paginated registry lookups. A page is described by the index of
+ * its first element (offset) and the maximum number of elements (limit).
+ * 
+ * @author agent
+ *
+ */
+public class RegistryPagination {
+	public static final String OFFSET = "offset";
+	public static final String LIMIT = "limit";
+
+	private RegistryPagination() {
+	}
+
+	/**
+	 * Checks if offset and limit describe a valid page
+	 * 
+	 * @param offset
+	 * @param limit
+	 * @throws MalformedRequestException
+	 *             if offset or limit is negative
+	 */
+	public static void checkPage(int offset, int limit) throws MalformedRequestException {
+		if (offset < 0) {
+			throw new MalformedRequestException("Offset must not be negative, but was " + offset);
+		}
+		if (limit < 0) {
+			throw new MalformedRequestException("Limit must not be negative, but was " + limit);
+		}
+	}
+
+	/**
+	 * Returns a view on the requested page of a list. Pages beyond the end of the
+	 * list are empty.
+	 * 
+	 * @param list
+	 *            the complete list
+	 * @param offset
+	 *            index of the first element of the page
+	 * @param limit
+	 *            maximum number of elements of the page
+	 * @return the sublist [offset, offset + limit) of the list
+	 * @throws MalformedRequestException
+	 *             if offset or limit is negative
+	 */
+	public static <T> List<T> getPage(List<T> list, int offset, int limit) throws MalformedRequestException {
+		checkPage(offset, limit);
+		int size = list.size();
+		if (offset >= size || limit == 0) {
+			return Collections.emptyList();
+		}
+		int to = (int) Math.min(size, (long) offset + limit);
+		return list.subList(offset, to);
+	}
+}
@@ -33,6 +33,7 @@ import org.eclipse.basyx.aas.registration.api.IAASRegistry;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.support.StripedLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,12 @@ public class AASRegistry implements IAASRegistry {
 	private static Logger logger = LoggerFactory.getLogger(AASRegistry.class);
 	protected IRegistryHandler handler;
 
+	/**
+	 * Serializes modifications of the same AAS, while modifications of different
+	 * AAS and all lookups run in parallel
+	 */
+	private StripedLock aasLocks = new StripedLock();
+
 	public AASRegistry(IRegistryHandler handler) {
 		this.handler = handler;
 	}
@@ -50,10 +57,12 @@ public class AASRegistry implements IAASRegistry {
 	@Override
 	public void register(AASDescriptor aasDescriptor) {
 		IIdentifier aasIdentifier = aasDescriptor.getIdentifier();
-		if (handler.contains(aasIdentifier)) {
-			handler.update(aasDescriptor);
-		} else {
-			handler.insert(aasDescriptor);
+		synchronized (aasLocks.get(aasIdentifier.getId())) {
+			if (handler.contains(aasIdentifier)) {
+				handler.update(aasDescriptor);
+			} else {
+				handler.insert(aasDescriptor);
+			}
 		}
 		logger.debug("Registered " + aasIdentifier.getId());
 	}
@@ -61,21 +70,25 @@ public class AASRegistry implements IAASRegistry {
 	@Override
 	public void delete(IIdentifier aasIdentifier) {
 		String aasId = aasIdentifier.getId();
-		if (!handler.contains(aasIdentifier)) {
-			throw new ResourceNotFoundException("Could not delete key for AAS " + aasId + " since it does not exist");
-		} else {
-			handler.remove(aasIdentifier);
-			logger.debug("Removed " + aasId);
+		synchronized (aasLocks.get(aasId)) {
+			if (!handler.contains(aasIdentifier)) {
+				throw new ResourceNotFoundException("Could not delete key for AAS " + aasId + " since it does not exist");
+			} else {
+				handler.remove(aasIdentifier);
+				logger.debug("Removed " + aasId);
+			}
 		}
 	}
 
 	@Override
 	public AASDescriptor lookupAAS(IIdentifier aasIdentifier) {
-		String aasId = aasIdentifier.getId();
-		if (!handler.contains(aasIdentifier)) {
-			throw new ResourceNotFoundException("Could not look up descriptor for AAS " + aasId + " since it does not exist");
+		// Not synchronized, so check the result instead of checking for existence
+		// first. The AAS may be deleted in between
+		AASDescriptor descriptor = handler.get(aasIdentifier);
+		if (descriptor == null) {
+			throw new ResourceNotFoundException("Could not look up descriptor for AAS " + aasIdentifier.getId() + " since it does not exist");
 		}
-		return handler.get(aasIdentifier);
+		return descriptor;
 	}
 
 	@Override
@@ -85,36 +98,46 @@ public class AASRegistry implements IAASRegistry {
 	}
 
 	@Override
-	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) {
-		try {
-			delete(aas, smDescriptor.getIdentifier());
-		} catch (ResourceNotFoundException e) {
-			// Doesn't matter
-		}
+	public List<AASDescriptor> lookupAll(int offset, int limit) {
+		logger.debug("Looking up " + limit + " AAS starting at " + offset);
+		return handler.getAll(offset, limit);
+	}
 
-		AASDescriptor descriptor = handler.get(aas);
-		if (descriptor == null) {
-			throw new ResourceNotFoundException("Could not add submodel descriptor for AAS " + aas.getId() + " since the AAS does not exist");
+	@Override
+	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) {
+		synchronized (aasLocks.get(aas.getId())) {
+			try {
+				delete(aas, smDescriptor.getIdentifier());
+			} catch (ResourceNotFoundException e) {
+				// Doesn't matter
+			}
+
+			AASDescriptor descriptor = handler.get(aas);
+			if (descriptor == null) {
+				throw new ResourceNotFoundException("Could not add submodel descriptor for AAS " + aas.getId() + " since the AAS does not exist");
+			}
+
+			descriptor.addSubmodelDescriptor(smDescriptor);
+			handler.update(descriptor);
 		}
-
-		descriptor.addSubmodelDescriptor(smDescriptor);
-		handler.update(descriptor);
 		logger.debug("Registered submodel " + smDescriptor.getIdShort() + " for AAS " + aas.getId());
 	}
 
 	@Override
 	public void delete(IIdentifier aasId, IIdentifier smId) {
 		String smIdString = smId.getId();
-		AASDescriptor desc = handler.get(aasId);
-		if (desc == null) {
-			throw new ResourceNotFoundException("Could not delete submodel descriptor for AAS " + aasId.getId() + " since the AAS does not exist");
-		}
-		if (desc.getSubmodelDescriptorFromIdentifierId(smIdString) == null) {
-			throw new ResourceNotFoundException("Could not delete submodel descriptor for AAS " + aasId.getId() + " since the SM does not exist");
+		synchronized (aasLocks.get(aasId.getId())) {
+			AASDescriptor desc = handler.get(aasId);
+			if (desc == null) {
+				throw new ResourceNotFoundException("Could not delete submodel descriptor for AAS " + aasId.getId() + " since the AAS does not exist");
+			}
+			if (desc.getSubmodelDescriptorFromIdentifierId(smIdString) == null) {
+				throw new ResourceNotFoundException("Could not delete submodel descriptor for AAS " + aasId.getId() + " since the SM does not exist");
+			}
+
+			desc.removeSubmodelDescriptor(smId);
+			handler.update(desc);
 		}
-
-		desc.removeSubmodelDescriptor(smId);
-		handler.update(desc);
 		logger.debug("Deleted submodel " + smIdString + " from AAS " + aasId.getId());
 	}
 
@@ -134,7 +157,7 @@ public class AASRegistry implements IAASRegistry {
 		if (desc == null) {
 			throw new ResourceNotFoundException("Could not look up descriptor for SM " + smId + " of AAS " + aasId + " since the AAS does not exist");
 		}
-		SubmodelDescriptor smDesc = desc.getSubmodelDescriptorFromIdentifierId(smId.getId());
+		SubmodelDescriptor smDesc = handler.getSubmodel(desc.getIdentifier(), smId);
 		if (smDesc == null) {
 			throw new ResourceNotFoundException("Could not look up descriptor for SM " + smId + " of AAS " + aasId + " since the SM does not exist");
 		}
@@ -27,6 +27,8 @@ package org.eclipse.basyx.aas.registration.memory;
 import java.util.List;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.api.RegistryPagination;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 
 /**
@@ -88,4 +90,35 @@ public interface IRegistryHandler {
 	 * @return The list of AASDescriptors.
 	 */
 	public List<AASDescriptor> getAll();
+
+	/**
+	 * Returns a page of all descriptors contained in the registry datasource.
+	 *
+	 * @param offset
+	 *            index of the first descriptor of the page
+	 * @param limit
+	 *            maximum number of descriptors of the page
+	 * @return The descriptors [offset, offset + limit) of {@link #getAll()}
+	 */
+	public default List<AASDescriptor> getAll(int offset, int limit) {
+		return RegistryPagination.getPage(getAll(), offset, limit);
+	}
+
+	/**
+	 * Queries the registry datasource for a submodel descriptor of an AAS.
+	 *
+	 * @param aasId
+	 *            The AAS-identifier of the AAS containing the submodel
+	 * @param smId
+	 *            The identifier of the submodel
+	 * @return The found submodel descriptor or null, if either the AAS or the
+	 *         submodel does not exist
+	 */
+	public default SubmodelDescriptor getSubmodel(IIdentifier aasId, IIdentifier smId) {
+		AASDescriptor descriptor = get(aasId);
+		if (descriptor == null) {
+			return null;
+		}
+		return descriptor.getSubmodelDescriptorFromIdentifierId(smId.getId());
+	}
 }
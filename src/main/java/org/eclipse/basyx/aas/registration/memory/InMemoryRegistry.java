@@ -24,21 +24,64 @@
  ******************************************************************************/
 package org.eclipse.basyx.aas.registration.memory;
 
-import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 
 /**
  * An implementation of the IAASRegistryService interface. This registry can not
  * store its entries permanently, because it is completely based on HashMaps.
+ * The entries are kept in an {@link IndexedRegistryHandler}, so that lookups do
+ * not block while other AAS are registered and do not have to scan all
+ * registered AAS.
  * 
  * @author espen
  *
  */
 public class InMemoryRegistry extends AASRegistry {
+	private IndexedRegistryHandler indexedHandler;
 
 	/**
 	 * Default constructor based on HashMaps
 	 */
 	public InMemoryRegistry() {
-		super(new MapRegistryHandler(new LinkedHashMap<>()));
+		this(new IndexedRegistryHandler());
+	}
+
+	private InMemoryRegistry(IndexedRegistryHandler handler) {
+		super(handler);
+		this.indexedHandler = handler;
+	}
+
+	/**
+	 * Retrieves all AAS containing a submodel with the given identifier
+	 * 
+	 * @param smId
+	 * @return
+	 */
+	public List<AASDescriptor> lookupAASBySubmodel(IIdentifier smId) {
+		return indexedHandler.getBySubmodel(smId);
+	}
+
+	/**
+	 * Retrieves all AAS containing a submodel with the given semanticId
+	 * 
+	 * @param semanticId
+	 *            value of one of the keys of the submodel's semanticId
+	 * @return
+	 */
+	public List<AASDescriptor> lookupAASBySemanticId(String semanticId) {
+		return indexedHandler.getBySemanticId(semanticId);
+	}
+
+	/**
+	 * Retrieves all AAS that have an endpoint on the given host
+	 * 
+	 * @param host
+	 * @return
+	 */
+	public List<AASDescriptor> lookupAASByEndpointHost(String host) {
+		return indexedHandler.getByEndpointHost(host);
 	}
 }
@@ -0,0 +1,405 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.aas.registration.memory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.api.RegistryPagination;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+
+/**
+ * Registry handler that keeps the descriptors in a primary index by AAS id and
+ * maintains secondary indexes for the asset id, the submodel ids, the submodel
+ * semanticIds and the endpoint hosts. <br>
+ * All lookups are served by the indexes. {@link #getAll()} returns an
+ * unmodifiable snapshot that is only rebuilt after the registry has changed.
+ * <br>
+ * The descriptors are returned in the order they have been registered in,
+ * overwriting a descriptor keeps its position. Thus, registering descriptors
+ * while paging through them does not affect the pages, since new descriptors
+ * are always appended. Removing a descriptor moves the following ones one
+ * position to the front.
+ * 
+ * @author agent
+ *
+ */
+public class IndexedRegistryHandler implements IRegistryHandler {
+	// AAS id => entry
+	private Map<String, Entry> aasIndex = new ConcurrentHashMap<>();
+
+	// Insertion sequence number => entry, keeps the order for getAll
+	private Map<Long, Entry> insertionOrder = new ConcurrentSkipListMap<>();
+	private AtomicLong sequence = new AtomicLong();
+
+	// Asset id => AAS id
+	private Map<String, String> assetIndex = new ConcurrentHashMap<>();
+
+	// Submodel id => (AAS id => submodel descriptor)
+	private Map<String, Map<String, SubmodelDescriptor>> submodelIndex = new ConcurrentHashMap<>();
+
+	// Key value of a submodel semanticId => AAS ids
+	private Map<String, Set<String>> semanticIdIndex = new ConcurrentHashMap<>();
+
+	// Endpoint host of the AAS or one of its submodels => AAS ids
+	private Map<String, Set<String>> endpointHostIndex = new ConcurrentHashMap<>();
+
+	private AtomicLong version = new AtomicLong();
+	private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyList());
+
+	@Override
+	public boolean contains(IIdentifier id) {
+		return aasIndex.containsKey(id.getId()) || assetIndex.containsKey(id.getId());
+	}
+
+	@Override
+	public void remove(IIdentifier id) {
+		String aasId = resolveAASId(id.getId());
+		if (aasId == null) {
+			// Already removed concurrently
+			return;
+		}
+
+		Entry[] removed = new Entry[1];
+		aasIndex.computeIfPresent(aasId, (key, entry) -> {
+			insertionOrder.remove(entry.sequence);
+			removed[0] = entry;
+			return null;
+		});
+		if (removed[0] == null) {
+			return;
+		}
+
+		removeFromIndexes(removed[0], null);
+		version.incrementAndGet();
+	}
+
+	@Override
+	public void insert(AASDescriptor descriptor) {
+		Entry[] replacedEntry = new Entry[1];
+		Entry entry = aasIndex.compute(descriptor.getIdentifier().getId(), (key, previous) -> {
+			// An overwritten descriptor keeps its position
+			Entry created = new Entry(descriptor, previous == null ? sequence.incrementAndGet() : previous.sequence);
+			insertionOrder.put(created.sequence, created);
+			replacedEntry[0] = previous;
+			return created;
+		});
+		Entry replaced = replacedEntry[0];
+
+		// Add the new keys before removing the stale ones, so that lookups of keys
+		// contained in both entries never fail during the update
+		addToIndexes(entry);
+		if (replaced != null) {
+			removeFromIndexes(replaced, entry);
+		}
+		version.incrementAndGet();
+	}
+
+	@Override
+	public void update(AASDescriptor descriptor) {
+		// The descriptor may have been modified in place, so the indexes are
+		// recomputed from the stored keys of the previous entry
+		insert(descriptor);
+	}
+
+	@Override
+	public AASDescriptor get(IIdentifier id) {
+		Entry entry = getEntry(id.getId());
+		return entry == null ? null : entry.descriptor;
+	}
+
+	@Override
+	public List<AASDescriptor> getAll() {
+		long currentVersion = version.get();
+		Snapshot current = snapshot;
+		if (current.version != currentVersion) {
+			List<AASDescriptor> descriptors = new ArrayList<>(aasIndex.size());
+			for (Entry entry : insertionOrder.values()) {
+				descriptors.add(entry.descriptor);
+			}
+			current = new Snapshot(currentVersion, Collections.unmodifiableList(descriptors));
+			snapshot = current;
+		}
+		return current.descriptors;
+	}
+
+	@Override
+	public List<AASDescriptor> getAll(int offset, int limit) {
+		return RegistryPagination.getPage(getAll(), offset, limit);
+	}
+
+	@Override
+	public SubmodelDescriptor getSubmodel(IIdentifier aasId, IIdentifier smId) {
+		Entry entry = getEntry(aasId.getId());
+		if (entry == null) {
+			return null;
+		}
+
+		Map<String, SubmodelDescriptor> aasToSubmodel = submodelIndex.get(smId.getId());
+		if (aasToSubmodel == null) {
+			return null;
+		}
+		return aasToSubmodel.get(entry.aasId);
+	}
+
+	/**
+	 * Returns the descriptors of all AAS containing a submodel with the given
+	 * identifier
+	 * 
+	 * @param smId
+	 * @return
+	 */
+	public List<AASDescriptor> getBySubmodel(IIdentifier smId) {
+		Map<String, SubmodelDescriptor> aasToSubmodel = submodelIndex.get(smId.getId());
+		if (aasToSubmodel == null) {
+			return Collections.emptyList();
+		}
+		return resolveDescriptors(aasToSubmodel.keySet());
+	}
+
+	/**
+	 * Returns the descriptors of all AAS containing a submodel whose semanticId
+	 * has a key with the given value
+	 * 
+	 * @param semanticId
+	 * @return
+	 */
+	public List<AASDescriptor> getBySemanticId(String semanticId) {
+		return resolveDescriptors(semanticIdIndex.get(semanticId));
+	}
+
+	/**
+	 * Returns the descriptors of all AAS that have an endpoint on the given host,
+	 * either for the AAS itself or for one of its submodels
+	 * 
+	 * @param host
+	 *            host name, compared case-insensitively
+	 * @return
+	 */
+	public List<AASDescriptor> getByEndpointHost(String host) {
+		return resolveDescriptors(endpointHostIndex.get(host.toLowerCase(Locale.ROOT)));
+	}
+
+	private String resolveAASId(String id) {
+		if (aasIndex.containsKey(id)) {
+			return id;
+		}
+		return assetIndex.get(id);
+	}
+
+	private Entry getEntry(String id) {
+		Entry entry = aasIndex.get(id);
+		if (entry != null) {
+			return entry;
+		}
+
+		String aasId = assetIndex.get(id);
+		if (aasId == null) {
+			return null;
+		}
+		return aasIndex.get(aasId);
+	}
+
+	private List<AASDescriptor> resolveDescriptors(Collection<String> aasIds) {
+		if (aasIds == null) {
+			return Collections.emptyList();
+		}
+
+		List<AASDescriptor> result = new ArrayList<>(aasIds.size());
+		for (String aasId : aasIds) {
+			Entry entry = aasIndex.get(aasId);
+			if (entry != null) {
+				result.add(entry.descriptor);
+			}
+		}
+		return result;
+	}
+
+	private void addToIndexes(Entry entry) {
+		if (entry.assetId != null) {
+			assetIndex.put(entry.assetId, entry.aasId);
+		}
+
+		for (Map.Entry<String, SubmodelDescriptor> submodel : entry.submodels.entrySet()) {
+			submodelIndex.compute(submodel.getKey(), (smId, aasToSubmodel) -> {
+				if (aasToSubmodel == null) {
+					aasToSubmodel = new ConcurrentHashMap<>();
+				}
+				aasToSubmodel.put(entry.aasId, submodel.getValue());
+				return aasToSubmodel;
+			});
+		}
+
+		addToSetIndex(semanticIdIndex, entry.semanticIds, entry.aasId);
+		addToSetIndex(endpointHostIndex, entry.endpointHosts, entry.aasId);
+	}
+
+	/**
+	 * Removes the keys of an entry from the secondary indexes
+	 * 
+	 * @param entry
+	 *            the entry to remove
+	 * @param retained
+	 *            entry replacing the removed one, whose keys are kept. May be
+	 *            null
+	 */
+	private void removeFromIndexes(Entry entry, Entry retained) {
+		if (entry.assetId != null && (retained == null || !entry.assetId.equals(retained.assetId))) {
+			assetIndex.remove(entry.assetId, entry.aasId);
+		}
+
+		for (String smId : entry.submodels.keySet()) {
+			if (retained != null && retained.submodels.containsKey(smId)) {
+				continue;
+			}
+			submodelIndex.computeIfPresent(smId, (key, aasToSubmodel) -> {
+				aasToSubmodel.remove(entry.aasId);
+				return aasToSubmodel.isEmpty() ? null : aasToSubmodel;
+			});
+		}
+
+		removeFromSetIndex(semanticIdIndex, entry.semanticIds, retained == null ? null : retained.semanticIds, entry.aasId);
+		removeFromSetIndex(endpointHostIndex, entry.endpointHosts, retained == null ? null : retained.endpointHosts, entry.aasId);
+	}
+
+	private static void addToSetIndex(Map<String, Set<String>> index, Set<String> keys, String aasId) {
+		for (String key : keys) {
+			index.compute(key, (k, aasIds) -> {
+				if (aasIds == null) {
+					aasIds = ConcurrentHashMap.newKeySet();
+				}
+				aasIds.add(aasId);
+				return aasIds;
+			});
+		}
+	}
+
+	private static void removeFromSetIndex(Map<String, Set<String>> index, Set<String> keys, Set<String> retainedKeys, String aasId) {
+		for (String key : keys) {
+			if (retainedKeys != null && retainedKeys.contains(key)) {
+				continue;
+			}
+			index.computeIfPresent(key, (k, aasIds) -> {
+				aasIds.remove(aasId);
+				return aasIds.isEmpty() ? null : aasIds;
+			});
+		}
+	}
+
+	private static String getEndpointHost(Map<String, Object> endpoint) {
+		Object address = endpoint.get(AssetAdministrationShell.ADDRESS);
+		if (address == null) {
+			return null;
+		}
+
+		try {
+			String host = new URI(address.toString()).getHost();
+			return host == null ? null : host.toLowerCase(Locale.ROOT);
+		} catch (URISyntaxException e) {
+			// Endpoint is not a valid URI => not indexed
+			return null;
+		}
+	}
+
+	private static void collectEndpointHosts(ModelDescriptor descriptor, Set<String> hosts) {
+		for (Map<String, Object> endpoint : descriptor.getEndpoints()) {
+			String host = getEndpointHost(endpoint);
+			if (host != null) {
+				hosts.add(host);
+			}
+		}
+	}
+
+	/**
+	 * Registered descriptor together with the keys it has been indexed with. The
+	 * keys are extracted on insert, since descriptors can be modified in place
+	 * before being updated.
+	 */
+	private static class Entry {
+		private final AASDescriptor descriptor;
+		private final long sequence;
+		private final String aasId;
+		private final String assetId;
+		private final Map<String, SubmodelDescriptor> submodels = new HashMap<>();
+		private final Set<String> semanticIds = new HashSet<>();
+		private final Set<String> endpointHosts = new HashSet<>();
+
+		private Entry(AASDescriptor descriptor, long sequence) {
+			this.descriptor = descriptor;
+			this.sequence = sequence;
+			this.aasId = descriptor.getIdentifier().getId();
+
+			IAsset asset = descriptor.getAsset();
+			this.assetId = asset == null ? null : asset.getIdentification().getId();
+
+			collectEndpointHosts(descriptor, endpointHosts);
+			for (SubmodelDescriptor smDescriptor : descriptor.getSubmodelDescriptors()) {
+				submodels.put(smDescriptor.getIdentifier().getId(), smDescriptor);
+				collectEndpointHosts(smDescriptor, endpointHosts);
+				collectSemanticIds(smDescriptor.getSemanticId());
+			}
+		}
+
+		private void collectSemanticIds(IReference semanticId) {
+			if (semanticId == null || semanticId.getKeys() == null) {
+				return;
+			}
+			for (IKey key : semanticId.getKeys()) {
+				if (key.getValue() != null) {
+					semanticIds.add(key.getValue());
+				}
+			}
+		}
+	}
+
+	private static class Snapshot {
+		private final long version;
+		private final List<AASDescriptor> descriptors;
+
+		private Snapshot(long version, List<AASDescriptor> descriptors) {
+			this.version = version;
+			this.descriptors = descriptors;
+		}
+	}
+}
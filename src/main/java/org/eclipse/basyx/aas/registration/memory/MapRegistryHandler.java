@@ -55,6 +55,10 @@ public class MapRegistryHandler implements IRegistryHandler {
 	@Override
 	public void remove(IIdentifier id) {
 		AASDescriptor removed = descriptorMap.remove(id.getId());
+		if (removed == null) {
+			// Already removed concurrently
+			return;
+		}
 
 		IIdentifier aasId = removed.getIdentifier();
 		if (!aasId.getId().equals(id.getId())) {
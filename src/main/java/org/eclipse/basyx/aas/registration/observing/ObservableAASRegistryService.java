@@ -54,25 +54,29 @@ public class ObservableAASRegistryService extends Observable<IAASRegistryService
 	@Override
 	public void register(AASDescriptor deviceAASDescriptor) throws ProviderException {
 		aasRegistry.register(deviceAASDescriptor);
-		observers.stream().forEach(o -> o.aasRegistered(deviceAASDescriptor.getIdentifier().getId()));
+		if (observers.isEmpty()) {
+			return;
+		}
+		String aasId = deviceAASDescriptor.getIdentifier().getId();
+		notifyObservers(o -> o.aasRegistered(aasId));
 	}
 
 	@Override
 	public void register(IIdentifier aas, SubmodelDescriptor smDescriptor) throws ProviderException {
 		aasRegistry.register(aas, smDescriptor);
-		observers.stream().forEach(o -> o.submodelRegistered(aas, smDescriptor.getIdentifier()));
+		notifyObservers(o -> o.submodelRegistered(aas, smDescriptor.getIdentifier()));
 	}
 
 	@Override
 	public void delete(IIdentifier aasId) throws ProviderException {
 		aasRegistry.delete(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aasId.getId()));
+		notifyObservers(o -> o.aasDeleted(aasId.getId()));
 	}
 
 	@Override
 	public void delete(IIdentifier aasId, IIdentifier smId) throws ProviderException {
 		aasRegistry.delete(aasId, smId);
-		observers.stream().forEach(o -> o.submodelDeleted(aasId, smId));
+		notifyObservers(o -> o.submodelDeleted(aasId, smId));
 	}
 
 	@Override
@@ -63,10 +63,10 @@ public class ObservableAASRegistryServiceV2 extends Observable<IAASRegistryServi
 		try {
 			aasRegistry.lookupAAS(deviceAASDescriptor.getIdentifier());
 			aasRegistry.register(deviceAASDescriptor);
-			observers.stream().forEach(o -> o.aasUpdated(deviceAASDescriptor, this.registryId));
+			notifyObservers(o -> o.aasUpdated(deviceAASDescriptor, this.registryId));
 		} catch(ResourceNotFoundException e) {
 			aasRegistry.register(deviceAASDescriptor);
-			observers.stream().forEach(o -> o.aasRegistered(deviceAASDescriptor, this.registryId));
+			notifyObservers(o -> o.aasRegistered(deviceAASDescriptor, this.registryId));
 		}
 	}
 
@@ -76,10 +76,10 @@ public class ObservableAASRegistryServiceV2 extends Observable<IAASRegistryServi
 		try {
 			aasRegistry.lookupSubmodel(aas, smDescriptor.getIdentifier());
 			aasRegistry.register(aas, smDescriptor);
-			observers.stream().forEach(o -> o.submodelUpdated(aas, smDescriptor, this.registryId));
+			notifyObservers(o -> o.submodelUpdated(aas, smDescriptor, this.registryId));
 		} catch(ResourceNotFoundException e) {			
 			aasRegistry.register(aas, smDescriptor);
-			observers.stream().forEach(o -> o.submodelRegistered(aas, smDescriptor, this.registryId));
+			notifyObservers(o -> o.submodelRegistered(aas, smDescriptor, this.registryId));
 		}
 	}
 
@@ -87,14 +87,14 @@ public class ObservableAASRegistryServiceV2 extends Observable<IAASRegistryServi
 	public void delete(IIdentifier aasId) throws ProviderException {
 		AASDescriptor aasDescriptor = lookupAAS(aasId);
 		aasRegistry.delete(aasId);
-		observers.stream().forEach(o -> o.aasDeleted(aasDescriptor, this.registryId));
+		notifyObservers(o -> o.aasDeleted(aasDescriptor, this.registryId));
 	}
 
 	@Override
 	public void delete(IIdentifier aasId, IIdentifier smId) throws ProviderException {
 		SubmodelDescriptor smDescriptor = lookupSubmodel(aasId, smId);
 		aasRegistry.delete(aasId, smId);
-		observers.stream().forEach(o -> o.submodelDeleted(aasId, smDescriptor, this.registryId));
+		notifyObservers(o -> o.submodelDeleted(aasId, smDescriptor, this.registryId));
 	}
 
 	@Override
@@ -33,6 +33,7 @@ import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.AASRegistryAPIHelper;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.registration.api.RegistryPagination;
 import org.eclipse.basyx.aas.registration.restapi.AASRegistryModelProvider;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
@@ -142,11 +143,21 @@ public class AASRegistryProxy extends VABRegistryProxy implements IAASRegistry {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public List<AASDescriptor> lookupAll() throws ProviderException {
+		return lookupDescriptors(AASRegistryAPIHelper.getRegistryPath());
+	}
+
+	@Override
+	public List<AASDescriptor> lookupAll(int offset, int limit) throws ProviderException {
+		RegistryPagination.checkPage(offset, limit);
+		return lookupDescriptors(AASRegistryAPIHelper.getRegistryPath(offset, limit));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<AASDescriptor> lookupDescriptors(String path) throws ProviderException {
 		try {
-			Object result = provider.getValue(AASRegistryAPIHelper.getRegistryPath());
+			Object result = provider.getValue(path);
 			Collection<?> descriptors = (Collection<?>) result;
 			return descriptors.stream().map(x -> new AASDescriptor((Map<String, Object>) x)).collect(Collectors.toList());
 		} catch (Exception e) {
@@ -27,12 +27,14 @@ package org.eclipse.basyx.aas.registration.restapi;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelUrn;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.registration.api.RegistryPagination;
 import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.map.modeltype.ModelType;
@@ -194,10 +196,11 @@ public class AASRegistryModelProvider implements IModelProvider {
 
 	@Override
 	public Object getValue(String path) throws ProviderException {
-		String[] splitted = preparePath(path);
+		String query = extractQuery(path);
+		String[] splitted = preparePath(stripQuery(path));
 
 		if (isRequestForAllAASDescriptors(splitted)) {
-			return registry.lookupAll();
+			return getAllAASDescriptors(query);
 		} else if (isRequestForAASDescriptor(splitted)) {
 			return getAASDescriptor(splitted);
 		} else if (isRequestForSubmodelDescriptorsOfAAS(splitted)) {
@@ -209,6 +212,62 @@ public class AASRegistryModelProvider implements IModelProvider {
 		throw new MalformedRequestException(createInvalidPathMessage(path));
 	}
 
+	/**
+	 * Returns all AAS descriptors or a page of them, if the query contains the
+	 * pagination parameters "offset" and/or "limit"
+	 * 
+	 * @param query
+	 *            the query part of the path without leading "?". May be empty
+	 * @return
+	 * @throws MalformedRequestException
+	 *             if offset or limit are not non-negative integers
+	 */
+	private Object getAllAASDescriptors(String query) throws MalformedRequestException {
+		Map<String, String> parameters = parseQuery(query);
+		if (!parameters.containsKey(RegistryPagination.OFFSET) && !parameters.containsKey(RegistryPagination.LIMIT)) {
+			return registry.lookupAll();
+		}
+
+		int offset = parseQueryInt(parameters, RegistryPagination.OFFSET, 0);
+		int limit = parseQueryInt(parameters, RegistryPagination.LIMIT, Integer.MAX_VALUE);
+		RegistryPagination.checkPage(offset, limit);
+		return registry.lookupAll(offset, limit);
+	}
+
+	private String extractQuery(String path) {
+		int index = path.indexOf('?');
+		return index < 0 ? "" : path.substring(index + 1);
+	}
+
+	private String stripQuery(String path) {
+		int index = path.indexOf('?');
+		return index < 0 ? path : path.substring(0, index);
+	}
+
+	private Map<String, String> parseQuery(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		for (String parameter : query.split("&")) {
+			int index = parameter.indexOf('=');
+			if (index > 0) {
+				parameters.put(parameter.substring(0, index), parameter.substring(index + 1));
+			}
+		}
+		return parameters;
+	}
+
+	private int parseQueryInt(Map<String, String> parameters, String name, int defaultValue) throws MalformedRequestException {
+		String value = parameters.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new MalformedRequestException("Query parameter " + name + " has to be an integer, but was " + value);
+		}
+	}
+
 	private String createInvalidPathMessage(String path) {
 		return "Given path '" + path + "' contains more than three path elements and is therefore invalid.";
 	}
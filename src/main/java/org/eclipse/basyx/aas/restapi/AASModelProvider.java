@@ -40,7 +40,9 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.NotAnInvokableException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 
 /**
@@ -51,7 +53,7 @@ import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
  * @author espen
  *
  */
-public class AASModelProvider implements IModelProvider {
+public class AASModelProvider implements IVersionedModelProvider {
 
 	private IAASAPI aasApi;
 
@@ -155,6 +157,18 @@ public class AASModelProvider implements IModelProvider {
 		}
 	}
 
+	/**
+	 * Returns the change version of the AAS, if the AAS API tracks its
+	 * modifications (e.g. ObservableAASAPI)
+	 */
+	@Override
+	public long getChangeVersion(String path) {
+		if (!(aasApi instanceof IChangeVersioned)) {
+			return UNVERSIONED;
+		}
+		return ((IChangeVersioned) aasApi).getChangeVersion();
+	}
+
 	/**
 	 * @param path
 	 * @return
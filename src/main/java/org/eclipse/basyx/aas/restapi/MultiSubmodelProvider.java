@@ -42,6 +42,7 @@ import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection;
 import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
@@ -50,6 +51,8 @@ import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
+import org.eclipse.basyx.vab.protocol.api.ConcurrentRemoteRetriever;
 import org.eclipse.basyx.vab.protocol.api.IConnectorFactory;
 import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
 
@@ -95,7 +98,7 @@ import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnectorFactory;
  * @author kuhn, pschorn
  *
  */
-public class MultiSubmodelProvider implements IModelProvider {
+public class MultiSubmodelProvider implements IVersionedModelProvider {
 
 	public static final String AAS = "aas";
 	public static final String FILE = "File";
@@ -129,6 +132,11 @@ public class MultiSubmodelProvider implements IModelProvider {
 
 	private ISubmodelAggregator smAggregator;
 
+	/**
+	 * Retrieves remote submodels concurrently
+	 */
+	private ConcurrentRemoteRetriever remoteRetriever = ConcurrentRemoteRetriever.getDefault();
+
 	/**
 	 * Constructor with empty default aas and default VAB APIs
 	 */
@@ -258,7 +266,8 @@ public class MultiSubmodelProvider implements IModelProvider {
 	@Override
 	public Object getValue(String path) throws ProviderException {
 		VABPathTools.checkPathForNull(path);
-		path = VABPathTools.stripSlashes(path);
+		SubmodelProjection projection = SubmodelProjection.fromPath(path);
+		path = VABPathTools.stripSlashes(SubmodelProjection.stripQuery(path));
 		String[] pathElements = VABPathTools.splitPath(path);
 		if (pathElements.length > 0 && pathElements[0].equals(AAS)) {
 			if (pathElements.length == 1) {
@@ -266,11 +275,11 @@ public class MultiSubmodelProvider implements IModelProvider {
 			}
 			if (pathElements[1].equals(AssetAdministrationShell.SUBMODELS)) {
 				if (pathElements.length == 2) {
-					return retrieveSubmodels();
+					return retrieveSubmodels(projection);
 				} else {
 					String smIdShort = pathElements[2];
 					String remainingPath = VABPathTools.buildPath(pathElements, 3);
-					return handleSingleSubmodelRequest(smIdShort, remainingPath);
+					return handleSingleSubmodelRequest(smIdShort, projection.appendTo(remainingPath));
 				}
 			} else {
 				String remainingPath = VABPathTools.buildPath(pathElements, 1);
@@ -281,6 +290,39 @@ public class MultiSubmodelProvider implements IModelProvider {
 		}
 	}
 
+	/**
+	 * Returns the change version of the AAS or of a local submodel. The list of all
+	 * submodels is not versioned, since it may contain remote submodels.
+	 */
+	@Override
+	public long getChangeVersion(String path) {
+		if (path == null) {
+			return UNVERSIONED;
+		}
+		String[] pathElements = VABPathTools.splitPath(VABPathTools.stripSlashes(path));
+		if (pathElements.length == 0 || !pathElements[0].equals(AAS)) {
+			return UNVERSIONED;
+		}
+
+		if (pathElements.length == 1 || !pathElements[1].equals(AssetAdministrationShell.SUBMODELS)) {
+			if (aas_provider == null) {
+				return UNVERSIONED;
+			}
+			return aas_provider.getChangeVersion(VABPathTools.buildPath(pathElements, 1));
+		}
+
+		if (pathElements.length == 2) {
+			return UNVERSIONED;
+		}
+
+		try {
+			ISubmodelAPI smAPI = getSmAggregator().getSubmodelAPIByIdShort(pathElements[2]);
+			return new SubmodelProvider(smAPI).getChangeVersion(VABPathTools.buildPath(pathElements, 3));
+		} catch (ResourceNotFoundException e) {
+			return UNVERSIONED;
+		}
+	}
+
 	private Object handleSingleSubmodelRequest(String smIdShort, String remainingPath) {
 		IModelProvider provider = retrieveSubmodelProvider(smIdShort);
 		return provider.getValue(remainingPath);
@@ -302,13 +344,18 @@ public class MultiSubmodelProvider implements IModelProvider {
 	 * Retrieves all submodels of the AAS. If there's a registry, remote Submodels
 	 * will also be retrieved.
 	 *
+	 * @param projection
+	 *            applied to each of the submodels
 	 * @return
 	 * @throws ProviderException
 	 */
-	private Object retrieveSubmodels() throws ProviderException {
+	private Object retrieveSubmodels(SubmodelProjection projection) throws ProviderException {
 		// Make a list and return all local submodels
 		Collection<ISubmodel> submodels = getSmAggregator().getSubmodelList();
 		addConnectedSubmodels(submodels);
+		if (!projection.isFull()) {
+			return submodels.stream().map(sm -> projection.projectSubmodel((Submodel) sm)).collect(Collectors.toList());
+		}
 		return submodels.stream().map(sm -> SubmodelElementMapCollectionConverter.smToMap((Submodel) sm)).collect(Collectors.toList());
 	}
 
@@ -345,7 +392,9 @@ public class MultiSubmodelProvider implements IModelProvider {
 					}
 				}
 
-				List<Submodel> remoteSms = missingEndpoints.stream().map(endpoint -> getConnectorFactory().create(endpoint)).map(p -> (Map<String, Object>) p.getValue("")).map(m -> Submodel.createAsFacade(m)).collect(Collectors.toList());
+				// Remote submodels that can not be retrieved are omitted, so that a single
+				// unavailable server does not prevent listing the other submodels
+				Collection<Submodel> remoteSms = remoteRetriever.retrieve(missingEndpoints, endpoint -> endpoint, endpoint -> Submodel.createAsFacade((Map<String, Object>) getConnectorFactory().create(endpoint).getValue(""))).getValues().values();
 				submodels.addAll(remoteSms);
 			}
 		}
@@ -576,4 +625,12 @@ public class MultiSubmodelProvider implements IModelProvider {
 	public void setConnectorFactory(IConnectorFactory connectorFactory) {
 		this.connectorFactory = connectorFactory;
 	}
+
+	public ConcurrentRemoteRetriever getRemoteRetriever() {
+		return remoteRetriever;
+	}
+
+	public void setRemoteRetriever(ConcurrentRemoteRetriever remoteRetriever) {
+		this.remoteRetriever = remoteRetriever;
+	}
 }
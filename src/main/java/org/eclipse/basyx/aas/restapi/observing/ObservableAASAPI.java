@@ -33,17 +33,22 @@ import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
 import org.eclipse.basyx.submodel.observer.Observable;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
+import org.eclipse.basyx.vab.support.ChangeVersionCounter;
 
 /**
  * Implementation of {@link IAASAPI} that calls back registered
- * {@link IAASAPIObserver} when changes on Submodel References occur
+ * {@link IAASAPIObserver} when changes on Submodel References occur. <br>
+ * Modifications are counted, so that the change version can be used to detect
+ * an unchanged AAS.
  * 
  * @author fried
  *
  */
-public class ObservableAASAPI extends Observable<IAASAPIObserver> implements IAASAPI {
+public class ObservableAASAPI extends Observable<IAASAPIObserver> implements IAASAPI, IChangeVersioned {
 
 	private IAASAPI aasAPI;
+	private ChangeVersionCounter changeVersion = new ChangeVersionCounter();
 
 	public ObservableAASAPI(IAASAPI observedAPI) {
 		aasAPI = observedAPI;
@@ -60,13 +65,20 @@ public class ObservableAASAPI extends Observable<IAASAPIObserver> implements IAA
 			throw new MalformedRequestException("Reference has to contain a submodel");
 
 		aasAPI.addSubmodel(submodel);
-		observers.stream().forEach(o -> o.submodelAdded(submodel));
+		changeVersion.increment();
+		notifyObservers(o -> o.submodelAdded(submodel));
 	}
 
 	@Override
 	public void removeSubmodel(String id) {
 		aasAPI.removeSubmodel(id);
-		observers.stream().forEach(o -> o.submodelRemoved(id));
+		changeVersion.increment();
+		notifyObservers(o -> o.submodelRemoved(id));
+	}
+
+	@Override
+	public long getChangeVersion() {
+		return changeVersion.get();
 	}
 
 	private boolean containsSubmodelReference(IReference submodel) {
@@ -24,8 +24,9 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -80,20 +81,21 @@ public class AuthorizedAASAggregator<SubjectInformationType> implements IAASAggr
 	}
 
 	protected Collection<IAssetAdministrationShell> authorizeGetAASList() throws InhibitException {
-		return getAASIdentifierList().stream().map(identifier -> {
-			try {
-				return authorizeGetAAS(identifier);
-			} catch (final InhibitException e) {
-				// log and leave out aas if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		final List<IAssetAdministrationShell> candidates = new ArrayList<>(getAASListOnly());
+		if (candidates.isEmpty()) {
+			return candidates;
+		}
+
+		final List<IIdentifier> aasIds = candidates.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+		final List<IAssetAdministrationShell> authorizedAASes = aasAggregatorAuthorizer.authorizeGetAASBatch(subjectInformationProvider.get(), aasIds, candidates);
+
+		// leave out aas if authorization was unsuccessful
+		logger.debug("Left out {} of {} AAS due to missing authorization", candidates.size() - authorizedAASes.size(), candidates.size());
+		return authorizedAASes;
 	}
 
-	private Collection<IIdentifier> getAASIdentifierList() throws InhibitException {
-		final Collection<IAssetAdministrationShell> authorizedAASList = aasAggregatorAuthorizer.authorizeGetAASList(subjectInformationProvider.get(), decoratedAasAggregator::getAASList);
-		return authorizedAASList.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+	private Collection<IAssetAdministrationShell> getAASListOnly() throws InhibitException {
+		return aasAggregatorAuthorizer.authorizeGetAASList(subjectInformationProvider.get(), decoratedAasAggregator::getAASList);
 	}
 
 	@Override
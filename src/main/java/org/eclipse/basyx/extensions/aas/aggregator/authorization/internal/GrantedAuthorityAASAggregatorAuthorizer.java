@@ -25,9 +25,11 @@
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.GrantedAuthorityHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IGrantedAuthorityAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
@@ -60,6 +62,11 @@ public class GrantedAuthorityAASAggregatorAuthorizer<SubjectInformationType> imp
 		return aasSupplier.get();
 	}
 
+	@Override
+	public List<IAssetAdministrationShell> authorizeGetAASBatch(final SubjectInformationType subjectInformation, final List<IIdentifier> aasIds, final List<IAssetAdministrationShell> aases) {
+		return BatchAuthorizationHelper.filter(aases, GrantedAuthorityHelper.checkAuthorityForAll(grantedAuthorityAuthenticator, subjectInformation, AuthorizedAASAggregator.READ_AUTHORITY, aases.size()));
+	}
+
 	@Override
 	public IModelProvider authorizeGetAASProvider(final SubjectInformationType subjectInformation, final IIdentifier aasId, final Supplier<IModelProvider> modelProviderSupplier) throws InhibitException {
 		GrantedAuthorityHelper.checkAuthority(grantedAuthorityAuthenticator, subjectInformation, AuthorizedAASAggregator.READ_AUTHORITY);
@@ -25,10 +25,12 @@
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
@@ -54,6 +56,24 @@ public interface IAASAggregatorAuthorizer<SubjectInformationType> {
 	 */
 	public IAssetAdministrationShell authorizeGetAAS(SubjectInformationType subjectInformation, IIdentifier aasId, Supplier<IAssetAdministrationShell> aasSupplier) throws InhibitException;
 
+	/**
+	 * Checks authorization for {@link IAASAggregator#getAAS(IIdentifier)} for a
+	 * whole list of AASes at once, e.g. to filter the result of
+	 * {@link IAASAggregator#getAASList()}. Denied AASes are left out instead of
+	 * throwing.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aasIds
+	 *            ids of the AASes.
+	 * @param aases
+	 *            the already retrieved AASes, same order as aasIds.
+	 * @return the authorized AASes in the given order
+	 */
+	public default List<IAssetAdministrationShell> authorizeGetAASBatch(SubjectInformationType subjectInformation, List<IIdentifier> aasIds, List<IAssetAdministrationShell> aases) {
+		return BatchAuthorizationHelper.authorizeEach(aases, (i, aas) -> authorizeGetAAS(subjectInformation, aasIds.get(i), () -> aas));
+	}
+
 	/**
 	 * Checks authorization for {@link IAASAggregator#getAASList()}.
 	 *
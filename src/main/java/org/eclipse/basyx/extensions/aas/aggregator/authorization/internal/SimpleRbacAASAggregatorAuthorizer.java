@@ -25,16 +25,20 @@
 package org.eclipse.basyx.extensions.aas.aggregator.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
 import org.eclipse.basyx.extensions.aas.aggregator.authorization.AASAggregatorScopes;
 import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IRbacRuleChecker;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IRoleAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IdHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.extensions.shared.authorization.internal.SimpleRbacHelper;
+import org.eclipse.basyx.extensions.shared.authorization.internal.TargetInformation;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 
@@ -64,6 +68,12 @@ public class SimpleRbacAASAggregatorAuthorizer<SubjectInformationType> implement
 		return aasSupplier.get();
 	}
 
+	@Override
+	public List<IAssetAdministrationShell> authorizeGetAASBatch(final SubjectInformationType subjectInformation, final List<IIdentifier> aasIds, final List<IAssetAdministrationShell> aases) {
+		final List<TargetInformation> targetInformations = aasIds.stream().map(aasId -> new BaSyxObjectTargetInformation(IdHelper.getIdentifierId(aasId), null, null, null)).collect(Collectors.toList());
+		return BatchAuthorizationHelper.filter(aases, SimpleRbacHelper.checkRules(rbacRuleChecker, roleAuthenticator, subjectInformation, AASAggregatorScopes.READ_SCOPE, targetInformations));
+	}
+
 	@Override
 	public IModelProvider authorizeGetAASProvider(final SubjectInformationType subjectInformation, final IIdentifier aasId, final Supplier<IModelProvider> modelProviderSupplier) throws InhibitException {
 		SimpleRbacHelper.checkRule(rbacRuleChecker, roleAuthenticator, subjectInformation, AASAggregatorScopes.READ_SCOPE, new BaSyxObjectTargetInformation(IdHelper.getIdentifierId(aasId), null, null, null));
@@ -129,7 +129,8 @@ public class MqttAASAggregatorObserver extends MqttEventService implements IAASA
 
 	@Override
 	public void aasUpdated(String shellId) {
-		sendMqttMessage(MqttAASAggregatorHelper.TOPIC_UPDATEAAS, MqttAASAggregatorHelper.createAASChangedPayload(shellId));
+		String payload = MqttAASAggregatorHelper.createAASChangedPayload(shellId);
+		sendMqttMessage(MqttAASAggregatorHelper.TOPIC_UPDATEAAS, payload, MqttAASAggregatorHelper.TOPIC_UPDATEAAS + payload);
 	}
 
 	@Override
@@ -95,11 +95,13 @@ public class MqttV2AASAggregatorObserver extends MqttEventService implements IAA
 
 	@Override
 	public void aasUpdated(AssetAdministrationShell shell, String repoId) {
+		String topic = topicFactory.createUpdateAASTopic(repoId);
+		String coalescingKey = topic + "/" + shell.getIdentification().getId();
 		if (shell instanceof Map<?, ?>) {
 			IAssetAdministrationShell copy = removeConceptDictionaries(shell);
-			sendMqttMessage(topicFactory.createUpdateAASTopic(repoId), serializePayload(copy));
+			sendMqttMessage(topic, serializePayload(copy), coalescingKey);
 		} else {
-			sendMqttMessage(topicFactory.createUpdateAASTopic(repoId), serializePayload(shell));
+			sendMqttMessage(topic, serializePayload(shell), coalescingKey);
 		}
 	}
 
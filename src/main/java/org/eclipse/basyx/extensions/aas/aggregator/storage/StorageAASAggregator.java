@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.storage;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPI;
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPIFactory;
+import org.eclipse.basyx.extensions.submodel.aggregator.storage.StorageDecoratingSubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Implementation variant for the AASAggregator that persists all shells to a
+ * storage. The decorated aggregator keeps serving all requests from memory. On
+ * construction, all shells contained in the storage are restored into the
+ * decorated aggregator.<br>
+ * <br>
+ * The submodels are only persisted and restored, if the submodel aggregators
+ * of the decorated aggregator are created by a
+ * {@link StorageDecoratingSubmodelAggregatorFactory} using the same storage.
+ * 
+ * @author agent
+ *
+ */
+public class StorageAASAggregator implements IAASAggregator {
+	public static final String SHELL_COLLECTION = "shells";
+
+	private final IAASAggregator decorated;
+	private final IBaSyxStorageAPIFactory storageFactory;
+	private final IBaSyxStorageAPI<AssetAdministrationShell> shellStorage;
+
+	/**
+	 * 
+	 * @param decorated
+	 *            the underlying AAS aggregator
+	 * @param storageFactory
+	 *            factory for the storage the shells are persisted to
+	 */
+	public StorageAASAggregator(IAASAggregator decorated, IBaSyxStorageAPIFactory storageFactory) {
+		this.decorated = decorated;
+		this.storageFactory = storageFactory;
+		this.shellStorage = storageFactory.create(SHELL_COLLECTION, AssetAdministrationShell.class);
+		restore();
+	}
+
+	private void restore() {
+		for (AssetAdministrationShell shell : shellStorage.retrieveAll()) {
+			decorated.createAAS(shell);
+		}
+	}
+
+	@Override
+	public Collection<IAssetAdministrationShell> getAASList() {
+		return decorated.getAASList();
+	}
+
+	@Override
+	public IAssetAdministrationShell getAAS(IIdentifier aasId) throws ResourceNotFoundException {
+		return decorated.getAAS(aasId);
+	}
+
+	@Override
+	public IModelProvider getAASProvider(IIdentifier aasId) throws ResourceNotFoundException {
+		return new StorageAASModelProvider(decorated.getAASProvider(aasId), this::persistShell);
+	}
+
+	@Override
+	public void createAAS(AssetAdministrationShell aas) {
+		// A newly created shell starts without submodels, so that none of a
+		// previously deleted shell with the same identifier may be restored
+		deleteSubmodels(aas.getIdentification());
+		decorated.createAAS(aas);
+		shellStorage.createOrUpdate(aas);
+	}
+
+	@Override
+	public void updateAAS(AssetAdministrationShell aas) throws ResourceNotFoundException {
+		decorated.updateAAS(aas);
+		shellStorage.createOrUpdate(aas);
+	}
+
+	@Override
+	public void deleteAAS(IIdentifier aasId) {
+		decorated.deleteAAS(aasId);
+		shellStorage.delete(aasId.getId());
+		deleteSubmodels(aasId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void persistShell(IModelProvider provider) {
+		Map<String, Object> shell = (Map<String, Object>) provider.getValue("/aas");
+		shellStorage.createOrUpdate(AssetAdministrationShell.createAsFacade(shell));
+	}
+
+	private void deleteSubmodels(IIdentifier aasId) {
+		storageFactory.create(StorageDecoratingSubmodelAggregatorFactory.getCollectionName(aasId), Submodel.class).deleteCollection();
+	}
+}
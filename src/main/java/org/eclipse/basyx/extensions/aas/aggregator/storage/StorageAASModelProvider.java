@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.storage;
+
+import java.util.function.Consumer;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
+
+/**
+ * Decorates the provider of a single AAS, so that modifications of the shell
+ * itself, e.g. adding or removing submodel references, are persisted. Changes
+ * of submodels are persisted by the submodel aggregator of the AAS.
+ * 
+ * @author agent
+ *
+ */
+class StorageAASModelProvider implements IVersionedModelProvider {
+	private static final String AAS = "aas";
+
+	private final IModelProvider decorated;
+	private final Consumer<IModelProvider> shellPersister;
+
+	public StorageAASModelProvider(IModelProvider decorated, Consumer<IModelProvider> shellPersister) {
+		this.decorated = decorated;
+		this.shellPersister = shellPersister;
+	}
+
+	@Override
+	public Object getValue(String path) throws ProviderException {
+		return decorated.getValue(path);
+	}
+
+	@Override
+	public void setValue(String path, Object newValue) throws ProviderException {
+		if (!isShellPath(path)) {
+			decorated.setValue(path, newValue);
+			return;
+		}
+		synchronized (decorated) {
+			decorated.setValue(path, newValue);
+			shellPersister.accept(decorated);
+		}
+	}
+
+	@Override
+	public void createValue(String path, Object newEntity) throws ProviderException {
+		if (!isShellPath(path)) {
+			decorated.createValue(path, newEntity);
+			return;
+		}
+		synchronized (decorated) {
+			decorated.createValue(path, newEntity);
+			shellPersister.accept(decorated);
+		}
+	}
+
+	@Override
+	public void deleteValue(String path) throws ProviderException {
+		if (!isShellPath(path)) {
+			decorated.deleteValue(path);
+			return;
+		}
+		synchronized (decorated) {
+			decorated.deleteValue(path);
+			shellPersister.accept(decorated);
+		}
+	}
+
+	@Override
+	public void deleteValue(String path, Object obj) throws ProviderException {
+		if (!isShellPath(path)) {
+			decorated.deleteValue(path, obj);
+			return;
+		}
+		synchronized (decorated) {
+			decorated.deleteValue(path, obj);
+			shellPersister.accept(decorated);
+		}
+	}
+
+	@Override
+	public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+		return decorated.invokeOperation(path, parameter);
+	}
+
+	@Override
+	public long getChangeVersion(String path) {
+		if (decorated instanceof IVersionedModelProvider) {
+			return ((IVersionedModelProvider) decorated).getChangeVersion(path);
+		}
+		return UNVERSIONED;
+	}
+
+	/**
+	 * Checks if the path addresses the shell or one of its submodels as a whole,
+	 * e.g. /aas or /aas/submodels/{idShort}
+	 */
+	private static boolean isShellPath(String path) {
+		if (path == null) {
+			return false;
+		}
+		int queryIndex = path.indexOf('?');
+		if (queryIndex >= 0) {
+			path = path.substring(0, queryIndex);
+		}
+		String[] elements = VABPathTools.splitPath(path);
+		return elements.length >= 1 && elements.length <= 3 && elements[0].equals(AAS);
+	}
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.aas.aggregator.storage;
+
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregatorFactory;
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPIFactory;
+import org.eclipse.basyx.extensions.submodel.aggregator.storage.StorageDecoratingSubmodelAggregatorFactory;
+
+/**
+ * Factory decorating AASAggregator with persistence by wrapping an
+ * IAASAggregatorFactory. To persist the submodels as well, the decorated
+ * factory has to create its submodel aggregators with a
+ * {@link StorageDecoratingSubmodelAggregatorFactory} using the same storage.
+ * 
+ * @author agent
+ */
+public class StorageDecoratingAASAggregatorFactory implements IAASAggregatorFactory {
+	private IAASAggregatorFactory aasAggregatorFactory;
+	private IBaSyxStorageAPIFactory storageFactory;
+
+	public StorageDecoratingAASAggregatorFactory(IAASAggregatorFactory factoryToBeDecorated, IBaSyxStorageAPIFactory storageFactory) {
+		this.aasAggregatorFactory = factoryToBeDecorated;
+		this.storageFactory = storageFactory;
+	}
+
+	@Override
+	public IAASAggregator create() {
+		return new StorageAASAggregator(aasAggregatorFactory.create(), storageFactory);
+	}
+}
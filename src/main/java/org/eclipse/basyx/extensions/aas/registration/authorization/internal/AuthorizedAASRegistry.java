@@ -28,7 +28,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
@@ -177,18 +176,31 @@ public class AuthorizedAASRegistry<SubjectInformationType> implements IAASRegist
 			throw new ResourceNotFoundException("AAS with Id " + aasId.getId() + " does not exist");
 		}
 
-		final Collection<SubmodelDescriptor> submodelDescriptorsToRetain = authorizedAASDescriptor.getSubmodelDescriptors().stream().map(submodelDescriptor -> {
-			final IIdentifier smId = submodelDescriptor.getIdentifier();
-			try {
-				return authorizeLookupSubmodel(aasId, smId);
-			} catch (final InhibitException e) {
-				// log and leave out submodel descriptor if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
-
-		return shallowCopyAndSubstituteSubmodels(authorizedAASDescriptor, submodelDescriptorsToRetain);
+		return filterAuthorizedSubmodelDescriptors(aasId, authorizedAASDescriptor);
+	}
+
+	private AASDescriptor filterAuthorizedSubmodelDescriptors(final IIdentifier aasId, final AASDescriptor aasDescriptor) {
+		final Collection<SubmodelDescriptor> submodelDescriptorsToRetain = filterAuthorizedSubmodelDescriptors(aasId, aasDescriptor.getSubmodelDescriptors());
+		return shallowCopyAndSubstituteSubmodels(aasDescriptor, submodelDescriptorsToRetain);
+	}
+
+	/**
+	 * Authorizes the lookup of each of the already retrieved submodel descriptors
+	 * in one batch and leaves out the denied ones.
+	 */
+	protected List<SubmodelDescriptor> filterAuthorizedSubmodelDescriptors(final IIdentifier aasId, final Collection<SubmodelDescriptor> smDescriptors) {
+		if (smDescriptors.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		final List<SubmodelDescriptor> candidates = new ArrayList<>(smDescriptors);
+		final List<IIdentifier> smIds = candidates.stream().map(this::getSmIdUnsecured).collect(Collectors.toList());
+		final List<IReference> smSemanticIds = candidates.stream().map(this::getSmSemanticIdUnsecured).collect(Collectors.toList());
+		final List<SubmodelDescriptor> authorizedSmDescriptors = aasRegistryAuthorizer.authorizeLookupSubmodelBatch(subjectInformationProvider.get(), aasId, smIds, smSemanticIds, candidates);
+
+		// leave out submodel descriptors if authorization was unsuccessful
+		logger.debug("Left out {} of {} submodel descriptors due to missing authorization", candidates.size() - authorizedSmDescriptors.size(), candidates.size());
+		return authorizedSmDescriptors;
 	}
 
 	private AASDescriptor shallowCopyAndSubstituteSubmodels(final AASDescriptor originalAASDescriptor, final Collection<SubmodelDescriptor> newSubmodels) {
@@ -227,15 +239,21 @@ public class AuthorizedAASRegistry<SubjectInformationType> implements IAASRegist
 	}
 
 	protected List<AASDescriptor> authorizeLookupAll() throws InhibitException {
-		return authorizeAASDescriptorListOnly().stream().map(aas -> {
-			try {
-				return authorizeLookupAAS(aas.getIdentifier());
-			} catch (final InhibitException e) {
-				// log and leave out aas descriptor if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		final List<AASDescriptor> candidates = authorizeAASDescriptorListOnly();
+		if (candidates.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		final List<IIdentifier> aasIds = candidates.stream().map(this::getAasIdUnsecured).collect(Collectors.toList());
+		final List<AASDescriptor> authorizedAASDescriptorsOnly = aasRegistryAuthorizer.authorizeLookupAASBatch(subjectInformationProvider.get(), aasIds, candidates);
+
+		// leave out aas descriptors if authorization was unsuccessful
+		logger.debug("Left out {} of {} AAS descriptors due to missing authorization", candidates.size() - authorizedAASDescriptorsOnly.size(), candidates.size());
+		final List<AASDescriptor> authorizedAASDescriptors = new ArrayList<>(authorizedAASDescriptorsOnly.size());
+		for (final AASDescriptor aasDescriptor : authorizedAASDescriptorsOnly) {
+			authorizedAASDescriptors.add(filterAuthorizedSubmodelDescriptors(getAasIdUnsecured(aasDescriptor), aasDescriptor));
+		}
+		return authorizedAASDescriptors;
 	}
 
 	private List<AASDescriptor> authorizeAASDescriptorListOnly() throws InhibitException {
@@ -256,15 +274,7 @@ public class AuthorizedAASRegistry<SubjectInformationType> implements IAASRegist
 	}
 
 	protected List<SubmodelDescriptor> authorizeLookupSubmodels(final IIdentifier aasId) throws InhibitException {
-		return authorizeSubmodelListOnly(aasId).stream().map(submodel -> {
-			try {
-				return authorizeLookupSubmodel(aasId, submodel.getIdentifier());
-			} catch (final InhibitException e) {
-				// log and leave out submodel descriptor if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		return filterAuthorizedSubmodelDescriptors(aasId, authorizeSubmodelListOnly(aasId));
 	}
 
 	private List<SubmodelDescriptor> authorizeSubmodelListOnly(final IIdentifier aasId) throws InhibitException {
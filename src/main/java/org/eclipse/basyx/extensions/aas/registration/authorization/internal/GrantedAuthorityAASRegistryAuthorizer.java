@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.GrantedAuthorityHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IGrantedAuthorityAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
@@ -93,4 +94,14 @@ public class GrantedAuthorityAASRegistryAuthorizer<SubjectInformationType> imple
 
 		return smSupplier.get();
 	}
+
+	@Override
+	public List<AASDescriptor> authorizeLookupAASBatch(final SubjectInformationType subjectInformation, final List<IIdentifier> aasIds, final List<AASDescriptor> aasDescriptors) {
+		return BatchAuthorizationHelper.filter(aasDescriptors, GrantedAuthorityHelper.checkAuthorityForAll(grantedAuthorityAuthenticator, subjectInformation, AuthorizedAASRegistry.READ_AUTHORITY, aasDescriptors.size()));
+	}
+
+	@Override
+	public List<SubmodelDescriptor> authorizeLookupSubmodelBatch(final SubjectInformationType subjectInformation, final IIdentifier aasId, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<SubmodelDescriptor> smDescriptors) {
+		return BatchAuthorizationHelper.filter(smDescriptors, GrantedAuthorityHelper.checkAuthorityForAll(grantedAuthorityAuthenticator, subjectInformation, AuthorizedAASRegistry.READ_AUTHORITY, smDescriptors.size()));
+	}
 }
@@ -29,6 +29,7 @@ import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
@@ -116,6 +117,24 @@ public interface IAASRegistryAuthorizer<SubjectInformationType> {
 	 */
 	public AASDescriptor authorizeLookupAAS(final SubjectInformationType subjectInformation, final IIdentifier aasId, final Supplier<AASDescriptor> aasSupplier) throws InhibitException;
 
+	/**
+	 * Checks authorization for {@link IAASRegistry#lookupAAS(IIdentifier)} for a
+	 * whole list of AASes at once, e.g. to filter the result of
+	 * {@link IAASRegistry#lookupAll()}. Denied AASes are left out instead of
+	 * throwing.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aasIds
+	 *            ids of the AASes.
+	 * @param aasDescriptors
+	 *            the already retrieved AAS descriptors, same order as aasIds.
+	 * @return the authorized AAS descriptors in the given order
+	 */
+	public default List<AASDescriptor> authorizeLookupAASBatch(final SubjectInformationType subjectInformation, final List<IIdentifier> aasIds, final List<AASDescriptor> aasDescriptors) {
+		return BatchAuthorizationHelper.authorizeEach(aasDescriptors, (i, aasDescriptor) -> authorizeLookupAAS(subjectInformation, aasIds.get(i), () -> aasDescriptor));
+	}
+
 	/**
 	 * Checks authorization for {@link IAASRegistry#lookupAll()}.
 	 *
@@ -163,4 +182,27 @@ public interface IAASRegistryAuthorizer<SubjectInformationType> {
 	 *             if authorization failed
 	 */
 	public SubmodelDescriptor authorizeLookupSubmodel(final SubjectInformationType subjectInformation, final IIdentifier aasId, final IIdentifier smId, final IReference smSemanticId, final Supplier<SubmodelDescriptor> smSupplier) throws InhibitException;
-}
\ No newline at end of file
+
+	/**
+	 * Checks authorization for
+	 * {@link IAASRegistry#lookupSubmodel(IIdentifier, IIdentifier)} for a whole
+	 * list of submodels of an AAS at once, e.g. to filter the result of
+	 * {@link IAASRegistry#lookupSubmodels(IIdentifier)}. Denied submodels are
+	 * left out instead of throwing.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aasId
+	 *            id of the AAS.
+	 * @param smIds
+	 *            ids of the submodels.
+	 * @param smSemanticIds
+	 *            semantic ids of the submodels, same order as smIds.
+	 * @param smDescriptors
+	 *            the already retrieved submodel descriptors, same order as smIds.
+	 * @return the authorized submodel descriptors in the given order
+	 */
+	public default List<SubmodelDescriptor> authorizeLookupSubmodelBatch(final SubjectInformationType subjectInformation, final IIdentifier aasId, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<SubmodelDescriptor> smDescriptors) {
+		return BatchAuthorizationHelper.authorizeEach(smDescriptors, (i, smDescriptor) -> authorizeLookupSubmodel(subjectInformation, aasId, smIds.get(i), smSemanticIds.get(i), () -> smDescriptor));
+	}
+}
@@ -24,17 +24,21 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.aas.registration.authorization.internal;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
 import org.eclipse.basyx.extensions.aas.registration.authorization.AASRegistryScopes;
 import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IRbacRuleChecker;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IRoleAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IdHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.extensions.shared.authorization.internal.SimpleRbacHelper;
+import org.eclipse.basyx.extensions.shared.authorization.internal.TargetInformation;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 
@@ -99,4 +103,21 @@ public class SimpleRbacAASRegistryAuthorizer<SubjectInformationType> implements
 
 		return smSupplier.get();
 	}
+
+	@Override
+	public List<AASDescriptor> authorizeLookupAASBatch(final SubjectInformationType subjectInformation, final List<IIdentifier> aasIds, final List<AASDescriptor> aasDescriptors) {
+		final List<TargetInformation> targetInformations = aasIds.stream().map(aasId -> new BaSyxObjectTargetInformation(IdHelper.getIdentifierId(aasId), null, null, null)).collect(Collectors.toList());
+		return BatchAuthorizationHelper.filter(aasDescriptors, SimpleRbacHelper.checkRules(rbacRuleChecker, roleAuthenticator, subjectInformation, AASRegistryScopes.READ_SCOPE, targetInformations));
+	}
+
+	@Override
+	public List<SubmodelDescriptor> authorizeLookupSubmodelBatch(final SubjectInformationType subjectInformation, final IIdentifier aasId, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<SubmodelDescriptor> smDescriptors) {
+		final String aasIdString = IdHelper.getIdentifierId(aasId);
+
+		final List<TargetInformation> targetInformations = new ArrayList<>(smIds.size());
+		for (int i = 0; i < smIds.size(); i++) {
+			targetInformations.add(new BaSyxObjectTargetInformation(aasIdString, IdHelper.getIdentifierId(smIds.get(i)), IdHelper.getReferenceId(smSemanticIds.get(i)), null));
+		}
+		return BatchAuthorizationHelper.filter(smDescriptors, SimpleRbacHelper.checkRules(rbacRuleChecker, roleAuthenticator, subjectInformation, AASRegistryScopes.READ_SCOPE, targetInformations));
+	}
 }
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage;
+
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+
+/**
+ * Storage API for submodels that persists their submodel elements
+ * individually, so that single elements can be read and written without
+ * transferring the whole submodel.
+ * 
+ * @author agent
+ *
+ */
+public interface IBaSyxSubmodelElementStorageAPI extends IBaSyxStorageAPI<Submodel> {
+	/**
+	 * Retrieves a single submodel element
+	 * 
+	 * @param submodelId
+	 *            identifier of the submodel containing the element
+	 * @param idShortPath
+	 *            path of the element within the submodel, e.g. collection/property
+	 * @return the element or null, if it does not exist
+	 */
+	public ISubmodelElement retrieveSubmodelElement(String submodelId, String idShortPath);
+
+	/**
+	 * Creates or replaces a single submodel element including all elements
+	 * contained in it
+	 * 
+	 * @param submodelId
+	 *            identifier of the submodel containing the element
+	 * @param idShortPath
+	 *            path of the element within the submodel
+	 * @param element
+	 *            the new element
+	 * @throws ResourceNotFoundException
+	 *             if the submodel is not contained in the storage
+	 */
+	public void updateSubmodelElement(String submodelId, String idShortPath, ISubmodelElement element) throws ResourceNotFoundException;
+
+	/**
+	 * Creates or replaces multiple submodel elements at once
+	 * 
+	 * @param submodelId
+	 *            identifier of the submodel containing the elements
+	 * @param elements
+	 *            the new elements by their idShortPath
+	 * @throws ResourceNotFoundException
+	 *             if the submodel is not contained in the storage
+	 */
+	public void updateSubmodelElements(String submodelId, Map<String, ISubmodelElement> elements) throws ResourceNotFoundException;
+
+	/**
+	 * Deletes a single submodel element including all elements contained in it
+	 * 
+	 * @param submodelId
+	 *            identifier of the submodel containing the element
+	 * @param idShortPath
+	 *            path of the element within the submodel
+	 * @return true, if the element existed
+	 */
+	public boolean deleteSubmodelElement(String submodelId, String idShortPath);
+}
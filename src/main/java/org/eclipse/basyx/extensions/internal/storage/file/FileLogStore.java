@@ -0,0 +1,630 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage.file;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable key/value store that keeps all values in memory and persists
+ * mutations to a local directory.<br>
+ * <br>
+ * Every mutation is appended to a write-ahead log before the call returns.
+ * Concurrent writers are combined into a single write and fsync (group commit).
+ * As soon as the log exceeds the checkpoint threshold, the complete content is
+ * written to a binary snapshot, which atomically replaces the previous one, and
+ * the log is truncated. On startup, the snapshot is memory-mapped and the log
+ * tail is replayed on top of it. A torn record at the end of the log, e.g.
+ * caused by a crash during a write, is discarded.
+ * 
+ * @author agent
+ *
+ */
+public class FileLogStore implements Closeable {
+	private static final Logger logger = LoggerFactory.getLogger(FileLogStore.class);
+
+	public static final String SNAPSHOT_FILE = "snapshot.bin";
+	public static final String LOG_FILE = "wal.log";
+	public static final long DEFAULT_CHECKPOINT_THRESHOLD = 64L * 1024 * 1024;
+
+	private static final int SNAPSHOT_MAGIC = 0x42535853;
+	private static final int SNAPSHOT_VERSION = 1;
+	private static final byte OP_PUT = 1;
+	private static final byte OP_REMOVE = 2;
+	private static final byte OP_BATCH = 3;
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private final Path directory;
+	private final long checkpointThreshold;
+	private final NavigableMap<String, byte[]> index = new ConcurrentSkipListMap<>();
+
+	// Guards the index order and the pending records
+	private final Object appendLock = new Object();
+	private List<ByteBuffer> pending = new ArrayList<>();
+	private long appendedSequence;
+
+	// Held by the writer that currently flushes the log (the group leader)
+	private final Object flushLock = new Object();
+	private volatile long durableSequence;
+	private FileChannel log;
+	private long logSize;
+	private boolean closed;
+	// Set if the log could not be restored after a failed write
+	private volatile IOException failure;
+
+	/**
+	 * Opens the store in the given directory using the default checkpoint
+	 * threshold. The directory is created if it does not exist.
+	 * 
+	 * @param directory
+	 */
+	public FileLogStore(Path directory) {
+		this(directory, DEFAULT_CHECKPOINT_THRESHOLD);
+	}
+
+	/**
+	 * Opens the store in the given directory. The directory is created if it does
+	 * not exist.
+	 * 
+	 * @param directory
+	 * @param checkpointThreshold
+	 *            size of the write-ahead log in bytes, after which a checkpoint is
+	 *            created
+	 */
+	public FileLogStore(Path directory, long checkpointThreshold) {
+		this.directory = directory;
+		this.checkpointThreshold = checkpointThreshold;
+		try {
+			Files.createDirectories(directory);
+			loadSnapshot();
+			openLog();
+		} catch (IOException e) {
+			throw new ProviderException("Could not open file store in " + directory, e);
+		}
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the value stored for the key or null, if there is none. The returned
+	 * array must not be modified.
+	 */
+	public byte[] get(String key) {
+		return index.get(key);
+	}
+
+	public boolean containsKey(String key) {
+		return index.containsKey(key);
+	}
+
+	/**
+	 * Returns all entries whose keys start with the given prefix, ordered by key.
+	 */
+	public Map<String, byte[]> getByPrefix(String prefix) {
+		if (prefix.isEmpty()) {
+			return Collections.unmodifiableMap(index);
+		}
+		return Collections.unmodifiableMap(index.subMap(prefix, true, prefix + Character.MAX_VALUE, false));
+	}
+
+	/**
+	 * Stores the value and returns after it has been written durably
+	 */
+	public void put(String key, byte[] value) {
+		ByteBuffer record = encodeRecord(OP_PUT, key, value);
+		long sequence;
+		synchronized (appendLock) {
+			ensureWritable();
+			index.put(key, value);
+			sequence = enqueue(record);
+		}
+		awaitDurable(sequence);
+	}
+
+	/**
+	 * Removes the key and returns after the removal has been written durably
+	 * 
+	 * @return true, if there was a value for the key
+	 */
+	public boolean remove(String key) {
+		return !removeAll(Collections.singleton(key)).isEmpty();
+	}
+
+	/**
+	 * Removes all given keys as one group of log records
+	 * 
+	 * @return the keys that have actually been removed
+	 */
+	public Collection<String> removeAll(Collection<String> keys) {
+		List<String> removed = new ArrayList<>();
+		long sequence = 0;
+		synchronized (appendLock) {
+			ensureWritable();
+			for (String key : keys) {
+				if (index.remove(key) != null) {
+					removed.add(key);
+					sequence = enqueue(encodeRecord(OP_REMOVE, key, null));
+				}
+			}
+		}
+		awaitDurable(sequence);
+		return removed;
+	}
+
+	/**
+	 * Atomically removes and stores the given entries. The changes are written as
+	 * a single log record, so that either all or none of them are recovered after
+	 * a crash. Removals are applied before the new values are stored.
+	 */
+	public void update(Map<String, byte[]> puts, Collection<String> removes) {
+		if (puts.isEmpty() && removes.isEmpty()) {
+			return;
+		}
+		ByteBuffer record = encodeBatch(puts, removes);
+		long sequence;
+		synchronized (appendLock) {
+			ensureWritable();
+			for (String key : removes) {
+				index.remove(key);
+			}
+			index.putAll(puts);
+			sequence = enqueue(record);
+		}
+		awaitDurable(sequence);
+	}
+
+	/**
+	 * Writes a snapshot of the current content and truncates the write-ahead log
+	 */
+	public void checkpoint() {
+		synchronized (flushLock) {
+			ensureOpen();
+			try {
+				flushAndCheckpoint(true);
+			} catch (IOException e) {
+				throw new ProviderException("Could not write checkpoint of " + directory, e);
+			}
+		}
+	}
+
+	/**
+	 * Creates a final checkpoint and releases the log file
+	 */
+	@Override
+	public void close() {
+		synchronized (flushLock) {
+			if (closed) {
+				return;
+			}
+			try {
+				// A failed store only releases the log, its content is recovered on reopening
+				if (failure == null) {
+					flushAndCheckpoint(true);
+				}
+				log.close();
+			} catch (IOException e) {
+				throw new ProviderException("Could not close file store in " + directory, e);
+			} finally {
+				closed = true;
+			}
+		}
+	}
+
+	private long enqueue(ByteBuffer record) {
+		pending.add(record);
+		return ++appendedSequence;
+	}
+
+	/**
+	 * Blocks until the record with the given sequence number is durable. The first
+	 * waiting writer flushes all records appended so far, the others only wait for
+	 * it to finish. If the flush fails, the records stay pending and are written
+	 * by the next flush.
+	 */
+	private void awaitDurable(long sequence) {
+		if (durableSequence >= sequence) {
+			return;
+		}
+		synchronized (flushLock) {
+			if (durableSequence >= sequence) {
+				return;
+			}
+			ensureOpen();
+			try {
+				flushAndCheckpoint(false);
+			} catch (IOException e) {
+				throw new ProviderException("Could not write to the log of " + directory, e);
+			}
+		}
+	}
+
+	/**
+	 * Has to be called while holding the flush lock
+	 */
+	private void flushAndCheckpoint(boolean forceCheckpoint) throws IOException {
+		List<ByteBuffer> batch;
+		long batchSequence;
+		Map<String, byte[]> content = null;
+		synchronized (appendLock) {
+			batch = pending;
+			pending = new ArrayList<>();
+			batchSequence = appendedSequence;
+			if (forceCheckpoint || logSize + size(batch) >= checkpointThreshold) {
+				// Consistent with the log after this batch
+				content = new ConcurrentSkipListMap<>(index);
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			try {
+				writeBatch(batch);
+			} catch (IOException e) {
+				restoreBatch(batch, e);
+				throw e;
+			}
+		}
+		// Only reached if all records up to the batch sequence have been forced
+		durableSequence = batchSequence;
+
+		if (content != null) {
+			writeSnapshot(content);
+			// Replaying records already contained in the snapshot is idempotent, so a
+			// crash before the truncation does not lose or corrupt anything
+			log.truncate(0);
+			log.force(true);
+			logSize = 0;
+		}
+	}
+
+	private void writeBatch(List<ByteBuffer> batch) throws IOException {
+		ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+		long written = 0;
+		while (hasRemaining(buffers)) {
+			written += log.write(buffers);
+		}
+		log.force(false);
+		logSize += written;
+	}
+
+	/**
+	 * Cuts off the partially written batch from the log and puts it back in front
+	 * of the pending records, so that the next flush writes it again. If the log
+	 * can not be restored, the store fails all further writes, since later records
+	 * would be appended after torn bytes and discarded on replay.
+	 */
+	private void restoreBatch(List<ByteBuffer> batch, IOException cause) {
+		try {
+			log.truncate(logSize);
+			log.position(logSize);
+		} catch (IOException e) {
+			cause.addSuppressed(e);
+			failure = cause;
+			logger.error("Could not restore the log of " + directory + ", the file store does not accept writes anymore", cause);
+		}
+
+		for (ByteBuffer record : batch) {
+			record.rewind();
+		}
+		synchronized (appendLock) {
+			batch.addAll(pending);
+			pending = batch;
+		}
+	}
+
+	private void ensureOpen() {
+		if (closed) {
+			throw new ProviderException("File store in " + directory + " has already been closed");
+		}
+		ensureWritable();
+	}
+
+	private void ensureWritable() {
+		IOException cause = failure;
+		if (cause != null) {
+			throw new ProviderException("File store in " + directory + " failed to write its log", cause);
+		}
+	}
+
+	private void loadSnapshot() throws IOException {
+		Path snapshot = directory.resolve(SNAPSHOT_FILE);
+		if (!Files.exists(snapshot)) {
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.limit() < 20 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+				throw new IOException("Snapshot " + snapshot + " has an unknown format");
+			}
+
+			CRC32 crc = new CRC32();
+			ByteBuffer content = buffer.duplicate();
+			content.position(0);
+			content.limit(buffer.limit() - 8);
+			crc.update(content);
+			buffer.position(buffer.limit() - 8);
+			if (buffer.getLong() != crc.getValue()) {
+				throw new IOException("Snapshot " + snapshot + " is corrupted");
+			}
+
+			buffer.position(8);
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				String key = readString(buffer);
+				index.put(key, readBytes(buffer));
+			}
+		}
+	}
+
+	private void writeSnapshot(Map<String, byte[]> content) throws IOException {
+		Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			CRC32 crc = new CRC32();
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new ChecksumChannelStream(channel, crc), 1 << 16));
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(SNAPSHOT_VERSION);
+			out.writeInt(content.size());
+			for (Map.Entry<String, byte[]> entry : content.entrySet()) {
+				byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(key.length);
+				out.write(key);
+				out.writeInt(entry.getValue().length);
+				out.write(entry.getValue());
+			}
+			out.flush();
+
+			ByteBuffer checksum = ByteBuffer.allocate(8).putLong(0, crc.getValue());
+			while (checksum.hasRemaining()) {
+				channel.write(checksum);
+			}
+			channel.force(true);
+		}
+
+		Path snapshot = directory.resolve(SNAPSHOT_FILE);
+		try {
+			Files.move(tmp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+		}
+		syncDirectory();
+	}
+
+	private void syncDirectory() {
+		try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+			dir.force(true);
+		} catch (IOException e) {
+			// Not supported on every platform, e.g. on Windows
+			logger.trace("Could not sync directory " + directory, e);
+		}
+	}
+
+	/**
+	 * Opens the log and replays its valid records. Everything after the first
+	 * incomplete or corrupted record is cut off.
+	 */
+	private void openLog() throws IOException {
+		log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long size = log.size();
+		long valid = 0;
+		if (size > 0) {
+			// The log is bounded by the checkpoint threshold and read to the heap, since
+			// a mapped file can not be truncated on every platform
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining()) {
+				if (log.read(buffer) < 0) {
+					break;
+				}
+			}
+			buffer.flip();
+			while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+				int length = buffer.getInt();
+				int checksum = buffer.getInt();
+				if (length <= 0 || length > buffer.remaining()) {
+					break;
+				}
+				ByteBuffer payload = buffer.slice();
+				payload.limit(length);
+				CRC32 crc = new CRC32();
+				crc.update(payload.duplicate());
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+				applyRecord(payload);
+				buffer.position(buffer.position() + length);
+				valid = buffer.position();
+			}
+		}
+
+		if (valid < size) {
+			logger.warn("Discarding " + (size - valid) + " bytes of incomplete records at the end of " + directory.resolve(LOG_FILE));
+			log.truncate(valid);
+			log.force(true);
+		}
+		log.position(valid);
+		logSize = valid;
+	}
+
+	private void applyRecord(ByteBuffer payload) throws IOException {
+		byte op = payload.get();
+		if (op == OP_BATCH) {
+			int count = payload.getInt();
+			for (int i = 0; i < count; i++) {
+				applyEntry(payload.get(), payload);
+			}
+		} else {
+			applyEntry(op, payload);
+		}
+	}
+
+	private void applyEntry(byte op, ByteBuffer payload) throws IOException {
+		String key = readString(payload);
+		if (op == OP_PUT) {
+			index.put(key, readBytes(payload));
+		} else if (op == OP_REMOVE) {
+			index.remove(key);
+		} else {
+			throw new IOException("Unknown log record type " + op);
+		}
+	}
+
+	private static ByteBuffer encodeRecord(byte op, String key, byte[] value) {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int length = entrySize(keyBytes, value);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+		record.position(RECORD_HEADER_SIZE);
+		putEntry(record, op, keyBytes, value);
+		return finishRecord(record, length);
+	}
+
+	private static ByteBuffer encodeBatch(Map<String, byte[]> puts, Collection<String> removes) {
+		List<byte[]> removedKeys = new ArrayList<>();
+		List<byte[]> putKeys = new ArrayList<>();
+		int length = 1 + 4;
+		for (String key : removes) {
+			byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+			removedKeys.add(keyBytes);
+			length += entrySize(keyBytes, null);
+		}
+		for (Map.Entry<String, byte[]> entry : puts.entrySet()) {
+			byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			putKeys.add(keyBytes);
+			length += entrySize(keyBytes, entry.getValue());
+		}
+
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+		record.position(RECORD_HEADER_SIZE);
+		record.put(OP_BATCH);
+		record.putInt(removedKeys.size() + putKeys.size());
+		for (byte[] keyBytes : removedKeys) {
+			putEntry(record, OP_REMOVE, keyBytes, null);
+		}
+		int i = 0;
+		for (byte[] value : puts.values()) {
+			putEntry(record, OP_PUT, putKeys.get(i++), value);
+		}
+		return finishRecord(record, length);
+	}
+
+	private static int entrySize(byte[] keyBytes, byte[] value) {
+		return 1 + 4 + keyBytes.length + (value == null ? 0 : 4 + value.length);
+	}
+
+	private static void putEntry(ByteBuffer record, byte op, byte[] keyBytes, byte[] value) {
+		record.put(op);
+		record.putInt(keyBytes.length);
+		record.put(keyBytes);
+		if (value != null) {
+			record.putInt(value.length);
+			record.put(value);
+		}
+	}
+
+	/**
+	 * Writes the length and checksum header of a completely filled record
+	 */
+	private static ByteBuffer finishRecord(ByteBuffer record, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), RECORD_HEADER_SIZE, length);
+		record.putInt(0, length);
+		record.putInt(4, (int) crc.getValue());
+		record.flip();
+		return record;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		return new String(readBytes(buffer), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private static long size(List<ByteBuffer> buffers) {
+		long size = 0;
+		for (ByteBuffer buffer : buffers) {
+			size += buffer.remaining();
+		}
+		return size;
+	}
+
+	private static boolean hasRemaining(ByteBuffer[] buffers) {
+		return buffers[buffers.length - 1].hasRemaining();
+	}
+
+	/**
+	 * Writes to a channel while updating the snapshot checksum
+	 */
+	private static class ChecksumChannelStream extends OutputStream {
+		private final FileChannel channel;
+		private final CRC32 crc;
+
+		public ChecksumChannelStream(FileChannel channel, CRC32 crc) {
+			this.channel = channel;
+			this.crc = crc;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			crc.update(b, off, len);
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+}
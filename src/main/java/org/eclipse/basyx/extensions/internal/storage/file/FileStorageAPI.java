@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.extensions.internal.storage.BaSyxStorageAPI;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+
+/**
+ * Storage API persisting shells, submodels or AAS descriptors to a local
+ * {@link FileLogStore}. Objects are stored as JSON. Multiple collections can
+ * share the same store, each of them is a separate key space within it.
+ * 
+ * @author agent
+ *
+ * @param <T>
+ *            The type of Objects to be handled
+ */
+public class FileStorageAPI<T> extends BaSyxStorageAPI<T> {
+	private static final char COLLECTION_SEPARATOR = '\u0000';
+	public static final String FILES_DIRECTORY = "files";
+
+	protected final FileLogStore store;
+	protected final String keyPrefix;
+	private final GSONTools tools = new GSONTools(new DefaultTypeFactory(), false, false);
+
+	/**
+	 * 
+	 * @param store
+	 *            The store that is used for persisting
+	 * @param collectionName
+	 *            The name of the collection, managed by this API
+	 * @param type
+	 *            Must be the exact same type as the type of the generic parameter
+	 *            {@code <T>}
+	 */
+	public FileStorageAPI(FileLogStore store, String collectionName, Class<T> type) {
+		super(collectionName, type);
+		if (collectionName.indexOf(COLLECTION_SEPARATOR) >= 0) {
+			throw new IllegalArgumentException("Collection name must not contain the character \\u0000");
+		}
+		if (!isBaSyxType(type)) {
+			throw new IllegalArgumentException("Unsupported type " + type.getName());
+		}
+		this.store = store;
+		this.keyPrefix = collectionName + COLLECTION_SEPARATOR;
+	}
+
+	@Override
+	public T createOrUpdate(T obj) {
+		return update(obj, getKey(obj));
+	}
+
+	@Override
+	public T update(T obj, String key) {
+		store.put(keyPrefix + key, serialize(toSerializableMap(obj)));
+		return obj;
+	}
+
+	@Override
+	public T rawRetrieve(String key) {
+		byte[] value = store.get(keyPrefix + key);
+		if (value == null) {
+			return null;
+		}
+		return fromBytes(value);
+	}
+
+	@Override
+	public Collection<T> rawRetrieveAll() {
+		return store.getByPrefix(keyPrefix).values().stream().map(this::fromBytes).collect(Collectors.toList());
+	}
+
+	@Override
+	public boolean delete(String key) {
+		return store.remove(keyPrefix + key);
+	}
+
+	/**
+	 * Collections are implicit key spaces of the store, so there is nothing to
+	 * create
+	 */
+	@Override
+	public void createCollectionIfNotExists(String collectionName) {
+	}
+
+	@Override
+	public void deleteCollection() {
+		store.removeAll(store.getByPrefix(keyPrefix).keySet().stream().collect(Collectors.toList()));
+		deleteRecursively(getFilesDirectory());
+	}
+
+	@Override
+	public File getFile(String key, String parentKey, Map<String, Object> objMap) {
+		File file = getFilePath(key, parentKey).toFile();
+		return file.exists() ? file : null;
+	}
+
+	@Override
+	public String writeFile(String key, String parentKey, InputStream fileStream, ISubmodelElement submodelElement) {
+		Path file = getFilePath(key, parentKey);
+		try {
+			Files.createDirectories(file.getParent());
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			Files.copy(fileStream, tmp, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new ProviderException("Could not write file " + file, e);
+		}
+		return file.toString();
+	}
+
+	@Override
+	public void deleteFile(Submodel submodel, String idShort) {
+		try {
+			Files.deleteIfExists(getFilePath(idShort, submodel.getIdentification().getId()));
+		} catch (IOException e) {
+			throw new ProviderException("Could not delete file of " + idShort, e);
+		}
+	}
+
+	@Override
+	public Object getStorageConnection() {
+		return store;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> toSerializableMap(T obj) {
+		if (obj instanceof Submodel) {
+			return SubmodelElementMapCollectionConverter.smToMap((Submodel) obj);
+		}
+		return (Map<String, Object>) obj;
+	}
+
+	protected byte[] serialize(Map<String, Object> map) {
+		return tools.serialize(map).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected Map<String, Object> deserialize(byte[] value) {
+		return (Map<String, Object>) tools.deserialize(new String(value, StandardCharsets.UTF_8));
+	}
+
+	@SuppressWarnings("unchecked")
+	private T fromBytes(byte[] value) {
+		Map<String, Object> map = deserialize(value);
+		if (isSubmodelType(TYPE)) {
+			return (T) SubmodelElementMapCollectionConverter.mapToSM(map);
+		} else if (isShellType(TYPE)) {
+			return (T) AssetAdministrationShell.createAsFacade(map);
+		} else {
+			return (T) AASDescriptor.createAsFacade(map);
+		}
+	}
+
+	private Path getFilesDirectory() {
+		return store.getDirectory().resolve(FILES_DIRECTORY).resolve(encode(COLLECTION_NAME));
+	}
+
+	private Path getFilePath(String key, String parentKey) {
+		return getFilesDirectory().resolve(encode(parentKey)).resolve(encode(key));
+	}
+
+	private static String encode(String name) {
+		try {
+			// Dots are encoded as well, so that no key can resolve to a parent directory
+			return URLEncoder.encode(name, StandardCharsets.UTF_8.name()).replace(".", "%2E").replace("*", "%2A");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void deleteRecursively(Path path) {
+		if (!Files.exists(path)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(path)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		} catch (IOException e) {
+			throw new ProviderException("Could not delete " + path, e);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage.file;
+
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPI;
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPIFactory;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+
+/**
+ * Factory creating {@link FileStorageAPI}s that share one {@link FileLogStore}
+ * 
+ * @author agent
+ *
+ */
+public class FileStorageAPIFactory implements IBaSyxStorageAPIFactory {
+	private final FileLogStore store;
+
+	public FileStorageAPIFactory(FileLogStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Submodels are stored element-wise by a {@link FileSubmodelStorageAPI}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> IBaSyxStorageAPI<T> create(String collectionName, Class<T> type) {
+		if (Submodel.class.equals(type)) {
+			return (IBaSyxStorageAPI<T>) new FileSubmodelStorageAPI(store, collectionName);
+		}
+		return new FileStorageAPI<>(store, collectionName, type);
+	}
+
+	public FileLogStore getStore() {
+		return store;
+	}
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage.file;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxSubmodelElementStorageAPI;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+
+/**
+ * Storage API persisting submodels to a local {@link FileLogStore}, which stores
+ * each submodel element as a separate entry keyed by its idShortPath. Elements
+ * of a SubmodelElementCollection are stored as separate entries as well.<br>
+ * <br>
+ * Retrieved submodels only create the facades of their elements when they are
+ * accessed, and single elements can be read and written without touching the
+ * rest of the submodel.
+ * 
+ * @author agent
+ *
+ */
+public class FileSubmodelStorageAPI extends FileStorageAPI<Submodel> implements IBaSyxSubmodelElementStorageAPI {
+	private static final char HEADER_SEPARATOR = '\u0000';
+	private static final char ELEMENT_SEPARATOR = '\u0001';
+
+	public FileSubmodelStorageAPI(FileLogStore store, String collectionName) {
+		super(store, collectionName, Submodel.class);
+	}
+
+	@Override
+	public Submodel update(Submodel submodel, String key) {
+		Map<String, Object> header = new LinkedHashMap<>(submodel);
+		header.remove(Submodel.SUBMODELELEMENT);
+
+		Map<String, byte[]> puts = new LinkedHashMap<>();
+		puts.put(getHeaderKey(key), serialize(header));
+		for (Map<String, Object> element : getElements(submodel.get(Submodel.SUBMODELELEMENT))) {
+			flatten(key, getIdShort(element), element, puts);
+		}
+
+		List<String> removes = new ArrayList<>(getStoredKeys(key));
+		removes.removeAll(puts.keySet());
+		store.update(puts, removes);
+		return submodel;
+	}
+
+	@Override
+	public Submodel rawRetrieve(String key) {
+		byte[] header = store.get(getHeaderKey(key));
+		if (header == null) {
+			return null;
+		}
+
+		NavigableMap<String, byte[]> records = getElementRecords(key, "");
+		List<String> idShorts = records.keySet().stream().filter(path -> !path.contains(VABPathTools.SEPERATOR)).collect(Collectors.toList());
+
+		Submodel submodel = new Submodel();
+		submodel.setMap(deserialize(header));
+		submodel.put(Submodel.SUBMODELELEMENT, new LazySubmodelElementMap(idShorts, idShort -> hydrate(records, idShort)));
+		return submodel;
+	}
+
+	@Override
+	public Collection<Submodel> rawRetrieveAll() {
+		int prefixLength = keyPrefix.length();
+		return store.getByPrefix(keyPrefix).keySet().stream().filter(key -> key.charAt(key.length() - 1) == HEADER_SEPARATOR).map(key -> rawRetrieve(key.substring(prefixLength, key.length() - 1))).collect(Collectors.toList());
+	}
+
+	/**
+	 * The facades of the retrieved elements are created lazily on access
+	 */
+	@Override
+	protected Submodel handleRetrievedSubmodel(Submodel retrieved) {
+		return retrieved;
+	}
+
+	@Override
+	public boolean delete(String key) {
+		Collection<String> removed = store.removeAll(getStoredKeys(key));
+		return removed.contains(getHeaderKey(key));
+	}
+
+	@Override
+	public ISubmodelElement retrieveSubmodelElement(String submodelId, String idShortPath) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		return hydrate(getElementRecords(submodelId, path), path);
+	}
+
+	@Override
+	public void updateSubmodelElement(String submodelId, String idShortPath, ISubmodelElement element) throws ResourceNotFoundException {
+		updateSubmodelElements(submodelId, Collections.singletonMap(idShortPath, element));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void updateSubmodelElements(String submodelId, Map<String, ISubmodelElement> elements) throws ResourceNotFoundException {
+		if (!store.containsKey(getHeaderKey(submodelId))) {
+			throw new ResourceNotFoundException("Submodel with id " + submodelId + " is not contained in collection " + COLLECTION_NAME);
+		}
+
+		Map<String, byte[]> puts = new LinkedHashMap<>();
+		List<String> removes = new ArrayList<>();
+		for (Map.Entry<String, ISubmodelElement> entry : elements.entrySet()) {
+			String path = VABPathTools.stripSlashes(entry.getKey());
+			removes.addAll(getElementKeys(submodelId, path));
+			flatten(submodelId, path, (Map<String, Object>) entry.getValue(), puts);
+		}
+		removes.removeAll(puts.keySet());
+		store.update(puts, removes);
+	}
+
+	@Override
+	public boolean deleteSubmodelElement(String submodelId, String idShortPath) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		Collection<String> removed = store.removeAll(getElementKeys(submodelId, path));
+		return removed.contains(getElementKey(submodelId, path));
+	}
+
+	/**
+	 * Creates the entries of an element. A SubmodelElementCollection is stored
+	 * without its value, which is stored as separate entries instead.
+	 */
+	private void flatten(String submodelId, String path, Map<String, Object> element, Map<String, byte[]> puts) {
+		if (!SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			puts.put(getElementKey(submodelId, path), serialize(SubmodelElementMapCollectionConverter.smElementToMap(element)));
+			return;
+		}
+
+		Map<String, Object> collection = new LinkedHashMap<>(element);
+		collection.put(Property.VALUE, new ArrayList<>());
+		puts.put(getElementKey(submodelId, path), serialize(collection));
+		for (Map<String, Object> child : getElements(element.get(Property.VALUE))) {
+			flatten(submodelId, path + VABPathTools.SEPERATOR + getIdShort(child), child, puts);
+		}
+	}
+
+	/**
+	 * Creates the facade of the element at the given path from the retrieved
+	 * entries
+	 */
+	private ISubmodelElement hydrate(NavigableMap<String, byte[]> records, String path) {
+		Map<String, Object> element = assemble(records, path);
+		return element == null ? null : SubmodelElementFacadeFactory.createSubmodelElement(element);
+	}
+
+	private Map<String, Object> assemble(NavigableMap<String, byte[]> records, String path) {
+		byte[] record = records.get(path);
+		if (record == null) {
+			return null;
+		}
+
+		Map<String, Object> element = deserialize(record);
+		if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			String childPrefix = path + VABPathTools.SEPERATOR;
+			List<Map<String, Object>> children = new ArrayList<>();
+			for (String childPath : records.subMap(childPrefix, true, childPrefix + Character.MAX_VALUE, false).keySet()) {
+				if (childPath.indexOf(VABPathTools.SEPERATOR, childPrefix.length()) < 0) {
+					children.add(assemble(records, childPath));
+				}
+			}
+			element.put(Property.VALUE, children);
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the stored element entries of a submodel, whose paths start with the
+	 * given prefix, by their path
+	 */
+	private NavigableMap<String, byte[]> getElementRecords(String submodelId, String pathPrefix) {
+		String prefix = getElementKey(submodelId, "");
+		NavigableMap<String, byte[]> records = new TreeMap<>();
+		store.getByPrefix(prefix + pathPrefix).forEach((key, value) -> records.put(key.substring(prefix.length()), value));
+		return records;
+	}
+
+	/**
+	 * Returns the keys of an element and all elements contained in it
+	 */
+	private List<String> getElementKeys(String submodelId, String path) {
+		String key = getElementKey(submodelId, path);
+		List<String> keys = new ArrayList<>();
+		if (store.containsKey(key)) {
+			keys.add(key);
+		}
+		keys.addAll(store.getByPrefix(key + VABPathTools.SEPERATOR).keySet());
+		return keys;
+	}
+
+	private List<String> getStoredKeys(String submodelId) {
+		List<String> keys = new ArrayList<>(store.getByPrefix(getElementKey(submodelId, "")).keySet());
+		if (store.containsKey(getHeaderKey(submodelId))) {
+			keys.add(getHeaderKey(submodelId));
+		}
+		return keys;
+	}
+
+	private String getHeaderKey(String submodelId) {
+		return keyPrefix + submodelId + HEADER_SEPARATOR;
+	}
+
+	private String getElementKey(String submodelId, String path) {
+		return keyPrefix + submodelId + ELEMENT_SEPARATOR + path;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<Map<String, Object>> getElements(Object elements) {
+		if (elements instanceof Map<?, ?>) {
+			return ((Map<String, Map<String, Object>>) elements).values();
+		} else if (elements instanceof Collection<?>) {
+			return (Collection<Map<String, Object>>) elements;
+		}
+		return Collections.emptyList();
+	}
+
+	private static String getIdShort(Map<String, Object> element) {
+		return (String) element.get(Referable.IDSHORT);
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.internal.storage.file;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+
+/**
+ * Map of submodel elements by idShort, whose elements are only created from
+ * their stored representation when they are accessed for the first time.
+ * Apart from that, it behaves like a {@link LinkedHashMap}, except that
+ * replacing or removing an element only returns the previous element if it has
+ * already been created. Otherwise, null is returned instead of creating it.
+ * 
+ * @author agent
+ *
+ */
+public class LazySubmodelElementMap extends AbstractMap<String, Object> {
+	private final Map<String, Slot> slots = new LinkedHashMap<>();
+
+	/**
+	 * 
+	 * @param idShorts
+	 *            the idShorts of all contained elements
+	 * @param hydrator
+	 *            creates the element for an idShort
+	 */
+	public LazySubmodelElementMap(Collection<String> idShorts, Function<String, ISubmodelElement> hydrator) {
+		for (String idShort : idShorts) {
+			slots.put(idShort, new Slot(idShort, hydrator));
+		}
+	}
+
+	/**
+	 * Returns the number of elements that have been created so far
+	 */
+	public int getHydratedCount() {
+		return (int) slots.values().stream().filter(Slot::isHydrated).count();
+	}
+
+	@Override
+	public Object get(Object key) {
+		Slot slot = slots.get(key);
+		return slot == null ? null : slot.get();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slots.containsKey(key);
+	}
+
+	/**
+	 * Returns the previous element only if it has already been created
+	 */
+	@Override
+	public Object put(String key, Object value) {
+		return getIfHydrated(slots.put(key, new Slot(value)));
+	}
+
+	/**
+	 * Returns the removed element only if it has already been created
+	 */
+	@Override
+	public Object remove(Object key) {
+		return getIfHydrated(slots.remove(key));
+	}
+
+	@Override
+	public int size() {
+		return slots.size();
+	}
+
+	@Override
+	public void clear() {
+		slots.clear();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return slots.keySet();
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new AbstractSet<Entry<String, Object>>() {
+			@Override
+			public Iterator<Entry<String, Object>> iterator() {
+				Iterator<Entry<String, Slot>> iterator = slots.entrySet().iterator();
+				return new Iterator<Entry<String, Object>>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Entry<String, Object> next() {
+						Entry<String, Slot> entry = iterator.next();
+						return new SimpleEntry<String, Object>(entry.getKey(), null) {
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							public Object getValue() {
+								return entry.getValue().get();
+							}
+
+							@Override
+							public Object setValue(Object value) {
+								return getIfHydrated(entry.setValue(new Slot(value)));
+							}
+						};
+					}
+
+					@Override
+					public void remove() {
+						iterator.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return slots.size();
+			}
+		};
+	}
+
+	private static Object getIfHydrated(Slot slot) {
+		return slot == null ? null : slot.element;
+	}
+
+	/**
+	 * Holds one element, which is created on first access. Creating it does not
+	 * modify the map structure, so that concurrent readers can not interfere.
+	 */
+	private static class Slot {
+		private final String idShort;
+		private final Function<String, ISubmodelElement> hydrator;
+		private volatile Object element;
+
+		public Slot(String idShort, Function<String, ISubmodelElement> hydrator) {
+			this.idShort = idShort;
+			this.hydrator = hydrator;
+		}
+
+		public Slot(Object element) {
+			this.idShort = null;
+			this.element = element;
+			this.hydrator = idShort -> null;
+		}
+
+		public boolean isHydrated() {
+			return element != null;
+		}
+
+		public Object get() {
+			if (element == null) {
+				synchronized (this) {
+					if (element == null) {
+						element = hydrator.apply(idShort);
+					}
+				}
+			}
+			return element;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.authorization.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper methods for authorizing a whole list of candidates in one pass by
+ * means of an allow-mask or a fallback to the single authorization instead of
+ * one exception per denied candidate.
+ *
+ * @author agent
+ */
+public class BatchAuthorizationHelper {
+	private BatchAuthorizationHelper() {
+	}
+
+	/**
+	 * Authorization of a single candidate, as done by the non-batch authorization
+	 * methods. Returns the element to hand out for the candidate.
+	 */
+	@FunctionalInterface
+	public interface SingleAuthorization<T> {
+		public T authorize(final int index, final T candidate) throws InhibitException;
+	}
+
+	/**
+	 * Fallback for authorizers without a dedicated batch implementation: authorizes
+	 * every candidate individually. The element returned by the single
+	 * authorization is retained in place of the candidate, denied candidates and
+	 * null results are left out.
+	 *
+	 * @return the authorized elements in candidate order
+	 */
+	public static <T> List<T> authorizeEach(final List<T> candidates, final SingleAuthorization<T> singleAuthorization) {
+		final List<T> allowed = new ArrayList<>(candidates.size());
+		for (int i = 0; i < candidates.size(); i++) {
+			try {
+				final T authorized = singleAuthorization.authorize(i, candidates.get(i));
+				if (authorized != null) {
+					allowed.add(authorized);
+				}
+			} catch (final InhibitException e) {
+				// leave out the denied candidate
+			}
+		}
+		return allowed;
+	}
+
+	/**
+	 * Retains the candidates whose entry in the allow-mask is set.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the mask does not match the number of candidates
+	 */
+	public static <T> List<T> filter(final List<T> candidates, final boolean[] allowMask) {
+		if (allowMask.length != candidates.size()) {
+			throw new IllegalArgumentException("Allow-mask of size " + allowMask.length + " does not match " + candidates.size() + " candidates");
+		}
+
+		final List<T> allowed = new ArrayList<>(candidates.size());
+		for (int i = 0; i < allowMask.length; i++) {
+			if (allowMask[i]) {
+				allowed.add(candidates.get(i));
+			}
+		}
+		return allowed;
+	}
+}
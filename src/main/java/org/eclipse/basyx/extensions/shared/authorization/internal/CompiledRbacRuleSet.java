@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.authorization.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, precompiled form of a {@link RbacRuleSet}. The rules are indexed
+ * by role and action and their target information is converted into matchers
+ * once, so that checking a request does not iterate over unrelated rules or
+ * compile regular expressions.
+ *
+ * @author agent
+ */
+public class CompiledRbacRuleSet {
+	private static final String WILDCARD = "*";
+	private static final String WILDCARD_REGEX = "[A-Za-z0-9.]+";
+
+	private final Map<String, Map<String, List<CompiledRule>>> rulesByRoleAndAction = new HashMap<>();
+	private final long version;
+
+	public CompiledRbacRuleSet(final RbacRuleSet rbacRuleSet) {
+		this.version = rbacRuleSet.getVersion();
+		for (final RbacRule rbacRule : rbacRuleSet.getRules()) {
+			this.rulesByRoleAndAction.computeIfAbsent(rbacRule.getRole(), role -> new HashMap<>()).computeIfAbsent(rbacRule.getAction(), action -> new ArrayList<>()).add(new CompiledRule(rbacRule));
+		}
+	}
+
+	/**
+	 * @return the version of the {@link RbacRuleSet} this set has been compiled
+	 *         from
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Checks if any rule grants the action on the target to one of the roles
+	 *
+	 * @param roles
+	 *            roles of the subject
+	 * @param action
+	 *            action which needs authorization
+	 * @param targetInformation
+	 *            target attributes
+	 * @return true if a matching rule exists, false otherwise
+	 */
+	public boolean isSatisfied(final List<String> roles, final String action, final TargetInformation targetInformation) {
+		final Map<String, String> targetInformationMap = targetInformation.toMap();
+		if (roles != null) {
+			for (final String role : roles) {
+				if (!WILDCARD.equals(role) && matchesAnyRule(this.rulesByRoleAndAction.get(role), action, targetInformation, targetInformationMap)) {
+					return true;
+				}
+			}
+		}
+		return matchesAnyRule(this.rulesByRoleAndAction.get(WILDCARD), action, targetInformation, targetInformationMap);
+	}
+
+	private boolean matchesAnyRule(final Map<String, List<CompiledRule>> rulesByAction, final String action, final TargetInformation targetInformation, final Map<String, String> targetInformationMap) {
+		if (rulesByAction == null) {
+			return false;
+		}
+		if (!WILDCARD.equals(action) && matchesAnyRule(rulesByAction.get(action), targetInformation, targetInformationMap)) {
+			return true;
+		}
+		return matchesAnyRule(rulesByAction.get(WILDCARD), targetInformation, targetInformationMap);
+	}
+
+	private boolean matchesAnyRule(final List<CompiledRule> rules, final TargetInformation targetInformation, final Map<String, String> targetInformationMap) {
+		if (rules == null) {
+			return false;
+		}
+		for (final CompiledRule rule : rules) {
+			if (rule.matches(targetInformation, targetInformationMap)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Target information of a rule with precompiled value matchers
+	 */
+	private static class CompiledRule {
+		private final Class<? extends TargetInformation> targetInformationClass;
+		private final Map<String, ValueMatcher> matchers = new HashMap<>();
+
+		private CompiledRule(final RbacRule rbacRule) {
+			final TargetInformation targetInformation = rbacRule.getTargetInformation();
+			this.targetInformationClass = targetInformation.getClass();
+			for (final Map.Entry<String, String> entry : targetInformation.toMap().entrySet()) {
+				this.matchers.put(entry.getKey(), ValueMatcher.compile(entry.getValue()));
+			}
+		}
+
+		private boolean matches(final TargetInformation targetInformation, final Map<String, String> targetInformationMap) {
+			// the type of the target has to be the same or a subtype of the target
+			// information specified in the rule, otherwise two target information objects
+			// of unrelated types may be found equal if their properties match
+			if (!this.targetInformationClass.isAssignableFrom(targetInformation.getClass())) {
+				return false;
+			}
+
+			for (final Map.Entry<String, String> entry : targetInformationMap.entrySet()) {
+				final String value = entry.getValue();
+				if (value == null) {
+					continue;
+				}
+				final ValueMatcher matcher = this.matchers.get(entry.getKey());
+				if (matcher == null || !matcher.matches(value)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Matches a single target value against the value given in a rule. The rule
+	 * value may contain wildcards; a rule value of only a wildcard matches
+	 * anything.
+	 */
+	private static class ValueMatcher {
+		private static final ValueMatcher ANY = new ValueMatcher(null, null);
+
+		private final String literal;
+		private final Pattern pattern;
+
+		private ValueMatcher(final String literal, final Pattern pattern) {
+			this.literal = literal;
+			this.pattern = pattern;
+		}
+
+		private static ValueMatcher compile(final String ruleValue) {
+			if (ruleValue == null) {
+				return null;
+			}
+			if (WILDCARD.equals(ruleValue)) {
+				return ANY;
+			}
+			if (isLiteral(ruleValue)) {
+				return new ValueMatcher(ruleValue, null);
+			}
+			return new ValueMatcher(null, Pattern.compile(ruleValue.replaceAll("\\*", WILDCARD_REGEX)));
+		}
+
+		/**
+		 * Rule values are interpreted as regular expressions. Values without any
+		 * special character can be compared directly.
+		 */
+		private static boolean isLiteral(final String ruleValue) {
+			for (int i = 0; i < ruleValue.length(); i++) {
+				if ("\\[](){}.*+?^$|".indexOf(ruleValue.charAt(i)) >= 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matches(final String value) {
+			if (this == ANY) {
+				return true;
+			}
+			if (this.literal != null) {
+				return this.literal.equals(value);
+			}
+			return this.pattern.matcher(value).matches();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("CompiledRbacRuleSet{").append("version=").append(version).append(", roles=").append(rulesByRoleAndAction.keySet()).append('}').toString();
+	}
+}
@@ -24,6 +24,8 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.authorization.internal;
 
+import java.util.Arrays;
+
 import org.springframework.security.core.GrantedAuthority;
 
 /**
@@ -37,8 +39,25 @@ public class GrantedAuthorityHelper {
 
 	public static <SubjectInformationType> void checkAuthority(final IGrantedAuthorityAuthenticator<SubjectInformationType> grantedAuthorityAuthenticator, final SubjectInformationType subjectInformation, final String requiredAuthority)
 			throws InhibitException {
-		if (grantedAuthorityAuthenticator.getAuthorities(subjectInformation).stream().map(GrantedAuthority::getAuthority).noneMatch(authority -> authority.equals(requiredAuthority))) {
+		if (!hasAuthority(grantedAuthorityAuthenticator, subjectInformation, requiredAuthority)) {
 			throw new GrantedAuthorityInhibitException(requiredAuthority);
 		}
 	}
+
+	public static <SubjectInformationType> boolean hasAuthority(final IGrantedAuthorityAuthenticator<SubjectInformationType> grantedAuthorityAuthenticator, final SubjectInformationType subjectInformation, final String requiredAuthority) {
+		return grantedAuthorityAuthenticator.getAuthorities(subjectInformation).stream().map(GrantedAuthority::getAuthority).anyMatch(authority -> authority.equals(requiredAuthority));
+	}
+
+	/**
+	 * Grants or denies all of the given number of candidates at once, since granted
+	 * authorities do not depend on the individual target.
+	 *
+	 * @return allow-mask of the given size
+	 */
+	public static <SubjectInformationType> boolean[] checkAuthorityForAll(final IGrantedAuthorityAuthenticator<SubjectInformationType> grantedAuthorityAuthenticator, final SubjectInformationType subjectInformation, final String requiredAuthority,
+			final int candidateCount) {
+		final boolean[] allowMask = new boolean[candidateCount];
+		Arrays.fill(allowMask, hasAuthority(grantedAuthorityAuthenticator, subjectInformation, requiredAuthority));
+		return allowMask;
+	}
 }
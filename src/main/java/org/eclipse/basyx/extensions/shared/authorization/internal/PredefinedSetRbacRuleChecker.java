@@ -24,10 +24,11 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.shared.authorization.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,14 +36,43 @@ import org.slf4j.LoggerFactory;
  * Implementation of {@link IRbacRuleChecker} that works with a predefined
  * {@link RbacRuleSet}.
  *
+ * The rule set is compiled into a {@link CompiledRbacRuleSet} and recompiled
+ * whenever it changes. Decisions are cached in a bounded map keyed by roles,
+ * action and target.
+ *
  * @author wege
  */
 public class PredefinedSetRbacRuleChecker implements IRbacRuleChecker {
 	private static final Logger logger = LoggerFactory.getLogger(PredefinedSetRbacRuleChecker.class);
+	public static final int DEFAULT_MAX_CACHED_DECISIONS = 10000;
+
 	private final RbacRuleSet rbacRuleSet;
+	private final int maxCachedDecisions;
+	private final Map<DecisionKey, Boolean> decisionCache;
+	private volatile CompiledRbacRuleSet compiledRuleSet;
 
 	public PredefinedSetRbacRuleChecker(final RbacRuleSet rbacRuleSet) {
+		this(rbacRuleSet, DEFAULT_MAX_CACHED_DECISIONS);
+	}
+
+	/**
+	 * @param rbacRuleSet
+	 *            the rules to check against
+	 * @param maxCachedDecisions
+	 *            maximum number of cached decisions, 0 disables the cache
+	 */
+	public PredefinedSetRbacRuleChecker(final RbacRuleSet rbacRuleSet, final int maxCachedDecisions) {
 		this.rbacRuleSet = rbacRuleSet;
+		this.maxCachedDecisions = maxCachedDecisions;
+		this.decisionCache = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<DecisionKey, Boolean> eldest) {
+				return size() > PredefinedSetRbacRuleChecker.this.maxCachedDecisions;
+			}
+		};
+		this.compiledRuleSet = new CompiledRbacRuleSet(rbacRuleSet);
 	}
 
 	/**
@@ -57,54 +87,97 @@ public class PredefinedSetRbacRuleChecker implements IRbacRuleChecker {
 	 * @return true if the requested rbac tuple was found, false otherwise
 	 */
 	public boolean checkRbacRuleIsSatisfied(final List<String> roles, final String action, final TargetInformation targetInformation) {
-		final Optional<RbacRule> matchingRule = getMatchingRules(roles, action, targetInformation).findAny();
-		logger.info("roles: {}, action: {}, targetInfo: {} - matching-rule?: {}", roles, action, targetInformation, matchingRule);
-		return matchingRule.isPresent();
-	}
+		final CompiledRbacRuleSet ruleSet = getCompiledRuleSet();
+		if (this.maxCachedDecisions <= 0) {
+			return decide(ruleSet, roles, action, targetInformation);
+		}
+
+		final DecisionKey key = new DecisionKey(roles, action, targetInformation);
+		synchronized (this.decisionCache) {
+			final Boolean cached = this.decisionCache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
 
-	private Stream<RbacRule> getMatchingRules(final List<String> roles, final String action, final TargetInformation targetInformation) {
-		return this.rbacRuleSet.getRules().parallelStream().filter(rbacRule -> checkRolesMatchRbacRule(rbacRule, roles)).filter(rbacRule -> checkActionMatchesRbacRule(rbacRule, action))
-				.filter(rbacRule -> checkRbacRuleMatchesTargetInformation(rbacRule, targetInformation));
+		final boolean decision = decide(ruleSet, roles, action, targetInformation);
+		synchronized (this.decisionCache) {
+			// Do not cache decisions of an outdated rule set
+			if (ruleSet == this.compiledRuleSet) {
+				this.decisionCache.put(key.copy(), decision);
+			}
+		}
+		return decision;
 	}
 
-	private boolean checkRolesMatchRbacRule(final RbacRule rbacRule, final List<String> roles) {
-		return rbacRule.getRole().equals("*") || (roles != null && roles.stream().anyMatch(role -> rbacRule.getRole().equals(role)));
+	/**
+	 * @return the number of currently cached decisions
+	 */
+	public int getCachedDecisionCount() {
+		synchronized (this.decisionCache) {
+			return this.decisionCache.size();
+		}
 	}
 
-	private boolean checkActionMatchesRbacRule(final RbacRule rbacRule, final String action) {
-		return rbacRule.getAction().equals("*") || rbacRule.getAction().equals(action);
+	private boolean decide(final CompiledRbacRuleSet ruleSet, final List<String> roles, final String action, final TargetInformation targetInformation) {
+		final boolean decision = ruleSet.isSatisfied(roles, action, targetInformation);
+		logger.debug("roles: {}, action: {}, targetInfo: {} - matching-rule?: {}", roles, action, targetInformation, decision);
+		return decision;
 	}
 
-	private boolean checkRbacRuleMatchesTargetInformation(final RbacRule rbacRule, final TargetInformation matchTargetInformation) {
-		final TargetInformation rbacRuleTargetInformation = rbacRule.getTargetInformation();
-		if (!rbacRuleTargetInformation.getClass().isAssignableFrom(matchTargetInformation.getClass())) {
-			// return false if the type of the target is not the same or a subtype of the target information specified in the rbac rule
-			// otherwise two target information objects of unrelated types may be found equal if their properties match since
-			// the type property is not considered
-			return false;
+	private CompiledRbacRuleSet getCompiledRuleSet() {
+		final CompiledRbacRuleSet ruleSet = this.compiledRuleSet;
+		if (ruleSet.getVersion() == this.rbacRuleSet.getVersion()) {
+			return ruleSet;
 		}
 
-		final Map<String, String> matchTargetInformationMap = matchTargetInformation.toMap();
-		final Map<String, String> rbacRuleTargetInformationMap = rbacRule.getTargetInformation().toMap();
-		for (final Map.Entry<String, String> matchTargetInformationMapEntry : matchTargetInformationMap.entrySet()) {
-			final String key = matchTargetInformationMapEntry.getKey();
-			final String matchTargetInformationSingleValue = matchTargetInformationMapEntry.getValue();
-			final String rbacRuleValue = rbacRuleTargetInformationMap.get(key);
-
-			if (!checkRegexStringMatch(rbacRuleValue, matchTargetInformationSingleValue)) {
-				return false;
+		synchronized (this.decisionCache) {
+			if (this.compiledRuleSet.getVersion() != this.rbacRuleSet.getVersion()) {
+				this.compiledRuleSet = new CompiledRbacRuleSet(this.rbacRuleSet);
+				this.decisionCache.clear();
 			}
+			return this.compiledRuleSet;
 		}
-		return true;
 	}
 
-	private boolean checkRegexStringMatch(final String actualString, final String requiredString) {
-		if (requiredString == null) {
-			return true;
+	/**
+	 * Key of a cached decision
+	 */
+	private static class DecisionKey {
+		private final List<String> roles;
+		private final String action;
+		private final TargetInformation targetInformation;
+		private final int hash;
+
+		private DecisionKey(final List<String> roles, final String action, final TargetInformation targetInformation) {
+			this.roles = roles;
+			this.action = action;
+			this.targetInformation = targetInformation;
+			this.hash = Objects.hash(roles, action, targetInformation);
 		}
-		if (actualString == null) {
-			return false;
+
+		/**
+		 * Copies the roles, since the list passed by the caller may be modified later
+		 */
+		private DecisionKey copy() {
+			return new DecisionKey(this.roles == null ? null : new ArrayList<>(this.roles), this.action, this.targetInformation);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof DecisionKey)) {
+				return false;
+			}
+			final DecisionKey other = (DecisionKey) o;
+			return this.hash == other.hash && Objects.equals(this.action, other.action) && Objects.equals(this.roles, other.roles) && Objects.equals(this.targetInformation, other.targetInformation);
 		}
-		return actualString.equals("*") || requiredString.matches(actualString.replaceAll("\\*", "[A-Za-z0-9.]+"));
 	}
 }
@@ -36,17 +36,35 @@ import java.util.Set;
  */
 public class RbacRuleSet {
 	private final Set<RbacRule> rules = new HashSet<>();
+	private volatile long version;
 
 	public Set<RbacRule> getRules() {
 		return Collections.unmodifiableSet(this.rules);
 	}
 
 	public boolean addRule(final RbacRule rbacRule) {
-		return this.rules.add(rbacRule);
+		return updateVersion(this.rules.add(rbacRule));
 	}
 
 	public boolean deleteRule(final RbacRule rbacRule) {
-		return this.rules.remove(rbacRule);
+		return updateVersion(this.rules.remove(rbacRule));
+	}
+
+	/**
+	 * Returns a number that changes whenever a rule is added or deleted. Allows
+	 * users of the rule set to detect when derived data has to be rebuilt.
+	 *
+	 * @return the current version of the rule set
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	private boolean updateVersion(final boolean changed) {
+		if (changed) {
+			version++;
+		}
+		return changed;
 	}
 
 	@Override
@@ -42,4 +42,20 @@ public class SimpleRbacHelper {
 			throw new SimpleRbacInhibitException(roles, action, targetInformation);
 		}
 	}
+
+	/**
+	 * Evaluates the rule for each of the given targets without throwing. The roles
+	 * of the subject are only resolved once.
+	 *
+	 * @return allow-mask with one entry per target
+	 */
+	public static <SubjectInformationType> boolean[] checkRules(final IRbacRuleChecker rbacRuleChecker, final IRoleAuthenticator<SubjectInformationType> roleAuthenticator, final SubjectInformationType subjectInformation, final String action,
+			final List<? extends TargetInformation> targetInformations) {
+		final List<String> roles = roleAuthenticator.getRoles(subjectInformation);
+		final boolean[] allowMask = new boolean[targetInformations.size()];
+		for (int i = 0; i < allowMask.length; i++) {
+			allowMask[i] = rbacRuleChecker.checkRbacRuleIsSatisfied(roles, action, targetInformations.get(i));
+		}
+		return allowMask;
+	}
 }
@@ -0,0 +1,505 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.mqtt;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes MQTT messages asynchronously. Messages are put into a bounded
+ * in-memory outbox and handed to an {@link IMqttAsyncClient} by a dispatcher
+ * thread, so that publishing threads do not wait for the broker. <br>
+ * Messages with a coalescing key are merged with a message of the same key
+ * that is still waiting in the outbox, so that only the latest payload is
+ * published. This allows high-frequency updates of the same element without
+ * building up a backlog. Messages are published in the order they have been
+ * queued.
+ * 
+ * @author agent
+ *
+ */
+public class MqttAsyncPublisher implements AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(MqttAsyncPublisher.class);
+
+	private final IMqttAsyncClient client;
+	private final int outboxCapacity;
+	private final long coalescingWindowNanos;
+	private final MqttOutboxOverflowPolicy overflowPolicy;
+	private final long blockTimeoutNanos;
+	private final long closeTimeoutMillis;
+
+	// Outbox in publishing order and index of the coalescable messages in it
+	private final ArrayDeque<OutboxMessage> outbox = new ArrayDeque<>();
+	private final Map<String, OutboxMessage> coalescableMessages = new HashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final Condition idle = lock.newCondition();
+
+	private final Semaphore inflightPermits;
+	private final AtomicInteger inflightCount = new AtomicInteger();
+	private final IMqttActionListener deliveryListener = new DeliveryListener();
+	private final Thread dispatcher;
+	private volatile boolean closed = false;
+
+	// Metrics
+	private final LongAdder publishedCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+	private final LongAdder coalescedCount = new LongAdder();
+	private final LongAdder totalLatencyNanos = new LongAdder();
+	private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+	/**
+	 * Creates a publisher with the default configuration
+	 * 
+	 * @param client
+	 *            An already connected mqtt client
+	 */
+	public MqttAsyncPublisher(IMqttAsyncClient client) {
+		this(client, new MqttAsyncPublisherConfiguration());
+	}
+
+	/**
+	 * Creates a publisher
+	 * 
+	 * @param client
+	 *            An already connected mqtt client
+	 * @param configuration
+	 *            The configuration of outbox, coalescing and overflow handling
+	 */
+	public MqttAsyncPublisher(IMqttAsyncClient client, MqttAsyncPublisherConfiguration configuration) {
+		this.client = client;
+		this.outboxCapacity = configuration.getOutboxCapacity();
+		this.coalescingWindowNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getCoalescingWindowMillis());
+		this.overflowPolicy = configuration.getOverflowPolicy();
+		this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getBlockTimeoutMillis());
+		this.closeTimeoutMillis = configuration.getCloseTimeoutMillis();
+		this.inflightPermits = new Semaphore(configuration.getMaxInflight());
+
+		dispatcher = new Thread(this::dispatch, MqttAsyncPublisher.class.getName() + " " + client.getClientId());
+		dispatcher.setDaemon(true);
+		dispatcher.start();
+	}
+
+	/**
+	 * Queues a message for publishing
+	 * 
+	 * @param topic
+	 *            in which the message will be published
+	 * @param payload
+	 *            the actual message
+	 * @param qos
+	 *            QoS of the message
+	 * @return true, if the message has been queued. False, if it has been dropped
+	 *         due to a full outbox or since the publisher is closed
+	 */
+	public boolean publish(String topic, String payload, int qos) {
+		return publish(topic, payload, qos, null);
+	}
+
+	/**
+	 * Queues a message for publishing. If a message with the same coalescing key
+	 * is still waiting in the outbox, its payload is replaced instead.
+	 * 
+	 * @param topic
+	 *            in which the message will be published
+	 * @param payload
+	 *            the actual message
+	 * @param qos
+	 *            QoS of the message
+	 * @param coalescingKey
+	 *            key identifying messages that supersede each other, e.g. the
+	 *            topic and idShortPath of an updated element. May be null, if the
+	 *            message must not be merged
+	 * @return true, if the message has been queued or merged. False, if it has
+	 *         been dropped due to a full outbox or since the publisher is closed
+	 */
+	public boolean publish(String topic, String payload, int qos, String coalescingKey) {
+		MqttMessage message = createMqttMessage(payload, qos);
+		long now = System.nanoTime();
+
+		lock.lock();
+		try {
+			if (closed) {
+				droppedCount.increment();
+				logger.warn("Dropped MQTT message to " + topic + " since the publisher is closed");
+				return false;
+			}
+
+			if (coalescingKey != null) {
+				OutboxMessage pending = coalescableMessages.get(coalescingKey);
+				if (pending != null) {
+					pending.message = message;
+					pending.enqueueNanos = now;
+					coalescedCount.increment();
+					return true;
+				}
+			}
+
+			if (!makeRoom()) {
+				droppedCount.increment();
+				logger.debug("Dropped MQTT message to " + topic + " since the outbox is full");
+				return false;
+			}
+
+			OutboxMessage outboxMessage = new OutboxMessage(topic, message, coalescingKey, now, coalescingKey == null ? now : now + coalescingWindowNanos);
+			outbox.addLast(outboxMessage);
+			if (coalescingKey != null) {
+				coalescableMessages.put(coalescingKey, outboxMessage);
+			} else {
+				// Messages without key act as a barrier. Later messages must not be merged
+				// into messages queued before it, otherwise they would overtake it
+				coalescableMessages.clear();
+			}
+			notEmpty.signal();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until all queued messages have been delivered or failed
+	 * 
+	 * @param timeout
+	 * @param unit
+	 * @return true, if the outbox is empty and no delivery is pending. False, if
+	 *         the timeout elapsed before
+	 * @throws InterruptedException
+	 */
+	public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lock();
+		try {
+			while (!outbox.isEmpty() || inflightCount.get() > 0) {
+				if (nanos <= 0) {
+					return false;
+				}
+				nanos = idle.awaitNanos(nanos);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops accepting messages and waits for the queued messages to be handed to
+	 * the client for at most the configured close timeout. The client itself is not
+	 * closed.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			if (closeTimeoutMillis > 0) {
+				dispatcher.join(closeTimeoutMillis);
+			}
+			if (dispatcher.isAlive()) {
+				logger.warn("MQTT outbox could not be flushed in time, remaining messages are dropped");
+				dispatcher.interrupt();
+				dispatcher.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the number of messages waiting in the outbox
+	 */
+	public int getQueueDepth() {
+		lock.lock();
+		try {
+			return outbox.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of messages handed to the client whose delivery is not
+	 * yet complete
+	 */
+	public int getInflightCount() {
+		return inflightCount.get();
+	}
+
+	/**
+	 * Returns the number of successfully delivered messages
+	 */
+	public long getPublishedCount() {
+		return publishedCount.sum();
+	}
+
+	/**
+	 * Returns the number of messages whose delivery failed
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * Returns the number of messages dropped due to the overflow policy or since
+	 * the publisher has been closed
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * Returns the number of messages that have been merged into a waiting message
+	 * with the same coalescing key
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.sum();
+	}
+
+	/**
+	 * Returns the average time between queuing and completed delivery of the
+	 * delivered messages in nanoseconds
+	 */
+	public long getAverageLatencyNanos() {
+		long published = publishedCount.sum();
+		return published == 0 ? 0 : totalLatencyNanos.sum() / published;
+	}
+
+	/**
+	 * Returns the maximum time between queuing and completed delivery of the
+	 * delivered messages in nanoseconds
+	 */
+	public long getMaxLatencyNanos() {
+		return maxLatencyNanos.get();
+	}
+
+	/**
+	 * Makes room for a new message according to the overflow policy. Has to be
+	 * called while holding the lock.
+	 * 
+	 * @return true, if the new message can be added
+	 */
+	private boolean makeRoom() {
+		if (outbox.size() < outboxCapacity) {
+			return true;
+		}
+
+		switch (overflowPolicy) {
+		case DROP_NEWEST:
+			return false;
+		case DROP_OLDEST:
+			removeCoalescable(outbox.pollFirst());
+			droppedCount.increment();
+			return true;
+		case BLOCK:
+		default:
+			long nanos = blockTimeoutNanos;
+			try {
+				while (outbox.size() >= outboxCapacity) {
+					if (nanos <= 0 || closed) {
+						return false;
+					}
+					nanos = notFull.awaitNanos(nanos);
+				}
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private void removeCoalescable(OutboxMessage outboxMessage) {
+		if (outboxMessage.coalescingKey != null) {
+			coalescableMessages.remove(outboxMessage.coalescingKey, outboxMessage);
+		}
+	}
+
+	private void dispatch() {
+		try {
+			while (true) {
+				// Messages stay in the outbox until the client accepts another message, so
+				// that they can still be merged and are subject to the overflow policy
+				inflightPermits.acquire();
+				OutboxMessage next = takeNext();
+				if (next == null) {
+					return;
+				}
+				deliver(next);
+			}
+		} catch (InterruptedException e) {
+			// Closed without being able to flush
+			dropRemaining();
+		}
+	}
+
+	private void dropRemaining() {
+		lock.lock();
+		try {
+			droppedCount.add(outbox.size());
+			outbox.clear();
+			coalescableMessages.clear();
+			idle.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits for the next message that is due for publishing
+	 * 
+	 * @return the next message or null, if the publisher is closed and the outbox
+	 *         is empty
+	 * @throws InterruptedException
+	 */
+	private OutboxMessage takeNext() throws InterruptedException {
+		lock.lock();
+		try {
+			while (true) {
+				OutboxMessage head = outbox.peekFirst();
+				if (head == null) {
+					if (closed) {
+						return null;
+					}
+					notEmpty.await();
+					continue;
+				}
+
+				// Coalescable messages are held back until their window has passed. When
+				// closing, all remaining messages are sent immediately
+				long delay = head.dueNanos - System.nanoTime();
+				if (delay > 0 && !closed) {
+					notEmpty.awaitNanos(delay);
+					continue;
+				}
+
+				outbox.pollFirst();
+				removeCoalescable(head);
+				inflightCount.incrementAndGet();
+				notFull.signal();
+				return head;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void deliver(OutboxMessage outboxMessage) {
+		try {
+			logger.debug("Send MQTT message to " + outboxMessage.topic);
+			client.publish(outboxMessage.topic, outboxMessage.message, outboxMessage, deliveryListener);
+		} catch (MqttException e) {
+			logger.error("Could not send mqtt message", e);
+			completeDelivery(false, outboxMessage);
+		}
+	}
+
+	private void completeDelivery(boolean success, OutboxMessage outboxMessage) {
+		if (success) {
+			long latency = System.nanoTime() - outboxMessage.enqueueNanos;
+			totalLatencyNanos.add(latency);
+			maxLatencyNanos.accumulateAndGet(latency, Math::max);
+			publishedCount.increment();
+		} else {
+			failedCount.increment();
+		}
+
+		inflightPermits.release();
+		if (inflightCount.decrementAndGet() == 0) {
+			signalIdle();
+		}
+	}
+
+	private void signalIdle() {
+		lock.lock();
+		try {
+			idle.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static MqttMessage createMqttMessage(String payload, int qos) {
+		MqttMessage message = payload == null ? new MqttMessage() : new MqttMessage(payload.getBytes());
+		message.setQos(qos);
+		return message;
+	}
+
+	private class DeliveryListener implements IMqttActionListener {
+		@Override
+		public void onSuccess(IMqttToken asyncActionToken) {
+			completeDelivery(true, (OutboxMessage) asyncActionToken.getUserContext());
+		}
+
+		@Override
+		public void onFailure(IMqttToken asyncActionToken, Throwable exception) {
+			OutboxMessage outboxMessage = (OutboxMessage) asyncActionToken.getUserContext();
+			logger.error("Could not send mqtt message to " + outboxMessage.topic, exception);
+			completeDelivery(false, outboxMessage);
+		}
+	}
+
+	private static class OutboxMessage {
+		private final String topic;
+		private final String coalescingKey;
+		private final long dueNanos;
+
+		// Replaced when coalescing, guarded by the lock until dispatched
+		private MqttMessage message;
+		private long enqueueNanos;
+
+		private OutboxMessage(String topic, MqttMessage message, String coalescingKey, long enqueueNanos, long dueNanos) {
+			this.topic = topic;
+			this.message = message;
+			this.coalescingKey = coalescingKey;
+			this.enqueueNanos = enqueueNanos;
+			this.dueNanos = dueNanos;
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.shared.mqtt;
+
+/**
+ * Holds the configuration for a {@link MqttAsyncPublisher}.
+ * 
+ * @author agent
+ *
+ */
+public class MqttAsyncPublisherConfiguration {
+	public static final int DEFAULT_OUTBOX_CAPACITY = 10000;
+	public static final int DEFAULT_MAX_INFLIGHT = 10;
+	public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+	public static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 5000;
+
+	private int outboxCapacity = DEFAULT_OUTBOX_CAPACITY;
+	private int maxInflight = DEFAULT_MAX_INFLIGHT;
+	private long coalescingWindowMillis = 0;
+	private MqttOutboxOverflowPolicy overflowPolicy = MqttOutboxOverflowPolicy.BLOCK;
+	private long blockTimeoutMillis = DEFAULT_BLOCK_TIMEOUT_MILLIS;
+	private long closeTimeoutMillis = DEFAULT_CLOSE_TIMEOUT_MILLIS;
+
+	/**
+	 * Gets the maximum number of messages waiting in the outbox.
+	 * 
+	 * <p>
+	 * Default: {@value #DEFAULT_OUTBOX_CAPACITY}
+	 * 
+	 * @return
+	 */
+	public int getOutboxCapacity() {
+		return outboxCapacity;
+	}
+
+	public void setOutboxCapacity(int outboxCapacity) {
+		if (outboxCapacity < 1) {
+			throw new IllegalArgumentException("Invalid outbox capacity: " + outboxCapacity);
+		}
+		this.outboxCapacity = outboxCapacity;
+	}
+
+	/**
+	 * Gets the maximum number of messages handed to the client whose delivery is
+	 * not yet complete. Has to be less or equal to the max inflight setting of the
+	 * client's connect options.
+	 * 
+	 * <p>
+	 * Default: {@value #DEFAULT_MAX_INFLIGHT}
+	 * 
+	 * @return
+	 */
+	public int getMaxInflight() {
+		return maxInflight;
+	}
+
+	public void setMaxInflight(int maxInflight) {
+		if (maxInflight < 1) {
+			throw new IllegalArgumentException("Invalid max inflight: " + maxInflight);
+		}
+		this.maxInflight = maxInflight;
+	}
+
+	/**
+	 * Gets the time window in which repeated messages with the same coalescing key
+	 * are merged. Messages with a coalescing key are held back in the outbox for
+	 * this time; every message with the same key arriving in the meantime replaces
+	 * the payload of the held back message.
+	 * 
+	 * <p>
+	 * Default: 0, i.e. only messages that are still waiting in the outbox due to
+	 * backlog are merged
+	 * 
+	 * @return
+	 */
+	public long getCoalescingWindowMillis() {
+		return coalescingWindowMillis;
+	}
+
+	public void setCoalescingWindowMillis(long coalescingWindowMillis) {
+		if (coalescingWindowMillis < 0) {
+			throw new IllegalArgumentException("Invalid coalescing window: " + coalescingWindowMillis);
+		}
+		this.coalescingWindowMillis = coalescingWindowMillis;
+	}
+
+	/**
+	 * Gets the policy for new messages while the outbox is full.
+	 * 
+	 * <p>
+	 * Default: {@link MqttOutboxOverflowPolicy#BLOCK}
+	 * 
+	 * @return
+	 */
+	public MqttOutboxOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(MqttOutboxOverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Gets the maximum time a publishing thread waits for free space in the outbox
+	 * when using {@link MqttOutboxOverflowPolicy#BLOCK}.
+	 * 
+	 * <p>
+	 * Default: {@value #DEFAULT_BLOCK_TIMEOUT_MILLIS}
+	 * 
+	 * @return
+	 */
+	public long getBlockTimeoutMillis() {
+		return blockTimeoutMillis;
+	}
+
+	public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+		if (blockTimeoutMillis < 0) {
+			throw new IllegalArgumentException("Invalid block timeout: " + blockTimeoutMillis);
+		}
+		this.blockTimeoutMillis = blockTimeoutMillis;
+	}
+
+	/**
+	 * Gets the maximum time closing the publisher waits for the queued messages to
+	 * be handed to the client. Messages remaining afterwards are dropped.
+	 * 
+	 * <p>
+	 * Default: {@value #DEFAULT_CLOSE_TIMEOUT_MILLIS}
+	 * 
+	 * @return
+	 */
+	public long getCloseTimeoutMillis() {
+		return closeTimeoutMillis;
+	}
+
+	public void setCloseTimeoutMillis(long closeTimeoutMillis) {
+		if (closeTimeoutMillis < 0) {
+			throw new IllegalArgumentException("Invalid close timeout: " + closeTimeoutMillis);
+		}
+		this.closeTimeoutMillis = closeTimeoutMillis;
+	}
+}
@@ -50,6 +50,10 @@ public class MqttEventService {
 	// QoS for MQTT messages (1, 2 or 3).
 	protected int qos = 1;
 
+	// If set, messages are queued for asynchronous publishing instead of being
+	// published by the calling thread
+	protected MqttAsyncPublisher asyncPublisher;
+
 	/**
 	 * Constructor for creating an MqttClient (no authentication)
 	 * 
@@ -125,6 +129,28 @@ public class MqttEventService {
 		return this.qos;
 	}
 
+	/**
+	 * Enables asynchronous publishing. Messages are queued in the outbox of the
+	 * given publisher instead of being published by the calling thread, so that
+	 * observed operations do not wait for the broker. The publisher can be shared
+	 * between multiple services.
+	 * 
+	 * @param asyncPublisher
+	 *            the publisher to use or null to publish synchronously again
+	 */
+	public void setAsyncPublisher(MqttAsyncPublisher asyncPublisher) {
+		this.asyncPublisher = asyncPublisher;
+	}
+
+	/**
+	 * Gets the publisher used for asynchronous publishing
+	 * 
+	 * @return the publisher or null, if messages are published synchronously
+	 */
+	public MqttAsyncPublisher getAsyncPublisher() {
+		return asyncPublisher;
+	}
+
 	/**
 	 * Sends MQTT message to connected broker
 	 * 
@@ -134,6 +160,28 @@ public class MqttEventService {
 	 *            the actual message
 	 */
 	protected void sendMqttMessage(String topic, String payload) {
+		sendMqttMessage(topic, payload, null);
+	}
+
+	/**
+	 * Sends MQTT message to connected broker. When publishing asynchronously,
+	 * messages with the same coalescing key that have not been sent yet are merged
+	 * and only the latest payload is published.
+	 * 
+	 * @param topic
+	 *            in which the message will be published
+	 * @param payload
+	 *            the actual message
+	 * @param coalescingKey
+	 *            key identifying messages that supersede each other. May be null
+	 */
+	protected void sendMqttMessage(String topic, String payload, String coalescingKey) {
+		if (asyncPublisher != null) {
+			logger.debug("Queue MQTT message to " + topic + ": " + payload);
+			asyncPublisher.publish(topic, payload, this.qos, coalescingKey);
+			return;
+		}
+
 		MqttMessage msg = createMqttMessage(payload);
 		if (this.qos != 1) {
 			msg.setQos(this.qos);
@@ -24,8 +24,9 @@
  ******************************************************************************/
 package org.eclipse.basyx.extensions.submodel.aggregator.authorization.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -95,20 +96,22 @@ public class AuthorizedSubmodelAggregator<SubjectInformationType> implements ISu
 	}
 
 	protected Collection<ISubmodel> authorizeGetSubmodelList() throws InhibitException {
-		return getSubmodelIdentifierList().stream().map(smId -> {
-			try {
-				return authorizeGetSubmodel(smId);
-			} catch (final InhibitException e) {
-				// log and leave out submodel if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		final List<ISubmodel> candidates = new ArrayList<>(getSubmodelListOnly());
+		if (candidates.isEmpty()) {
+			return candidates;
+		}
+
+		final List<IIdentifier> smIds = candidates.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+		final List<IReference> smSemanticIds = candidates.stream().map(this::getSmSemanticIdUnsecured).collect(Collectors.toList());
+		final List<ISubmodel> authorizedSms = submodelAggregatorAuthorizer.authorizeGetSubmodelBatch(subjectInformationProvider.get(), aas, smIds, smSemanticIds, candidates);
+
+		// leave out submodels if authorization was unsuccessful
+		logger.debug("Left out {} of {} submodels due to missing authorization", candidates.size() - authorizedSms.size(), candidates.size());
+		return authorizedSms;
 	}
 
-	private Collection<IIdentifier> getSubmodelIdentifierList() throws InhibitException {
-		final Collection<ISubmodel> authorizedSubmodelList = submodelAggregatorAuthorizer.authorizeGetSubmodelList(subjectInformationProvider.get(), aas, decoratedSubmodelAggregator::getSubmodelList);
-		return authorizedSubmodelList.stream().map(IIdentifiable::getIdentification).collect(Collectors.toList());
+	private Collection<ISubmodel> getSubmodelListOnly() throws InhibitException {
+		return submodelAggregatorAuthorizer.authorizeGetSubmodelList(subjectInformationProvider.get(), aas, decoratedSubmodelAggregator::getSubmodelList);
 	}
 
 	@Override
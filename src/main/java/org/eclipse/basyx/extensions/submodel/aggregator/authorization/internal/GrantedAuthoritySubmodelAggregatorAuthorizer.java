@@ -25,8 +25,10 @@
 package org.eclipse.basyx.extensions.submodel.aggregator.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.GrantedAuthorityHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IGrantedAuthorityAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
@@ -62,6 +64,11 @@ public class GrantedAuthoritySubmodelAggregatorAuthorizer<SubjectInformationType
 		return smSupplier.get();
 	}
 
+	@Override
+	public List<ISubmodel> authorizeGetSubmodelBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<ISubmodel> sms) {
+		return BatchAuthorizationHelper.filter(sms, GrantedAuthorityHelper.checkAuthorityForAll(grantedAuthorityAuthenticator, subjectInformation, AuthorizedSubmodelAggregator.READ_AUTHORITY, sms.size()));
+	}
+
 	@Override
 	public ISubmodel authorizeGetSubmodelbyIdShort(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier)
 			throws InhibitException {
@@ -25,8 +25,10 @@
 package org.eclipse.basyx.extensions.submodel.aggregator.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
@@ -80,6 +82,30 @@ public interface ISubmodelAggregatorAuthorizer<SubjectInformationType> {
 	public ISubmodel authorizeGetSubmodel(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier)
 			throws InhibitException;
 
+	/**
+	 * Checks authorization for
+	 * {@link ISubmodelAggregator#getSubmodel(IIdentifier)} for a whole list of
+	 * submodels at once, e.g. to filter the result of
+	 * {@link ISubmodelAggregator#getSubmodelList()}. Denied submodels are left
+	 * out instead of throwing.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aas
+	 *            the aas the submodels belong to as passed in the constructor of
+	 *            {@link AuthorizedSubmodelAggregator}, may be null.
+	 * @param smIds
+	 *            ids of the submodels.
+	 * @param smSemanticIds
+	 *            semantic ids of the submodels, same order as smIds.
+	 * @param sms
+	 *            the already retrieved submodels, same order as smIds.
+	 * @return the authorized submodels in the given order
+	 */
+	public default List<ISubmodel> authorizeGetSubmodelBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<ISubmodel> sms) {
+		return BatchAuthorizationHelper.authorizeEach(sms, (i, sm) -> authorizeGetSubmodel(subjectInformation, aas, smIds.get(i), smSemanticIds.get(i), () -> sm));
+	}
+
 	/**
 	 * Checks authorization for
 	 * {@link ISubmodelAggregator#getSubmodelbyIdShort(String)}.
@@ -32,7 +32,9 @@ import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
 import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -65,6 +67,17 @@ public class SimpleRbacSubmodelAggregatorAuthorizer<SubjectInformationType> impl
 		return smSupplier.get();
 	}
 
+	@Override
+	public List<ISubmodel> authorizeGetSubmodelBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final List<IIdentifier> smIds, final List<IReference> smSemanticIds, final List<ISubmodel> sms) {
+		final String aasIdString = IdHelper.getIdentifierId(getAASId(aas));
+
+		final List<TargetInformation> targetInformations = new ArrayList<>(smIds.size());
+		for (int i = 0; i < smIds.size(); i++) {
+			targetInformations.add(new BaSyxObjectTargetInformation(aasIdString, IdHelper.getIdentifierId(smIds.get(i)), IdHelper.getReferenceId(smSemanticIds.get(i)), null));
+		}
+		return BatchAuthorizationHelper.filter(sms, SimpleRbacHelper.checkRules(rbacRuleChecker, roleAuthenticator, subjectInformation, SubmodelAggregatorScopes.READ_SCOPE, targetInformations));
+	}
+
 	@Override
 	public ISubmodel authorizeGetSubmodelbyIdShort(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier)
 			throws InhibitException {
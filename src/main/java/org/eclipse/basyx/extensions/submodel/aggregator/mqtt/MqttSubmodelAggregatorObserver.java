@@ -129,7 +129,8 @@ public class MqttSubmodelAggregatorObserver extends MqttEventService implements
 
 	@Override
 	public void submodelUpdated(String shellId, String submodelId) {
-		sendMqttMessage(MqttSubmodelAggregatorHelper.TOPIC_UPDATESUBMODEL, MqttSubmodelAggregatorHelper.getCombinedMessage(shellId, submodelId));
+		String payload = MqttSubmodelAggregatorHelper.getCombinedMessage(shellId, submodelId);
+		sendMqttMessage(MqttSubmodelAggregatorHelper.TOPIC_UPDATESUBMODEL, payload, MqttSubmodelAggregatorHelper.TOPIC_UPDATESUBMODEL + payload);
 	}
 
 	@Override
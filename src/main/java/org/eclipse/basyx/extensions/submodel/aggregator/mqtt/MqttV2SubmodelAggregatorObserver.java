@@ -100,11 +100,13 @@ public class MqttV2SubmodelAggregatorObserver extends MqttEventService implement
 
 	@Override
 	public void submodelUpdated(String shellId, ISubmodel submodel, String repoId) {
+		String topic = topicFactory.createUpdateSubmodelTopic(shellId, repoId);
+		String coalescingKey = topic + "/" + submodel.getIdentification().getId();
 		if (submodel instanceof Map<?, ?>) {
 			ISubmodel copy = removeSubmodelElements(submodel);
-			sendMqttMessage(topicFactory.createUpdateSubmodelTopic(shellId, repoId), serializePayload(copy));
+			sendMqttMessage(topic, serializePayload(copy), coalescingKey);
 		} else {			
-			sendMqttMessage(topicFactory.createUpdateSubmodelTopic(shellId, repoId), serializePayload(submodel));
+			sendMqttMessage(topic, serializePayload(submodel), coalescingKey);
 		}
 	}
 
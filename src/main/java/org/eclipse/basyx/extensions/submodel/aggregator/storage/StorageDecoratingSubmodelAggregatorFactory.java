@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.aggregator.storage;
+
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPIFactory;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+
+/**
+ * Factory decorating SubmodelAggregator with persistence by wrapping an
+ * ISubmodelAggregatorFactory. The submodels of each AAS are kept in a separate
+ * collection of the storage.
+ * 
+ * @author agent
+ */
+public class StorageDecoratingSubmodelAggregatorFactory implements ISubmodelAggregatorFactory {
+	public static final String SUBMODEL_COLLECTION = "submodels";
+
+	private ISubmodelAggregatorFactory submodelAggregatorFactory;
+	private IBaSyxStorageAPIFactory storageFactory;
+
+	public StorageDecoratingSubmodelAggregatorFactory(ISubmodelAggregatorFactory submodelAggregatorFactory, IBaSyxStorageAPIFactory storageFactory) {
+		this.submodelAggregatorFactory = submodelAggregatorFactory;
+		this.storageFactory = storageFactory;
+	}
+
+	@Override
+	public ISubmodelAggregator create() {
+		ISubmodelAggregator aggregator = submodelAggregatorFactory.create();
+		return new StorageSubmodelAggregator(aggregator, storageFactory.create(SUBMODEL_COLLECTION, Submodel.class));
+	}
+
+	@Override
+	public ISubmodelAggregator create(IIdentifier aasIdentifier) {
+		ISubmodelAggregator aggregator = submodelAggregatorFactory.create(aasIdentifier);
+		return new StorageSubmodelAggregator(aggregator, storageFactory.create(getCollectionName(aasIdentifier), Submodel.class));
+	}
+
+	/**
+	 * Returns the name of the collection containing the submodels of an AAS
+	 */
+	public static String getCollectionName(IIdentifier aasIdentifier) {
+		return SUBMODEL_COLLECTION + ":" + aasIdentifier.getId();
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.aggregator.storage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPI;
+import org.eclipse.basyx.extensions.submodel.storage.StorageSubmodelAPI;
+import org.eclipse.basyx.submodel.aggregator.api.ISubmodelAggregator;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+
+/**
+ * Implementation variant for the SubmodelAggregator that persists all
+ * submodels to a storage. The decorated aggregator keeps serving all requests
+ * from memory. On construction, all submodels contained in the storage are
+ * restored into the decorated aggregator.
+ * 
+ * @author agent
+ *
+ */
+public class StorageSubmodelAggregator implements ISubmodelAggregator {
+	private final ISubmodelAggregator decorated;
+	private final IBaSyxStorageAPI<Submodel> storage;
+
+	// Identifiers by idShort, so that they do not have to be retrieved from the
+	// decorated submodel APIs
+	private final Map<String, String> idShortToIdMap = new ConcurrentHashMap<>();
+
+	/**
+	 * 
+	 * @param decorated
+	 *            the underlying submodel aggregator
+	 * @param storage
+	 *            the storage the submodels are persisted to
+	 */
+	public StorageSubmodelAggregator(ISubmodelAggregator decorated, IBaSyxStorageAPI<Submodel> storage) {
+		this.decorated = decorated;
+		this.storage = storage;
+		restore();
+	}
+
+	private void restore() {
+		for (Submodel submodel : storage.retrieveAll()) {
+			decorated.createSubmodel(submodel);
+			idShortToIdMap.put(submodel.getIdShort(), submodel.getIdentification().getId());
+		}
+	}
+
+	@Override
+	public Collection<ISubmodel> getSubmodelList() {
+		return decorated.getSubmodelList();
+	}
+
+	@Override
+	public ISubmodel getSubmodel(IIdentifier identifier) throws ResourceNotFoundException {
+		return decorated.getSubmodel(identifier);
+	}
+
+	@Override
+	public ISubmodel getSubmodelbyIdShort(String idShort) throws ResourceNotFoundException {
+		return decorated.getSubmodelbyIdShort(idShort);
+	}
+
+	@Override
+	public ISubmodelAPI getSubmodelAPIById(IIdentifier identifier) throws ResourceNotFoundException {
+		return new StorageSubmodelAPI(decorated.getSubmodelAPIById(identifier), storage, identifier.getId());
+	}
+
+	@Override
+	public ISubmodelAPI getSubmodelAPIByIdShort(String idShort) throws ResourceNotFoundException {
+		return new StorageSubmodelAPI(decorated.getSubmodelAPIByIdShort(idShort), storage, idShortToIdMap.get(idShort));
+	}
+
+	@Override
+	public void createSubmodel(Submodel submodel) {
+		String replacedId = getReplacedId(submodel);
+		decorated.createSubmodel(submodel);
+		persist(submodel, replacedId);
+	}
+
+	@Override
+	public void createSubmodel(ISubmodelAPI submodelAPI) {
+		ISubmodel submodel = submodelAPI.getSubmodel();
+		if (!(submodel instanceof Submodel)) {
+			throw new ProviderException("Only submodels of type '" + Submodel.class.getName() + "' can be persisted");
+		}
+		String replacedId = getReplacedId(submodel);
+		decorated.createSubmodel(submodelAPI);
+		persist((Submodel) submodel, replacedId);
+	}
+
+	@Override
+	public void updateSubmodel(Submodel submodel) throws ResourceNotFoundException {
+		String replacedId = getReplacedId(submodel);
+		decorated.updateSubmodel(submodel);
+		persist(submodel, replacedId);
+	}
+
+	@Override
+	public void deleteSubmodelByIdentifier(IIdentifier identifier) {
+		decorated.deleteSubmodelByIdentifier(identifier);
+		storage.delete(identifier.getId());
+		idShortToIdMap.values().remove(identifier.getId());
+	}
+
+	/**
+	 * Returns the identifier of a different submodel with the same idShort, which
+	 * is replaced in the decorated aggregator
+	 */
+	private String getReplacedId(ISubmodel submodel) {
+		String existingId = idShortToIdMap.get(submodel.getIdShort());
+		return submodel.getIdentification().getId().equals(existingId) ? null : existingId;
+	}
+
+	private void persist(Submodel submodel, String replacedId) {
+		storage.createOrUpdate(submodel);
+		idShortToIdMap.put(submodel.getIdShort(), submodel.getIdentification().getId());
+		if (replacedId != null) {
+			storage.delete(replacedId);
+		}
+	}
+
+	@Override
+	public void deleteSubmodelByIdShort(String idShort) {
+		decorated.deleteSubmodelByIdShort(idShort);
+		String id = idShortToIdMap.remove(idShort);
+		if (id != null) {
+			storage.delete(id);
+		}
+	}
+}
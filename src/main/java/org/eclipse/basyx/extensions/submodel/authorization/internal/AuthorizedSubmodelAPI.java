@@ -26,8 +26,9 @@ package org.eclipse.basyx.extensions.submodel.authorization.internal;
 
 import java.io.File;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -185,15 +186,7 @@ public class AuthorizedSubmodelAPI<SubjectInformationType> implements ISubmodelA
 	}
 
 	protected Collection<IOperation> authorizeGetOperations() throws InhibitException {
-		return getOperationListOnly().stream().map(operation -> {
-			try {
-				return (IOperation) authorizeGetSubmodelElement(operation.getIdShort());
-			} catch (final InhibitException e) {
-				// log and leave out operation if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		return filterAuthorizedSubmodelElements(getOperationListOnly()).stream().filter(IOperation.class::isInstance).map(IOperation.class::cast).collect(Collectors.toList());
 	}
 
 	private Collection<IOperation> getOperationListOnly() throws InhibitException {
@@ -216,15 +209,26 @@ public class AuthorizedSubmodelAPI<SubjectInformationType> implements ISubmodelA
 	}
 
 	protected Collection<ISubmodelElement> authorizeGetSubmodelElements() throws InhibitException {
-		return getSubmodelElementListOnly().stream().map(smEl -> {
-			try {
-				return authorizeGetSubmodelElement(smEl.getIdShort());
-			} catch (final InhibitException e) {
-				// log and leave out submodelElement if authorization was unsuccessful
-				logger.info(e.getMessage(), e);
-				return null;
-			}
-		}).filter(Objects::nonNull).collect(Collectors.toList());
+		return filterAuthorizedSubmodelElements(getSubmodelElementListOnly());
+	}
+
+	/**
+	 * Authorizes the read access to each of the already retrieved elements in one
+	 * batch and leaves out the denied ones.
+	 */
+	protected List<ISubmodelElement> filterAuthorizedSubmodelElements(final Collection<? extends ISubmodelElement> smEls) {
+		if (smEls.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		final List<ISubmodelElement> candidates = new ArrayList<>(smEls);
+		final IIdentifier smId = getSmIdUnsecured();
+		final IReference smSemanticId = getSmSemanticIdUnsecured();
+		final List<ISubmodelElement> authorizedSmEls = submodelAPIAuthorizer.authorizeGetSubmodelElementBatch(subjectInformationProvider.get(), aas, smId, smSemanticId, candidates);
+
+		// leave out submodel elements if authorization was unsuccessful
+		logger.debug("Left out {} of {} submodel elements due to missing authorization", candidates.size() - authorizedSmEls.size(), candidates.size());
+		return authorizedSmEls;
 	}
 
 	private Collection<ISubmodelElement> getSubmodelElementListOnly() throws InhibitException {
@@ -25,8 +25,10 @@
 package org.eclipse.basyx.extensions.submodel.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.GrantedAuthorityHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.IGrantedAuthorityAuthenticator;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
@@ -64,6 +66,11 @@ public class GrantedAuthoritySubmodelAPIAuthorizer<SubjectInformationType> imple
 		return smElSupplier.get();
 	}
 
+	@Override
+	public List<ISubmodelElement> authorizeGetSubmodelElementBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final List<ISubmodelElement> smEls) {
+		return BatchAuthorizationHelper.filter(smEls, GrantedAuthorityHelper.checkAuthorityForAll(grantedAuthorityAuthenticator, subjectInformation, AuthorizedSubmodelAPI.READ_AUTHORITY, smEls.size()));
+	}
+
 	@Override
 	public ISubmodel authorizeGetSubmodel(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier) throws InhibitException {
 		GrantedAuthorityHelper.checkAuthority(grantedAuthorityAuthenticator, subjectInformation, AuthorizedSubmodelAPI.READ_AUTHORITY);
@@ -25,8 +25,10 @@
 package org.eclipse.basyx.extensions.submodel.authorization.internal;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
 import org.eclipse.basyx.extensions.shared.authorization.internal.InhibitException;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
@@ -87,6 +89,29 @@ public interface ISubmodelAPIAuthorizer<SubjectInformationType> {
 	public ISubmodelElement authorizeGetSubmodelElement(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final String smElIdShortPath,
 			final Supplier<ISubmodelElement> smElSupplier) throws InhibitException;
 
+	/**
+	 * Checks authorization for {@link ISubmodelAPI#getSubmodelElement(String)} for
+	 * a whole list of submodel elements at once, e.g. to filter the result of
+	 * {@link ISubmodelAPI#getSubmodelElements()}. Denied elements are left out
+	 * instead of throwing.
+	 *
+	 * @param subjectInformation
+	 *            information of the requester.
+	 * @param aas
+	 *            the aas the submodel belongs to as passed in the constructor of
+	 *            {@link AuthorizedSubmodelAPI}, may be null.
+	 * @param smId
+	 *            id of the submodel.
+	 * @param smSemanticId
+	 *            semantic id of the submodel.
+	 * @param smEls
+	 *            the already retrieved submodel elements.
+	 * @return the authorized submodel elements in the given order
+	 */
+	public default List<ISubmodelElement> authorizeGetSubmodelElementBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final List<ISubmodelElement> smEls) {
+		return BatchAuthorizationHelper.authorizeEach(smEls, (i, smEl) -> authorizeGetSubmodelElement(subjectInformation, aas, smId, smSemanticId, smEl.getIdShort(), () -> smEl));
+	}
+
 	/**
 	 * Checks authorization for {@link ISubmodelAPI#getSubmodel()}.
 	 *
@@ -34,7 +34,9 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Simple role based implementation for {@link ISubmodelAPIAuthorizer}.
@@ -70,6 +72,16 @@ public class SimpleRbacSubmodelAPIAuthorizer<SubjectInformationType> implements
 		return smElSupplier.get();
 	}
 
+	@Override
+	public List<ISubmodelElement> authorizeGetSubmodelElementBatch(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final List<ISubmodelElement> smEls) {
+		final String aasIdString = IdHelper.getIdentifierId(getAasId(aas));
+		final String smIdString = IdHelper.getIdentifierId(smId);
+		final String smSemanticIdString = IdHelper.getReferenceId(smSemanticId);
+
+		final List<TargetInformation> targetInformations = smEls.stream().map(smEl -> new BaSyxObjectTargetInformation(aasIdString, smIdString, smSemanticIdString, smEl.getIdShort())).collect(Collectors.toList());
+		return BatchAuthorizationHelper.filter(smEls, SimpleRbacHelper.checkRules(rbacRuleChecker, roleAuthenticator, subjectInformation, SubmodelAPIScopes.READ_SCOPE, targetInformations));
+	}
+
 	@Override
 	public ISubmodel authorizeGetSubmodel(final SubjectInformationType subjectInformation, final IAssetAdministrationShell aas, final IIdentifier smId, final IReference smSemanticId, final Supplier<ISubmodel> smSupplier) throws InhibitException {
 		final IIdentifier aasId = getAasId(aas);
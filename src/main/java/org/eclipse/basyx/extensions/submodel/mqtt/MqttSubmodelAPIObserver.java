@@ -247,7 +247,8 @@ public class MqttSubmodelAPIObserver extends MqttEventService implements ISubmod
 	@Override
 	public void elementUpdated(String idShortPath, Object newValue) {
 		if (filter(idShortPath)) {
-			sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_UPDATEELEMENT, MqttSubmodelAPIHelper.createChangedSubmodelElementPayload(getParentIdIfPresent(), submodelIdentifier.getId(), idShortPath));
+			String payload = MqttSubmodelAPIHelper.createChangedSubmodelElementPayload(getParentIdIfPresent(), submodelIdentifier.getId(), idShortPath);
+			sendMqttMessage(MqttSubmodelAPIHelper.TOPIC_UPDATEELEMENT, payload, MqttSubmodelAPIHelper.TOPIC_UPDATEELEMENT + payload);
 		}
 	}
 
@@ -152,14 +152,16 @@ public class MqttV2SubmodelAPIObserver extends MqttEventService implements ISubm
 	public void elementUpdated(String idShortPath, ISubmodelElement submodelElement, String aasId, String submodelId, String repoId) {
 		if (submodelElement instanceof Map<?, ?> && filter(idShortPath)) {
 			ISubmodelElement sme = setValueNull(submodelElement);
-			sendMqttMessage(payloadFactory.createUpdateSubmodelElementTopic(aasId, submodelId, idShortPath, repoId), serializePayload(sme));
+			String topic = payloadFactory.createUpdateSubmodelElementTopic(aasId, submodelId, idShortPath, repoId);
+			sendMqttMessage(topic, serializePayload(sme), topic);
 		}
 	}
 	
 	@Override
 	public void elementValue(String idShortPath, Object value, String aasId, String submodelId, String repoId) {
 		if (filter(idShortPath)) {
-			sendMqttMessage(payloadFactory.createSubmodelElementValueTopic(aasId, submodelId, idShortPath, repoId), serializePayload(value));
+			String topic = payloadFactory.createSubmodelElementValueTopic(aasId, submodelId, idShortPath, repoId);
+			sendMqttMessage(topic, serializePayload(value), topic);
 		}
 	}
 
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.extensions.submodel.storage;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxStorageAPI;
+import org.eclipse.basyx.extensions.internal.storage.IBaSyxSubmodelElementStorageAPI;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResponse;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
+
+/**
+ * Implementation variant for the SubmodelAPI that persists the submodel after
+ * each modification. Has to be based on a backend implementation of the
+ * ISubmodelAPI to forward its method calls, which remains the primary source
+ * for all reads.<br>
+ * <br>
+ * If the storage is an {@link IBaSyxSubmodelElementStorageAPI}, only the
+ * modified elements are written. Otherwise, the whole submodel is written.
+ * 
+ * @author agent
+ *
+ */
+public class StorageSubmodelAPI implements ISubmodelAPI, IChangeVersioned {
+	private final ISubmodelAPI decorated;
+	private final IBaSyxStorageAPI<Submodel> storage;
+	private String submodelId;
+
+	/**
+	 * 
+	 * @param decorated
+	 *            the underlying submodel API
+	 * @param storage
+	 *            the storage the submodel is persisted to
+	 */
+	public StorageSubmodelAPI(ISubmodelAPI decorated, IBaSyxStorageAPI<Submodel> storage) {
+		this.decorated = decorated;
+		this.storage = storage;
+	}
+
+	/**
+	 * 
+	 * @param decorated
+	 *            the underlying submodel API
+	 * @param storage
+	 *            the storage the submodel is persisted to
+	 * @param submodelId
+	 *            the identifier of the submodel, if known, so that it does not
+	 *            have to be retrieved from the decorated API
+	 */
+	public StorageSubmodelAPI(ISubmodelAPI decorated, IBaSyxStorageAPI<Submodel> storage, String submodelId) {
+		this(decorated, storage);
+		this.submodelId = submodelId;
+	}
+
+	@Override
+	public ISubmodel getSubmodel() {
+		return decorated.getSubmodel();
+	}
+
+	@Override
+	public void addSubmodelElement(ISubmodelElement elem) {
+		synchronized (decorated) {
+			decorated.addSubmodelElement(elem);
+			persistElements(Collections.singleton(elem.getIdShort()));
+		}
+	}
+
+	@Override
+	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
+		synchronized (decorated) {
+			decorated.addSubmodelElement(idShortPath, elem);
+			persistElements(Collections.singleton(idShortPath));
+		}
+	}
+
+	@Override
+	public ISubmodelElement getSubmodelElement(String idShortPath) {
+		return decorated.getSubmodelElement(idShortPath);
+	}
+
+	@Override
+	public void deleteSubmodelElement(String idShortPath) {
+		synchronized (decorated) {
+			decorated.deleteSubmodelElement(idShortPath);
+			persistDeletion(idShortPath);
+		}
+	}
+
+	@Override
+	public Collection<IOperation> getOperations() {
+		return decorated.getOperations();
+	}
+
+	@Override
+	public Collection<ISubmodelElement> getSubmodelElements() {
+		return decorated.getSubmodelElements();
+	}
+
+	@Override
+	public void updateSubmodelElement(String idShortPath, Object newValue) {
+		synchronized (decorated) {
+			decorated.updateSubmodelElement(idShortPath, newValue);
+			persistElements(Collections.singleton(idShortPath));
+		}
+	}
+
+	@Override
+	public Object getSubmodelElementValue(String idShortPath) {
+		return decorated.getSubmodelElementValue(idShortPath);
+	}
+
+	@Override
+	public Object invokeOperation(String idShortPath, Object... params) {
+		return decorated.invokeOperation(idShortPath, params);
+	}
+
+	@Override
+	public Object invokeAsync(String idShortPath, Object... params) {
+		return decorated.invokeAsync(idShortPath, params);
+	}
+
+	@Override
+	public Object getOperationResult(String idShort, String requestId) {
+		return decorated.getOperationResult(idShort, requestId);
+	}
+
+	@Override
+	public SubmodelElementBatchResponse processBatch(SubmodelElementBatchRequest request) {
+		if (request.getNewValues().isEmpty()) {
+			return decorated.processBatch(request);
+		}
+
+		// Persist once for the whole batch instead of once per written value
+		synchronized (decorated) {
+			SubmodelElementBatchResponse response = decorated.processBatch(request);
+			persistElements(request.getNewValues().keySet());
+			return response;
+		}
+	}
+
+	@Override
+	public File getSubmodelElementFile(String idShortPath) {
+		return decorated.getSubmodelElementFile(idShortPath);
+	}
+
+	@Override
+	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
+		synchronized (decorated) {
+			decorated.uploadSubmodelElementFile(idShortPath, fileStream);
+			persistElements(Collections.singleton(idShortPath));
+		}
+	}
+
+	@Override
+	public long getChangeVersion() {
+		if (decorated instanceof IChangeVersioned) {
+			return ((IChangeVersioned) decorated).getChangeVersion();
+		}
+		return IVersionedModelProvider.UNVERSIONED;
+	}
+
+	/**
+	 * Has to be called while holding the lock of the decorated API, so that
+	 * concurrent modifications are persisted in the order they were applied
+	 */
+	private void persistElements(Collection<String> idShortPaths) {
+		if (!(storage instanceof IBaSyxSubmodelElementStorageAPI)) {
+			persist();
+			return;
+		}
+
+		Map<String, ISubmodelElement> elements = new LinkedHashMap<>();
+		for (String idShortPath : idShortPaths) {
+			try {
+				elements.put(idShortPath, decorated.getSubmodelElement(idShortPath));
+			} catch (ResourceNotFoundException e) {
+				// Failed write of a batch, nothing to persist
+			}
+		}
+
+		try {
+			((IBaSyxSubmodelElementStorageAPI) storage).updateSubmodelElements(getSubmodelId(), elements);
+		} catch (ResourceNotFoundException e) {
+			// The submodel itself has not been persisted yet
+			persist();
+		}
+	}
+
+	private void persistDeletion(String idShortPath) {
+		if (storage instanceof IBaSyxSubmodelElementStorageAPI) {
+			((IBaSyxSubmodelElementStorageAPI) storage).deleteSubmodelElement(getSubmodelId(), idShortPath);
+		} else {
+			persist();
+		}
+	}
+
+	private String getSubmodelId() {
+		if (submodelId == null) {
+			submodelId = decorated.getSubmodel().getIdentification().getId();
+		}
+		return submodelId;
+	}
+
+	private void persist() {
+		storage.createOrUpdate(toSubmodel(decorated.getSubmodel()));
+	}
+
+	private static Submodel toSubmodel(ISubmodel submodel) {
+		if (!(submodel instanceof Submodel)) {
+			throw new ProviderException("Only submodels of type '" + Submodel.class.getName() + "' can be persisted");
+		}
+		return (Submodel) submodel;
+	}
+}
@@ -25,9 +25,9 @@
 package org.eclipse.basyx.submodel.aggregator;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.basyx.extensions.shared.authorization.internal.NotAuthorizedException;
@@ -39,6 +39,7 @@ import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPIFactory;
 import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.support.StripedLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,7 +51,19 @@ import org.slf4j.LoggerFactory;
 public class SubmodelAggregator implements ISubmodelAggregator {
 	private static final Logger logger = LoggerFactory.getLogger(SubmodelAggregator.class);
 
-	protected Map<String, ISubmodelAPI> submodelApiMap = new HashMap<>();
+	protected Map<String, ISubmodelAPI> submodelApiMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Index from identifier id to idShort, so that submodels can be found by
+	 * their identifier without retrieving every submodel. The reverse map is
+	 * needed to keep the index consistent if a submodel is replaced or deleted
+	 * by its idShort. Modifications of the maps are synchronized per idShort,
+	 * reads are not synchronized.
+	 */
+	private Map<String, String> idToIdShortMap = new ConcurrentHashMap<>();
+	private Map<String, String> idShortToIdMap = new ConcurrentHashMap<>();
+
+	private StripedLock idShortLocks = new StripedLock();
 
 	/**
 	 * Store Submodel API Provider. By default, uses the VAB Submodel Provider
@@ -84,14 +97,11 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 	}
 
 	private String getIdShort(IIdentifier identifier) {
-		for (ISubmodelAPI api : submodelApiMap.values()) {
-			ISubmodel submodel = api.getSubmodel();
-			String idValue = submodel.getIdentification().getId();
-			if (idValue.equals(identifier.getId())) {
-				return submodel.getIdShort();
-			}
+		String idShort = idToIdShortMap.get(identifier.getId());
+		if (idShort == null) {
+			throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
 		}
-		throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
+		return idShort;
 	}
 
 	@Override
@@ -102,12 +112,28 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 	@Override
 	public void updateSubmodel(Submodel submodel) throws ResourceNotFoundException {
 		ISubmodelAPI submodelAPI = submodelApiFactory.create(submodel);
-		createSubmodel(submodelAPI);
+		// The identifiers are taken from the given submodel, since retrieving the
+		// submodel from the API would copy all of its elements
+		registerSubmodelAPI(submodel.getIdShort(), submodel.getIdentification().getId(), submodelAPI);
 	}
 
 	@Override
 	public void createSubmodel(ISubmodelAPI submodelAPI) {
-		submodelApiMap.put(submodelAPI.getSubmodel().getIdShort(), submodelAPI);
+		ISubmodel submodel = submodelAPI.getSubmodel();
+		registerSubmodelAPI(submodel.getIdShort(), submodel.getIdentification().getId(), submodelAPI);
+	}
+
+	private void registerSubmodelAPI(String idShort, String id, ISubmodelAPI submodelAPI) {
+		synchronized (idShortLocks.get(idShort)) {
+			submodelApiMap.put(idShort, submodelAPI);
+
+			// Remove the identifier of a replaced submodel with the same idShort
+			String replacedId = idShortToIdMap.put(idShort, id);
+			if (replacedId != null && !replacedId.equals(id)) {
+				idToIdShortMap.remove(replacedId, idShort);
+			}
+			idToIdShortMap.put(id, idShort);
+		}
 	}
 
 	@Override
@@ -122,22 +148,38 @@ public class SubmodelAggregator implements ISubmodelAggregator {
 
 	@Override
 	public void deleteSubmodelByIdentifier(IIdentifier identifier) {
-		try {
-			String idShort = getIdShort(identifier);
-			submodelApiMap.remove(idShort);
-		} catch (ResourceNotFoundException exception) {
+		String idShort = idToIdShortMap.get(identifier.getId());
+		if (idShort == null) {
+			return;
+		}
+		synchronized (idShortLocks.get(idShort)) {
+			// Only delete if the identifier has not been reassigned in the meantime
+			if (idShort.equals(idToIdShortMap.get(identifier.getId()))) {
+				deleteSubmodelByIdShort(idShort);
+			}
 		}
 	}
 
 	@Override
 	public void deleteSubmodelByIdShort(String idShort) {
-		submodelApiMap.remove(idShort);
+		synchronized (idShortLocks.get(idShort)) {
+			submodelApiMap.remove(idShort);
+			String id = idShortToIdMap.remove(idShort);
+			if (id != null) {
+				idToIdShortMap.remove(id, idShort);
+			}
+		}
 	}
 
 	@Override
 	public ISubmodelAPI getSubmodelAPIById(IIdentifier identifier) throws ResourceNotFoundException {
 		String idShort = getIdShort(identifier);
-		return submodelApiMap.get(idShort);
+		ISubmodelAPI api = submodelApiMap.get(idShort);
+		if (api == null) {
+			// Deleted concurrently
+			throw new ResourceNotFoundException("The submodel with id '" + identifier.getId() + "' could not be found");
+		}
+		return api;
 	}
 
 	@Override
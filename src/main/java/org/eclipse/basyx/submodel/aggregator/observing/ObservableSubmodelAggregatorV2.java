@@ -88,7 +88,11 @@ public class ObservableSubmodelAggregatorV2 extends Observable<ISubmodelAggregat
 	@Override
 	public void createSubmodel(Submodel submodel) {
 		submodelAggregator.createSubmodel(submodel);
-		observers.stream().forEach(observer -> observer.submodelCreated(getParentAASId(submodel), submodel, this.aasServerId));
+		if (observers.isEmpty()) {
+			return;
+		}
+		String parentAASId = getParentAASId(submodel);
+		notifyObservers(observer -> observer.submodelCreated(parentAASId, submodel, this.aasServerId));
 	}
 
 	@Override
@@ -99,7 +103,11 @@ public class ObservableSubmodelAggregatorV2 extends Observable<ISubmodelAggregat
 	@Override
 	public void updateSubmodel(Submodel submodel) throws ResourceNotFoundException {
 		submodelAggregator.updateSubmodel(submodel);
-		observers.stream().forEach(observer -> observer.submodelUpdated(getParentAASId(submodel), submodel, this.aasServerId));
+		if (observers.isEmpty()) {
+			return;
+		}
+		String parentAASId = getParentAASId(submodel);
+		notifyObservers(observer -> observer.submodelUpdated(parentAASId, submodel, this.aasServerId));
 	}
 
 	@Override
@@ -107,7 +115,7 @@ public class ObservableSubmodelAggregatorV2 extends Observable<ISubmodelAggregat
 		ISubmodel submodel = submodelAggregator.getSubmodel(submodelIdentifier);
 		String parentAASId = getParentAASId(submodel);
 		submodelAggregator.deleteSubmodelByIdentifier(submodelIdentifier);
-		observers.stream().forEach(observer -> observer.submodelDeleted(parentAASId, submodel, this.aasServerId));
+		notifyObservers(observer -> observer.submodelDeleted(parentAASId, submodel, this.aasServerId));
 	}
 
 	@Override
@@ -115,7 +123,7 @@ public class ObservableSubmodelAggregatorV2 extends Observable<ISubmodelAggregat
 		ISubmodel submodel = submodelAggregator.getSubmodelbyIdShort(submodelIdShort);
 		String parentAASId = getParentAASId(submodel);
 		submodelAggregator.deleteSubmodelByIdShort(submodelIdShort);
-		observers.stream().forEach(observer -> observer.submodelDeleted(parentAASId, submodel, this.aasServerId));
+		notifyObservers(observer -> observer.submodelDeleted(parentAASId, submodel, this.aasServerId));
 	}
 
 	private String getParentAASId(ISubmodel submodel) {
@@ -72,23 +72,34 @@ public class SubmodelXMLConverter {
 		List<ISubmodel> submodels = new ArrayList<>();
 
 		for (Map<String, Object> xmlSubmodel : xmlSubmodels) {
-			Submodel submodel = new Submodel();
+			submodels.add(parseSubmodel(xmlSubmodel));
+		}
+		return submodels;
+	}
 
-			IdentifiableXMLConverter.populateIdentifiable(xmlSubmodel, Identifiable.createAsFacadeNonStrict(submodel, KeyElements.SUBMODEL));
-			HasSemanticsXMLConverter.populateHasSemantics(xmlSubmodel, HasSemantics.createAsFacade(submodel));
-			HasDataSpecificationXMLConverter.populateHasDataSpecification(xmlSubmodel, HasDataSpecification.createAsFacade(submodel));
-			QualifiableXMLConverter.populateQualifiable(xmlSubmodel, Qualifiable.createAsFacade(submodel));
-			HasKindXMLConverter.populateHasKind(xmlSubmodel, HasKind.createAsFacade(submodel));
+	/**
+	 * Parses a single &lt;aas:submodel&gt; and builds the Submodel object from it
+	 * 
+	 * @param xmlSubmodel
+	 *            a Map containing the content of the XML tag &lt;aas:submodel&gt;
+	 * @return the Submodel parsed from the given XML Map
+	 */
+	public static Submodel parseSubmodel(Map<String, Object> xmlSubmodel) {
+		Submodel submodel = new Submodel();
 
-			List<ISubmodelElement> submodelElements = SubmodelElementXMLConverter.parseSubmodelElements(xmlSubmodel);
+		IdentifiableXMLConverter.populateIdentifiable(xmlSubmodel, Identifiable.createAsFacadeNonStrict(submodel, KeyElements.SUBMODEL));
+		HasSemanticsXMLConverter.populateHasSemantics(xmlSubmodel, HasSemantics.createAsFacade(submodel));
+		HasDataSpecificationXMLConverter.populateHasDataSpecification(xmlSubmodel, HasDataSpecification.createAsFacade(submodel));
+		QualifiableXMLConverter.populateQualifiable(xmlSubmodel, Qualifiable.createAsFacade(submodel));
+		HasKindXMLConverter.populateHasKind(xmlSubmodel, HasKind.createAsFacade(submodel));
 
-			for (ISubmodelElement submdoElement : submodelElements) {
-				submodel.addSubmodelElement(submdoElement);
-			}
+		List<ISubmodelElement> submodelElements = SubmodelElementXMLConverter.parseSubmodelElements(xmlSubmodel);
 
-			submodels.add(submodel);
+		for (ISubmodelElement submdoElement : submodelElements) {
+			submodel.addSubmodelElement(submdoElement);
 		}
-		return submodels;
+
+		return submodel;
 	}
 
 	/**
@@ -105,20 +116,7 @@ public class SubmodelXMLConverter {
 
 		List<Element> xmlSubmodelList = new ArrayList<>();
 		for (ISubmodel subModel : subModels) {
-			Element subModelRoot = document.createElement(SUBMODEL);
-
-			IdentifiableXMLConverter.populateIdentifiableXML(document, subModelRoot, subModel);
-			HasKindXMLConverter.populateHasKindXML(document, subModelRoot, subModel);
-			HasSemanticsXMLConverter.populateHasSemanticsXML(document, subModelRoot, subModel);
-			QualifiableXMLConverter.populateQualifiableXML(document, subModelRoot, subModel);
-			HasDataSpecificationXMLConverter.populateHasDataSpecificationXML(document, subModelRoot, subModel);
-
-			Collection<ISubmodelElement> submodelElements = (Collection<ISubmodelElement>) subModel.getSubmodelElements().values();
-
-			Element xmlSubmodelElements = SubmodelElementXMLConverter.buildSubmodelElementsXML(document, submodelElements);
-			subModelRoot.appendChild(xmlSubmodelElements);
-
-			xmlSubmodelList.add(subModelRoot);
+			xmlSubmodelList.add(buildSubmodelXML(document, subModel));
 		}
 
 		for (Element element : xmlSubmodelList) {
@@ -126,4 +124,30 @@ public class SubmodelXMLConverter {
 		}
 		return root;
 	}
+
+	/**
+	 * Builds a single &lt;aas:submodel&gt; from a given ISubmodel object
+	 * 
+	 * @param document
+	 *            the XML document
+	 * @param subModel
+	 *            the ISubmodel object to build the XML for
+	 * @return the &lt;aas:submodel&gt; XML tag for the given ISubmodel object
+	 */
+	public static Element buildSubmodelXML(Document document, ISubmodel subModel) {
+		Element subModelRoot = document.createElement(SUBMODEL);
+
+		IdentifiableXMLConverter.populateIdentifiableXML(document, subModelRoot, subModel);
+		HasKindXMLConverter.populateHasKindXML(document, subModelRoot, subModel);
+		HasSemanticsXMLConverter.populateHasSemanticsXML(document, subModelRoot, subModel);
+		QualifiableXMLConverter.populateQualifiableXML(document, subModelRoot, subModel);
+		HasDataSpecificationXMLConverter.populateHasDataSpecificationXML(document, subModelRoot, subModel);
+
+		Collection<ISubmodelElement> submodelElements = (Collection<ISubmodelElement>) subModel.getSubmodelElements().values();
+
+		Element xmlSubmodelElements = SubmodelElementXMLConverter.buildSubmodelElementsXML(document, submodelElements);
+		subModelRoot.appendChild(xmlSubmodelElements);
+
+		return subModelRoot;
+	}
 }
@@ -40,9 +40,27 @@ import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
  */
 public class ConnectedElement implements IElement {
 
+	private static volatile ConnectedElementMetadataCache metadataCache;
+
 	private VABElementProxy proxy;
 	protected VABModelMap<Object> cached;
 
+	/**
+	 * Sets a cache for the element maps that is shared by all connected elements.
+	 * If it is set, {@link #getElem()} of connected elements pointing to the same
+	 * element only retrieves the element map once per TTL of the cache. Passing
+	 * null disables the shared cache.
+	 * 
+	 * @param cache
+	 */
+	public static void setMetadataCache(ConnectedElementMetadataCache cache) {
+		metadataCache = cache;
+	}
+
+	public static ConnectedElementMetadataCache getMetadataCache() {
+		return metadataCache;
+	}
+
 	public VABElementProxy getProxy() {
 		return proxy;
 	}
@@ -61,11 +79,24 @@ public class ConnectedElement implements IElement {
 	@SuppressWarnings("unchecked")
 	public VABModelMap<Object> getElemLive() {
 		VABModelMap<Object> map = new VABModelMap<>((Map<String, Object>) getProxy().getValue(""));
-		// update cache
-		cached = map;
+		updateCache(map);
 		return map;
 	}
 
+	/**
+	 * Updates the local and, if it is set, the shared cache with a freshly
+	 * retrieved element map
+	 * 
+	 * @param map
+	 */
+	protected void updateCache(VABModelMap<Object> map) {
+		cached = map;
+		ConnectedElementMetadataCache cache = metadataCache;
+		if (cache != null) {
+			cache.put(getProxy(), map);
+		}
+	}
+
 	/**
 	 * Returns the cached variant of the underlying element. <br>
 	 * Only use this method if you are accessing static data (e.g. meta data) of the
@@ -74,6 +105,16 @@ public class ConnectedElement implements IElement {
 	 * @return
 	 */
 	public VABModelMap<Object> getElem() {
+		ConnectedElementMetadataCache cache = metadataCache;
+		if (cache != null) {
+			VABModelMap<Object> shared = cache.get(getProxy());
+			if (shared != null) {
+				cached = shared;
+				return shared;
+			}
+			return getElemLive();
+		}
+
 		if (cached == null) {
 			return getElemLive();
 		} else {
@@ -81,6 +122,43 @@ public class ConnectedElement implements IElement {
 		}
 	}
 
+	/**
+	 * Discards the cached variant of the underlying element, so that the next call
+	 * of {@link #getElem()} retrieves it again
+	 */
+	public void invalidateCache() {
+		cached = null;
+		ConnectedElementMetadataCache cache = metadataCache;
+		if (cache != null) {
+			cache.invalidate(getProxy());
+		}
+	}
+
+	/**
+	 * Removes the element from the shared metadata cache, if it is enabled, after
+	 * it has been modified
+	 */
+	protected void invalidateSharedCache() {
+		ConnectedElementMetadataCache cache = metadataCache;
+		if (cache != null) {
+			cache.invalidate(getProxy());
+		}
+	}
+
+	/**
+	 * Removes a contained element from the shared metadata cache, if it is
+	 * enabled, after it has been replaced or deleted
+	 * 
+	 * @param path
+	 *            path of the contained element relative to this element
+	 */
+	protected void invalidateSharedCache(String path) {
+		ConnectedElementMetadataCache cache = metadataCache;
+		if (cache != null) {
+			cache.invalidate(getProxy().getDeepProxy(path));
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getElemLive().toString();
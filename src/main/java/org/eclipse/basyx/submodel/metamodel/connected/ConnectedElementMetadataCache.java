@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.metamodel.connected;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Cache for the element maps of connected elements that is shared by all
+ * {@link ConnectedElement} instances pointing to the same element. <br>
+ * Entries expire after a time-to-live, so that only metadata that rarely
+ * changes (e.g. valueType, idShort or semanticId) should be read from it. The
+ * number of entries is bounded; if it is exceeded, the least recently used
+ * entries are removed.
+ * 
+ * @author agent
+ *
+ */
+public class ConnectedElementMetadataCache {
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	private final long ttlNanos;
+	private final Map<CacheKey, CacheEntry> entries;
+
+	/**
+	 * Creates a cache with {@value #DEFAULT_MAX_ENTRIES} entries at most
+	 * 
+	 * @param ttlMillis
+	 *            time after which a cached element map expires
+	 */
+	public ConnectedElementMetadataCache(long ttlMillis) {
+		this(ttlMillis, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a cache
+	 * 
+	 * @param ttlMillis
+	 *            time after which a cached element map expires
+	 * @param maxEntries
+	 *            maximum number of cached element maps
+	 */
+	@SuppressWarnings("serial")
+	public ConnectedElementMetadataCache(long ttlMillis, int maxEntries) {
+		if (ttlMillis < 0) {
+			throw new IllegalArgumentException("Invalid TTL: " + ttlMillis);
+		}
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of entries: " + maxEntries);
+		}
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached element map of the element a proxy is pointing to
+	 * 
+	 * @param proxy
+	 * @return the element map or null, if it is not cached or expired
+	 */
+	public VABModelMap<Object> get(VABElementProxy proxy) {
+		CacheKey key = new CacheKey(proxy);
+		synchronized (entries) {
+			CacheEntry entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (System.nanoTime() - entry.created >= ttlNanos) {
+				entries.remove(key);
+				return null;
+			}
+			return entry.element;
+		}
+	}
+
+	/**
+	 * Caches the element map of the element a proxy is pointing to
+	 * 
+	 * @param proxy
+	 * @param element
+	 */
+	public void put(VABElementProxy proxy, VABModelMap<Object> element) {
+		CacheEntry entry = new CacheEntry(element, System.nanoTime());
+		synchronized (entries) {
+			entries.put(new CacheKey(proxy), entry);
+		}
+	}
+
+	/**
+	 * Removes the cached element map of the element a proxy is pointing to, e.g.
+	 * after it has been modified
+	 * 
+	 * @param proxy
+	 */
+	public void invalidate(VABElementProxy proxy) {
+		synchronized (entries) {
+			entries.remove(new CacheKey(proxy));
+		}
+	}
+
+	/**
+	 * Removes all cached element maps
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached element maps, including expired ones that have
+	 * not been removed yet
+	 * 
+	 * @return
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Identifies an element by the identity of the provider and the address within
+	 * the provider. Providers are reused for the same address by the
+	 * ConnectorFactory, so that proxies created independently for the same element
+	 * share an entry.
+	 */
+	private static class CacheKey {
+		private final IModelProvider provider;
+		private final String address;
+
+		private CacheKey(VABElementProxy proxy) {
+			this.provider = proxy.getProvider();
+			this.address = proxy.getAddress();
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(provider) + address.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return provider == other.provider && address.equals(other.address);
+		}
+	}
+
+	private static class CacheEntry {
+		private final VABModelMap<Object> element;
+		private final long created;
+
+		private CacheEntry(VABModelMap<Object> element, long created) {
+			this.element = element;
+			this.created = created;
+		}
+	}
+}
@@ -25,6 +25,7 @@
 package org.eclipse.basyx.submodel.metamodel.connected;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
@@ -50,8 +51,15 @@ import org.eclipse.basyx.submodel.metamodel.map.qualifier.haskind.HasKind;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifiable;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection;
 import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResponse;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResult;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.model.VABModelMap;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 
@@ -63,6 +71,12 @@ import org.eclipse.basyx.vab.modelprovider.VABPathTools;
  */
 public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 
+	/**
+	 * Is reset if the server does not support projections, i.e. if it is older
+	 * than the client
+	 */
+	private volatile boolean projectionSupported = true;
+
 	public ConnectedSubmodel(VABElementProxy proxy) {
 		super(proxy);
 	}
@@ -78,6 +92,31 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 		cached = localCopy;
 	}
 
+	/**
+	 * Retrieves only the metadata of the submodel, i.e. without its submodel
+	 * elements. The elements are accessed by their own connected elements. If the
+	 * server does not support projections, the complete submodel is retrieved.
+	 */
+	@Override
+	public VABModelMap<Object> getElemLive() {
+		VABModelMap<Object> map = new VABModelMap<>(retrieveMetadata());
+		updateCache(map);
+		return map;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> retrieveMetadata() {
+		if (projectionSupported) {
+			try {
+				return (Map<String, Object>) getProxy().getValue(SubmodelProjection.METADATA.appendTo(""));
+			} catch (MalformedRequestException e) {
+				// Servers without projection support reject the query as unknown path
+				projectionSupported = false;
+			}
+		}
+		return (Map<String, Object>) getProxy().getValue("");
+	}
+
 	protected KeyElements getKeyElement() {
 		return KeyElements.SUBMODEL;
 	}
@@ -155,10 +194,14 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 				Map<String, Object> converted = SubmodelElementMapCollectionConverter.smElementToMap((Map<String, Object>) element);
 
 				getProxy().setValue(path, converted);
+				invalidateSharedCache(path);
+				invalidateSharedCache();
 				return;
 			}
 		}
 		getProxy().setValue(path, element);
+		invalidateSharedCache(path);
+		invalidateSharedCache();
 	}
 
 	@Override
@@ -182,6 +225,44 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 		return (Map<String, Object>) getProxy().getValue(SubmodelProvider.VALUES);
 	}
 
+	/**
+	 * Writes and reads the values of several submodel elements in one request
+	 * 
+	 * @param request
+	 *            the idShort paths to read and the new values to write
+	 * @return the results of all entries
+	 */
+	@SuppressWarnings("unchecked")
+	public SubmodelElementBatchResponse processBatch(SubmodelElementBatchRequest request) {
+		String path = VABPathTools.concatenatePaths(SubmodelProvider.BATCH, Operation.INVOKE);
+		SubmodelElementBatchResponse response = SubmodelElementBatchResponse.createAsFacade((Map<String, Object>) getProxy().invokeOperation(path, request));
+		for (String idShortPath : request.getNewValues().keySet()) {
+			invalidateSharedCache(VABPathTools.concatenatePaths(MultiSubmodelElementProvider.ELEMENTS, idShortPath));
+		}
+		return response;
+	}
+
+	/**
+	 * Reads the values of several submodel elements in one request
+	 * 
+	 * @param idShortPaths
+	 * @return the results mapped by the idShort paths
+	 */
+	public Map<String, SubmodelElementBatchResult> getSubmodelElementValues(Collection<String> idShortPaths) {
+		return processBatch(new SubmodelElementBatchRequest(idShortPaths, Collections.emptyMap())).getReadResults();
+	}
+
+	/**
+	 * Writes the values of several submodel elements in one request
+	 * 
+	 * @param newValues
+	 *            maps the idShort paths to the new values
+	 * @return the results mapped by the idShort paths
+	 */
+	public Map<String, SubmodelElementBatchResult> setSubmodelElementValues(Map<String, Object> newValues) {
+		return processBatch(new SubmodelElementBatchRequest(Collections.emptyList(), newValues)).getWriteResults();
+	}
+
 	@Override
 	public IReference getReference() {
 		return Identifiable.createAsFacade(getElem(), getKeyElement()).getReference();
@@ -194,8 +275,9 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 	 * 
 	 * @return the local copy
 	 */
+	@SuppressWarnings("unchecked")
 	public Submodel getLocalCopy() {
-		return Submodel.createAsFacade(getElem());
+		return Submodel.createAsFacade((Map<String, Object>) getProxy().getValue(""));
 	}
 
 	/**
@@ -219,6 +301,9 @@ public class ConnectedSubmodel extends ConnectedElement implements ISubmodel {
 	 */
 	@Override
 	public void deleteSubmodelElement(String id) {
-		getProxy().deleteValue(VABPathTools.concatenatePaths(MultiSubmodelElementProvider.ELEMENTS, id));
+		String path = VABPathTools.concatenatePaths(MultiSubmodelElementProvider.ELEMENTS, id);
+		getProxy().deleteValue(path);
+		invalidateSharedCache(path);
+		invalidateSharedCache();
 	}
 }
@@ -129,6 +129,7 @@ public abstract class ConnectedSubmodelElement extends ConnectedElement implemen
 	@Override
 	public void setValue(Object value) {
 		getProxy().setValue(MultiSubmodelElementProvider.VALUE, value);
+		invalidateSharedCache();
 	}
 
 	@Override
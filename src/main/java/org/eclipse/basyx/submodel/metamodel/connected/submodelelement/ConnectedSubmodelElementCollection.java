@@ -108,6 +108,8 @@ public class ConnectedSubmodelElementCollection extends ConnectedSubmodelElement
 	@Override
 	public void deleteSubmodelElement(String id) {
 		getProxy().deleteValue(id);
+		invalidateSharedCache(id);
+		invalidateSharedCache();
 	}
 
 	/**
@@ -125,11 +127,15 @@ public class ConnectedSubmodelElementCollection extends ConnectedSubmodelElement
 			if (element instanceof SubmodelElementCollection) {
 				Map<String, Object> converted = SubmodelElementMapCollectionConverter.smElementToMap((Map<String, Object>) element);
 				getProxy().setValue(element.getIdShort(), converted);
+				invalidateSharedCache(element.getIdShort());
+				invalidateSharedCache();
 				return;
 			}
 		}
 
 		getProxy().setValue(element.getIdShort(), element);
+		invalidateSharedCache(element.getIdShort());
+		invalidateSharedCache();
 	}
 
 	@Override
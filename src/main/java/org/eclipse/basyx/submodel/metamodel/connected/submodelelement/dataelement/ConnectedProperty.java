@@ -31,6 +31,7 @@ import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.dataelement.IProperty;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.PropertyValueCell;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
@@ -43,6 +44,11 @@ import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
  *
  */
 public class ConnectedProperty extends ConnectedDataElement implements IProperty {
+	/**
+	 * Caches the parsed value, so that an unchanged remote value is not parsed
+	 * again
+	 */
+	private final PropertyValueCell valueCell = new PropertyValueCell();
 
 	public ConnectedProperty(VABElementProxy proxy) {
 		super(proxy);
@@ -73,7 +79,7 @@ public class ConnectedProperty extends ConnectedDataElement implements IProperty
 	public Object getValue() {
 		Object value = retrieveObject();
 		if (value instanceof String) {
-			return ValueTypeHelper.getJavaObject(value, getValueType());
+			return valueCell.getValue(value, getValueType());
 		} else {
 			return value;
 		}
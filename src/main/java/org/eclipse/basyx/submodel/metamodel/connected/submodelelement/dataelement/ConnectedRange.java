@@ -98,5 +98,6 @@ public class ConnectedRange extends ConnectedDataElement implements IRange {
 		RangeValue prepared = new RangeValue(ValueTypeHelper.prepareForSerialization(minRaw), ValueTypeHelper.prepareForSerialization(maxRaw));
 
 		getProxy().setValue(MultiSubmodelElementProvider.VALUE, prepared);
+		invalidateSharedCache();
 	}
 }
@@ -37,6 +37,7 @@ import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.qualifiable.Qualifiable;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.DataElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.PropertyValueCell;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
@@ -53,6 +54,11 @@ public class Property extends DataElement implements IProperty {
 	public static final String VALUETYPE = "valueType";
 	public static final String MODELTYPE = "Property";
 
+	/**
+	 * Caches the typed value, so that it is not parsed on every read
+	 */
+	private final PropertyValueCell valueCell = new PropertyValueCell();
+
 	/**
 	 * Constructor
 	 */
@@ -211,12 +217,7 @@ public class Property extends DataElement implements IProperty {
 
 	@Override
 	public ValueType getValueType() {
-		String valueType = (String) get(Property.VALUETYPE);
-		if (valueType == null) {
-			return null;
-		} else {
-			return ValueTypeHelper.fromName(valueType);
-		}
+		return valueCell.getValueType((String) get(Property.VALUETYPE));
 	}
 
 	/**
@@ -238,13 +239,50 @@ public class Property extends DataElement implements IProperty {
 
 	@Override
 	public Object getValue() {
+		return valueCell.getValue(get(Property.VALUE), getValueType());
+	}
+
+	/**
+	 * Gets the value of a numeric property as <i>long</i> without parsing it again
+	 * on each read
+	 * 
+	 * @return
+	 */
+	public long getValueAsLong() {
+		return valueCell.getLong(getNonNullValue(), getValueType());
+	}
+
+	/**
+	 * Gets the value of a numeric property as <i>double</i> without parsing it
+	 * again on each read
+	 * 
+	 * @return
+	 */
+	public double getValueAsDouble() {
+		return valueCell.getDouble(getNonNullValue(), getValueType());
+	}
+
+	/**
+	 * Gets the value of a boolean property without parsing it again on each read
+	 * 
+	 * @return
+	 */
+	public boolean getValueAsBoolean() {
+		return valueCell.getBoolean(getNonNullValue(), getValueType());
+	}
+
+	private Object getNonNullValue() {
 		Object value = get(Property.VALUE);
-		return ValueTypeHelper.getJavaObject(value, getValueType());
+		if (value == null) {
+			throw new RuntimeException("Value of property " + getIdShort() + " is not set");
+		}
+		return value;
 	}
 
 	@Override
 	public void setValue(Object value) {
-		put(Property.VALUE, ValueTypeHelper.prepareForSerialization(value));
+		Object serialized = ValueTypeHelper.prepareForSerialization(value);
+		put(Property.VALUE, serialized);
 		// Value type is only set if it is not set before
 		if (getValueType() == null) {
 
@@ -256,6 +294,8 @@ public class Property extends DataElement implements IProperty {
 
 			put(Property.VALUETYPE, ValueTypeHelper.getType(value).toString());
 		}
+
+		valueCell.set(serialized, value, getValueType());
 	}
 
 	@Override
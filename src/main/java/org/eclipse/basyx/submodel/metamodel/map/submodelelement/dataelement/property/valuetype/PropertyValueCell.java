@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype;
+
+/**
+ * Caches the typed representation of a property value. <br>
+ * Properties keep their value in its serializable form, i.e. as it is
+ * transferred through the VAB. This cell stores the native Java value and the
+ * resolved {@link ValueType} next to it, so that repeated reads of an unchanged
+ * value do not have to parse it again. <br>
+ * Each cache entry is immutable and replaced as a whole, thus concurrent
+ * readers always see a consistent pair of raw and parsed value.
+ * 
+ * @author agent
+ *
+ */
+public class PropertyValueCell {
+	private volatile TypeEntry typeEntry;
+	private volatile ValueEntry valueEntry;
+
+	/**
+	 * Resolves the value type for its (serialized) name. The last resolved name is
+	 * cached.
+	 * 
+	 * @param typeName
+	 * @return the value type or <i>null</i>, if <i>typeName</i> is <i>null</i>
+	 */
+	public ValueType getValueType(String typeName) {
+		if (typeName == null) {
+			return null;
+		}
+
+		TypeEntry entry = typeEntry;
+		if (entry != null && (entry.name == typeName || entry.name.equals(typeName))) {
+			return entry.type;
+		}
+
+		ValueType type = ValueTypeHelper.fromName(typeName);
+		typeEntry = new TypeEntry(typeName, type);
+		return type;
+	}
+
+	/**
+	 * Returns the Java object for a raw value. If the raw value and type are the
+	 * same as in the last call, the cached Java object is returned without parsing.
+	 * 
+	 * @param raw
+	 *            the value as it is stored in the property
+	 * @param type
+	 *            the value type of the property
+	 * @return the Java object for <i>raw</i>
+	 */
+	public Object getValue(Object raw, ValueType type) {
+		if (raw == null) {
+			return null;
+		}
+
+		ValueEntry entry = valueEntry;
+		if (entry != null && entry.type == type && isSameRaw(entry.raw, raw)) {
+			return entry.value;
+		}
+
+		Object value = ValueTypeHelper.getJavaObject(raw, type);
+		valueEntry = new ValueEntry(raw, type, value);
+		return value;
+	}
+
+	/**
+	 * Primes the cell after a value has been set, so that the following read does
+	 * not need to parse the serialized value. The native value is only cached if
+	 * parsing the serialized value would result in the same Java type.
+	 * 
+	 * @param raw
+	 *            the serialized value that has been stored in the property
+	 * @param nativeValue
+	 *            the value that has been passed to the property
+	 * @param type
+	 *            the value type of the property
+	 */
+	public void set(Object raw, Object nativeValue, ValueType type) {
+		if (raw == null || type == null || !isNativeType(nativeValue, type)) {
+			valueEntry = null;
+		} else {
+			valueEntry = new ValueEntry(raw, type, nativeValue);
+		}
+	}
+
+	/**
+	 * Returns the value as <i>long</i>. Numeric raw values are converted without
+	 * parsing or boxing.
+	 * 
+	 * @param raw
+	 * @param type
+	 * @return
+	 */
+	public long getLong(Object raw, ValueType type) {
+		if (raw instanceof Number) {
+			return ((Number) raw).longValue();
+		}
+		return toNumber(getValue(raw, type), type).longValue();
+	}
+
+	/**
+	 * Returns the value as <i>double</i>. Numeric raw values are converted without
+	 * parsing or boxing.
+	 * 
+	 * @param raw
+	 * @param type
+	 * @return
+	 */
+	public double getDouble(Object raw, ValueType type) {
+		if (raw instanceof Number) {
+			return ((Number) raw).doubleValue();
+		}
+		return toNumber(getValue(raw, type), type).doubleValue();
+	}
+
+	/**
+	 * Returns the value as <i>boolean</i>. Boolean raw values are returned without
+	 * parsing.
+	 * 
+	 * @param raw
+	 * @param type
+	 * @return
+	 */
+	public boolean getBoolean(Object raw, ValueType type) {
+		if (raw instanceof Boolean) {
+			return (Boolean) raw;
+		}
+		Object value = getValue(raw, type);
+		if (!(value instanceof Boolean)) {
+			throw new RuntimeException("Value " + raw + " of type " + type + " is not a boolean");
+		}
+		return (Boolean) value;
+	}
+
+	/**
+	 * Drops all cached entries
+	 */
+	public void clear() {
+		typeEntry = null;
+		valueEntry = null;
+	}
+
+	private static Number toNumber(Object value, ValueType type) {
+		if (!(value instanceof Number)) {
+			throw new RuntimeException("Value " + value + " of type " + type + " is not numeric");
+		}
+		return (Number) value;
+	}
+
+	private static boolean isSameRaw(Object cached, Object raw) {
+		// Strings may be received as new instances with identical content, e.g. when
+		// read from a remote property. All other raw values are compared by identity
+		return cached == raw || (raw instanceof String && raw.equals(cached));
+	}
+
+	private static boolean isNativeType(Object nativeValue, ValueType type) {
+		try {
+			return ValueTypeHelper.getType(nativeValue) == type;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static class TypeEntry {
+		private final String name;
+		private final ValueType type;
+
+		private TypeEntry(String name, ValueType type) {
+			this.name = name;
+			this.type = type;
+		}
+	}
+
+	private static class ValueEntry {
+		private final Object raw;
+		private final ValueType type;
+		private final Object value;
+
+		private ValueEntry(Object raw, ValueType type, Object value) {
+			this.raw = raw;
+			this.type = type;
+			this.value = value;
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigInteger;
 import java.time.Duration;
 import java.time.Period;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -50,6 +51,8 @@ import javax.xml.namespace.QName;
  */
 public class ValueTypeHelper {
 	private static Map<String, ValueType> typeMap = new LinkedHashMap<>();
+	private static Map<Class<?>, ValueType> classMap = new HashMap<>();
+	private static Map<ValueType, Class<?>> javaClassMap = new HashMap<>();
 	private static Logger logger = LoggerFactory.getLogger(ValueTypeHelper.class);
 
 	// insert all types into a Map to allow getting a PropertyValueType based on a
@@ -60,6 +63,57 @@ public class ValueTypeHelper {
 		}
 	}
 
+	// Classes that map directly to a PropertyValueType. BigInteger and
+	// XMLGregorianCalendar are handled separately
+	static {
+		classMap.put(byte.class, ValueType.Int8);
+		classMap.put(Byte.class, ValueType.Int8);
+		classMap.put(short.class, ValueType.Int16);
+		classMap.put(Short.class, ValueType.Int16);
+		classMap.put(int.class, ValueType.Int32);
+		classMap.put(Integer.class, ValueType.Int32);
+		classMap.put(long.class, ValueType.Int64);
+		classMap.put(Long.class, ValueType.Int64);
+		classMap.put(void.class, ValueType.None);
+		classMap.put(Void.class, ValueType.None);
+		classMap.put(boolean.class, ValueType.Boolean);
+		classMap.put(Boolean.class, ValueType.Boolean);
+		classMap.put(float.class, ValueType.Float);
+		classMap.put(Float.class, ValueType.Float);
+		classMap.put(double.class, ValueType.Double);
+		classMap.put(Double.class, ValueType.Double);
+		classMap.put(String.class, ValueType.String);
+		classMap.put(Duration.class, ValueType.Duration);
+		classMap.put(Period.class, ValueType.YearMonthDuration);
+		classMap.put(QName.class, ValueType.QName);
+	}
+
+	// Java classes that are the result of getJavaObject for a PropertyValueType.
+	// Values that already have this class do not need to be parsed again
+	static {
+		javaClassMap.put(ValueType.Int8, Byte.class);
+		javaClassMap.put(ValueType.Int16, Short.class);
+		javaClassMap.put(ValueType.UInt8, Short.class);
+		javaClassMap.put(ValueType.Int32, Integer.class);
+		javaClassMap.put(ValueType.UInt16, Integer.class);
+		javaClassMap.put(ValueType.Int64, Long.class);
+		javaClassMap.put(ValueType.UInt32, Long.class);
+		javaClassMap.put(ValueType.UInt64, BigInteger.class);
+		javaClassMap.put(ValueType.Integer, BigInteger.class);
+		javaClassMap.put(ValueType.PositiveInteger, BigInteger.class);
+		javaClassMap.put(ValueType.NonPositiveInteger, BigInteger.class);
+		javaClassMap.put(ValueType.NonNegativeInteger, BigInteger.class);
+		javaClassMap.put(ValueType.NegativeInteger, BigInteger.class);
+		javaClassMap.put(ValueType.Decimal, BigDecimal.class);
+		javaClassMap.put(ValueType.Double, Double.class);
+		javaClassMap.put(ValueType.Float, Float.class);
+		javaClassMap.put(ValueType.Boolean, Boolean.class);
+		javaClassMap.put(ValueType.Duration, Duration.class);
+		javaClassMap.put(ValueType.DayTimeDuration, Duration.class);
+		javaClassMap.put(ValueType.YearMonthDuration, Period.class);
+		javaClassMap.put(ValueType.QName, QName.class);
+	}
+
 	// Strings required for meta-model conformant valueType format
 	private static final String TYPE_NAME = "name";
 	private static final String TYPE_OBJECT = "dataObjectType";
@@ -71,12 +125,14 @@ public class ValueTypeHelper {
 	 * @return
 	 */
 	public static ValueType fromName(String name) {
+		ValueType type = typeMap.get(name);
+		if (type != null) {
+			return type;
+		}
 
 		String name_with_lowercase_start = Character.toLowerCase(name.charAt(0)) + name.substring(1);
 
-		if (typeMap.containsKey(name)) {
-			return typeMap.get(name);
-		} else if (typeMap.containsKey(name_with_lowercase_start)) {
+		if (typeMap.containsKey(name_with_lowercase_start)) {
 			logger.warn("Type " + name + " does not comply to the standard.");
 			logger.warn("Trying to use it as " + name_with_lowercase_start + "!");
 			return typeMap.get(name_with_lowercase_start);
@@ -96,51 +152,27 @@ public class ValueTypeHelper {
 	 * @return
 	 */
 	public static ValueType getType(Object obj) {
-		ValueType objectType;
-
 		if (obj == null) {
-			objectType = ValueType.None;
+			return ValueType.None;
+		}
+
+		ValueType objectType = classMap.get(obj.getClass());
+		if (objectType != null) {
+			return objectType;
+		} else if (obj instanceof BigInteger) {
+			objectType = handleBigInteger((BigInteger) obj);
+		} else if (obj instanceof XMLGregorianCalendar) {
+			objectType = ValueType.DateTime;
 		} else {
-			Class<?> c = obj.getClass();
-			if (c == byte.class || c == Byte.class) {
-				objectType = ValueType.Int8;
-			} else if (c == short.class || c == Short.class) {
-				objectType = ValueType.Int16;
-			} else if (c == int.class || c == Integer.class) {
-				objectType = ValueType.Int32;
-			} else if (c == long.class || c == Long.class) {
-				objectType = ValueType.Int64;
-			} else if (c == BigInteger.class) {
-				objectType = handleBigInteger((BigInteger) obj);
-			} else if (c == void.class || c == Void.class) {
-				objectType = ValueType.None;
-			} else if (c == boolean.class || c == Boolean.class) {
-				objectType = ValueType.Boolean;
-			} else if (c == float.class || c == Float.class) {
-				objectType = ValueType.Float;
-			} else if (c == double.class || c == Double.class) {
-				objectType = ValueType.Double;
-			} else if (c == String.class) {
-				objectType = ValueType.String;
-			} else if (c == Duration.class) {
-				objectType = ValueType.Duration;
-			} else if (c == Period.class) {
-				objectType = ValueType.YearMonthDuration;
-			} else if (c == QName.class) {
-				objectType = ValueType.QName;
-			} else if (obj instanceof XMLGregorianCalendar) {
-				objectType = ValueType.DateTime;
-			} else {
-				throw new RuntimeException("Cannot map object " + obj + " to any PropertyValueTypeDef");
-			}
+			throw new RuntimeException("Cannot map object " + obj + " to any PropertyValueTypeDef");
 		}
 		return objectType;
 	}
 
 	private static ValueType handleBigInteger(BigInteger integer) {
-		if (integer.compareTo(new BigInteger("0")) > 0) {
+		if (integer.signum() > 0) {
 			return ValueType.PositiveInteger;
-		} else if (integer.compareTo(new BigInteger("0")) < 0) {
+		} else if (integer.signum() < 0) {
 			return ValueType.NegativeInteger;
 		} else {
 			return ValueType.Integer;
@@ -148,16 +180,20 @@ public class ValueTypeHelper {
 	}
 
 	/**
-	 * Map the PropertyValueType to Java type
+	 * Map the PropertyValueType to Java type. Values that already have the Java
+	 * type of the PropertyValueType are returned as they are.
 	 * 
 	 */
-	@SuppressWarnings("deprecation")
 	public static Object getJavaObject(Object value, ValueType objType) {
 
 		if (value == null) {
 			return null;
 		}
 
+		if (objType != null && value.getClass() == javaClassMap.get(objType)) {
+			return value;
+		}
+
 		if (!(value instanceof String)) {
 			value = value.toString();
 		}
@@ -167,33 +203,33 @@ public class ValueTypeHelper {
 			switch (objType) {
 			case Int8:
 				if (((String) value).isEmpty()) {
-					target = new Byte("NaN");
+					target = Byte.valueOf("NaN");
 				} else {
-					target = new Byte((String) value);
+					target = Byte.valueOf((String) value);
 				}
 				break;
 			case Int16:
 			case UInt8:
 				if (((String) value).isEmpty()) {
-					target = new Short("NaN");
+					target = Short.valueOf("NaN");
 				} else {
-					target = new Short((String) value);
+					target = Short.valueOf((String) value);
 				}
 				break;
 			case Int32:
 			case UInt16:
 				if (((String) value).isEmpty()) {
-					target = new Integer("NaN");
+					target = Integer.valueOf("NaN");
 				} else {
-					target = new Integer((String) value);
+					target = Integer.valueOf((String) value);
 				}
 				break;
 			case Int64:
 			case UInt32:
 				if (((String) value).isEmpty()) {
-					target = new Long("NaN");
+					target = Long.valueOf("NaN");
 				} else {
-					target = new Long((String) value);
+					target = Long.valueOf((String) value);
 				}
 				break;
 			case UInt64:
@@ -219,20 +255,20 @@ public class ValueTypeHelper {
 				break;
 			case Double:
 				if (((String) value).isEmpty()) {
-					target = new Double("NaN");
+					target = Double.valueOf("NaN");
 				} else {
-					target = new Double((String) value);
+					target = Double.valueOf((String) value);
 				}
 				break;
 			case Float:
 				if (((String) value).isEmpty()) {
-					target = new Float("NaN");
+					target = Float.valueOf("NaN");
 				} else {
-					target = new Float((String) value);
+					target = Float.valueOf((String) value);
 				}
 				break;
 			case Boolean:
-				target = new Boolean((String) value);
+				target = Boolean.valueOf((String) value);
 				break;
 			case AnySimpleType:
 			case String:
@@ -25,6 +25,9 @@
 package org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -41,6 +44,14 @@ public class AsyncInvocation implements IAsyncInvocation {
 	// Delayer for timeouts
 	private static ScheduledThreadPoolExecutor delayer = new ScheduledThreadPoolExecutor(0);
 
+	// Executes the operations, so that blocking operations do not occupy the
+	// common pool
+	private static volatile ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, AsyncInvocation.class.getName());
+		t.setDaemon(true);
+		return t;
+	});
+
 	private String operationId;
 	private CompletableFuture<Void> future;
 
@@ -60,9 +71,17 @@ public class AsyncInvocation implements IAsyncInvocation {
 
 		// The result of the function is written into the "result" variable
 		// as it can not be returned through the Future due to the timeout check
-		future = CompletableFuture.supplyAsync(
-				// Run Operation asynchronously
-				() -> invokable.apply(parameters))
+		CompletableFuture<Object> execution = new CompletableFuture<>();
+		// Run Operation asynchronously
+		Future<?> task = executor.submit(() -> {
+			try {
+				execution.complete(invokable.apply(parameters));
+			} catch (Throwable e) {
+				execution.completeExceptionally(e);
+			}
+		});
+
+		future = execution
 				// Accept either result or throw exception on timeout
 				.acceptEither(setTimeout(timeout),
 						// result accepted => write result (or timeout exception)
@@ -70,6 +89,8 @@ public class AsyncInvocation implements IAsyncInvocation {
 				.exceptionally(throwable -> {
 					// result not accepted? set operation state
 					if (throwable.getCause() instanceof OperationExecutionTimeoutException) {
+						// Interrupt the operation, its result is not needed anymore
+						task.cancel(true);
 						exception = (RuntimeException) throwable.getCause();
 					} else {
 						// result not accepted? set operation state
@@ -79,6 +100,16 @@ public class AsyncInvocation implements IAsyncInvocation {
 				});
 	}
 
+	/**
+	 * Sets the executor running asynchronous invocations, e.g. a virtual thread
+	 * executor
+	 * 
+	 * @param invocationExecutor
+	 */
+	public static void setExecutor(ExecutorService invocationExecutor) {
+		executor = invocationExecutor;
+	}
+
 	/**
 	 * Function for scheduling a timeout function with completable futures
 	 */
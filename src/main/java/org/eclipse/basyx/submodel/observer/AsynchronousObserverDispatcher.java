@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.observer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events asynchronously. Each observer has its own bounded queue that
+ * is drained by a dedicated thread, so that a slow observer neither delays the
+ * modifying call nor the other observers. <br>
+ * Each observer receives its events in the order of dispatching, thus the
+ * order of events concerning the same element is kept. If the queue of an
+ * observer is full, the dispatching thread waits for free space for at most the
+ * configured block timeout. If there is still no space afterwards, the event is
+ * dropped for this observer. Exceptions thrown by observers are logged and
+ * counted. Events for observers that have been removed in the meantime are
+ * discarded. <br>
+ * A dispatcher instance must only be used by a single {@link Observable}.
+ * 
+ * @author agent
+ *
+ * @param <T>
+ *            the type of the observers
+ */
+public class AsynchronousObserverDispatcher<T extends IObserver> implements IObserverDispatcher<T>, AutoCloseable {
+	private static Logger logger = LoggerFactory.getLogger(AsynchronousObserverDispatcher.class);
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+	public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+
+	private final int queueCapacity;
+	private final long blockTimeoutNanos;
+	private final Map<T, ObserverQueue> queues = new ConcurrentHashMap<>();
+	private volatile boolean closed = false;
+
+	// Guards the creation of queues against concurrent removal and closing
+	private final Object registrationLock = new Object();
+	private final Set<T> removedObservers = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private final LongAdder deliveredCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+
+	/**
+	 * Creates a dispatcher with the default queue capacity and block timeout
+	 */
+	public AsynchronousObserverDispatcher() {
+		this(DEFAULT_QUEUE_CAPACITY, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a dispatcher
+	 * 
+	 * @param queueCapacity
+	 *            maximum number of pending events per observer
+	 * @param blockTimeoutMillis
+	 *            maximum time the dispatching thread waits for space in a full
+	 *            queue. If 0, events for full queues are dropped immediately
+	 */
+	public AsynchronousObserverDispatcher(int queueCapacity, long blockTimeoutMillis) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("The queue capacity has to be positive");
+		}
+		this.queueCapacity = queueCapacity;
+		this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+	}
+
+	@Override
+	public void dispatch(T observer, Consumer<T> event) {
+		if (closed) {
+			droppedCount.increment();
+			logger.warn("Dropped event for " + observer + " since the dispatcher is closed");
+			return;
+		}
+
+		ObserverQueue queue = queues.get(observer);
+		if (queue == null) {
+			queue = createQueue(observer);
+			if (queue == null) {
+				return;
+			}
+		}
+
+		if (!queue.offer(event)) {
+			droppedCount.increment();
+			logger.warn("Dropped event for " + observer + " since its queue is full or closed");
+		}
+	}
+
+	/**
+	 * Creates the queue of an observer, unless it has been removed or the
+	 * dispatcher has been closed in the meantime
+	 * 
+	 * @return the queue or null, if the event has to be discarded
+	 */
+	private ObserverQueue createQueue(T observer) {
+		synchronized (registrationLock) {
+			if (closed) {
+				droppedCount.increment();
+				logger.warn("Dropped event for " + observer + " since the dispatcher is closed");
+				return null;
+			}
+			if (removedObservers.contains(observer)) {
+				return null;
+			}
+			return queues.computeIfAbsent(observer, ObserverQueue::new);
+		}
+	}
+
+	@Override
+	public void observerAdded(T observer) {
+		synchronized (registrationLock) {
+			removedObservers.remove(observer);
+		}
+	}
+
+	/**
+	 * Stops the thread of the removed observer after its pending events have been
+	 * delivered. Events dispatched to it afterwards are discarded until it is
+	 * added again.
+	 */
+	@Override
+	public void observerRemoved(T observer) {
+		ObserverQueue queue;
+		synchronized (registrationLock) {
+			removedObservers.add(observer);
+			queue = queues.remove(observer);
+		}
+		if (queue != null) {
+			queue.close();
+		}
+	}
+
+	/**
+	 * Waits until all pending events have been delivered
+	 * 
+	 * @param timeout
+	 * @param unit
+	 * @return true, if all queues are empty. False, if the timeout elapsed before
+	 * @throws InterruptedException
+	 */
+	public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (ObserverQueue queue : new ArrayList<>(queues.values())) {
+			if (!queue.awaitIdle(deadline - System.nanoTime())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stops accepting events and waits for at most the passed time for the pending
+	 * events to be delivered
+	 * 
+	 * @param timeout
+	 * @param unit
+	 * @return true, if all pending events have been delivered
+	 * @throws InterruptedException
+	 */
+	public boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+		List<ObserverQueue> closedQueues = closeQueues();
+
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		boolean delivered = true;
+		for (ObserverQueue queue : closedQueues) {
+			delivered &= queue.awaitIdle(deadline - System.nanoTime());
+		}
+		return delivered;
+	}
+
+	/**
+	 * Stops accepting events. Pending events are still delivered.
+	 */
+	@Override
+	public void close() {
+		closeQueues();
+	}
+
+	private List<ObserverQueue> closeQueues() {
+		List<ObserverQueue> closedQueues;
+		synchronized (registrationLock) {
+			closed = true;
+			closedQueues = new ArrayList<>(queues.values());
+			queues.clear();
+		}
+		closedQueues.forEach(ObserverQueue::close);
+		return closedQueues;
+	}
+
+	/**
+	 * Returns the number of events not yet delivered over all observers
+	 */
+	public int getQueueDepth() {
+		return queues.values().stream().mapToInt(ObserverQueue::getDepth).sum();
+	}
+
+	/**
+	 * Returns the number of events not yet delivered to the passed observer
+	 */
+	public int getQueueDepth(T observer) {
+		ObserverQueue queue = queues.get(observer);
+		return queue == null ? 0 : queue.getDepth();
+	}
+
+	/**
+	 * Returns the maximum age of the oldest undelivered event over all observers
+	 * in nanoseconds
+	 */
+	public long getLagNanos() {
+		return queues.values().stream().mapToLong(ObserverQueue::getLagNanos).max().orElse(0);
+	}
+
+	/**
+	 * Returns the age of the oldest event not yet delivered to the passed observer
+	 * in nanoseconds, or 0 if there is none
+	 */
+	public long getLagNanos(T observer) {
+		ObserverQueue queue = queues.get(observer);
+		return queue == null ? 0 : queue.getLagNanos();
+	}
+
+	/**
+	 * Returns the number of events delivered without exception
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount.sum();
+	}
+
+	/**
+	 * Returns the number of events whose observer has thrown an exception
+	 */
+	public long getFailedCount() {
+		return failedCount.sum();
+	}
+
+	/**
+	 * Returns the number of events dropped due to a full queue or since the
+	 * dispatcher has been closed
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	private static class QueuedEvent<T> {
+		private final Consumer<T> event;
+		private final long enqueueNanos;
+
+		private QueuedEvent(Consumer<T> event, long enqueueNanos) {
+			this.event = event;
+			this.enqueueNanos = enqueueNanos;
+		}
+	}
+
+	/**
+	 * Pending events of a single observer and the thread delivering them
+	 */
+	private class ObserverQueue implements Runnable {
+		private final T observer;
+		private final ArrayDeque<QueuedEvent<T>> events = new ArrayDeque<>();
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition notEmpty = lock.newCondition();
+		private final Condition notFull = lock.newCondition();
+		private final Condition idle = lock.newCondition();
+		private final Thread thread;
+
+		// Event that is currently delivered, if any
+		private QueuedEvent<T> inDelivery;
+		private boolean queueClosed = false;
+
+		private ObserverQueue(T observer) {
+			this.observer = observer;
+			thread = new Thread(this, AsynchronousObserverDispatcher.class.getName() + " " + observer.getClass().getSimpleName());
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		private boolean offer(Consumer<T> event) {
+			QueuedEvent<T> queuedEvent = new QueuedEvent<>(event, System.nanoTime());
+			lock.lock();
+			try {
+				long nanos = blockTimeoutNanos;
+				while (events.size() >= queueCapacity) {
+					if (nanos <= 0 || queueClosed) {
+						return false;
+					}
+					nanos = notFull.awaitNanos(nanos);
+				}
+				if (queueClosed) {
+					return false;
+				}
+				events.addLast(queuedEvent);
+				notEmpty.signal();
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				QueuedEvent<T> next = takeNext();
+				if (next == null) {
+					return;
+				}
+				deliver(next);
+			}
+		}
+
+		/**
+		 * Waits for the next event
+		 * 
+		 * @return the next event or null, if the queue is closed and empty
+		 */
+		private QueuedEvent<T> takeNext() {
+			lock.lock();
+			try {
+				inDelivery = null;
+				while (events.isEmpty()) {
+					idle.signalAll();
+					if (queueClosed) {
+						return null;
+					}
+					notEmpty.awaitUninterruptibly();
+				}
+				inDelivery = events.pollFirst();
+				notFull.signal();
+				return inDelivery;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void deliver(QueuedEvent<T> queuedEvent) {
+			try {
+				queuedEvent.event.accept(observer);
+				deliveredCount.increment();
+			} catch (RuntimeException e) {
+				failedCount.increment();
+				logger.warn("Observer " + observer + " failed to handle an event", e);
+			}
+		}
+
+		private void close() {
+			lock.lock();
+			try {
+				queueClosed = true;
+				notEmpty.signalAll();
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean awaitIdle(long nanos) throws InterruptedException {
+			lock.lock();
+			try {
+				while (!events.isEmpty() || inDelivery != null) {
+					if (nanos <= 0) {
+						return false;
+					}
+					nanos = idle.awaitNanos(nanos);
+				}
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private int getDepth() {
+			lock.lock();
+			try {
+				return events.size() + (inDelivery == null ? 0 : 1);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private long getLagNanos() {
+			lock.lock();
+			try {
+				QueuedEvent<T> oldest = inDelivery != null ? inDelivery : events.peekFirst();
+				return oldest == null ? 0 : System.nanoTime() - oldest.enqueueNanos;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
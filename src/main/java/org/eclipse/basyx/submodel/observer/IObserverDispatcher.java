@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.observer;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers the events of an {@link Observable} to its observers
+ * 
+ * @author agent
+ *
+ * @param <T>
+ *            the type of the observers
+ */
+public interface IObserverDispatcher<T extends IObserver> {
+
+	/**
+	 * Delivers an event to an observer. Events dispatched to the same observer are
+	 * delivered in the order of dispatching.
+	 * 
+	 * @param observer
+	 * @param event
+	 *            the call of the observer method
+	 */
+	public void dispatch(T observer, Consumer<T> event);
+
+	/**
+	 * Is called when an observer has been added to the observable
+	 * 
+	 * @param observer
+	 */
+	public default void observerAdded(T observer) {
+	}
+
+	/**
+	 * Is called when an observer has been removed from the observable
+	 * 
+	 * @param observer
+	 */
+	public default void observerRemoved(T observer) {
+	}
+}
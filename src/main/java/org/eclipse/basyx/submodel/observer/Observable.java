@@ -26,13 +26,18 @@
 
 package org.eclipse.basyx.submodel.observer;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Generic implementation of an Observable. This class contains all common
  * operations an Observable is supposed to do. Java generics is used to specify
- * which type of Observable is required
+ * which type of Observable is required <br>
+ * Observers are notified through an {@link IObserverDispatcher}. By default,
+ * they are notified synchronously within the modifying call, see
+ * {@link AsynchronousObserverDispatcher} for decoupling the caller from the
+ * observers.
  * 
  * @author haque
  *
@@ -41,7 +46,9 @@ import java.util.Collection;
  */
 public class Observable<T extends IObserver> {
 
-	public Collection<T> observers = new ArrayList<T>();
+	public Collection<T> observers = new CopyOnWriteArrayList<T>();
+
+	private volatile IObserverDispatcher<T> dispatcher = new SynchronousObserverDispatcher<>();
 
 	/**
 	 * Adds an observer to the subscriber list
@@ -50,6 +57,7 @@ public class Observable<T extends IObserver> {
 	 *            the observer to be added
 	 */
 	public void addObserver(T observer) {
+		dispatcher.observerAdded(observer);
 		observers.add(observer);
 	}
 
@@ -61,6 +69,39 @@ public class Observable<T extends IObserver> {
 	 * @return true if the observer was found and removed; false otherwise
 	 */
 	public boolean removeObserver(T observer) {
-		return observers.remove(observer);
+		boolean removed = observers.remove(observer);
+		if (removed) {
+			dispatcher.observerRemoved(observer);
+		}
+		return removed;
+	}
+
+	/**
+	 * Sets the dispatcher used for notifying the observers. Events already handed
+	 * to the previous dispatcher are not affected.
+	 * 
+	 * @param dispatcher
+	 */
+	public void setObserverDispatcher(IObserverDispatcher<T> dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	public IObserverDispatcher<T> getObserverDispatcher() {
+		return dispatcher;
+	}
+
+	/**
+	 * Notifies all registered observers about an event
+	 * 
+	 * @param event
+	 *            the call of the observer method. It may be executed on another
+	 *            thread, thus it should only capture values that are not modified
+	 *            afterwards
+	 */
+	protected void notifyObservers(Consumer<T> event) {
+		IObserverDispatcher<T> currentDispatcher = dispatcher;
+		for (T observer : observers) {
+			currentDispatcher.dispatch(observer, event);
+		}
 	}
 }
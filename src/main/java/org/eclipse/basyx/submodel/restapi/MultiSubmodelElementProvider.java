@@ -30,10 +30,11 @@ import java.util.stream.Collectors;
 
 import org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementPathResolver.RequestType;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementPathResolver.ResolvedElement;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
-import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 
@@ -54,11 +55,15 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	// Assumed to be a map that maps idShorts to the submodel elements
 	private IModelProvider modelProvider;
 
+	// Resolves paths to single submodel elements, including nested ones
+	private SubmodelElementPathResolver pathResolver;
+
 	/**
 	 * Constructor based on a model provider that contains the container property
 	 */
 	public MultiSubmodelElementProvider(IModelProvider provider) {
 		this.modelProvider = provider;
+		this.pathResolver = new SubmodelElementPathResolver(provider);
 	}
 
 	/**
@@ -75,11 +80,12 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	}
 
 	/**
-	 * Single elements can be directly accessed in maps => return a proxy
+	 * Resolves a path starting with /submodelElements to the provider of the
+	 * addressed (possibly nested) element and the part of the path it has to
+	 * handle
 	 */
-	private IModelProvider getElementProxy(String[] pathElements) {
-		String idShort = pathElements[1];
-		return new VABElementProxy(idShort, modelProvider);
+	private ResolvedElement resolve(String[] pathElements, RequestType requestType) {
+		return pathResolver.resolve(pathElements, 1, requestType);
 	}
 
 	private Object getSingleElement(String path) {
@@ -87,11 +93,10 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 		// remaininig part of the path to an appropriate provider
 		String[] pathElements = VABPathTools.splitPath(path);
 		String qualifier = pathElements[0];
-		IModelProvider elementProxy = getElementProxy(pathElements);
 
 		if (qualifier.equals(ELEMENTS)) {
-			String subPath = VABPathTools.buildPath(pathElements, 2);
-			return new SubmodelElementProvider(elementProxy).getValue(subPath);
+			ResolvedElement element = resolve(pathElements, RequestType.GET);
+			return element.getProvider().getValue(element.getRemainingPath());
 		} else {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
@@ -125,10 +130,8 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 			throw new MalformedRequestException("Given path '" + path + "' is invalid for set");
 		}
 
-		IModelProvider elementProxy = getElementProxy(pathElements);
-		String subPath = VABPathTools.buildPath(pathElements, 2);
-
-		new SubmodelElementProvider(elementProxy).setValue(subPath, newValue);
+		ResolvedElement element = resolve(pathElements, RequestType.SET);
+		element.getProvider().setValue(element.getRemainingPath(), newValue);
 	}
 
 	@Override
@@ -136,7 +139,6 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	public void createValue(String path, Object newEntity) throws ProviderException {
 		String[] pathElements = VABPathTools.splitPath(path);
 		String qualifier = pathElements[0];
-		String subPath = VABPathTools.buildPath(pathElements, 2);
 
 		if (!qualifier.equals(ELEMENTS)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
@@ -157,8 +159,8 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 				modelProvider.createValue(pathElements[1], newEntity);
 			}
 		} else {
-			IModelProvider elementProxy = getElementProxy(pathElements);
-			new SubmodelElementProvider(elementProxy).createValue(subPath, newEntity);
+			ResolvedElement element = resolve(pathElements, RequestType.CREATE);
+			element.getProvider().createValue(element.getRemainingPath(), newEntity);
 		}
 	}
 
@@ -175,9 +177,9 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 
 		// If the first Element is a Collection, use its Provider
 		if (pathElements.length > 2) {
-			IModelProvider elementProxy = getElementProxy(pathElements);
-			elementProvider = new SubmodelElementProvider(elementProxy);
-			subPath = VABPathTools.buildPath(pathElements, 2);
+			ResolvedElement element = resolve(pathElements, RequestType.DELETE);
+			elementProvider = element.getProvider();
+			subPath = element.getRemainingPath();
 		} else {
 			elementProvider = modelProvider;
 			subPath = VABPathTools.buildPath(pathElements, 1);
@@ -195,14 +197,13 @@ public class MultiSubmodelElementProvider implements IModelProvider {
 	@Override
 	public Object invokeOperation(String path, Object... parameters) throws ProviderException {
 		String[] pathElements = VABPathTools.splitPath(path);
-		String subPath = VABPathTools.buildPath(pathElements, 2);
 
 		String qualifier = pathElements[0];
 		if (!qualifier.equals(ELEMENTS)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not start with /submodelElements");
 		}
 
-		IModelProvider elementProxy = getElementProxy(pathElements);
-		return new SubmodelElementProvider(elementProxy).invokeOperation(subPath, parameters);
+		ResolvedElement element = resolve(pathElements, RequestType.INVOKE);
+		return element.getProvider().invokeOperation(element.getRemainingPath(), parameters);
 	}
 }
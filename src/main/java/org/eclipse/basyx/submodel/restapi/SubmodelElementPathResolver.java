@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi;
+
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+
+/**
+ * Resolves paths below /submodelElements in a single pass. <br>
+ * The idShortPath is split once and nested SubmodelElementCollections are
+ * navigated by building the path of the element within the underlying provider
+ * (e.g. "a/value/b/value/c"). Collections are recognized by their model type,
+ * so that no element on the way is retrieved as a whole. Only the provider of
+ * the resolved element is created, which then handles the remaining path.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelElementPathResolver {
+
+	/**
+	 * The kind of request a path is resolved for. It determines if a path segment
+	 * after a collection denotes a contained element or is handled by the
+	 * collection itself.
+	 */
+	public enum RequestType {
+		GET, SET, CREATE, DELETE, INVOKE
+	}
+
+	/**
+	 * Element a path has been resolved to
+	 */
+	public static class ResolvedElement {
+		private final IModelProvider provider;
+		private final String remainingPath;
+
+		private ResolvedElement(IModelProvider provider, String remainingPath) {
+			this.provider = provider;
+			this.remainingPath = remainingPath;
+		}
+
+		/**
+		 * Returns the provider of the resolved element
+		 * 
+		 * @return
+		 */
+		public IModelProvider getProvider() {
+			return provider;
+		}
+
+		/**
+		 * Returns the part of the path that has to be handled by the provider of the
+		 * resolved element
+		 * 
+		 * @return
+		 */
+		public String getRemainingPath() {
+			return remainingPath;
+		}
+	}
+
+	// Provider mapping idShorts to the submodel elements
+	private final IModelProvider elementsProvider;
+
+	/**
+	 * @param elementsProvider
+	 *            provider containing the submodel elements mapped by their idShort
+	 */
+	public SubmodelElementPathResolver(IModelProvider elementsProvider) {
+		this.elementsProvider = elementsProvider;
+	}
+
+	/**
+	 * Resolves a path to the element it addresses
+	 * 
+	 * @param pathElements
+	 *            the split path
+	 * @param start
+	 *            index of the idShort of the submodel element in pathElements
+	 * @param requestType
+	 * @return the resolved element
+	 */
+	public ResolvedElement resolve(String[] pathElements, int start, RequestType requestType) {
+		StringBuilder elementPath = new StringBuilder(pathElements[start]);
+		int next = start + 1;
+		while (true) {
+			IModelProvider proxy = new VABElementProxy(elementPath.toString(), elementsProvider);
+			IModelProvider elementProvider = SubmodelElementProvider.getElementProvider(proxy);
+
+			boolean isCollection = elementProvider instanceof SubmodelElementCollectionProvider;
+			if (!isCollection || !isContainedElement(pathElements, next, requestType)) {
+				String remainingPath = VABPathTools.buildPath(pathElements, next);
+				return new ResolvedElement(new SubmodelElementProvider(proxy, elementProvider), remainingPath);
+			}
+
+			// Contained elements are stored in the value of the collection
+			elementPath.append('/').append(MultiSubmodelElementProvider.VALUE).append('/').append(pathElements[next]);
+			next++;
+		}
+	}
+
+	/**
+	 * Checks if the path segment at index next addresses an element contained in
+	 * a collection. This corresponds to the handling of paths in the
+	 * {@link SubmodelElementCollectionProvider}.
+	 */
+	private boolean isContainedElement(String[] pathElements, int next, RequestType requestType) {
+		int remaining = pathElements.length - next;
+		if (remaining == 0) {
+			return false;
+		}
+
+		boolean isSingleSegment = remaining == 1;
+		String segment = pathElements[next];
+		switch (requestType) {
+		case GET:
+			return !(isSingleSegment && (segment.equals(MultiSubmodelElementProvider.VALUE) || segment.equals(SubmodelProvider.VALUES)));
+		case SET:
+		case INVOKE:
+			return !(isSingleSegment && segment.equals(MultiSubmodelElementProvider.VALUE));
+		case CREATE:
+		case DELETE:
+		default:
+			return !isSingleSegment;
+		}
+	}
+}
@@ -29,6 +29,7 @@ import java.util.Map;
 
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.submodel.metamodel.map.modeltype.ModelType;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
@@ -51,10 +52,23 @@ public class SubmodelElementProvider implements IModelProvider {
 	private boolean specializedProvider = false;
 
 	public SubmodelElementProvider(IModelProvider proxy) {
-		IModelProvider unchangedProxy = proxy;
-		this.proxy = getElementProvider(proxy);
+		this(proxy, getElementProvider(proxy));
+	}
+
+	/**
+	 * Creates the provider with an already determined element provider, e.g. by
+	 * the {@link SubmodelElementPathResolver}
+	 * 
+	 * @param proxy
+	 *            the proxy pointing to the element
+	 * @param elementProvider
+	 *            the result of {@link #getElementProvider(IModelProvider)} for the
+	 *            proxy
+	 */
+	public SubmodelElementProvider(IModelProvider proxy, IModelProvider elementProvider) {
+		this.proxy = elementProvider;
 		// if the returned element provider is the same, no specialized provider exists
-		specializedProvider = unchangedProxy != this.proxy;
+		specializedProvider = proxy != elementProvider;
 	}
 
 	/**
@@ -68,6 +82,14 @@ public class SubmodelElementProvider implements IModelProvider {
 	 */
 	@SuppressWarnings("unchecked")
 	public static IModelProvider getElementProvider(IModelProvider proxy) {
+		// The type is determined from the model type, so that the element does not
+		// need to be retrieved as a whole. Only elements without model type are
+		// retrieved to recognize them by their attributes.
+		String modelType = getModelTypeName(proxy);
+		if (modelType != null) {
+			return getElementProvider(proxy, modelType);
+		}
+
 		Map<String, Object> elementMap = (Map<String, Object>) proxy.getValue("");
 		if (Operation.isOperation(elementMap)) {
 			return new OperationProvider(proxy);
@@ -80,6 +102,29 @@ public class SubmodelElementProvider implements IModelProvider {
 		}
 	}
 
+	private static IModelProvider getElementProvider(IModelProvider proxy, String modelType) {
+		switch (modelType) {
+		case Operation.MODELTYPE:
+			return new OperationProvider(proxy);
+		case SubmodelElementCollection.MODELTYPE:
+			return new SubmodelElementCollectionProvider(proxy);
+		case Property.MODELTYPE:
+			return new PropertyProvider(proxy);
+		default:
+			return proxy;
+		}
+	}
+
+	private static String getModelTypeName(IModelProvider proxy) {
+		try {
+			Object name = proxy.getValue(VABPathTools.concatenatePaths(ModelType.MODELTYPE, ModelType.NAME));
+			return name instanceof String ? (String) name : null;
+		} catch (ProviderException e) {
+			// Fall back to retrieving the whole element
+			return null;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public Object getValue(String path) throws ProviderException {
@@ -0,0 +1,472 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.facade.submodelelement.SubmodelElementFacadeFactory;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Identifiable;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.entity.Entity;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+
+/**
+ * Server-side projection of submodel GET requests. It is given as query of the
+ * request path, e.g.
+ * <code>/submodel/submodelElements?level=core&amp;content=metadata&amp;exclude=a,b</code>
+ * <br>
+ * <br>
+ * <ul>
+ * <li>level: <i>deep</i> (default) returns the whole subtree of the requested
+ * node, <i>core</i> only its direct children</li>
+ * <li>content: <i>normal</i> (default) returns the elements, <i>value</i> only
+ * their values, <i>metadata</i> the elements without their values and
+ * <i>reference</i> only references to them</li>
+ * <li>include / exclude: comma separated idShorts of the direct children of
+ * the requested node that are (not) returned</li>
+ * </ul>
+ * The projection only traverses and copies the requested part of the given
+ * submodel, the projected maps are shallow copies of the original elements.
+ * Whether the submodel itself has to be copied before depends on
+ * {@link org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI#getProjectedSubmodel(SubmodelProjection)}.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelProjection {
+	public static final String LEVEL = "level";
+	public static final String CONTENT = "content";
+	public static final String INCLUDE = "include";
+	public static final String EXCLUDE = "exclude";
+
+	public enum Level {
+		DEEP, CORE
+	}
+
+	public enum Content {
+		NORMAL, VALUE, METADATA, REFERENCE
+	}
+
+	/**
+	 * Projection that returns everything, i.e. the behavior without any query
+	 */
+	public static final SubmodelProjection FULL = new SubmodelProjection(Level.DEEP, Content.NORMAL, Collections.emptySet(), Collections.emptySet());
+
+	/**
+	 * Projection that only returns the data of the requested element itself, e.g.
+	 * idShort, identification and semanticId of a submodel
+	 */
+	public static final SubmodelProjection METADATA = new SubmodelProjection(Level.CORE, Content.METADATA, Collections.emptySet(), Collections.emptySet());
+
+	private final Level level;
+	private final Content content;
+	private final Set<String> include;
+	private final Set<String> exclude;
+
+	/**
+	 * 
+	 * @param level
+	 * @param content
+	 * @param include
+	 *            idShorts of the direct children to return. If empty, all
+	 *            children are returned
+	 * @param exclude
+	 *            idShorts of the direct children to omit
+	 */
+	public SubmodelProjection(Level level, Content content, Collection<String> include, Collection<String> exclude) {
+		this.level = level;
+		this.content = content;
+		this.include = Collections.unmodifiableSet(new LinkedHashSet<>(include));
+		this.exclude = Collections.unmodifiableSet(new LinkedHashSet<>(exclude));
+	}
+
+	public Level getLevel() {
+		return level;
+	}
+
+	public Content getContent() {
+		return content;
+	}
+
+	public Set<String> getInclude() {
+		return include;
+	}
+
+	public Set<String> getExclude() {
+		return exclude;
+	}
+
+	/**
+	 * Returns true, if a direct child of the requested node with the given idShort
+	 * is returned according to include and exclude
+	 * 
+	 * @param idShort
+	 * @return
+	 */
+	public boolean isIncluded(String idShort) {
+		return (include.isEmpty() || include.contains(idShort)) && !exclude.contains(idShort);
+	}
+
+	/**
+	 * Returns a copy of this projection with a different content modifier
+	 * 
+	 * @param content
+	 * @return
+	 */
+	public SubmodelProjection withContent(Content content) {
+		return new SubmodelProjection(level, content, include, exclude);
+	}
+
+	/**
+	 * Returns true, if this projection does not change anything
+	 * 
+	 * @return
+	 */
+	public boolean isFull() {
+		return level == Level.DEEP && content == Content.NORMAL && include.isEmpty() && exclude.isEmpty();
+	}
+
+	/**
+	 * Parses the projection contained in the query of the given path. Unknown
+	 * query parameters are ignored.
+	 * 
+	 * @param path
+	 *            a path that may end with a query, e.g. <i>submodel?level=core</i>
+	 * @return the parsed projection or {@link #FULL}, if the path contains no
+	 *         projection
+	 * @throws MalformedRequestException
+	 *             if a modifier has an unknown value
+	 */
+	public static SubmodelProjection fromPath(String path) throws MalformedRequestException {
+		int index = path.indexOf('?');
+		if (index < 0) {
+			return FULL;
+		}
+		return fromQuery(path.substring(index + 1));
+	}
+
+	/**
+	 * Parses the projection contained in the given query, e.g.
+	 * <i>level=core&amp;content=value</i>
+	 * 
+	 * @param query
+	 * @return
+	 * @throws MalformedRequestException
+	 *             if a modifier has an unknown value
+	 */
+	public static SubmodelProjection fromQuery(String query) throws MalformedRequestException {
+		Level level = Level.DEEP;
+		Content content = Content.NORMAL;
+		List<String> include = new ArrayList<>();
+		List<String> exclude = new ArrayList<>();
+		for (String parameter : query.split("&")) {
+			int index = parameter.indexOf('=');
+			if (index <= 0) {
+				continue;
+			}
+
+			String name = parameter.substring(0, index);
+			String value = parameter.substring(index + 1);
+			if (name.equals(LEVEL)) {
+				level = parseEnum(Level.class, name, value);
+			} else if (name.equals(CONTENT)) {
+				content = parseEnum(Content.class, name, value);
+			} else if (name.equals(INCLUDE)) {
+				include.addAll(splitIdShorts(value));
+			} else if (name.equals(EXCLUDE)) {
+				exclude.addAll(splitIdShorts(value));
+			}
+		}
+
+		if (level == Level.DEEP && content == Content.NORMAL && include.isEmpty() && exclude.isEmpty()) {
+			return FULL;
+		}
+		return new SubmodelProjection(level, content, include, exclude);
+	}
+
+	private static <T extends Enum<T>> T parseEnum(Class<T> type, String name, String value) throws MalformedRequestException {
+		try {
+			return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new MalformedRequestException("Unknown value " + value + " for query parameter " + name + ", allowed are " + Arrays.toString(type.getEnumConstants()).toLowerCase(Locale.ROOT));
+		}
+	}
+
+	private static List<String> splitIdShorts(String value) {
+		List<String> idShorts = new ArrayList<>();
+		for (String idShort : value.split(",")) {
+			if (!idShort.isEmpty()) {
+				idShorts.add(idShort);
+			}
+		}
+		return idShorts;
+	}
+
+	/**
+	 * Removes the query from a path, if it exists
+	 * 
+	 * @param path
+	 * @return
+	 */
+	public static String stripQuery(String path) {
+		int index = path.indexOf('?');
+		return index < 0 ? path : path.substring(0, index);
+	}
+
+	/**
+	 * Creates the query representing this projection. Modifiers having their
+	 * default value are omitted.
+	 * 
+	 * @return the query without leading <i>?</i> or an empty string for
+	 *         {@link #FULL}
+	 */
+	public String toQuery() {
+		List<String> parameters = new ArrayList<>();
+		if (content != Content.NORMAL) {
+			parameters.add(CONTENT + "=" + content.name().toLowerCase(Locale.ROOT));
+		}
+		if (level != Level.DEEP) {
+			parameters.add(LEVEL + "=" + level.name().toLowerCase(Locale.ROOT));
+		}
+		if (!include.isEmpty()) {
+			parameters.add(INCLUDE + "=" + String.join(",", include));
+		}
+		if (!exclude.isEmpty()) {
+			parameters.add(EXCLUDE + "=" + String.join(",", exclude));
+		}
+		return String.join("&", parameters);
+	}
+
+	/**
+	 * Appends the query of this projection to a path
+	 * 
+	 * @param path
+	 * @return
+	 */
+	public String appendTo(String path) {
+		if (isFull()) {
+			return path;
+		}
+		return path + "?" + toQuery();
+	}
+
+	/**
+	 * Projects a submodel. The submodel elements are returned as collection, as
+	 * it is done by {@link org.eclipse.basyx.submodel.metamodel.facade.SubmodelElementMapCollectionConverter#smToMap}.
+	 * 
+	 * @param submodel
+	 *            the submodel map, its elements may be given as map or as
+	 *            collection
+	 * @return
+	 */
+	public Object projectSubmodel(Map<String, Object> submodel) {
+		switch (content) {
+		case REFERENCE:
+			return Identifiable.createAsFacade(submodel, KeyElements.SUBMODEL).getReference();
+		case VALUE:
+			return getValues(submodel.get(Submodel.SUBMODELELEMENT), true);
+		case METADATA:
+			Map<String, Object> metadata = new LinkedHashMap<>(submodel);
+			metadata.remove(Submodel.SUBMODELELEMENT);
+			return metadata;
+		default:
+			Map<String, Object> ret = new LinkedHashMap<>(submodel);
+			ret.put(Submodel.SUBMODELELEMENT, projectChildren(submodel.get(Submodel.SUBMODELELEMENT)));
+			return ret;
+		}
+	}
+
+	/**
+	 * Projects the submodel elements of a submodel
+	 * 
+	 * @param elements
+	 *            the elements, either as map idShort to element or as collection
+	 * @return
+	 */
+	public Object projectSubmodelElements(Object elements) {
+		if (content == Content.VALUE) {
+			return getValues(elements, true);
+		}
+		return projectChildren(elements);
+	}
+
+	/**
+	 * Projects a single submodel element. The requested element itself is never
+	 * filtered, include and exclude apply to its direct children.
+	 * 
+	 * @param element
+	 * @return
+	 */
+	public Object projectSubmodelElement(Map<String, Object> element) {
+		switch (content) {
+		case REFERENCE:
+			return toFacade(element).getReference();
+		case VALUE:
+			try {
+				return getValue(element, true, true);
+			} catch (UnsupportedOperationException e) {
+				throw new MalformedRequestException("The element " + element.get(Referable.IDSHORT) + " has no value");
+			}
+		case METADATA:
+			return stripValue(element);
+		default:
+			return copyElement(element, true, true);
+		}
+	}
+
+	private List<Object> projectChildren(Object children) {
+		List<Object> ret = new ArrayList<>();
+		for (Map<String, Object> child : getChildren(children, true)) {
+			switch (content) {
+			case REFERENCE:
+				ret.add(toFacade(child).getReference());
+				break;
+			case METADATA:
+				ret.add(stripValue(child));
+				break;
+			default:
+				ret.add(copyElement(child, level == Level.DEEP, false));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Copies an element and its children. If the children are not expanded, they
+	 * are replaced by an empty collection.
+	 */
+	private Map<String, Object> copyElement(Map<String, Object> element, boolean expandChildren, boolean filterChildren) {
+		String childrenKey = getChildrenKey(element);
+		if (childrenKey == null) {
+			return element;
+		}
+
+		Map<String, Object> ret = new LinkedHashMap<>(element);
+		List<Object> children = new ArrayList<>();
+		if (expandChildren) {
+			boolean expandGrandChildren = level == Level.DEEP;
+			for (Map<String, Object> child : getChildren(element.get(childrenKey), filterChildren)) {
+				children.add(copyElement(child, expandGrandChildren, false));
+			}
+		}
+		ret.put(childrenKey, children);
+		return ret;
+	}
+
+	private Map<String, Object> stripValue(Map<String, Object> element) {
+		Map<String, Object> ret = new LinkedHashMap<>(element);
+		ret.remove(Property.VALUE);
+		ret.remove(Entity.STATEMENT);
+		return ret;
+	}
+
+	private Map<String, Object> getValues(Object children, boolean filter) {
+		Map<String, Object> ret = new LinkedHashMap<>();
+		boolean expandChildren = level == Level.DEEP;
+		for (Map<String, Object> child : getChildren(children, filter)) {
+			try {
+				ret.put((String) child.get(Referable.IDSHORT), getValue(child, expandChildren, false));
+			} catch (UnsupportedOperationException e) {
+				// this Element has no value (e.g. an Operation)
+				// -> just ignore it
+			}
+		}
+		return ret;
+	}
+
+	private Object getValue(Map<String, Object> element, boolean expandChildren, boolean filterChildren) {
+		if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			return expandChildren ? getValues(element.get(Property.VALUE), filterChildren) : new LinkedHashMap<>();
+		} else if (Entity.isEntity(element)) {
+			Map<String, Object> ret = new LinkedHashMap<>();
+			if (element.get(Entity.ASSET) != null) {
+				ret.put(Entity.ASSET, element.get(Entity.ASSET));
+			}
+			ret.put(Entity.STATEMENT, expandChildren ? getValues(element.get(Entity.STATEMENT), filterChildren) : new LinkedHashMap<>());
+			return ret;
+		}
+
+		Object value = toFacade(element).getValue();
+		if (value instanceof Map<?, ?>) {
+			return value;
+		}
+		return ValueTypeHelper.prepareForSerialization(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<Map<String, Object>> getChildren(Object children, boolean filter) {
+		Collection<Map<String, Object>> all;
+		if (children instanceof Map<?, ?>) {
+			all = ((Map<String, Map<String, Object>>) children).values();
+		} else if (children instanceof Collection<?>) {
+			all = (Collection<Map<String, Object>>) children;
+		} else {
+			return Collections.emptyList();
+		}
+
+		if (!filter || (include.isEmpty() && exclude.isEmpty())) {
+			return all;
+		}
+
+		List<Map<String, Object>> filtered = new ArrayList<>();
+		for (Map<String, Object> child : all) {
+			if (isIncluded((String) child.get(Referable.IDSHORT))) {
+				filtered.add(child);
+			}
+		}
+		return filtered;
+	}
+
+	private String getChildrenKey(Map<String, Object> element) {
+		if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			return Property.VALUE;
+		} else if (Entity.isEntity(element)) {
+			return Entity.STATEMENT;
+		}
+		return null;
+	}
+
+	private ISubmodelElement toFacade(Map<String, Object> element) {
+		if (element instanceof ISubmodelElement) {
+			return (ISubmodelElement) element;
+		}
+		return SubmodelElementFacadeFactory.createSubmodelElement(element);
+	}
+}
@@ -27,6 +27,7 @@ package org.eclipse.basyx.submodel.restapi;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -45,11 +46,14 @@ import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.prop
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueTypeHelper;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
 import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
 import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
 
 /**
@@ -68,12 +72,13 @@ import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
  * @author espen, schnicke
  *
  */
-public class SubmodelProvider implements IModelProvider {
+public class SubmodelProvider implements IVersionedModelProvider {
 
 	public static final String VALUES = "values";
 	public static final String SUBMODEL = "submodel";
 	public static final String FILE = "File";
 	public static final String UPLOAD = "upload";
+	public static final String BATCH = "batch";
 
 	ISubmodelAPI submodelAPI;
 
@@ -131,27 +136,32 @@ public class SubmodelProvider implements IModelProvider {
 	@Override
 	public Object getValue(String path) throws ProviderException {
 		VABPathTools.checkPathForNull(path);
-		path = removeSubmodelPrefix(path);
+		SubmodelProjection projection = SubmodelProjection.fromPath(path);
+		path = removeSubmodelPrefix(SubmodelProjection.stripQuery(path));
 		if (path.isEmpty()) {
-			return handleEmptyPath();
+			return handleEmptyPath(projection);
 		}
 
 		String[] splitted = VABPathTools.splitPath(path);
 
 		if (isRequestForAllSubmodelElementValues(splitted)) {
-			return getSubmodelProviderValues();
+			return getSubmodelProviderValues(projection);
 		} else if (isSubmodelElementsRequest(splitted)) {
-			return submodelAPI.getSubmodelElements();
+			return getSubmodelElements(projection);
 		} else if (isSpecificSubmodelElementRequest(splitted)) {
 			// Remove initial "/submodelElements"
 			path = removeSMElementPrefix(path);
-			return handleSpecificSubmodelElementRequest(path, splitted);
+			return handleSpecificSubmodelElementRequest(path, splitted, projection);
 		}
 
 		throw new MalformedRequestException("Unknown path " + path + " was requested");
 	}
 
-	private Object getSubmodelProviderValues() {
+	private Object getSubmodelProviderValues(SubmodelProjection projection) {
+		if (!projection.isFull()) {
+			return handleEmptyPath(projection.withContent(SubmodelProjection.Content.VALUE));
+		}
+
 		Map<String, Object> objectValues = submodelAPI.getSubmodel().getValues();
 		prepareValuesForSerialization(objectValues);
 		return objectValues;
@@ -298,6 +308,10 @@ public class SubmodelProvider implements IModelProvider {
 			throw new MalformedRequestException("Given path must not be empty");
 		}
 
+		if (isBatchPath(pathWithoutSubmodelPrefix)) {
+			return handleBatch(parameters);
+		}
+
 		if (!VABPathTools.isOperationInvokationPath(pathWithoutSubmodelPrefix)) {
 			throw new MalformedRequestException("Given path '" + path + "' does not end in /" + Operation.INVOKE);
 		}
@@ -324,10 +338,35 @@ public class SubmodelProvider implements IModelProvider {
 		return submodelAPI.invokeAsync(strippedPathWithoutAsyncInvoke, parameters);
 	}
 
+	private boolean isBatchPath(String path) {
+		return path.equals(BATCH + "/" + Operation.INVOKE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object handleBatch(Object... parameters) {
+		if (parameters.length != 1 || !(parameters[0] instanceof Map<?, ?>)) {
+			throw new MalformedRequestException("A batch request has to be passed as single parameter");
+		}
+		return submodelAPI.processBatch(SubmodelElementBatchRequest.createAsFacade((Map<String, Object>) parameters[0]));
+	}
+
 	private boolean isAsyncInvokePath(String path) {
 		return path.endsWith(OperationProvider.ASYNC);
 	}
 
+	/**
+	 * Returns the change version of the submodel, if the submodel API tracks its
+	 * modifications (e.g. ObservableSubmodelAPI). Operation results are
+	 * not versioned, since they change without modifying the submodel.
+	 */
+	@Override
+	public long getChangeVersion(String path) {
+		if (path == null || path.contains(OperationProvider.INVOCATION_LIST) || !(submodelAPI instanceof IChangeVersioned)) {
+			return UNVERSIONED;
+		}
+		return ((IChangeVersioned) submodelAPI).getChangeVersion();
+	}
+
 	public ISubmodelAPI getAPI() {
 		return this.submodelAPI;
 	}
@@ -397,7 +436,19 @@ public class SubmodelProvider implements IModelProvider {
 		return submodelAPI.getSubmodelElementFile(idShortPath);
 	}
 
-	private Object handleEmptyPath() {
+	private Object getSubmodelElements(SubmodelProjection projection) {
+		Collection<ISubmodelElement> elements = submodelAPI.getSubmodelElements();
+		if (projection.isFull()) {
+			return elements;
+		}
+		return projection.projectSubmodelElements(elements);
+	}
+
+	private Object handleEmptyPath(SubmodelProjection projection) {
+		if (!projection.isFull()) {
+			return submodelAPI.getProjectedSubmodel(projection);
+		}
+
 		ISubmodel sm = submodelAPI.getSubmodel();
 
 		// Change internal map representation to set
@@ -408,21 +459,32 @@ public class SubmodelProvider implements IModelProvider {
 		}
 	}
 
-	private Object handleSpecificSubmodelElementRequest(String path, String[] splitted) {
+	private Object handleSpecificSubmodelElementRequest(String path, String[] splitted, SubmodelProjection projection) {
 		if (endsWithValue(splitted)) { // Request for the value of an property
-			return handleValue(path);
+			return handleValue(path, projection);
 		} else if (isInvocationListPath(splitted)) {
 			return handleInvocationListPath(splitted);
 		} else if (endsWithFile(splitted)) {
 			return handleFile(splitted);
 		} else {
-			return submodelAPI.getSubmodelElement(path);
+			return projectSubmodelElement(submodelAPI.getSubmodelElement(path), projection);
 		}
 	}
 
-	private Object handleValue(String path) {
+	private Object handleValue(String path, SubmodelProjection projection) {
 		String idShortPath = removeValueSuffix(path);
-		return submodelAPI.getSubmodelElementValue(idShortPath);
+		if (projection.isFull()) {
+			return submodelAPI.getSubmodelElementValue(idShortPath);
+		}
+		return projectSubmodelElement(submodelAPI.getSubmodelElement(idShortPath), projection.withContent(SubmodelProjection.Content.VALUE));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object projectSubmodelElement(Object element, SubmodelProjection projection) {
+		if (projection.isFull() || !(element instanceof Map<?, ?>)) {
+			return element;
+		}
+		return projection.projectSubmodelElement((Map<String, Object>) element);
 	}
 
 	private Object handleInvocationListPath(String[] splitted) {
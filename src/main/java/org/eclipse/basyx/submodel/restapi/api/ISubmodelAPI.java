@@ -27,11 +27,16 @@ package org.eclipse.basyx.submodel.restapi.api;
 import java.io.File;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.Map;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchProcessor;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResponse;
 
 /**
  * Specifies overall Submodel API
@@ -48,6 +53,25 @@ public interface ISubmodelAPI {
 	 */
 	public ISubmodel getSubmodel();
 
+	/**
+	 * Retrieves the underlying submodel projected by the given projection. By
+	 * default, the complete submodel is retrieved and projected afterwards.
+	 * Implementations can override this to avoid copying the parts of the
+	 * submodel that are not requested.
+	 * 
+	 * @param projection
+	 *            the projection to apply
+	 * @return the projected submodel
+	 */
+	@SuppressWarnings("unchecked")
+	public default Object getProjectedSubmodel(SubmodelProjection projection) {
+		ISubmodel submodel = getSubmodel();
+		if (submodel instanceof Map<?, ?>) {
+			return projection.projectSubmodel((Map<String, Object>) submodel);
+		}
+		return submodel;
+	}
+
 	/**
 	 * Adds a submodelElement to the submodel
 	 * 
@@ -149,6 +173,18 @@ public interface ISubmodelAPI {
 	 */
 	public Object getOperationResult(String idShort, String requestId);
 
+	/**
+	 * Writes and reads the values of several submodelElements at once. A failing
+	 * entry is reported in its result and does not affect the other entries.
+	 * 
+	 * @param request
+	 *            the idShort paths to read and the new values to write
+	 * @return the results of all entries
+	 */
+	public default SubmodelElementBatchResponse processBatch(SubmodelElementBatchRequest request) {
+		return SubmodelElementBatchProcessor.process(this, request);
+	}
+
 	default public File getSubmodelElementFile(String idShortPath) {
 		throw new NotImplementedException();
 	}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementCollectionProvider;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes a {@link SubmodelElementBatchRequest}, either on an
+ * {@link ISubmodelAPI} or directly on the provider of the submodel elements. A
+ * failing entry does not affect the remaining ones.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelElementBatchProcessor {
+	private static Logger logger = LoggerFactory.getLogger(SubmodelElementBatchProcessor.class);
+
+	private SubmodelElementBatchProcessor() {
+	}
+
+	/**
+	 * Writes all new values of the request and afterwards reads all requested
+	 * values. Each entry is resolved by the API on its own, so that decorating
+	 * APIs handle every entry, e.g. for authorization.
+	 * 
+	 * @param api
+	 * @param request
+	 * @return the results of all entries
+	 */
+	public static SubmodelElementBatchResponse process(ISubmodelAPI api, SubmodelElementBatchRequest request) {
+		SubmodelElementBatchResponse response = new SubmodelElementBatchResponse();
+		for (Entry<String, Object> entry : request.getNewValues().entrySet()) {
+			try {
+				api.updateSubmodelElement(entry.getKey(), entry.getValue());
+				response.getWriteResults().put(entry.getKey(), SubmodelElementBatchResult.success(null));
+			} catch (RuntimeException e) {
+				logger.debug("Writing " + entry.getKey() + " in batch failed", e);
+				response.getWriteResults().put(entry.getKey(), SubmodelElementBatchResult.failure(e));
+			}
+		}
+
+		for (String idShortPath : request.getReadIdShortPaths()) {
+			try {
+				Object value = api.getSubmodelElementValue(idShortPath);
+				response.getReadResults().put(idShortPath, SubmodelElementBatchResult.success(value));
+			} catch (RuntimeException e) {
+				logger.debug("Reading " + idShortPath + " in batch failed", e);
+				response.getReadResults().put(idShortPath, SubmodelElementBatchResult.failure(e));
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * Writes all new values of the request and afterwards reads all requested
+	 * values. The idShortPaths are resolved in one walk: They are grouped by their
+	 * common prefixes, so that every element on the way is resolved only once,
+	 * regardless of the number of entries addressing it or its children.
+	 * 
+	 * @param elementsProvider
+	 *            provider containing the submodel elements mapped by their idShort
+	 * @param request
+	 * @return the results of all entries
+	 */
+	public static SubmodelElementBatchResponse process(IModelProvider elementsProvider, SubmodelElementBatchRequest request) {
+		Map<String, Object> newValues = request.getNewValues();
+		Map<String, SubmodelElementBatchResult> writeResults = new HashMap<>();
+		walk(elementsProvider, createTree(newValues.keySet()), "Writing", writeResults, (provider, path, idShortPath) -> {
+			provider.setValue(path, newValues.get(idShortPath));
+			return null;
+		});
+
+		Map<String, SubmodelElementBatchResult> readResults = new HashMap<>();
+		walk(elementsProvider, createTree(request.getReadIdShortPaths()), "Reading", readResults, (provider, path, idShortPath) -> provider.getValue(path));
+
+		// Return the results in the order of the request
+		SubmodelElementBatchResponse response = new SubmodelElementBatchResponse();
+		for (String idShortPath : newValues.keySet()) {
+			response.getWriteResults().put(idShortPath, writeResults.get(idShortPath));
+		}
+		for (String idShortPath : request.getReadIdShortPaths()) {
+			response.getReadResults().put(idShortPath, readResults.get(idShortPath));
+		}
+		return response;
+	}
+
+	private static PathNode createTree(Iterable<String> idShortPaths) {
+		PathNode root = new PathNode();
+		for (String idShortPath : idShortPaths) {
+			String[] segments = VABPathTools.splitPath(idShortPath);
+			PathNode node = root;
+			for (String segment : segments) {
+				node = node.children.computeIfAbsent(segment, s -> new PathNode());
+			}
+			node.entries.add(idShortPath);
+		}
+		return root;
+	}
+
+	private static void walk(IModelProvider elementsProvider, PathNode root, String action, Map<String, SubmodelElementBatchResult> results, EntryOperation operation) {
+		for (String idShortPath : root.entries) {
+			results.put(idShortPath, SubmodelElementBatchResult.failure(new MalformedRequestException("The idShortPath '" + idShortPath + "' is empty")));
+		}
+		for (Entry<String, PathNode> child : root.children.entrySet()) {
+			walk(elementsProvider, child.getKey(), child.getValue(), 1, action, results, operation);
+		}
+	}
+
+	/**
+	 * Resolves the element at the given path within the elements provider and
+	 * processes all entries addressing it or its children
+	 */
+	private static void walk(IModelProvider elementsProvider, String elementPath, PathNode node, int depth, String action, Map<String, SubmodelElementBatchResult> results, EntryOperation operation) {
+		IModelProvider proxy = new VABElementProxy(elementPath, elementsProvider);
+		IModelProvider elementProvider;
+		try {
+			elementProvider = SubmodelElementProvider.getElementProvider(proxy);
+		} catch (RuntimeException e) {
+			for (String idShortPath : node.getAllEntries()) {
+				logger.debug(action + " " + idShortPath + " in batch failed", e);
+				results.put(idShortPath, SubmodelElementBatchResult.failure(e));
+			}
+			return;
+		}
+
+		SubmodelElementProvider provider = new SubmodelElementProvider(proxy, elementProvider);
+		for (String idShortPath : node.entries) {
+			apply(provider, MultiSubmodelElementProvider.VALUE, idShortPath, action, results, operation);
+		}
+
+		if (node.children.isEmpty()) {
+			return;
+		}
+
+		if (elementProvider instanceof SubmodelElementCollectionProvider) {
+			// Contained elements are stored in the value of the collection
+			for (Entry<String, PathNode> child : node.children.entrySet()) {
+				String childPath = VABPathTools.concatenatePaths(elementPath, MultiSubmodelElementProvider.VALUE, child.getKey());
+				walk(elementsProvider, childPath, child.getValue(), depth + 1, action, results, operation);
+			}
+		} else {
+			// As for single requests, an element that is no collection handles the
+			// remaining path itself
+			for (String idShortPath : node.getAllEntries()) {
+				String remainingPath = VABPathTools.buildPath(VABPathTools.splitPath(idShortPath), depth);
+				apply(provider, VABPathTools.concatenatePaths(remainingPath, MultiSubmodelElementProvider.VALUE), idShortPath, action, results, operation);
+			}
+		}
+	}
+
+	private static void apply(IModelProvider provider, String path, String idShortPath, String action, Map<String, SubmodelElementBatchResult> results, EntryOperation operation) {
+		try {
+			results.put(idShortPath, SubmodelElementBatchResult.success(operation.apply(provider, path, idShortPath)));
+		} catch (RuntimeException e) {
+			logger.debug(action + " " + idShortPath + " in batch failed", e);
+			results.put(idShortPath, SubmodelElementBatchResult.failure(e));
+		}
+	}
+
+	private interface EntryOperation {
+		Object apply(IModelProvider provider, String path, String idShortPath);
+	}
+
+	/**
+	 * Node of the tree of the requested idShortPaths. The children are mapped by
+	 * their idShort.
+	 */
+	private static class PathNode {
+		private final List<String> entries = new ArrayList<>();
+		private final Map<String, PathNode> children = new LinkedHashMap<>();
+
+		private List<String> getAllEntries() {
+			List<String> all = new ArrayList<>(entries);
+			for (PathNode child : children.values()) {
+				all.addAll(child.getAllEntries());
+			}
+			return all;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * Request for reading and writing the values of several submodel elements in
+ * one round trip. The new values are written before any value is read.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelElementBatchRequest extends VABModelMap<Object> {
+	public static final String READ = "read";
+	public static final String WRITE = "write";
+
+	public SubmodelElementBatchRequest() {
+		put(READ, new ArrayList<String>());
+		put(WRITE, new LinkedHashMap<String, Object>());
+	}
+
+	/**
+	 * @param readIdShortPaths
+	 *            idShortPaths of the elements whose values are read
+	 * @param newValues
+	 *            maps idShortPaths of the elements to write to their new value
+	 */
+	public SubmodelElementBatchRequest(Collection<String> readIdShortPaths, Map<String, Object> newValues) {
+		put(READ, new ArrayList<>(readIdShortPaths));
+		put(WRITE, new LinkedHashMap<>(newValues));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static SubmodelElementBatchRequest createAsFacade(Map<String, Object> map) {
+		if (map == null) {
+			return null;
+		}
+
+		SubmodelElementBatchRequest ret = new SubmodelElementBatchRequest();
+		if (map.get(READ) != null) {
+			ret.put(READ, new ArrayList<>((Collection<String>) map.get(READ)));
+		}
+		if (map.get(WRITE) != null) {
+			ret.put(WRITE, map.get(WRITE));
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds an element whose value is read
+	 * 
+	 * @param idShortPath
+	 * @return this request
+	 */
+	public SubmodelElementBatchRequest read(String idShortPath) {
+		getReadIdShortPaths().add(idShortPath);
+		return this;
+	}
+
+	/**
+	 * Adds an element whose value is written
+	 * 
+	 * @param idShortPath
+	 * @param newValue
+	 * @return this request
+	 */
+	public SubmodelElementBatchRequest write(String idShortPath, Object newValue) {
+		getNewValues().put(idShortPath, newValue);
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<String> getReadIdShortPaths() {
+		return (List<String>) get(READ);
+	}
+
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getNewValues() {
+		return (Map<String, Object>) get(WRITE);
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.batch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * Response to a {@link SubmodelElementBatchRequest}. It maps the idShortPaths of
+ * the read and written elements to the result of the respective entry.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelElementBatchResponse extends VABModelMap<Object> {
+	public static final String READ = SubmodelElementBatchRequest.READ;
+	public static final String WRITE = SubmodelElementBatchRequest.WRITE;
+
+	public SubmodelElementBatchResponse() {
+		put(READ, new LinkedHashMap<String, SubmodelElementBatchResult>());
+		put(WRITE, new LinkedHashMap<String, SubmodelElementBatchResult>());
+	}
+
+	@SuppressWarnings("unchecked")
+	public static SubmodelElementBatchResponse createAsFacade(Map<String, Object> map) {
+		if (map == null) {
+			return null;
+		}
+
+		SubmodelElementBatchResponse ret = new SubmodelElementBatchResponse();
+		copyResults((Map<String, Map<String, Object>>) map.get(READ), ret.getReadResults());
+		copyResults((Map<String, Map<String, Object>>) map.get(WRITE), ret.getWriteResults());
+		return ret;
+	}
+
+	private static void copyResults(Map<String, Map<String, Object>> from, Map<String, SubmodelElementBatchResult> to) {
+		if (from == null) {
+			return;
+		}
+		for (Entry<String, Map<String, Object>> entry : from.entrySet()) {
+			to.put(entry.getKey(), SubmodelElementBatchResult.createAsFacade(entry.getValue()));
+		}
+	}
+
+	/**
+	 * Returns the results of the read elements mapped by their idShortPath
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, SubmodelElementBatchResult> getReadResults() {
+		return (Map<String, SubmodelElementBatchResult>) get(READ);
+	}
+
+	/**
+	 * Returns the results of the written elements mapped by their idShortPath
+	 * 
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, SubmodelElementBatchResult> getWriteResults() {
+		return (Map<String, SubmodelElementBatchResult>) get(WRITE);
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.batch;
+
+import java.util.Map;
+
+import org.eclipse.basyx.vab.model.VABModelMap;
+
+/**
+ * Result of a single entry of a {@link SubmodelElementBatchRequest}. Failed
+ * entries contain the type and message of the exception instead of a value.
+ * 
+ * @author agent
+ *
+ */
+public class SubmodelElementBatchResult extends VABModelMap<Object> {
+	public static final String SUCCESS = "success";
+	public static final String VALUE = "value";
+	public static final String ERRORTYPE = "errorType";
+	public static final String MESSAGE = "message";
+
+	private SubmodelElementBatchResult() {
+	}
+
+	/**
+	 * Creates the result of a successful entry
+	 * 
+	 * @param value
+	 *            the read value or null for written values
+	 * @return
+	 */
+	public static SubmodelElementBatchResult success(Object value) {
+		SubmodelElementBatchResult ret = new SubmodelElementBatchResult();
+		ret.put(SUCCESS, true);
+		ret.put(VALUE, value);
+		return ret;
+	}
+
+	/**
+	 * Creates the result of a failed entry
+	 * 
+	 * @param e
+	 *            the exception that occurred while processing the entry
+	 * @return
+	 */
+	public static SubmodelElementBatchResult failure(Exception e) {
+		SubmodelElementBatchResult ret = new SubmodelElementBatchResult();
+		ret.put(SUCCESS, false);
+		ret.put(ERRORTYPE, e.getClass().getSimpleName());
+		ret.put(MESSAGE, e.getMessage());
+		return ret;
+	}
+
+	public static SubmodelElementBatchResult createAsFacade(Map<String, Object> map) {
+		if (map == null) {
+			return null;
+		}
+
+		SubmodelElementBatchResult ret = new SubmodelElementBatchResult();
+		ret.putAll(map);
+		return ret;
+	}
+
+	public boolean isSuccess() {
+		return Boolean.TRUE.equals(get(SUCCESS));
+	}
+
+	public Object getValue() {
+		return get(VALUE);
+	}
+
+	/**
+	 * Returns the simple class name of the exception of a failed entry, e.g.
+	 * ResourceNotFoundException
+	 * 
+	 * @return
+	 */
+	public String getErrorType() {
+		return (String) get(ERRORTYPE);
+	}
+
+	public String getMessage() {
+		return (String) get(MESSAGE);
+	}
+}
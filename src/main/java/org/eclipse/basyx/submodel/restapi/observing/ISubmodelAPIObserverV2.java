@@ -67,4 +67,57 @@ public interface ISubmodelAPIObserverV2 extends IObserver {
 	 * @param value
 	 */
 	public void elementValue(String idShortPath, Object value, String aasId, String submodelId, String repoId);
+
+	/**
+	 * Is called when a SubmodelElement is added. By default, delegates to
+	 * {@link #elementAdded(String, Object, String, String, String)}
+	 * 
+	 * @param idShortPath
+	 *            the idShortPath of the added element
+	 * @param newValue
+	 *            the value of the new element
+	 * @param context
+	 *            the origin of the event
+	 */
+	public default void elementAdded(String idShortPath, Object newValue, SubmodelEventContext context) {
+		elementAdded(idShortPath, newValue, context.getAASId(), context.getSubmodelId(), context.getRepoId());
+	}
+
+	/**
+	 * Is called when a SubmodelElement is deleted. By default, delegates to
+	 * {@link #elementDeleted(String, ISubmodelElement, String, String, String)}
+	 * 
+	 * @param idShortPath
+	 *            the idShortPath of the deleted element
+	 * @param context
+	 *            the origin of the event
+	 */
+	public default void elementDeleted(String idShortPath, ISubmodelElement submodelElement, SubmodelEventContext context) {
+		elementDeleted(idShortPath, submodelElement, context.getAASId(), context.getSubmodelId(), context.getRepoId());
+	}
+
+	/**
+	 * Is called when a SubmodelElement is updated. By default, delegates to
+	 * {@link #elementUpdated(String, ISubmodelElement, String, String, String)}
+	 * 
+	 * @param idShortPath
+	 *            the idShortPath of the updated element
+	 * @param context
+	 *            the origin of the event
+	 */
+	public default void elementUpdated(String idShortPath, ISubmodelElement submodelElement, SubmodelEventContext context) {
+		elementUpdated(idShortPath, submodelElement, context.getAASId(), context.getSubmodelId(), context.getRepoId());
+	}
+
+	/**
+	 * Is called when a SubmodelElement value is updated. By default, delegates to
+	 * {@link #elementValue(String, Object, String, String, String)}
+	 * 
+	 * @param value
+	 * @param context
+	 *            the origin of the event
+	 */
+	public default void elementValue(String idShortPath, Object value, SubmodelEventContext context) {
+		elementValue(idShortPath, value, context.getAASId(), context.getSubmodelId(), context.getRepoId());
+	}
 }
@@ -33,17 +33,23 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.observer.Observable;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
+import org.eclipse.basyx.vab.support.ChangeVersionCounter;
 
 /**
  * Implementation of {@link ISubmodelAPI} that calls back registered
- * {@link ISubmodelAPIObserver} when changes on SubmodelElements occur
+ * {@link ISubmodelAPIObserver} when changes on SubmodelElements occur. <br>
+ * Modifications are counted, so that the change version can be used to detect
+ * unchanged submodels. Invocations are counted as well, since operations may
+ * modify the submodel.
  * 
  * @author conradi
  *
  */
-public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> implements ISubmodelAPI {
+public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> implements ISubmodelAPI, IChangeVersioned {
 
 	ISubmodelAPI submodelAPI;
+	private ChangeVersionCounter changeVersion = new ChangeVersionCounter();
 
 	public ObservableSubmodelAPI(ISubmodelAPI observerdAPI) {
 		submodelAPI = observerdAPI;
@@ -57,13 +63,24 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
 		submodelAPI.addSubmodelElement(elem);
-		observers.stream().forEach(o -> o.elementAdded(elem.getIdShort(), elem.getValue()));
+		changeVersion.increment();
+		if (observers.isEmpty()) {
+			return;
+		}
+		String idShort = elem.getIdShort();
+		Object value = elem.getValue();
+		notifyObservers(o -> o.elementAdded(idShort, value));
 	}
 
 	@Override
 	public void addSubmodelElement(String idShortPath, ISubmodelElement elem) {
 		submodelAPI.addSubmodelElement(idShortPath, elem);
-		observers.stream().forEach(o -> o.elementAdded(idShortPath, elem.getValue()));
+		changeVersion.increment();
+		if (observers.isEmpty()) {
+			return;
+		}
+		Object value = elem.getValue();
+		notifyObservers(o -> o.elementAdded(idShortPath, value));
 	}
 
 	@Override
@@ -74,7 +91,8 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void deleteSubmodelElement(String idShortPath) {
 		submodelAPI.deleteSubmodelElement(idShortPath);
-		observers.stream().forEach(o -> o.elementDeleted(idShortPath));
+		changeVersion.increment();
+		notifyObservers(o -> o.elementDeleted(idShortPath));
 	}
 
 	@Override
@@ -90,7 +108,8 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		submodelAPI.updateSubmodelElement(idShortPath, newValue);
-		observers.stream().forEach(o -> o.elementUpdated(idShortPath, newValue));
+		changeVersion.increment();
+		notifyObservers(o -> o.elementUpdated(idShortPath, newValue));
 	}
 
 	@Override
@@ -100,12 +119,20 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 
 	@Override
 	public Object invokeOperation(String idShortPath, Object... params) {
-		return submodelAPI.invokeOperation(idShortPath, params);
+		try {
+			return submodelAPI.invokeOperation(idShortPath, params);
+		} finally {
+			changeVersion.increment();
+		}
 	}
 
 	@Override
 	public Object invokeAsync(String idShortPath, Object... params) {
-		return submodelAPI.invokeAsync(idShortPath, params);
+		try {
+			return submodelAPI.invokeAsync(idShortPath, params);
+		} finally {
+			changeVersion.increment();
+		}
 	}
 
 	@Override
@@ -121,6 +148,11 @@ public class ObservableSubmodelAPI extends Observable<ISubmodelAPIObserver> impl
 	@Override
 	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
 		submodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
+		changeVersion.increment();
 	}
 
+	@Override
+	public long getChangeVersion() {
+		return changeVersion.get();
+	}
 }
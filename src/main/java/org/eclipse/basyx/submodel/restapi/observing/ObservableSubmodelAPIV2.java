@@ -27,28 +27,39 @@ package org.eclipse.basyx.submodel.restapi.observing;
 import java.io.File;
 import java.io.InputStream;
 import java.util.Collection;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
-import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
-import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.observer.Observable;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
+import org.eclipse.basyx.vab.modelprovider.api.IChangeVersioned;
+import org.eclipse.basyx.vab.support.ChangeVersionCounter;
 
 /**
  * Implementation of {@link ISubmodelAPI} that calls back registered
- * {@link ISubmodelAPIObserverV2} when changes on SubmodelElements occur
+ * {@link ISubmodelAPIObserverV2} when changes on SubmodelElements occur. <br>
+ * Modifications and invocations are counted, see {@link ObservableSubmodelAPI}.
+ * <br>
+ * The {@link SubmodelEventContext} and the empty value event flags of the
+ * elements are cached, so that notifying observers does not require retrieving
+ * the submodel or the updated element. Thus, structural changes have to be done
+ * through this API to keep the cached flags valid.
  * 
  * @author conradi, siebert
  *
  */
-public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2> implements ISubmodelAPI {
+public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2> implements ISubmodelAPI, IChangeVersioned {
 
 	ISubmodelAPI submodelAPI;
+	private ChangeVersionCounter changeVersion = new ChangeVersionCounter();
 	private String aasServerId = "aas-server";
+	private volatile SubmodelEventContext eventContext;
+	private Map<String, Boolean> emptyValueEventFlags = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructs an observable ISubmodelAPI wrapping an existing ISubmodelAPI
@@ -60,6 +71,33 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 		submodelAPI = observerdAPI;
 		this.aasServerId = aasServerId;		
 	}
+
+	/**
+	 * Constructs an observable ISubmodelAPI wrapping an existing ISubmodelAPI
+	 * using an already known event context
+	 * 
+	 * @param observerdAPI
+	 * @param eventContext
+	 */
+	public ObservableSubmodelAPIV2(ISubmodelAPI observerdAPI, SubmodelEventContext eventContext) {
+		this(observerdAPI, eventContext.getRepoId());
+		this.eventContext = eventContext;
+	}
+
+	/**
+	 * Returns the context passed to the observers. It is resolved from the
+	 * submodel on first use.
+	 * 
+	 * @return
+	 */
+	public SubmodelEventContext getEventContext() {
+		SubmodelEventContext context = eventContext;
+		if (context == null) {
+			context = SubmodelEventContext.create(getSubmodel(), aasServerId);
+			eventContext = context;
+		}
+		return context;
+	}
 	
 	@Override
 	public ISubmodel getSubmodel() {
@@ -80,10 +118,16 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 		try {
 			submodelAPI.getSubmodelElement(idShortPath);
 			submodelAPI.addSubmodelElement(idShortPath, elem);
-			observers.stream().forEach(o -> o.elementUpdated(idShortPath, elem, getParentAASId(getSubmodel()), getSubmodel().getIdentification().getId(), this.aasServerId));
+			invalidateEmptyValueEventFlags(idShortPath);
+			changeVersion.increment();
+			SubmodelEventContext context = getEventContext();
+			notifyObservers(o -> o.elementUpdated(idShortPath, elem, context));
 		} catch (ResourceNotFoundException e) {
 			submodelAPI.addSubmodelElement(idShortPath, elem);
-			observers.stream().forEach(o -> o.elementAdded(idShortPath, elem, getParentAASId(getSubmodel()), getSubmodel().getIdentification().getId(), this.aasServerId));
+			invalidateEmptyValueEventFlags(idShortPath);
+			changeVersion.increment();
+			SubmodelEventContext context = getEventContext();
+			notifyObservers(o -> o.elementAdded(idShortPath, elem, context));
 		}
 	}
 
@@ -101,7 +145,10 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 	public void deleteSubmodelElement(String idShortPath) {
 		ISubmodelElement submodelElement = submodelAPI.getSubmodelElement(idShortPath);
 		submodelAPI.deleteSubmodelElement(idShortPath);
-		observers.stream().forEach(o -> o.elementDeleted(idShortPath, submodelElement, getParentAASId(getSubmodel()), getSubmodel().getIdentification().getId(), this.aasServerId));
+		invalidateEmptyValueEventFlags(idShortPath);
+		changeVersion.increment();
+		SubmodelEventContext context = getEventContext();
+		notifyObservers(o -> o.elementDeleted(idShortPath, submodelElement, context));
 	}
 
 	@Override
@@ -117,19 +164,43 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 	@Override
 	public void updateSubmodelElement(String idShortPath, Object newValue) {
 		submodelAPI.updateSubmodelElement(idShortPath, newValue);
+		if (newValue instanceof Collection<?>) {
+			// Setting the value of a collection replaces its children
+			invalidateEmptyValueEventFlags(idShortPath);
+		}
+		changeVersion.increment();
 
-		ISubmodelElement elem = submodelAPI.getSubmodelElement(idShortPath);
+		if (observers.isEmpty()) {
+			return;
+		}
 
 		Object valueToSend;
-		if (ObservableSubmodelAPIV2Helper.shouldSendEmptyValueEvent(elem)) {
+		if (shouldSendEmptyValueEvent(idShortPath)) {
 			valueToSend = null;
 		} else {
 			valueToSend = newValue;
 		}
 
-		observers.stream().forEach(o -> o.elementValue(idShortPath, valueToSend, getParentAASId(getSubmodel()), getSubmodel().getIdentification().getId(), this.aasServerId));
+		SubmodelEventContext context = getEventContext();
+		notifyObservers(o -> o.elementValue(idShortPath, valueToSend, context));
+	}
+
+	private boolean shouldSendEmptyValueEvent(String idShortPath) {
+		return emptyValueEventFlags.computeIfAbsent(VABPathTools.stripSlashes(idShortPath), p -> ObservableSubmodelAPIV2Helper.shouldSendEmptyValueEvent(submodelAPI.getSubmodelElement(p)));
 	}
-	
+
+	/**
+	 * Removes the cached flags of the element at the passed path and of all its
+	 * children
+	 * 
+	 * @param idShortPath
+	 */
+	private void invalidateEmptyValueEventFlags(String idShortPath) {
+		String path = VABPathTools.stripSlashes(idShortPath);
+		String childPrefix = path + "/";
+		emptyValueEventFlags.keySet().removeIf(p -> p.equals(path) || p.startsWith(childPrefix));
+	}
+
 
 	@Override
 	public Object getSubmodelElementValue(String idShortPath) {
@@ -138,12 +209,20 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 
 	@Override
 	public Object invokeOperation(String idShortPath, Object... params) {
-		return submodelAPI.invokeOperation(idShortPath, params);
+		try {
+			return submodelAPI.invokeOperation(idShortPath, params);
+		} finally {
+			changeVersion.increment();
+		}
 	}
 
 	@Override
 	public Object invokeAsync(String idShortPath, Object... params) {
-		return submodelAPI.invokeAsync(idShortPath, params);
+		try {
+			return submodelAPI.invokeAsync(idShortPath, params);
+		} finally {
+			changeVersion.increment();
+		}
 	}
 
 	@Override
@@ -151,18 +230,6 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 		return submodelAPI.getOperationResult(idShort, requestId);
 	}
 	
-	private String getParentAASId(ISubmodel submodel) {
-		IReference parentReference = submodel.getParent();
-		if (parentReference == null) {
-			return null;
-		}
-		List<IKey> keys = parentReference.getKeys();
-		if (keys != null && keys.size() > 0) {
-			return keys.get(0).getValue();
-		}
-		return null;
-	}
-
 	@Override
 	public File getSubmodelElementFile(String idShortPath) {
 		return submodelAPI.getSubmodelElementFile(idShortPath);
@@ -171,6 +238,11 @@ public class ObservableSubmodelAPIV2 extends Observable<ISubmodelAPIObserverV2>
 	@Override
 	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
 		submodelAPI.uploadSubmodelElementFile(idShortPath, fileStream);
+		changeVersion.increment();
 	}
 
-}
\ No newline at end of file
+	@Override
+	public long getChangeVersion() {
+		return changeVersion.get();
+	}
+}
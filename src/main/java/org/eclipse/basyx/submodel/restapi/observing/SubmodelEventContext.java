@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.observing;
+
+import java.util.List;
+
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IKey;
+import org.eclipse.basyx.submodel.metamodel.api.reference.IReference;
+
+/**
+ * Immutable identification of the origin of events emitted by
+ * {@link ObservableSubmodelAPIV2}. It is resolved once per observed submodel,
+ * so that observers do not have to retrieve the submodel for each event.
+ * 
+ * @author agent
+ *
+ */
+public final class SubmodelEventContext {
+	private final String aasId;
+	private final String submodelId;
+	private final String repoId;
+
+	public SubmodelEventContext(String aasId, String submodelId, String repoId) {
+		this.aasId = aasId;
+		this.submodelId = submodelId;
+		this.repoId = repoId;
+	}
+
+	/**
+	 * Creates the context of the passed submodel
+	 * 
+	 * @param submodel
+	 * @param repoId
+	 *            the id of the server hosting the submodel
+	 * @return
+	 */
+	public static SubmodelEventContext create(ISubmodel submodel, String repoId) {
+		return new SubmodelEventContext(getParentAASId(submodel), submodel.getIdentification().getId(), repoId);
+	}
+
+	private static String getParentAASId(ISubmodel submodel) {
+		IReference parentReference = submodel.getParent();
+		if (parentReference == null) {
+			return null;
+		}
+		List<IKey> keys = parentReference.getKeys();
+		if (keys != null && keys.size() > 0) {
+			return keys.get(0).getValue();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the id of the parent AAS or null, if the submodel has no parent
+	 */
+	public String getAASId() {
+		return aasId;
+	}
+
+	public String getSubmodelId() {
+		return submodelId;
+	}
+
+	/**
+	 * @return the id of the server hosting the submodel
+	 */
+	public String getRepoId() {
+		return repoId;
+	}
+
+	@Override
+	public String toString() {
+		return "SubmodelEventContext [aasId=" + aasId + ", submodelId=" + submodelId + ", repoId=" + repoId + "]";
+	}
+}
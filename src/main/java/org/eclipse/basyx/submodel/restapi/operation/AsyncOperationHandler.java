@@ -26,28 +26,45 @@ package org.eclipse.basyx.submodel.restapi.operation;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.Operation;
-import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
-import org.eclipse.basyx.vab.exception.provider.ProviderException;
-import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 
 /**
- * Helperclass used to keep and invoke operations asynchronously.
+ * Helperclass used to keep and invoke operations asynchronously. The
+ * invocations are executed by an {@link OperationInvocationEngine} that can be
+ * replaced for configuring executors, limits and result TTL.
  * 
  * @author conradi, espen
  *
  */
 public class AsyncOperationHandler {
-	private static Map<String, InvocationResponse> responses = new LinkedHashMap<>();
-	private static Map<String, String> responseOperationMap = new LinkedHashMap<>();
-	private static ScheduledThreadPoolExecutor delayer = new ScheduledThreadPoolExecutor(0);
+	private static volatile OperationInvocationEngine engine = new OperationInvocationEngine();
+
+	// Replaced engines that may still keep invocations started before
+	private static final List<OperationInvocationEngine> previousEngines = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Replaces the engine executing the invocations. Invocations started before
+	 * are kept by the previous engine, their results can still be retrieved until
+	 * it is drained.
+	 * 
+	 * @param invocationEngine
+	 */
+	public static synchronized void setInvocationEngine(OperationInvocationEngine invocationEngine) {
+		OperationInvocationEngine previous = engine;
+		engine = invocationEngine;
+		previousEngines.remove(invocationEngine);
+		if (previous != invocationEngine) {
+			previousEngines.add(previous);
+		}
+	}
+
+	public static OperationInvocationEngine getInvocationEngine() {
+		return engine;
+	}
 
 	/**
 	 * Invokes an Operation with an invocation request
@@ -70,50 +87,7 @@ public class AsyncOperationHandler {
 	 * Invokes an Operation and returns its requestId
 	 */
 	private static void invokeAsync(Operation operation, String operationId, String requestId, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments, int timeout) {
-		synchronized (responses) {
-			InvocationResponse response = new InvocationResponse(requestId, inOutArguments, outputArguments, ExecutionState.INITIATED);
-
-			responses.put(requestId, response);
-			responseOperationMap.put(requestId, operationId);
-
-			CompletableFuture.supplyAsync(
-					// Run Operation asynchronously
-					() -> operation.invokeSimple(inputs))
-					// Accept either result or throw exception on timeout
-					.acceptEither(setTimeout(timeout, requestId), result -> {
-						// result accepted? => Write execution state if there is an output
-						response.setExecutionState(ExecutionState.COMPLETED);
-						if (!response.getOutputArguments().isEmpty()) {
-							IOperationVariable output = response.getOutputArguments().iterator().next();
-							output.getValue().setValue(result);
-						}
-					}).exceptionally(throwable -> {
-						// result not accepted? set operation state
-						ProviderException exception = null;
-						if (throwable.getCause() instanceof OperationExecutionTimeoutException) {
-							response.setExecutionState(ExecutionState.TIMEOUT);
-							exception = new ProviderException("Request " + requestId + " timed out", throwable);
-						} else {
-							response.setExecutionState(ExecutionState.FAILED);
-							exception = new ProviderException("Request " + requestId + " failed", throwable);
-						}
-						// set provider exception if there is an output
-						if (!response.getOutputArguments().isEmpty()) {
-							IOperationVariable output = response.getOutputArguments().iterator().next();
-							output.getValue().setValue(exception);
-						}
-						return null;
-					});
-		}
-	}
-
-	/**
-	 * Function for scheduling a timeout function with completable futures
-	 */
-	private static CompletableFuture<Void> setTimeout(int timeout, String requestId) {
-		CompletableFuture<Void> result = new CompletableFuture<>();
-		delayer.schedule(() -> result.completeExceptionally(new OperationExecutionTimeoutException("Request " + requestId + " timed out")), timeout, TimeUnit.MILLISECONDS);
-		return result;
+		engine.invoke(operationId, requestId, operation::invokeSimple, inputs, inOutArguments, outputArguments, timeout);
 	}
 
 	/**
@@ -126,24 +100,7 @@ public class AsyncOperationHandler {
 	 * @return the result of the Operation or a Message that it is not yet finished
 	 */
 	public static Object retrieveResult(String requestId, String operationId) {
-		// Remove the Invocation if it is finished and its result was retrieved
-		synchronized (responses) {
-			if (!responses.containsKey(requestId)) {
-				throw new ResourceNotFoundException("RequestId '" + requestId + "' not found for operation '" + operationId + "'.");
-			}
-
-			String validOperationId = responseOperationMap.get(requestId);
-			if (!operationId.equals(validOperationId)) {
-				throw new ResourceNotFoundException("RequestId '" + requestId + "' does not belong to Operation '" + operationId + "'");
-			}
-
-			InvocationResponse response = responses.get(requestId);
-			if (ExecutionState.COMPLETED == response.getExecutionState() || ExecutionState.TIMEOUT == response.getExecutionState() || ExecutionState.FAILED == response.getExecutionState()) {
-				responses.remove(requestId);
-				responseOperationMap.remove(requestId);
-			}
-			return response;
-		}
+		return getEngine(requestId).retrieveResult(requestId, operationId);
 	}
 
 	/**
@@ -154,8 +111,26 @@ public class AsyncOperationHandler {
 	 * @return if the id exists
 	 */
 	public static boolean hasRequestId(String requestId) {
-		synchronized (responses) {
-			return responses.containsKey(requestId);
+		return getEngine(requestId).hasRequestId(requestId);
+	}
+
+	/**
+	 * Returns the engine keeping the given request. Previous engines are dropped
+	 * as soon as all of their results have been retrieved or have expired.
+	 */
+	private static OperationInvocationEngine getEngine(String requestId) {
+		OperationInvocationEngine current = engine;
+		if (current.hasRequestId(requestId)) {
+			return current;
+		}
+
+		for (OperationInvocationEngine previous : previousEngines) {
+			if (previous.getStoredResultCount() == 0) {
+				previousEngines.remove(previous);
+			} else if (previous.hasRequestId(requestId)) {
+				return previous;
+			}
 		}
+		return current;
 	}
 }
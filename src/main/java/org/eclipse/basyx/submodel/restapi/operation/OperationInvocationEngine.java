@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.submodel.restapi.operation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationExecutionTimeoutException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes asynchronous operation invocations and keeps their results until
+ * they are retrieved. <br>
+ * Invocations run on a dedicated executor instead of the common pool. An
+ * executor can be registered per operation, e.g. for operations that block on
+ * external calls. All other operations share a default executor. <br>
+ * The number of pending (queued and running) invocations is limited. Requests
+ * exceeding the limit are not executed and reported with
+ * {@link ExecutionState#CANCELED}. Invocations exceeding their timeout are
+ * interrupted. Results that are not retrieved within the result TTL are
+ * dropped.
+ * 
+ * @author agent
+ *
+ */
+public class OperationInvocationEngine {
+	private static Logger logger = LoggerFactory.getLogger(OperationInvocationEngine.class);
+
+	public static final int MIN_DEFAULT_THREADS = 8;
+	public static final int DEFAULT_MAX_PENDING_INVOCATIONS = 1000;
+	public static final long DEFAULT_RESULT_TTL = TimeUnit.MINUTES.toMillis(10);
+
+	private final ExecutorService defaultExecutor;
+	private final Map<String, ExecutorService> operationExecutors = new ConcurrentHashMap<>();
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final Map<String, Invocation> invocations = new ConcurrentHashMap<>();
+
+	private volatile int maxPendingInvocations = DEFAULT_MAX_PENDING_INVOCATIONS;
+	private volatile long resultTtl = DEFAULT_RESULT_TTL;
+
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong timedOut = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong expired = new AtomicLong();
+
+	/**
+	 * Creates an engine with a default executor that has one thread per available
+	 * processor, but at least {@link #MIN_DEFAULT_THREADS}, since operations
+	 * typically block on I/O
+	 */
+	public OperationInvocationEngine() {
+		this(Math.max(MIN_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Creates an engine with a default executor of the given size
+	 * 
+	 * @param threads
+	 *            number of threads of the default executor
+	 */
+	public OperationInvocationEngine(int threads) {
+		this(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("worker")));
+	}
+
+	/**
+	 * Creates an engine that executes invocations on the given default executor,
+	 * e.g. a virtual thread executor
+	 * 
+	 * @param defaultExecutor
+	 */
+	public OperationInvocationEngine(ExecutorService defaultExecutor) {
+		this.defaultExecutor = defaultExecutor;
+		scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("scheduler"));
+		scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Registers a dedicated executor for an operation. Passing <i>null</i>
+	 * removes the executor, so that the operation uses the default executor again.
+	 * 
+	 * @param operationId
+	 * @param executor
+	 */
+	public void setOperationExecutor(String operationId, ExecutorService executor) {
+		if (executor == null) {
+			operationExecutors.remove(operationId);
+		} else {
+			operationExecutors.put(operationId, executor);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of queued and running invocations
+	 * 
+	 * @param maxPendingInvocations
+	 */
+	public void setMaxPendingInvocations(int maxPendingInvocations) {
+		if (maxPendingInvocations < 1) {
+			throw new IllegalArgumentException("At least one pending invocation has to be allowed");
+		}
+		this.maxPendingInvocations = maxPendingInvocations;
+	}
+
+	public int getMaxPendingInvocations() {
+		return maxPendingInvocations;
+	}
+
+	/**
+	 * Sets the time a finished result is kept if it is not retrieved
+	 * 
+	 * @param resultTtl
+	 *            TTL in milliseconds
+	 */
+	public void setResultTtl(long resultTtl) {
+		this.resultTtl = resultTtl;
+	}
+
+	public long getResultTtl() {
+		return resultTtl;
+	}
+
+	/**
+	 * Starts an invocation. Its response can be retrieved via
+	 * {@link #retrieveResult(String, String)} using the request id.
+	 * 
+	 * @param operationId
+	 *            the id of the invoked operation
+	 * @param requestId
+	 *            the id of the request
+	 * @param function
+	 *            the function executing the operation
+	 * @param inputs
+	 *            the parameters of the function
+	 * @param inOutArguments
+	 * @param outputArguments
+	 * @param timeout
+	 *            timeout in milliseconds
+	 * @return the response that is updated when the invocation finishes
+	 */
+	public InvocationResponse invoke(String operationId, String requestId, Function<Object[], Object> function, Object[] inputs, Collection<IOperationVariable> inOutArguments, Collection<IOperationVariable> outputArguments,
+			int timeout) {
+		InvocationResponse response = new InvocationResponse(requestId, inOutArguments, outputArguments, ExecutionState.INITIATED);
+		Invocation invocation = new Invocation(operationId, response);
+		invocations.put(requestId, invocation);
+
+		if (pending.incrementAndGet() > maxPendingInvocations) {
+			pending.decrementAndGet();
+			reject(invocation, "too many pending invocations");
+			return response;
+		}
+
+		queued.incrementAndGet();
+		try {
+			invocation.future = getExecutor(operationId).submit(() -> execute(invocation, function, inputs));
+		} catch (RejectedExecutionException e) {
+			if (invocation.state.compareAndSet(Invocation.QUEUED, Invocation.DONE)) {
+				queued.decrementAndGet();
+				pending.decrementAndGet();
+				reject(invocation, "executor does not accept invocations");
+			}
+			return response;
+		}
+		invocation.timeoutTask = scheduler.schedule(() -> timeout(invocation), timeout, TimeUnit.MILLISECONDS);
+		return response;
+	}
+
+	/**
+	 * Gets the result of an invocation. Finished invocations are removed after
+	 * their result has been retrieved.
+	 * 
+	 * @param requestId
+	 *            the id of the request
+	 * @param operationId
+	 *            the id of the requested Operation
+	 * @return the response of the invocation
+	 */
+	public InvocationResponse retrieveResult(String requestId, String operationId) {
+		Invocation invocation = invocations.get(requestId);
+		if (invocation == null) {
+			throw new ResourceNotFoundException("RequestId '" + requestId + "' not found for operation '" + operationId + "'.");
+		}
+
+		if (!operationId.equals(invocation.operationId)) {
+			throw new ResourceNotFoundException("RequestId '" + requestId + "' does not belong to Operation '" + operationId + "'");
+		}
+
+		if (invocation.isFinished() && invocations.remove(requestId, invocation)) {
+			// Do not keep the retrieved result reachable from the scheduler until its TTL
+			cancelExpiry(invocation);
+		}
+		return invocation.response;
+	}
+
+	/**
+	 * Checks if a given requestId exists
+	 * 
+	 * @param requestId
+	 *            the id to be checked
+	 * @return if the id exists
+	 */
+	public boolean hasRequestId(String requestId) {
+		return invocations.containsKey(requestId);
+	}
+
+	/**
+	 * Stops all executors of this engine
+	 */
+	public void shutdown() {
+		scheduler.shutdownNow();
+		defaultExecutor.shutdownNow();
+		for (ExecutorService executor : operationExecutors.values()) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return the number of invocations waiting for a thread
+	 */
+	public int getQueuedCount() {
+		return queued.get();
+	}
+
+	/**
+	 * @return the number of currently running invocations
+	 */
+	public int getRunningCount() {
+		return running.get();
+	}
+
+	/**
+	 * @return the number of successfully completed invocations
+	 */
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	/**
+	 * @return the number of invocations that failed with an exception
+	 */
+	public long getFailedCount() {
+		return failed.get();
+	}
+
+	/**
+	 * @return the number of invocations that exceeded their timeout
+	 */
+	public long getTimedOutCount() {
+		return timedOut.get();
+	}
+
+	/**
+	 * @return the number of invocations that have been rejected
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * @return the number of results that have been dropped because they were not
+	 *         retrieved in time
+	 */
+	public long getExpiredCount() {
+		return expired.get();
+	}
+
+	/**
+	 * @return the number of invocations whose response is currently kept
+	 */
+	public int getStoredResultCount() {
+		return invocations.size();
+	}
+
+	private ExecutorService getExecutor(String operationId) {
+		ExecutorService executor = operationExecutors.get(operationId);
+		return executor != null ? executor : defaultExecutor;
+	}
+
+	private void execute(Invocation invocation, Function<Object[], Object> function, Object[] inputs) {
+		if (!invocation.state.compareAndSet(Invocation.QUEUED, Invocation.RUNNING)) {
+			// Timed out while waiting for a thread
+			return;
+		}
+		queued.decrementAndGet();
+		running.incrementAndGet();
+
+		Object result = null;
+		Throwable error = null;
+		try {
+			result = function.apply(inputs);
+		} catch (Throwable e) {
+			error = e;
+		}
+
+		// Update the metrics before the final state becomes visible
+		running.decrementAndGet();
+		pending.decrementAndGet();
+		if (!invocation.state.compareAndSet(Invocation.RUNNING, Invocation.DONE)) {
+			return;
+		}
+
+		if (error == null) {
+			setOutput(invocation.response, result);
+			completed.incrementAndGet();
+			finish(invocation, ExecutionState.COMPLETED);
+		} else {
+			String requestId = invocation.response.getRequestId();
+			setOutput(invocation.response, new ProviderException("Request " + requestId + " failed", error));
+			failed.incrementAndGet();
+			finish(invocation, ExecutionState.FAILED);
+		}
+	}
+
+	private void timeout(Invocation invocation) {
+		boolean wasQueued = invocation.state.compareAndSet(Invocation.QUEUED, Invocation.DONE);
+		if (!wasQueued && !invocation.state.compareAndSet(Invocation.RUNNING, Invocation.DONE)) {
+			return;
+		}
+
+		if (wasQueued) {
+			queued.decrementAndGet();
+			pending.decrementAndGet();
+		}
+
+		String requestId = invocation.response.getRequestId();
+		OperationExecutionTimeoutException cause = new OperationExecutionTimeoutException("Request " + requestId + " timed out");
+		setOutput(invocation.response, new ProviderException("Request " + requestId + " timed out", cause));
+		timedOut.incrementAndGet();
+		finish(invocation, ExecutionState.TIMEOUT);
+
+		// Interrupt the running operation. Running invocations release their slot when
+		// the operation returns
+		invocation.future.cancel(true);
+	}
+
+	private void reject(Invocation invocation, String reason) {
+		String requestId = invocation.response.getRequestId();
+		logger.warn("Rejected request " + requestId + " of operation " + invocation.operationId + ": " + reason);
+		invocation.state.set(Invocation.DONE);
+		setOutput(invocation.response, new ProviderException("Request " + requestId + " rejected: " + reason));
+		rejected.incrementAndGet();
+		finish(invocation, ExecutionState.CANCELED);
+	}
+
+	private void finish(Invocation invocation, ExecutionState state) {
+		invocation.response.setExecutionState(state);
+
+		ScheduledFuture<?> timeoutTask = invocation.timeoutTask;
+		if (timeoutTask != null) {
+			timeoutTask.cancel(false);
+		}
+
+		String requestId = invocation.response.getRequestId();
+		try {
+			invocation.expiryTask = scheduler.schedule(() -> expire(requestId, invocation), resultTtl, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// Engine has been shut down, nothing to evict anymore
+			return;
+		}
+
+		// The result may have been retrieved before the expiry task was set
+		if (invocations.get(requestId) != invocation) {
+			cancelExpiry(invocation);
+		}
+	}
+
+	private void cancelExpiry(Invocation invocation) {
+		ScheduledFuture<?> expiryTask = invocation.expiryTask;
+		if (expiryTask != null) {
+			expiryTask.cancel(false);
+		}
+	}
+
+	private void expire(String requestId, Invocation invocation) {
+		if (invocations.remove(requestId, invocation)) {
+			expired.incrementAndGet();
+			logger.debug("Dropped unretrieved result of request " + requestId);
+		}
+	}
+
+	private static void setOutput(InvocationResponse response, Object value) {
+		if (!response.getOutputArguments().isEmpty()) {
+			IOperationVariable output = response.getOutputArguments().iterator().next();
+			output.getValue().setValue(value);
+		}
+	}
+
+	/**
+	 * A single invocation and its state
+	 */
+	private static class Invocation {
+		private static final int QUEUED = 0;
+		private static final int RUNNING = 1;
+		private static final int DONE = 2;
+
+		private final AtomicInteger state = new AtomicInteger(QUEUED);
+		private final String operationId;
+		private final InvocationResponse response;
+		private volatile Future<?> future;
+		private volatile ScheduledFuture<?> timeoutTask;
+		private volatile ScheduledFuture<?> expiryTask;
+
+		private Invocation(String operationId, InvocationResponse response) {
+			this.operationId = operationId;
+			this.response = response;
+		}
+
+		/**
+		 * An invocation is finished as soon as its final state is visible in the
+		 * response, i.e. after its output has been written
+		 */
+		private boolean isFinished() {
+			ExecutionState executionState = response.getExecutionState();
+			return executionState == ExecutionState.COMPLETED || executionState == ExecutionState.TIMEOUT || executionState == ExecutionState.FAILED || executionState == ExecutionState.CANCELED;
+		}
+	}
+
+	/**
+	 * Thread factory creating named daemon threads
+	 */
+	private static class NamedThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+		private final String prefix;
+
+		NamedThreadFactory(String prefix) {
+			this.prefix = OperationInvocationEngine.class.getName() + " " + prefix + " ";
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, prefix + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -27,8 +27,10 @@ package org.eclipse.basyx.submodel.restapi.vab;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -40,14 +42,25 @@ import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement
 import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperation;
 import org.eclipse.basyx.submodel.metamodel.map.Submodel;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
 import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.File;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.entity.Entity;
 import org.eclipse.basyx.submodel.restapi.MultiSubmodelElementProvider;
 import org.eclipse.basyx.submodel.restapi.SubmodelAPIHelper;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection.Content;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection.Level;
 import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchProcessor;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResponse;
 import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.generic.VABModelProvider;
 
 import com.google.common.io.Files;
 
@@ -99,6 +112,100 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		return Submodel.createAsFacade(smCopy);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public Object getProjectedSubmodel(SubmodelProjection projection) {
+		if (!(modelProvider instanceof VABModelProvider)) {
+			// The properties of the model can not be listed, so the whole model has to be
+			// retrieved
+			Map<String, Object> map = (Map<String, Object>) modelProvider.getValue(SubmodelAPIHelper.getSubmodelPath());
+			return projection.projectSubmodel(map);
+		}
+
+		// Retrieving the model as a whole resolves and copies every contained element.
+		// Thus, only the properties required by the projection are retrieved one by one
+		VABModelProvider provider = (VABModelProvider) modelProvider;
+		Map<String, Object> submodel = new LinkedHashMap<>();
+		for (String property : provider.getPropertyNames(SubmodelAPIHelper.getSubmodelPath())) {
+			if (property.equals(Submodel.SUBMODELELEMENT)) {
+				submodel.put(property, getRequiredElements(provider, projection));
+			} else {
+				submodel.put(property, provider.getValue(property));
+			}
+		}
+		return projection.projectSubmodel(submodel);
+	}
+
+	/**
+	 * Retrieves the submodel elements that are required to apply the projection.
+	 * For level <i>core</i>, the children of the elements are not retrieved.
+	 */
+	private Object getRequiredElements(VABModelProvider provider, SubmodelProjection projection) {
+		Map<String, Object> elements = new LinkedHashMap<>();
+		if (projection.getContent() == Content.METADATA || projection.getContent() == Content.REFERENCE) {
+			// The elements are not part of the projected submodel
+			return elements;
+		}
+
+		String elementsPath = SubmodelAPIHelper.getSubmodelElementsPath();
+		Collection<String> idShorts;
+		try {
+			idShorts = provider.getPropertyNames(elementsPath);
+		} catch (MalformedRequestException e) {
+			// The elements are not given as map, so they can not be accessed one by one
+			return provider.getValue(elementsPath);
+		}
+
+		for (String idShort : idShorts) {
+			if (!projection.isIncluded(idShort)) {
+				continue;
+			}
+
+			String elementPath = VABPathTools.concatenatePaths(elementsPath, idShort);
+			if (projection.getLevel() == Level.DEEP) {
+				elements.put(idShort, provider.getValue(elementPath));
+			} else {
+				elements.put(idShort, getElementWithoutChildren(provider, elementPath));
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 * Retrieves a submodel element without resolving its children, they are
+	 * replaced by an empty collection
+	 */
+	private Map<String, Object> getElementWithoutChildren(VABModelProvider provider, String elementPath) {
+		Map<String, Object> element = new LinkedHashMap<>();
+		// The children can only be identified when the type of the element is known,
+		// so the properties that may contain them are retrieved last
+		List<String> deferred = new ArrayList<>();
+		for (String property : provider.getPropertyNames(elementPath)) {
+			if (property.equals(Property.VALUE) || property.equals(Entity.STATEMENT)) {
+				element.put(property, null);
+				deferred.add(property);
+			} else {
+				element.put(property, provider.getValue(VABPathTools.concatenatePaths(elementPath, property)));
+			}
+		}
+
+		String childrenKey = null;
+		if (SubmodelElementCollection.isSubmodelElementCollection(element)) {
+			childrenKey = Property.VALUE;
+		} else if (Entity.isEntity(element)) {
+			childrenKey = Entity.STATEMENT;
+		}
+
+		for (String property : deferred) {
+			if (property.equals(childrenKey)) {
+				element.put(property, new ArrayList<>());
+			} else {
+				element.put(property, provider.getValue(VABPathTools.concatenatePaths(elementPath, property)));
+			}
+		}
+		return element;
+	}
+
 	@Override
 	public void addSubmodelElement(ISubmodelElement elem) {
 		getElementProvider().createValue(SubmodelAPIHelper.getSubmodelElementPath(elem.getIdShort()), elem);
@@ -140,6 +247,12 @@ public class VABSubmodelAPI implements ISubmodelAPI {
 		getElementProvider().setValue(SubmodelAPIHelper.getSubmodelElementValuePath(idShortPath), newValue);
 	}
 
+	@Override
+	public SubmodelElementBatchResponse processBatch(SubmodelElementBatchRequest request) {
+		IModelProvider elementsProvider = new VABElementProxy(SubmodelAPIHelper.getSubmodelElementsPath(), modelProvider);
+		return SubmodelElementBatchProcessor.process(elementsProvider, request);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void uploadSubmodelElementFile(String idShortPath, InputStream fileStream) {
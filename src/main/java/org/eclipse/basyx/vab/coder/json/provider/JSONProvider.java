@@ -24,10 +24,14 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.provider;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
@@ -104,31 +108,6 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		return providerBackend;
 	}
 
-	/**
-	 * Marks success as false and delivers exception cause messages
-	 * 
-	 * @param e
-	 * @return
-	 */
-	private String serialize(Exception e) {
-		// Create Ack
-		Result result = new Result(e);
-
-		// Serialize the whole thing
-		return serialize(result);
-	}
-
-	/**
-	 * Serialize IResult (LinkedHashMap)
-	 * 
-	 * @param string
-	 * @return
-	 */
-	private String serialize(Result string) {
-		// Serialize the whole thing
-		return serializer.serialize(string);
-	}
-
 	/**
 	 * Send Error
 	 * 
@@ -139,9 +118,8 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	private void sendException(OutputStream resp, Exception e) throws ProviderException {
 
 		// Serialize Exception
-		String jsonString = serialize(e);
 		try {
-			resp.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			serializer.serialize(new Result(e), resp);
 		} catch (IOException innerE) {
 			throw new ProviderException("Failed to send Exception '" + e.getMessage() + "' to client", innerE);
 		}
@@ -156,23 +134,39 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		throw new ProviderException(e);
 	}
 
+	/**
+	 * Serializes the value completely before writing it to the response. Thus, a
+	 * failing serialization does not leave a partial body in front of the
+	 * serialized exception and the response is not committed before.
+	 * 
+	 * @param value
+	 * @param outputStream
+	 * @throws IOException
+	 */
+	private void serializeResponse(Object value, OutputStream outputStream) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		serializer.serialize(value, buffer);
+		buffer.writeTo(outputStream);
+	}
+
 	/**
 	 * Extracts parameter from JSON and handles de-serialization errors
 	 * 
 	 * @param path
 	 * @param serializedJSONValue
+	 *            reader providing the JSON value
 	 * @param outputStream
 	 * @return
 	 * @throws MalformedRequestException
 	 * @throws LostHTTPRequestParameterException
 	 * @throws ProviderException
 	 */
-	private Object extractParameter(String path, String serializedJSONValue, OutputStream outputStream) throws MalformedRequestException {
+	private Object extractParameter(String path, Reader serializedJSONValue, OutputStream outputStream) throws MalformedRequestException {
 		// Return value
 		Object result = null;
 
 		try {
-			// Deserialize json body
+			// Deserialize json body directly from the reader
 			result = serializer.deserialize(serializedJSONValue);
 		} catch (Exception e) {
 			// JSON could not be deserialized
@@ -193,11 +187,7 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 			// Get requested value from provider backend
 			Object value = providerBackend.getValue(path);
 
-			// Serialize as json string - any messages?
-			String jsonString = serializer.serialize(value);
-
-			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			serializeResponse(value, outputStream);
 		} catch (Exception e) {
 			sendException(outputStream, e);
 		}
@@ -232,6 +222,23 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 * @throws ProviderException
 	 */
 	public void processBaSysSet(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysSet(path, new StringReader(serializedJSONValue), outputStream);
+	}
+
+	/**
+	 * Process a BaSys set operation. The UTF-8 encoded JSON value is deserialized
+	 * directly from the stream.
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysSet(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysSet(path, toReader(serializedJSONValue), outputStream);
+	}
+
+	private void processBaSysSet(String path, Reader serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		// Try to set value of BaSys VAB element
 		try {
@@ -255,8 +262,22 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 * 
 	 * @throws ProviderException
 	 */
-	@SuppressWarnings("unchecked")
 	public void processBaSysInvoke(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysInvoke(path, new StringReader(serializedJSONValue), outputStream);
+	}
+
+	/**
+	 * Process a BaSys invoke operation. The UTF-8 encoded JSON parameters are
+	 * deserialized directly from the stream.
+	 * 
+	 * @throws ProviderException
+	 */
+	public void processBaSysInvoke(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysInvoke(path, toReader(serializedJSONValue), outputStream);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void processBaSysInvoke(String path, Reader serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		try {
 
@@ -285,11 +306,7 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 
 			Object result = providerBackend.invokeOperation(path, (Object[]) parameter);
 
-			// Serialize result as json string
-			String jsonString = serializer.serialize(result);
-
-			// Send response
-			outputStream.write(jsonString.getBytes(StandardCharsets.UTF_8));
+			serializeResponse(result, outputStream);
 
 		} catch (Exception e) {
 			sendException(outputStream, e);
@@ -308,6 +325,23 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 * @throws ProviderException
 	 */
 	public void processBaSysDelete(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysDelete(path, new StringReader(serializedJSONValue), outputStream);
+	}
+
+	/**
+	 * Implement "Delete" operation. The UTF-8 encoded JSON value is deserialized
+	 * directly from the stream. An empty stream deletes the resource itself.
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysDelete(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysDelete(path, toReader(serializedJSONValue), outputStream);
+	}
+
+	private void processBaSysDelete(String path, Reader serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		try {
 
@@ -338,6 +372,23 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 	 * @throws ProviderException
 	 */
 	public void processBaSysCreate(String path, String serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysCreate(path, new StringReader(serializedJSONValue), outputStream);
+	}
+
+	/**
+	 * Creates a resource under the given path. The UTF-8 encoded JSON value is
+	 * deserialized directly from the stream.
+	 * 
+	 * @param path
+	 * @param serializedJSONValue
+	 * @param outputStream
+	 * @throws ProviderException
+	 */
+	public void processBaSysCreate(String path, InputStream serializedJSONValue, OutputStream outputStream) throws ProviderException {
+		processBaSysCreate(path, toReader(serializedJSONValue), outputStream);
+	}
+
+	private void processBaSysCreate(String path, Reader serializedJSONValue, OutputStream outputStream) throws ProviderException {
 
 		try {
 			// Deserialize json body.
@@ -352,6 +403,10 @@ public class JSONProvider<ModelProvider extends IModelProvider> {
 		}
 	}
 
+	private Reader toReader(InputStream serializedJSONValue) {
+		return new InputStreamReader(serializedJSONValue, StandardCharsets.UTF_8);
+	}
+
 	/**
 	 * Uploads a resource at given path
 	 * 
@@ -24,18 +24,27 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.coder.json.serialization;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
 import java.math.BigInteger;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.BiConsumer;
@@ -46,13 +55,12 @@ import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 /**
  * Provides means for (de-)serialization of Primitives (int, double, string,
@@ -78,12 +86,6 @@ public class GSONTools implements Serializer {
 	public static final String BASYXINVOCABLE = "_basyxInvocable";
 	public static final String BASYXFUNCTIONVALUE = "_basyxFunctionValue";
 
-	/**
-	 * JsonParser reference
-	 */
-	@SuppressWarnings("deprecation")
-	protected static JsonParser parser = new JsonParser();
-
 	/**
 	 * Type factory
 	 */
@@ -124,65 +126,160 @@ public class GSONTools implements Serializer {
 		toolsFactory = newFactoryInstance;
 	}
 
-	@SuppressWarnings("deprecation")
 	@Override
 	public Object deserialize(String str) {
-		JsonElement elem = parser.parse(str);
-		return deserializeJsonElement(elem);
+		return deserialize(new StringReader(str));
+	}
+
+	/**
+	 * Deserializes JSON read from the reader directly to the VAB object model
+	 * without creating an intermediate representation. Empty input is
+	 * deserialized to null. The reader is not closed.
+	 * 
+	 * @param reader
+	 * @return
+	 * @throws JsonSyntaxException
+	 *             if the input is not valid JSON
+	 * @throws JsonIOException
+	 *             if the input could not be read
+	 */
+	public Object deserialize(Reader reader) {
+		JsonReader jsonReader = new JsonReader(reader);
+		jsonReader.setLenient(true);
+		boolean isEmpty = true;
+		try {
+			JsonToken token = jsonReader.peek();
+			isEmpty = false;
+			Object result = readValue(jsonReader);
+			// Trailing content is checked strictly, as done by JsonParser before
+			jsonReader.setLenient(false);
+			if (token != JsonToken.NULL && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+				throw new JsonSyntaxException("Did not consume the entire document.");
+			}
+			return result;
+		} catch (EOFException e) {
+			// Empty input is deserialized to null, as done by JsonParser before
+			if (isEmpty) {
+				return null;
+			}
+			throw new JsonSyntaxException(e);
+		} catch (MalformedJsonException | NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		} catch (IOException e) {
+			throw new JsonIOException(e);
+		}
+	}
+
+	/**
+	 * Deserializes UTF-8 encoded JSON read from the stream. The stream is not
+	 * closed.
+	 * 
+	 * @param inputStream
+	 * @return
+	 * @see #deserialize(Reader)
+	 */
+	public Object deserialize(InputStream inputStream) {
+		return deserialize(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
 	}
 
 	@Override
 	public String serialize(Object obj) {
-		JsonElement elem = serializeObject(obj);
-		// Removing null value if the removeNull flag is on
-		if (removeNull) {
-			// Gson#toJson removes null automatically
-			Gson gson = new Gson();
-			return gson.toJson(elem);
-		} else {
-			return elem.toString();
+		StringWriter writer = new StringWriter();
+		try {
+			serialize(obj, writer);
+		} catch (IOException e) {
+			// StringWriter does not throw IOExceptions
+			throw new RuntimeException(e);
 		}
+		return writer.toString();
 	}
 
 	/**
-	 * Serialized an arbitrary object to a JsonElement
+	 * Serializes an arbitrary object and writes it directly to the writer without
+	 * creating an intermediate representation. The writer is flushed, but not
+	 * closed.
 	 * 
 	 * @param obj
-	 * @return
+	 * @param writer
+	 * @throws IOException
+	 */
+	public void serialize(Object obj, Writer writer) throws IOException {
+		JsonWriter jsonWriter = new JsonWriter(writer);
+		jsonWriter.setLenient(true);
+		// Null values of map entries are omitted if the removeNull flag is on. HTML
+		// characters are escaped in that case, since this was done by Gson#toJson
+		// before
+		jsonWriter.setSerializeNulls(!removeNull);
+		jsonWriter.setHtmlSafe(removeNull);
+		writeObject(jsonWriter, obj);
+		jsonWriter.flush();
+	}
+
+	/**
+	 * Serializes an arbitrary object and writes it UTF-8 encoded directly to the
+	 * stream. The stream is flushed, but not closed.
+	 * 
+	 * @param obj
+	 * @param outputStream
+	 * @throws IOException
+	 */
+	public void serialize(Object obj, OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		serialize(obj, writer);
+		writer.flush();
+	}
+
+	/**
+	 * Writes an arbitrary object
+	 * 
+	 * @param writer
+	 * @param obj
+	 * @throws IOException
 	 */
 	@SuppressWarnings("unchecked")
-	private JsonElement serializeObject(Object obj) {
+	private void writeObject(JsonWriter writer, Object obj) throws IOException {
 		if (obj == null) {
-			return JsonNull.INSTANCE;
+			writer.nullValue();
 		} else if (obj.getClass().isPrimitive() || isWrapperType(obj.getClass()) || obj instanceof String || obj instanceof Number) {
-			return serializePrimitive(obj);
+			writePrimitive(writer, obj);
 		} else if (obj instanceof Map<?, ?>) {
-			return serializeMap((Map<String, Object>) obj);
+			writeMap(writer, (Map<String, Object>) obj);
 		} else if (obj instanceof Collection<?>) {
-			return serializeCollection((Collection<Object>) obj);
+			writeCollection(writer, (Collection<Object>) obj);
 		} else if (obj.getClass().isArray()) {
-			return serializeArray(obj);
+			writeArray(writer, obj);
 		} else if (isFunction(obj)) {
-			return serializeFunction(obj);
+			writeFunction(writer, obj);
+		} else {
+			throw new RuntimeException("Unknown element!");
 		}
-		throw new RuntimeException("Unknown element!");
 	}
 
 	/**
-	 * Deserializes a JsonElement to an object
+	 * Reads the next JSON value to an object
 	 * 
-	 * @param elem
+	 * @param reader
 	 * @return
+	 * @throws IOException
 	 */
-	private Object deserializeJsonElement(JsonElement elem) {
-		if (elem.isJsonPrimitive()) {
-			return deserializeJsonPrimitive(elem.getAsJsonPrimitive());
-		} else if (elem.isJsonObject()) {
-			return deserializeJsonObject(elem.getAsJsonObject());
-		} else if (elem.isJsonArray()) {
-			return deserializeJsonArray(elem.getAsJsonArray());
+	private Object readValue(JsonReader reader) throws IOException {
+		switch (reader.peek()) {
+		case BEGIN_OBJECT:
+			return readObject(reader);
+		case BEGIN_ARRAY:
+			return readArray(reader);
+		case NUMBER:
+			return readNumber(reader.nextString());
+		case BOOLEAN:
+			return reader.nextBoolean();
+		case STRING:
+			return reader.nextString();
+		case NULL:
+			reader.nextNull();
+			return null;
+		default:
+			throw new JsonSyntaxException("Unexpected JSON token " + reader.peek() + " at " + reader.getPath());
 		}
-		return null;
 	}
 
 	/**
@@ -197,121 +294,115 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Deserializes a JsonPrimitive to either string, int, double or boolean
+	 * Converts a JSON number literal to either int, long, BigInteger or double
 	 * 
-	 * @param primitive
+	 * @param number
 	 * @return
 	 */
-	private Object deserializeJsonPrimitive(JsonPrimitive primitive) {
-		if (primitive.isNumber()) {
-			if (primitive.getAsString().contains(".")) {
-				return primitive.getAsDouble();
+	private Object readNumber(String number) {
+		if (number.contains(".")) {
+			return Double.parseDouble(number);
+		} else {
+			// Get value as Big integer
+			BigInteger tmp = new BigInteger(number);
+			if (BigInteger.valueOf(Integer.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Integer.MIN_VALUE).compareTo(tmp) <= 0) {
+				// convert to int
+				return tmp.intValue();
+			} else if (BigInteger.valueOf(Long.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Long.MIN_VALUE).compareTo(tmp) <= 0) {
+				// convert to long
+				return tmp.longValue();
 			} else {
-				// Get value as Big integer
-				BigInteger tmp = primitive.getAsBigInteger();
-				if (BigInteger.valueOf(Integer.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Integer.MIN_VALUE).compareTo(tmp) <= 0) {
-					// convert to int
-					return primitive.getAsInt();
-				} else if (BigInteger.valueOf(Long.MAX_VALUE).compareTo(tmp) >= 0 && BigInteger.valueOf(Long.MIN_VALUE).compareTo(tmp) <= 0) {
-					// convert to long
-					return primitive.getAsLong();
-				} else {
-					// for types NonNegativeInteger, NonPositiveInteger, NegativeInteger,
-					// PositiveInteger
-					return tmp;
-				}
+				// for types NonNegativeInteger, NonPositiveInteger, NegativeInteger,
+				// PositiveInteger
+				return tmp;
 			}
-		} else if (primitive.isBoolean()) {
-			return primitive.getAsBoolean();
-		} else {
-			return primitive.getAsString();
 		}
 	}
 
 	/**
-	 * Serializes either string, number or boolean to a JsonPrimitive
+	 * Writes either string, number, boolean or character
 	 * 
+	 * @param writer
 	 * @param primitive
-	 * @return
+	 * @throws IOException
 	 */
-	private JsonPrimitive serializePrimitive(Object primitive) {
+	private void writePrimitive(JsonWriter writer, Object primitive) throws IOException {
 		if (primitive instanceof Number) {
-			return new JsonPrimitive((Number) primitive);
+			writer.value((Number) primitive);
 		} else if (primitive instanceof Boolean) {
-			return new JsonPrimitive((Boolean) primitive);
+			writer.value((Boolean) primitive);
 		} else {
-			return new JsonPrimitive((String) primitive);
+			writer.value(primitive.toString());
 		}
 	}
 
 	/**
-	 * Deserializes a JsonObject to either a map, an operations or an arbitrary
+	 * Reads a JSON object to either a map, an operations or an arbitrary
 	 * serializable object
 	 * 
-	 * @param map
+	 * @param reader
 	 * @return
+	 * @throws IOException
 	 */
-	private Object deserializeJsonObject(JsonObject map) {
-		if (map.has(BASYXFUNCTIONTYPE)) {
-			String functionType = map.get(BASYXFUNCTIONTYPE).getAsString();
+	private Object readObject(JsonReader reader) throws IOException {
+		Map<String, Object> map = toolsFactory.createMap();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			map.put(reader.nextName(), readValue(reader));
+		}
+		reader.endObject();
+
+		if (map.containsKey(BASYXFUNCTIONTYPE)) {
+			String functionType = String.valueOf(map.get(BASYXFUNCTIONTYPE));
 			if (functionType.equals(OPERATION)) {
 				return BASYXINVOCABLE;
 			} else if (functionType.equals(LAMBDA)) {
-				return deserializeObjectFromString(map.get(BASYXFUNCTIONVALUE).getAsString());
+				return deserializeObjectFromString(String.valueOf(map.get(BASYXFUNCTIONVALUE)));
 			} else {
 				throw new RuntimeException("Unknown function type " + functionType + "!");
 			}
 		} else {
-			return deserializeObject(map);
+			return map;
 		}
 	}
 
 	/**
-	 * Deserializes a JsonObject to a map
+	 * Writes a Map as JSON object
 	 * 
+	 * @param writer
 	 * @param map
-	 * @return
+	 * @throws IOException
 	 */
-	private Map<String, Object> deserializeObject(JsonObject map) {
-		Map<String, Object> ret = toolsFactory.createMap();
-		for (String k : map.keySet()) {
-			ret.put(k, deserializeJsonElement(map.get(k)));
-		}
-		return ret;
-	}
-
-	/**
-	 * Serializes a Map to a JsonObject
-	 * 
-	 * @param map
-	 * @return
-	 */
-	private JsonObject serializeMap(Map<String, Object> map) {
-		JsonObject obj = new JsonObject();
+	private void writeMap(JsonWriter writer, Map<String, Object> map) throws IOException {
+		writer.beginObject();
 		for (Entry<String, Object> entry : map.entrySet()) {
 			Object value = entry.getValue();
 			// Remove empty list if removeEmpty flag is on
 			if (!removeEmpty || !(value instanceof Collection<?> && ((Collection<?>) value).isEmpty())) {
-				obj.add(entry.getKey(), serializeObject(value));
+				writer.name(entry.getKey());
+				writeObject(writer, value);
 			}
 		}
-		return obj;
+		writer.endObject();
 	}
 
 	/**
-	 * Deserializes a JsonArray to a Collection<br>
+	 * Reads a JSON array to a Collection<br>
 	 * Remark: internally, a List will be used for deserialization & it is assumed,
 	 * that the order in the json equals the correct intended order for the list. =>
 	 * The ordering will be preserved in the returned collection
 	 * 
-	 * @param array
+	 * @param reader
 	 * @return
+	 * @throws IOException
 	 */
-	private Collection<Object> deserializeJsonArray(JsonArray array) {
+	private Collection<Object> readArray(JsonReader reader) throws IOException {
 		Collection<Object> list = toolsFactory.createCollection();
-		for (JsonElement element : array) {
-			list.add(deserializeJsonElement(element));
+		reader.beginArray();
+		while (reader.hasNext()) {
+			list.add(readValue(reader));
 		}
+		reader.endArray();
 		return list;
 	}
 
@@ -326,133 +417,54 @@ public class GSONTools implements Serializer {
 	}
 
 	/**
-	 * Serializes a list to a JsonArray and adds index where appropriate
+	 * Writes a collection as JSON array
 	 * 
-	 * @param list
-	 * @return
+	 * @param writer
+	 * @param collection
+	 * @throws IOException
 	 */
-	private JsonArray serializeCollection(Collection<Object> collection) {
-		JsonArray array = new JsonArray();
-		collection.stream().map(this::serializeObject).forEach(array::add);
-		return array;
+	private void writeCollection(JsonWriter writer, Collection<Object> collection) throws IOException {
+		writer.beginArray();
+		for (Object element : collection) {
+			writeObject(writer, element);
+		}
+		writer.endArray();
 	}
 
 	/**
-	 * Serializes an array to a JsonArray and adds index where appropriate
+	 * Writes an array of objects or primitives as JSON array
 	 * 
+	 * @param writer
 	 * @param array
-	 * @return
+	 * @throws IOException
 	 */
-	private JsonArray serializeArray(Object array) {
-		if (!isPrimitiveArray(array)) {
-			List<Object> arrayList = Arrays.asList(array);
-			return serializeCollection(arrayList);
-		}
-		return serializePrimitiveJsonArray(array);
-	}
-
-	private <T> JsonArray serializePrimitiveJsonArray(Object array) {
-		if (array instanceof boolean[]) {
-			return serializeBooleanArray((boolean[]) array);
-		}
-		if (array instanceof byte[]) {
-			return serializeBytenArray((byte[]) array);
-		}
-		if (array instanceof char[]) {
-			return serializeCharArray((char[]) array);
-		}
-		if (array instanceof short[]) {
-			return serializeShortnArray((short[]) array);
-		}
-		if (array instanceof int[]) {
-			return serializeIntArray((int[]) array);
-		}
-		if (array instanceof long[]) {
-			return serializeLongArray((long[]) array);
-		}
-		if (array instanceof float[]) {
-			return serializeFloatArray((float[]) array);
-		}
-		if (array instanceof double[]) {
-			return serializeDoubleArray((double[]) array);
+	private void writeArray(JsonWriter writer, Object array) throws IOException {
+		writer.beginArray();
+		int length = Array.getLength(array);
+		for (int i = 0; i < length; i++) {
+			writeObject(writer, Array.get(array, i));
 		}
-		throw new RuntimeException("Array is not primitive!");
-	}
-
-	private JsonArray serializeBooleanArray(boolean[] array) {
-		JsonArray jsonArray = new JsonArray();
-		for (int i = 0; i < array.length; i++) {
-			jsonArray.add(array[i]);
-		}
-		return jsonArray;
-	}
-
-	private JsonArray serializeBytenArray(byte[] array) {
-		JsonArray jsonArray = new JsonArray();
-		for (int i = 0; i < array.length; i++) {
-			jsonArray.add(array[i]);
-		}
-		return jsonArray;
-	}
-
-	private JsonArray serializeCharArray(char[] array) {
-		JsonArray jsonArray = new JsonArray();
-		for (int i = 0; i < array.length; i++) {
-			jsonArray.add(array[i]);
-		}
-		return jsonArray;
-	}
-
-	private JsonArray serializeShortnArray(short[] array) {
-		JsonArray jsonArray = new JsonArray();
-		for (int i = 0; i < array.length; i++) {
-			jsonArray.add(array[i]);
-		}
-		return jsonArray;
-	}
-
-	private JsonArray serializeIntArray(int[] array) {
-		JsonArray jsonArray = new JsonArray();
-		Arrays.stream(array).forEachOrdered(jsonArray::add);
-		return jsonArray;
-	}
-
-	private JsonArray serializeLongArray(long[] array) {
-		JsonArray jsonArray = new JsonArray();
-		Arrays.stream(array).forEachOrdered(jsonArray::add);
-		return jsonArray;
-	}
-
-	private JsonArray serializeFloatArray(float[] array) {
-		JsonArray jsonArray = new JsonArray();
-		for (int i = 0; i < array.length; i++) {
-			jsonArray.add(array[i]);
-		}
-		return jsonArray;
-	}
-
-	private JsonArray serializeDoubleArray(double[] array) {
-		JsonArray jsonArray = new JsonArray();
-		Arrays.stream(array).forEachOrdered(jsonArray::add);
-		return jsonArray;
-	}
-
-	private boolean isPrimitiveArray(Object array) {
-		return array.getClass().getComponentType().isPrimitive();
+		writer.endArray();
 	}
 
 	/**
-	 * Serializes a function if possible
+	 * Writes a function if possible
 	 * 
+	 * @param writer
 	 * @param function
-	 * @return
+	 * @throws IOException
 	 */
-	private JsonObject serializeFunction(Object function) {
+	private void writeFunction(JsonWriter writer, Object function) throws IOException {
+		writer.beginObject();
 		if (function instanceof Serializable) {
-			return serializeSerializableOperation((Serializable) function);
+			// Serializable functions will be serialized.
+			writer.name(BASYXFUNCTIONTYPE).value(LAMBDA);
+			writer.name(BASYXFUNCTIONVALUE).value(serializeObjectToString((Serializable) function));
 		} else {
-			return serializeNotSerializableOperation(function);
+			// Not serializable functions will be not be serialized.
+			writer.name(BASYXFUNCTIONTYPE).value(OPERATION);
 		}
+		writer.endObject();
 	}
 
 	/**
@@ -486,32 +498,4 @@ public class GSONTools implements Serializer {
 		byte[] data = outStream.toByteArray();
 		return Base64.getEncoder().encodeToString(data);
 	}
-
-	/**
-	 * Serialize an operation descriptor
-	 */
-	private JsonObject serializeSerializableOperation(Serializable value) {
-		JsonObject target = new JsonObject();
-		// Serializable functions will be serialized.
-		target.add(BASYXFUNCTIONTYPE, new JsonPrimitive(LAMBDA));
-
-		String serialized = serializeObjectToString(value);
-		target.add(BASYXFUNCTIONVALUE, new JsonPrimitive(serialized));
-
-		return target;
-	}
-
-	/**
-	 * Serializes a NonSerializableOperation to a String indicating that fact
-	 * 
-	 * @param function
-	 * @return
-	 */
-	private JsonObject serializeNotSerializableOperation(Object function) {
-		JsonObject target = new JsonObject();
-		// Not serializable functions will be not be serialized.
-		target.add(BASYXFUNCTIONTYPE, new JsonPrimitive(OPERATION));
-
-		return target;
-	}
 }
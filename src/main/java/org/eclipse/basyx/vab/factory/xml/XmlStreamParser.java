@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.factory.xml;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A StAX based counterpart of {@link XmlParser}. It creates the same nested
+ * {@literal Map<String, Object>} structure, but reads the XML from a stream and
+ * allows converting single elements of a document. Thus, a large document
+ * can be processed element by element without holding it in memory.
+ * 
+ * @author agent
+ *
+ */
+public class XmlStreamParser {
+	private static final String TEXT = "#text";
+	private static final String XMLNS = "xmlns";
+
+	/**
+	 * Creates a factory for readers that coalesce text and do not resolve DTDs or
+	 * external entities
+	 * 
+	 * @return
+	 */
+	public static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	/**
+	 * Parses the complete XML document. The result is equal to the one of
+	 * {@link XmlParser#buildXmlMap(String)}.
+	 * 
+	 * @param xmlStream
+	 * @return
+	 * @throws XMLStreamException
+	 */
+	public static Map<String, Object> buildXmlMap(InputStream xmlStream) throws XMLStreamException {
+		XMLStreamReader reader = createInputFactory().createXMLStreamReader(xmlStream);
+		try {
+			nextStartElement(reader);
+
+			Map<String, Object> retMap = new LinkedHashMap<>();
+			String rootName = getQualifiedName(reader);
+			Map<String, String> rootAttributes = getAttributes(reader);
+			retMap.put(rootName, readContent(reader));
+			// As in XmlParser, the attributes of the root are added next to the root
+			retMap.putAll(rootAttributes);
+			return retMap;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Moves the reader to the next start element
+	 * 
+	 * @param reader
+	 * @return true, if a start element has been found. False, if the end of the
+	 *         enclosing element or of the document has been reached before
+	 * @throws XMLStreamException
+	 */
+	public static boolean nextStartElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the name of the current element including its prefix, e.g.
+	 * "aas:submodel"
+	 * 
+	 * @param reader
+	 * @return
+	 */
+	public static String getQualifiedName(XMLStreamReader reader) {
+		String prefix = reader.getPrefix();
+		if (prefix == null || prefix.isEmpty()) {
+			return reader.getLocalName();
+		}
+		return prefix + ":" + reader.getLocalName();
+	}
+
+	/**
+	 * Reads the element the reader is positioned at, including its attributes.
+	 * Afterwards, the reader is positioned at the end of the element.
+	 * 
+	 * @param reader
+	 *            a reader positioned at a start element
+	 * @return the value {@link XmlParser} creates for this element, i.e. a Map or
+	 *         a String
+	 * @throws XMLStreamException
+	 */
+	@SuppressWarnings("unchecked")
+	public static Object readElement(XMLStreamReader reader) throws XMLStreamException {
+		Map<String, String> attributes = getAttributes(reader);
+		Object content = readContent(reader);
+		if (attributes.isEmpty()) {
+			return content;
+		}
+
+		Map<String, Object> ret;
+		if (content instanceof Map<?, ?>) {
+			ret = (Map<String, Object>) content;
+		} else {
+			ret = new LinkedHashMap<>();
+			ret.put(TEXT, content);
+		}
+		ret.putAll(attributes);
+		return ret;
+	}
+
+	/**
+	 * Skips the element the reader is positioned at
+	 * 
+	 * @param reader
+	 *            a reader positioned at a start element
+	 * @throws XMLStreamException
+	 */
+	public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Reads the children of the current element. Text is only returned, if the
+	 * element contains text that is not whitespace. Otherwise, the child
+	 * elements are returned as Map.
+	 */
+	private static Object readContent(XMLStreamReader reader) throws XMLStreamException {
+		Map<String, Object> children = new LinkedHashMap<>();
+		StringBuilder text = null;
+		while (true) {
+			int event = reader.next();
+			switch (event) {
+			case XMLStreamConstants.START_ELEMENT:
+				String name = getQualifiedName(reader);
+				addChild(children, name, readElement(reader));
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+				if (!reader.isWhiteSpace()) {
+					if (text == null) {
+						text = new StringBuilder();
+					}
+					text.append(reader.getText());
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if (text != null) {
+					return text.toString();
+				}
+				return children;
+			default:
+				break;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void addChild(Map<String, Object> map, String name, Object child) {
+		Object existing = map.get(name);
+		if (existing == null && !map.containsKey(name)) {
+			map.put(name, child);
+		} else if (existing instanceof List<?>) {
+			((List<Object>) existing).add(child);
+		} else {
+			List<Object> list = new ArrayList<>();
+			list.add(existing);
+			list.add(child);
+			map.put(name, list);
+		}
+	}
+
+	/**
+	 * Returns the attributes of the current element including namespace
+	 * declarations, as they are attributes on DOM level
+	 */
+	private static Map<String, String> getAttributes(XMLStreamReader reader) {
+		Map<String, String> attributes = new LinkedHashMap<>();
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			String prefix = reader.getNamespacePrefix(i);
+			String name = prefix == null || prefix.isEmpty() ? XMLNS : XMLNS + ":" + prefix;
+			attributes.put(name, reader.getNamespaceURI(i).trim());
+		}
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String prefix = reader.getAttributePrefix(i);
+			String localName = reader.getAttributeLocalName(i);
+			String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+			attributes.put(name, reader.getAttributeValue(i).trim());
+		}
+		return attributes;
+	}
+}
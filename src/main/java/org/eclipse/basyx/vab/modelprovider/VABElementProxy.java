@@ -211,4 +211,22 @@ public class VABElementProxy implements IModelProvider {
 	public VABElementProxy getDeepProxy(String path) {
 		return new VABElementProxy(constructPath(path), provider);
 	}
+
+	/**
+	 * Returns the address "within" the provider this proxy is pointing to
+	 * 
+	 * @return
+	 */
+	public String getAddress() {
+		return addr;
+	}
+
+	/**
+	 * Returns the provider this proxy is based on
+	 * 
+	 * @return
+	 */
+	public IModelProvider getProvider() {
+		return provider;
+	}
 }
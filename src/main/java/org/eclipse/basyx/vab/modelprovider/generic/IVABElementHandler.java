@@ -24,6 +24,8 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider.generic;
 
+import java.util.Collection;
+
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 
 /**
@@ -43,6 +45,12 @@ public interface IVABElementHandler {
 
 	public Object getElementProperty(Object element, String propertyName);
 
+	/**
+	 * Returns the names of the properties of an element without processing their
+	 * values
+	 */
+	public Collection<String> getPropertyNames(Object element);
+
 	public void setModelPropertyValue(Object element, String propertyName, Object newValue);
 
 	public void createValue(Object element, Object newValue);
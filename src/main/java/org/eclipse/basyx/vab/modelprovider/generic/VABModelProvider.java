@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider.generic;
 
+import java.util.Collection;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -62,6 +63,19 @@ public class VABModelProvider implements IModelProvider {
 		return handler.postprocessObject(element);
 	}
 
+	/**
+	 * Returns the names of the properties of the map at the given path. In
+	 * contrast to {@link #getValue(String)}, the values of the properties are
+	 * neither retrieved nor copied.
+	 * 
+	 * @param path
+	 * @return
+	 */
+	public Collection<String> getPropertyNames(String path) {
+		Object element = getTargetElement(path);
+		return handler.getPropertyNames(element);
+	}
+
 	@Override
 	public void setValue(String path, Object newValue) {
 		VABPathTools.checkPathForNull(path);
@@ -61,6 +61,11 @@ public class VABLambdaHandler extends VABMapHandler {
 		return super.getElementProperty(resolveSingle(element), propertyName);
 	}
 
+	@Override
+	public Collection<String> getPropertyNames(Object element) {
+		return super.getPropertyNames(resolveSingle(element));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void setModelPropertyValue(Object element, String propertyName, Object newValue) {
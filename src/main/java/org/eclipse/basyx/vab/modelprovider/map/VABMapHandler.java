@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.modelprovider.map;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 
@@ -57,6 +58,16 @@ public class VABMapHandler implements IVABElementHandler {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public Collection<String> getPropertyNames(Object element) {
+		if (element instanceof Map<?, ?>) {
+			return new ArrayList<>(((Map<String, ?>) element).keySet());
+		} else {
+			throw new MalformedRequestException("Could not get the properties of a non-map element.");
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void setModelPropertyValue(Object element, String propertyName, Object newValue) throws ProviderException {
@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retrieves elements from several remote endpoints concurrently, so that a list
+ * of remote elements costs about one network latency instead of one per
+ * element. <br>
+ * Retrievals run on a bounded executor. They are grouped by the server of their
+ * endpoint and submitted alternately per server, so that a server with many
+ * elements does not occupy the whole executor before the other servers are
+ * contacted. Each retrieval has its own timeout, starting when it is executed.
+ * Additionally, the whole call is limited by an overall timeout, so that
+ * retrievals still queued behind slow ones do not delay it indefinitely. Failed
+ * and timed out retrievals are reported separately and do not affect the other
+ * results.
+ * 
+ * @author agent
+ *
+ */
+public class ConcurrentRemoteRetriever {
+	private static Logger logger = LoggerFactory.getLogger(ConcurrentRemoteRetriever.class);
+
+	public static final int DEFAULT_THREADS = 16;
+	public static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+	public static final long DEFAULT_OVERALL_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+	private static volatile ConcurrentRemoteRetriever defaultRetriever;
+
+	private final ExecutorService executor;
+	private volatile long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT);
+	private volatile long overallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_OVERALL_TIMEOUT);
+
+	// Threads of retrievers execute nested retrievals directly to avoid starving
+	// the executor
+	private static final ThreadLocal<Boolean> isRetrieverThread = ThreadLocal.withInitial(() -> false);
+
+	/**
+	 * Result of a concurrent retrieval
+	 *
+	 * @param <K>
+	 *            the type of the retrieved keys
+	 * @param <V>
+	 *            the type of the retrieved values
+	 */
+	public static class Result<K, V> {
+		private final Map<K, V> values = new LinkedHashMap<>();
+		private final Map<K, Exception> failures = new LinkedHashMap<>();
+
+		/**
+		 * Returns the successfully retrieved values in the order of the requested
+		 * keys
+		 * 
+		 * @return
+		 */
+		public Map<K, V> getValues() {
+			return values;
+		}
+
+		/**
+		 * Returns the exceptions of the failed retrievals. Timed out retrievals are
+		 * reported with a {@link TimeoutException}.
+		 * 
+		 * @return
+		 */
+		public Map<K, Exception> getFailures() {
+			return failures;
+		}
+
+		/**
+		 * Returns true, if all retrievals were successful
+		 * 
+		 * @return
+		 */
+		public boolean isComplete() {
+			return failures.isEmpty();
+		}
+	}
+
+	/**
+	 * Creates a retriever with {@link #DEFAULT_THREADS} threads
+	 */
+	public ConcurrentRemoteRetriever() {
+		this(DEFAULT_THREADS);
+	}
+
+	/**
+	 * Creates a retriever with the given number of threads
+	 * 
+	 * @param threads
+	 */
+	public ConcurrentRemoteRetriever(int threads) {
+		this(new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new RetrieverThreadFactory()));
+		((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Creates a retriever executing the retrievals on the given executor. Nested
+	 * retrievals, i.e. retrievals started by a retrieval, are only executed
+	 * directly on the threads of retrievers created with their own executor.
+	 * 
+	 * @param executor
+	 */
+	public ConcurrentRemoteRetriever(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the retriever shared by all components that are not configured with
+	 * their own retriever
+	 * 
+	 * @return
+	 */
+	public static ConcurrentRemoteRetriever getDefault() {
+		ConcurrentRemoteRetriever retriever = defaultRetriever;
+		if (retriever == null) {
+			synchronized (ConcurrentRemoteRetriever.class) {
+				if (defaultRetriever == null) {
+					defaultRetriever = new ConcurrentRemoteRetriever();
+				}
+				retriever = defaultRetriever;
+			}
+		}
+		return retriever;
+	}
+
+	/**
+	 * Sets the timeout of each single retrieval
+	 * 
+	 * @param timeout
+	 *            timeout in milliseconds
+	 */
+	public void setTimeout(long timeout) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Invalid timeout: " + timeout);
+		}
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+	}
+
+	public long getTimeout() {
+		return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+	}
+
+	/**
+	 * Sets the timeout of a whole {@link #retrieve(Collection, Function, Function)}
+	 * call. Retrievals that have not finished when it elapses are cancelled and
+	 * reported as timed out, even if they are still queued.
+	 * 
+	 * @param timeout
+	 *            timeout in milliseconds
+	 */
+	public void setOverallTimeout(long timeout) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Invalid timeout: " + timeout);
+		}
+		this.overallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+	}
+
+	public long getOverallTimeout() {
+		return TimeUnit.NANOSECONDS.toMillis(overallTimeoutNanos);
+	}
+
+	/**
+	 * Retrieves a value for each key concurrently
+	 * 
+	 * @param keys
+	 *            the keys to retrieve, e.g. endpoints or descriptors
+	 * @param endpointOf
+	 *            returns the endpoint of a key, which is used to group the
+	 *            retrievals by server
+	 * @param retrieval
+	 *            retrieves the value of a key
+	 * @return the retrieved values and the failures
+	 */
+	public <K, V> Result<K, V> retrieve(Collection<K> keys, Function<K, String> endpointOf, Function<K, V> retrieval) {
+		Result<K, V> result = new Result<>();
+		if (keys.size() <= 1 || isRetrieverThread.get()) {
+			for (K key : keys) {
+				retrieveDirectly(key, retrieval, result);
+			}
+			return result;
+		}
+
+		long deadline = System.nanoTime() + overallTimeoutNanos;
+		Map<K, Retrieval<V>> retrievals = new LinkedHashMap<>();
+		for (K key : keys) {
+			retrievals.put(key, null);
+		}
+
+		for (K key : interleaveByServer(keys, endpointOf)) {
+			Retrieval<V> r = new Retrieval<>();
+			try {
+				r.future = executor.submit(() -> r.execute(key, retrieval));
+			} catch (RejectedExecutionException e) {
+				r.future = null;
+			}
+			retrievals.put(key, r);
+		}
+
+		for (Map.Entry<K, Retrieval<V>> entry : retrievals.entrySet()) {
+			K key = entry.getKey();
+			Retrieval<V> r = entry.getValue();
+			if (r.future == null) {
+				// The executor is saturated or shut down, retrieve in the calling thread
+				retrieveDirectly(key, retrieval, result);
+				continue;
+			}
+
+			try {
+				result.values.put(key, r.await(timeoutNanos, deadline));
+			} catch (TimeoutException e) {
+				r.future.cancel(true);
+				logger.warn("Retrieval of " + describe(key, endpointOf) + " timed out");
+				result.failures.put(key, e);
+			} catch (ExecutionException e) {
+				Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+				logger.warn("Retrieval of " + describe(key, endpointOf) + " failed: " + cause.getMessage());
+				logger.debug("Retrieval failure", cause);
+				result.failures.put(key, cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancelAll(retrievals.values());
+				throw new ProviderException("Interrupted while retrieving remote elements");
+			}
+		}
+		return result;
+	}
+
+	private <K, V> void retrieveDirectly(K key, Function<K, V> retrieval, Result<K, V> result) {
+		try {
+			result.values.put(key, retrieval.apply(key));
+		} catch (RuntimeException e) {
+			logger.warn("Retrieval of " + key + " failed: " + e.getMessage());
+			logger.debug("Retrieval failure", e);
+			result.failures.put(key, e);
+		}
+	}
+
+	private <K> String describe(K key, Function<K, String> endpointOf) {
+		try {
+			return endpointOf.apply(key);
+		} catch (RuntimeException e) {
+			return String.valueOf(key);
+		}
+	}
+
+	private void cancelAll(Collection<? extends Retrieval<?>> retrievals) {
+		for (Retrieval<?> r : retrievals) {
+			if (r != null && r.future != null) {
+				r.future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Orders the keys, so that consecutive keys belong to different servers where
+	 * possible
+	 */
+	private <K> List<K> interleaveByServer(Collection<K> keys, Function<K, String> endpointOf) {
+		Map<String, Deque<K>> groups = new LinkedHashMap<>();
+		for (K key : keys) {
+			groups.computeIfAbsent(getServer(describe(key, endpointOf)), s -> new ArrayDeque<>()).add(key);
+		}
+		if (groups.size() == 1) {
+			return new ArrayList<>(keys);
+		}
+
+		List<K> ordered = new ArrayList<>(keys.size());
+		while (!groups.isEmpty()) {
+			Iterator<Deque<K>> it = groups.values().iterator();
+			while (it.hasNext()) {
+				Deque<K> group = it.next();
+				ordered.add(group.poll());
+				if (group.isEmpty()) {
+					it.remove();
+				}
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Returns the server part of an endpoint, e.g. http://localhost:4001 for
+	 * http://localhost:4001/aasServer/shells/a/aas
+	 * 
+	 * @param endpoint
+	 * @return
+	 */
+	public static String getServer(String endpoint) {
+		if (endpoint == null) {
+			return "";
+		}
+		int schemeEnd = endpoint.indexOf("//");
+		int start = schemeEnd < 0 ? 0 : schemeEnd + 2;
+		int end = endpoint.indexOf('/', start);
+		return end < 0 ? endpoint : endpoint.substring(0, end);
+	}
+
+	private static class Retrieval<V> {
+		private Future<V> future;
+		// Time the retrieval started executing or 0, if it is still queued
+		private volatile long started;
+
+		private <K> V execute(K key, Function<K, V> retrieval) {
+			started = System.nanoTime();
+			return retrieval.apply(key);
+		}
+
+		/**
+		 * Waits for the result until the retrieval's own timeout, measured from the
+		 * start of its execution, or the overall deadline has elapsed
+		 */
+		private V await(long timeoutNanos, long deadline) throws InterruptedException, ExecutionException, TimeoutException {
+			while (true) {
+				long startedAt = started;
+				long now = System.nanoTime();
+				long wait = startedAt == 0 ? timeoutNanos : startedAt + timeoutNanos - now;
+				boolean limitedByDeadline = deadline - now <= wait;
+				wait = Math.min(wait, deadline - now);
+				if (wait <= 0 && !future.isDone()) {
+					throw new TimeoutException();
+				}
+
+				try {
+					return future.get(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					// Still queued or the timeout is measured from the start of the execution,
+					// which might have happened after waiting began
+					if (startedAt != 0 || limitedByDeadline) {
+						throw e;
+					}
+				}
+			}
+		}
+	}
+
+	private static class RetrieverThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(() -> {
+				isRetrieverThread.set(true);
+				r.run();
+			}, ConcurrentRemoteRetriever.class.getName() + " " + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
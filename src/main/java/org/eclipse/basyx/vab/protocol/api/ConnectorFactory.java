@@ -24,27 +24,89 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.api;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 
 /**
- * ConnectorProvider that caches connectors for addresses to save resources
+ * ConnectorProvider that caches connectors for addresses to save resources.
+ * <br>
+ * The cache is thread-safe and bounded. Connectors that have not been requested
+ * for the idle timeout are evicted, and if the maximum number of connectors is
+ * exceeded, the least recently requested connectors are evicted. Evicted
+ * connectors stay usable for clients still referencing them.
  * 
  * @author schnicke
  *
  */
 public abstract class ConnectorFactory implements IConnectorFactory {
+	public static final int DEFAULT_MAX_CACHED_CONNECTORS = 1000;
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
 
-	private Map<String, IModelProvider> providerMap = new LinkedHashMap<>();
+	private Map<String, CachedProvider> providerMap = new ConcurrentHashMap<>();
+
+	private volatile int maxCachedConnectors = DEFAULT_MAX_CACHED_CONNECTORS;
+	private volatile long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT_MILLIS);
+
+	// Time of the last sweep for idle connectors
+	private AtomicLong lastSweep = new AtomicLong(System.nanoTime());
 
 	@Override
 	public IModelProvider getConnector(String addr) {
-		if (!providerMap.containsKey(addr)) {
-			providerMap.put(addr, createProvider(addr));
+		long now = System.nanoTime();
+		CachedProvider cached = providerMap.computeIfAbsent(addr, key -> new CachedProvider(createProvider(key), now));
+		cached.lastAccess = now;
+
+		evictIfNecessary(now);
+		return cached.provider;
+	}
+
+	/**
+	 * Sets the maximum number of cached connectors. If more connectors are
+	 * created, the least recently requested ones are evicted.
+	 * 
+	 * @param maxCachedConnectors
+	 */
+	public void setMaxCachedConnectors(int maxCachedConnectors) {
+		if (maxCachedConnectors < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of cached connectors: " + maxCachedConnectors);
+		}
+		this.maxCachedConnectors = maxCachedConnectors;
+	}
+
+	/**
+	 * Sets the time after which a connector that has not been requested is
+	 * evicted
+	 * 
+	 * @param idleTimeoutMillis
+	 *            the idle timeout. 0 disables caching
+	 */
+	public void setIdleTimeout(long idleTimeoutMillis) {
+		if (idleTimeoutMillis < 0) {
+			throw new IllegalArgumentException("Invalid idle timeout: " + idleTimeoutMillis);
+		}
+		this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+	}
+
+	/**
+	 * Returns the number of currently cached connectors
+	 * 
+	 * @return
+	 */
+	public int getCachedConnectorCount() {
+		return providerMap.size();
+	}
+
+	/**
+	 * Removes all cached connectors
+	 */
+	public void clearCache() {
+		for (Map.Entry<String, CachedProvider> entry : providerMap.entrySet()) {
+			evict(entry);
 		}
-		return providerMap.get(addr);
 	}
 
 	/**
@@ -54,4 +116,62 @@ public abstract class ConnectorFactory implements IConnectorFactory {
 	 * @return
 	 */
 	protected abstract IModelProvider createProvider(String addr);
+
+	/**
+	 * Called after the provider created for the given address has been removed
+	 * from the cache. Subclasses can release resources that are no longer needed.
+	 * 
+	 * @param addr
+	 * @param provider
+	 */
+	protected void onEvicted(String addr, IModelProvider provider) {
+	}
+
+	private void evictIfNecessary(long now) {
+		// Idle connectors are removed at most once per idle timeout, so that the
+		// sweep is amortized over all requests
+		long last = lastSweep.get();
+		if (now - last >= idleTimeoutNanos && lastSweep.compareAndSet(last, now)) {
+			for (Map.Entry<String, CachedProvider> entry : providerMap.entrySet()) {
+				if (now - entry.getValue().lastAccess >= idleTimeoutNanos) {
+					evict(entry);
+				}
+			}
+		}
+
+		if (providerMap.size() > maxCachedConnectors) {
+			evictLeastRecentlyUsed();
+		}
+	}
+
+	private synchronized void evictLeastRecentlyUsed() {
+		while (providerMap.size() > maxCachedConnectors) {
+			Map.Entry<String, CachedProvider> oldest = null;
+			for (Map.Entry<String, CachedProvider> entry : providerMap.entrySet()) {
+				if (oldest == null || entry.getValue().lastAccess - oldest.getValue().lastAccess < 0) {
+					oldest = entry;
+				}
+			}
+			if (oldest == null) {
+				return;
+			}
+			evict(oldest);
+		}
+	}
+
+	private void evict(Map.Entry<String, CachedProvider> entry) {
+		if (providerMap.remove(entry.getKey(), entry.getValue())) {
+			onEvicted(entry.getKey(), entry.getValue().provider);
+		}
+	}
+
+	private static class CachedProvider {
+		private final IModelProvider provider;
+		private volatile long lastAccess;
+
+		private CachedProvider(IModelProvider provider, long lastAccess) {
+			this.provider = provider;
+			this.lastAccess = lastAccess;
+		}
+	}
 }
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.api;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Connector interface for technology specific communication that additionally
+ * supports asynchronous requests. Multiple requests may be in flight at the
+ * same time. Returned futures complete with the response including meta
+ * information, or exceptionally if the request could not be transmitted.
+ * 
+ * @author agent
+ *
+ */
+public interface IAsyncBaSyxConnector extends IBaSyxConnector {
+
+	/**
+	 * Asynchronously get a sub model property value
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 */
+	public CompletableFuture<String> getValueAsync(String path);
+
+	/**
+	 * Asynchronously sets or overrides existing property, operation or event.
+	 * 
+	 * @param path
+	 *            Path to the requested value
+	 * @param newValue
+	 *            Updated value
+	 */
+	public CompletableFuture<String> setValueAsync(String path, String newValue);
+
+	/**
+	 * Asynchronously create a new property, operation, event submodel or aas
+	 * under the given path
+	 * 
+	 * @param path
+	 *            Path to the entity where the element should be created
+	 * @param newEntity
+	 *            new Element to be created on the server
+	 */
+	public CompletableFuture<String> createValueAsync(String path, String newEntity);
+
+	/**
+	 * Asynchronously delete a property, operation, event, submodel or aas under
+	 * the given path
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 */
+	public CompletableFuture<String> deleteValueAsync(String path);
+
+	/**
+	 * Asynchronously deletes an entry from a map or collection by the given key
+	 * 
+	 * @param path
+	 *            Path to the entity that should be deleted
+	 */
+	public CompletableFuture<String> deleteValueAsync(String path, String obj);
+
+	/**
+	 * Asynchronously invoke an operation
+	 *
+	 * @param path
+	 *            Path to operation
+	 * @param jsonObject
+	 *            Operation parameter
+	 */
+	public CompletableFuture<String> invokeOperationAsync(String path, String jsonObject);
+}
@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.basyx.connector;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -43,7 +44,7 @@ import org.slf4j.LoggerFactory;
  * @author kuhn, pschorn, schnicke
  *
  */
-public class BaSyxConnector implements IBaSyxConnector {
+public class BaSyxConnector implements IBaSyxConnector, Closeable {
 
 	private Logger logger = LoggerFactory.getLogger(BaSyxConnector.class);
 	private InetSocketAddress serverSocketAddress;
@@ -69,6 +70,16 @@ public class BaSyxConnector implements IBaSyxConnector {
 		}
 	}
 
+	/**
+	 * Closes the connection of a call that is still open, e.g. because it failed
+	 */
+	@Override
+	public synchronized void close() {
+		if (channelToProvider != null) {
+			closeConnection();
+		}
+	}
+
 	/**
 	 * Close connection
 	 */
@@ -251,7 +262,7 @@ public class BaSyxConnector implements IBaSyxConnector {
 	 * @param jsonObject
 	 * @return
 	 */
-	private byte[] createCall(String servicePath, byte callType) {
+	protected static byte[] createCall(String servicePath, byte callType) {
 		// Create call
 		byte[] call = new byte[4 + 1 + 4 + servicePath.length()];
 		// - Encode size does not include leading four bytes
@@ -274,7 +285,7 @@ public class BaSyxConnector implements IBaSyxConnector {
 	 * @param callType
 	 * @return
 	 */
-	private byte[] createCall(String servicePath, String newValue, byte callType) {
+	protected static byte[] createCall(String servicePath, String newValue, byte callType) {
 
 		// Create call
 		byte[] call = new byte[4 + 1 + 4 + servicePath.length() + 4 + newValue.length()];
@@ -24,20 +24,59 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.basyx.connector;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
 import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.eclipse.basyx.vab.protocol.api.IBaSyxConnector;
 
 /**
- * A connector provider for TCP/BaSyx protocol
+ * A connector provider for TCP/BaSyx protocol. <br>
+ * The sockets of a pipelined connector are closed when no address of its
+ * endpoint is cached anymore, and all of them are closed by {@link #close()}.
  * 
  * @author schnicke, kuhn
  *
  */
 public class BaSyxConnectorFactory extends ConnectorFactory {
 
+	/**
+	 * Number of pooled sockets per endpoint; 0 disables pipelining
+	 */
+	private int pipelinedConnections;
+
+	/**
+	 * Pipelined connectors shared by all addresses of the same endpoint
+	 */
+	private Map<String, PipelinedBaSyxConnector> pipelinedConnectors = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of cached addresses per endpoint of a pipelined connector
+	 */
+	private Map<String, Integer> cachedAddressCounts = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a factory that creates a {@link BaSyxConnector} for each address
+	 */
+	public BaSyxConnectorFactory() {
+		this(0);
+	}
+
+	/**
+	 * Creates a factory that shares one {@link PipelinedBaSyxConnector} between
+	 * all addresses of the same endpoint
+	 * 
+	 * @param pipelinedConnections
+	 *            number of pooled sockets per endpoint. 0 disables pipelining.
+	 */
+	public BaSyxConnectorFactory(int pipelinedConnections) {
+		this.pipelinedConnections = pipelinedConnections;
+	}
+
 	/**
 	 * Create the provider
 	 */
@@ -51,7 +90,15 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		int hostPort = Integer.parseInt(splitted[0].substring(address.indexOf(':') + 1));
 
 		// Create connector, connect
-		IModelProvider provider = new JSONConnector(new BaSyxConnector(hostName, hostPort));
+		IBaSyxConnector connector;
+		if (pipelinedConnections > 0) {
+			String endpoint = hostName + ":" + hostPort;
+			cachedAddressCounts.merge(endpoint, 1, Integer::sum);
+			connector = pipelinedConnectors.computeIfAbsent(endpoint, key -> new PipelinedBaSyxConnector(hostName, hostPort, pipelinedConnections));
+		} else {
+			connector = new BaSyxConnector(hostName, hostPort);
+		}
+		IModelProvider provider = new JSONConnector(connector);
 
 		// Create a proxy, if necessary
 		String path = address.replaceFirst(hostName + ":" + hostPort, "");
@@ -62,4 +109,42 @@ public class BaSyxConnectorFactory extends ConnectorFactory {
 		return provider;
 	}
 
+	/**
+	 * Closes the sockets of the pipelined connector once no address of its
+	 * endpoint is cached anymore. Requests still pending on them are completed
+	 * first.
+	 */
+	@Override
+	protected void onEvicted(String address, IModelProvider provider) {
+		if (pipelinedConnections == 0) {
+			return;
+		}
+
+		String endpoint = getEndpoint(address);
+		Integer remaining = cachedAddressCounts.computeIfPresent(endpoint, (key, count) -> count == 1 ? null : count - 1);
+		PipelinedBaSyxConnector connector = pipelinedConnectors.get(endpoint);
+		// The connector itself is kept, since clients may still use evicted providers.
+		// It reopens its sockets on their next request.
+		if (remaining == null && connector != null) {
+			connector.closeIdle();
+		}
+	}
+
+	/**
+	 * Removes all cached connectors and closes the sockets of all pipelined
+	 * connectors. Pending requests fail, later requests reopen the sockets.
+	 */
+	public void close() {
+		clearCache();
+		for (PipelinedBaSyxConnector connector : pipelinedConnectors.values()) {
+			connector.close();
+		}
+	}
+
+	private String getEndpoint(String address) {
+		address = VABPathTools.getFirstEndpoint(address);
+		address = address.replaceFirst("basyx://", "");
+		return address.split("/")[0];
+	}
+
 }
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.connector;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single persistent socket to a BaSyx TCP server that allows multiple
+ * requests in flight. Request ids are negotiated when the socket is opened. If
+ * the server does not support them, requests are still pipelined and responses
+ * are correlated by their order. The socket is reopened on the next request
+ * after it has been lost. <br>
+ * Requests whose response is not received within the response timeout fail.
+ * Without request ids, the socket is closed in this case, since the following
+ * responses can not be correlated anymore if a response is lost.
+ * 
+ * @author agent
+ *
+ */
+class BaSyxPipelinedConnection {
+
+	private static Logger logger = LoggerFactory.getLogger(BaSyxPipelinedConnection.class);
+
+	/**
+	 * Fails requests whose response timeout elapsed, shared by all connections
+	 */
+	private static final ScheduledThreadPoolExecutor timeoutScheduler = createTimeoutScheduler();
+
+	private final InetSocketAddress serverSocketAddress;
+
+	/**
+	 * Guards writing to the socket and replacing the session
+	 */
+	private final Object writeLock = new Object();
+
+	private Session session = null;
+
+	public BaSyxPipelinedConnection(InetSocketAddress serverSocketAddress) {
+		this.serverSocketAddress = serverSocketAddress;
+	}
+
+	/**
+	 * Sends a call created by
+	 * {@link BaSyxConnector#createCall(String, String, byte)} and returns a future
+	 * for the JSON response
+	 * 
+	 * @param call
+	 * @param timeoutMillis
+	 *            time after which the returned future fails if no response has
+	 *            been received. 0 disables the timeout
+	 * @return
+	 */
+	public CompletableFuture<String> send(byte[] call, long timeoutMillis) {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		Session current = null;
+		try {
+			synchronized (writeLock) {
+				if (session == null || session.closed) {
+					session = openSession();
+				}
+				current = session;
+				current.write(call, future, timeoutMillis);
+			}
+		} catch (IOException e) {
+			if (current != null) {
+				current.close(e);
+			}
+			future.completeExceptionally(new ProviderException("Failed to send request to " + getEndpoint(), e));
+		}
+		return future;
+	}
+
+	/**
+	 * Closes the socket and fails all pending requests
+	 */
+	public void close() {
+		synchronized (writeLock) {
+			if (session != null) {
+				session.close(new ClosedChannelException());
+				session = null;
+			}
+		}
+	}
+
+	/**
+	 * Closes the socket if no request is pending. It is reopened on the next
+	 * request.
+	 */
+	public void closeIfIdle() {
+		synchronized (writeLock) {
+			if (session != null && session.isIdle()) {
+				session.close(new ClosedChannelException());
+				session = null;
+			}
+		}
+	}
+
+	private String getEndpoint() {
+		return "basyx://" + serverSocketAddress.getHostString() + ":" + serverSocketAddress.getPort();
+	}
+
+	private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, BaSyxPipelinedConnection.class.getName() + " timeouts");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Most requests are answered in time, so their cancelled timeouts should not
+		// be kept until they would have elapsed
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+
+	/**
+	 * Opens the socket, negotiates request ids and starts the reader thread
+	 */
+	private Session openSession() throws IOException {
+		SocketChannel channel = SocketChannel.open();
+		channel.configureBlocking(true);
+		channel.socket().setTcpNoDelay(true);
+		channel.connect(serverSocketAddress);
+
+		boolean requestIds;
+		try {
+			write(channel, ByteBuffer.wrap(BaSyxConnector.createCall(VABBaSyxTCPInterface.BASYX_CAPABILITIES_PATH, VABBaSyxTCPInterface.BASYX_GET)));
+			byte[] response = readFrame(channel);
+			requestIds = VABBaSyxTCPInterface.BASYX_CAPABILITIES.equals(getJsonResult(response, 0));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		logger.debug("Connected to {}, request ids supported: {}", serverSocketAddress, requestIds);
+
+		Session newSession = new Session(channel, requestIds);
+		Thread reader = new Thread(newSession::readResponses, BaSyxPipelinedConnection.class.getName() + " " + serverSocketAddress);
+		reader.setDaemon(true);
+		reader.start();
+		return newSession;
+	}
+
+	private static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static byte[] readFrame(SocketChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(4);
+		readBytes(channel, header);
+		ByteBuffer frame = ByteBuffer.allocate(CoderTools.getInt32(header.array(), 0));
+		readBytes(channel, frame);
+		return frame.array();
+	}
+
+	private static void readBytes(SocketChannel channel, ByteBuffer bytes) throws IOException {
+		while (bytes.hasRemaining()) {
+			if (channel.read(bytes) == -1) {
+				throw new ClosedChannelException();
+			}
+		}
+	}
+
+	/**
+	 * Extracts the JSON result of a response frame. The result code is located at
+	 * <i>offset</i>, followed by the length of the result and the result itself.
+	 */
+	private static String getJsonResult(byte[] rxFrame, int offset) {
+		int jsonResultLen = CoderTools.getInt32(rxFrame, offset + 1);
+		return new String(rxFrame, offset + 1 + 4, jsonResultLen);
+	}
+
+	/**
+	 * State of a single opened socket
+	 */
+	private class Session {
+		private final SocketChannel channel;
+		private final boolean requestIds;
+		private final Map<Integer, CompletableFuture<String>> pendingById = new ConcurrentHashMap<>();
+		private final Queue<CompletableFuture<String>> pendingInOrder = new ConcurrentLinkedQueue<>();
+		private int nextRequestId = 0;
+		private volatile boolean closed = false;
+
+		Session(SocketChannel channel, boolean requestIds) {
+			this.channel = channel;
+			this.requestIds = requestIds;
+		}
+
+		/**
+		 * Registers the future and writes the call. Has to be called while holding
+		 * the write lock.
+		 */
+		void write(byte[] call, CompletableFuture<String> future, long timeoutMillis) throws IOException {
+			if (!requestIds) {
+				pendingInOrder.add(future);
+				scheduleTimeout(null, future, timeoutMillis);
+				BaSyxPipelinedConnection.write(channel, ByteBuffer.wrap(call));
+				return;
+			}
+
+			int requestId = nextRequestId++;
+			pendingById.put(requestId, future);
+			scheduleTimeout(requestId, future, timeoutMillis);
+
+			// Insert request id after the frame size
+			byte[] idCall = new byte[call.length + 4];
+			CoderTools.setInt32(idCall, 0, CoderTools.getInt32(call, 0) + 4);
+			CoderTools.setInt32(idCall, 4, requestId);
+			System.arraycopy(call, 4, idCall, 8, call.length - 4);
+			BaSyxPipelinedConnection.write(channel, ByteBuffer.wrap(idCall));
+		}
+
+		boolean isIdle() {
+			return pendingById.isEmpty() && pendingInOrder.isEmpty();
+		}
+
+		private void scheduleTimeout(Integer requestId, CompletableFuture<String> future, long timeoutMillis) {
+			if (timeoutMillis <= 0) {
+				return;
+			}
+			ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> timeout(requestId, future, timeoutMillis), timeoutMillis, TimeUnit.MILLISECONDS);
+			future.whenComplete((result, e) -> timeout.cancel(false));
+		}
+
+		/**
+		 * Fails a request whose response has not been received in time
+		 */
+		private void timeout(Integer requestId, CompletableFuture<String> future, long timeoutMillis) {
+			ProviderException timeout = new ProviderException("No response from " + getEndpoint() + " within " + timeoutMillis + " ms");
+			if (requestIds) {
+				if (pendingById.remove(requestId, future)) {
+					future.completeExceptionally(timeout);
+				}
+				return;
+			}
+
+			if (future.isDone()) {
+				return;
+			}
+			// Marked closed before the request fails, so that the following requests of
+			// the caller already open a new socket
+			logger.warn("Closing connection to {}, since a response has not been received in time", serverSocketAddress);
+			closed = true;
+			future.completeExceptionally(timeout);
+			close(new IOException("Response timed out"));
+		}
+
+		/**
+		 * Reader thread main method
+		 */
+		void readResponses() {
+			try {
+				while (true) {
+					byte[] rxFrame = readFrame(channel);
+					CompletableFuture<String> future;
+					String jsonResult;
+					if (requestIds) {
+						future = pendingById.remove(CoderTools.getInt32(rxFrame, 0));
+						jsonResult = getJsonResult(rxFrame, 4);
+					} else {
+						future = pendingInOrder.poll();
+						jsonResult = getJsonResult(rxFrame, 0);
+					}
+
+					if (future != null) {
+						future.complete(jsonResult);
+					} else {
+						logger.warn("Received response without matching request from {}", serverSocketAddress);
+					}
+				}
+			} catch (IOException e) {
+				if (!closed) {
+					logger.debug("Lost connection to " + serverSocketAddress, e);
+				}
+				close(e);
+			}
+		}
+
+		/**
+		 * Closes the socket and fails all pending requests
+		 */
+		void close(IOException cause) {
+			closed = true;
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.debug("Exception while closing channel", e);
+			}
+
+			List<CompletableFuture<String>> pending = new ArrayList<>(pendingById.values());
+			pending.addAll(pendingInOrder);
+			pendingById.clear();
+			pendingInOrder.clear();
+			for (CompletableFuture<String> future : pending) {
+				future.completeExceptionally(new ProviderException("Lost connection to " + getEndpoint(), cause));
+			}
+		}
+	}
+}
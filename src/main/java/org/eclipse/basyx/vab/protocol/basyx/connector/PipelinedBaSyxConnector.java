@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.connector;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.protocol.api.IAsyncBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * BaSyx connector that keeps a small pool of persistent sockets to one
+ * endpoint. In contrast to {@link BaSyxConnector}, concurrent callers are not
+ * serialized: requests are distributed over the pooled sockets and multiple
+ * requests may be in flight on each socket. Responses are correlated by
+ * request ids if the server supports them, otherwise by their order. Requests
+ * that are not answered within the response timeout fail with a
+ * {@link ProviderException}.
+ * 
+ * @author agent
+ *
+ */
+public class PipelinedBaSyxConnector implements IAsyncBaSyxConnector {
+
+	private static Logger logger = LoggerFactory.getLogger(PipelinedBaSyxConnector.class);
+
+	public static final int DEFAULT_POOL_SIZE = 4;
+	public static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private InetSocketAddress serverSocketAddress;
+	private BaSyxPipelinedConnection[] connections;
+	private AtomicInteger nextConnection = new AtomicInteger();
+	private volatile long responseTimeoutMillis = DEFAULT_RESPONSE_TIMEOUT_MILLIS;
+
+	/**
+	 * Constructor that creates a connector with the default pool size
+	 */
+	public PipelinedBaSyxConnector(String hostName, int port) {
+		this(hostName, port, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param hostName
+	 * @param port
+	 * @param poolSize
+	 *            number of sockets that are opened to the endpoint
+	 */
+	public PipelinedBaSyxConnector(String hostName, int port, int poolSize) {
+		try {
+			InetAddress serverIPAddress = InetAddress.getByName(hostName);
+			serverSocketAddress = new InetSocketAddress(serverIPAddress, port);
+		} catch (IOException e) {
+			logger.error("Exception in PipelinedBaSyxConnector", e);
+		}
+
+		connections = new BaSyxPipelinedConnection[poolSize];
+		for (int i = 0; i < poolSize; i++) {
+			connections[i] = new BaSyxPipelinedConnection(serverSocketAddress);
+		}
+	}
+
+	/**
+	 * Sets the time after which a request fails if no response has been received
+	 * 
+	 * @param responseTimeoutMillis
+	 *            the response timeout. 0 disables it
+	 */
+	public void setResponseTimeout(long responseTimeoutMillis) {
+		if (responseTimeoutMillis < 0) {
+			throw new IllegalArgumentException("Invalid response timeout: " + responseTimeoutMillis);
+		}
+		this.responseTimeoutMillis = responseTimeoutMillis;
+	}
+
+	public long getResponseTimeout() {
+		return responseTimeoutMillis;
+	}
+
+	/**
+	 * Closes all pooled sockets. Pending requests fail, later requests reopen the
+	 * sockets.
+	 */
+	public void close() {
+		for (BaSyxPipelinedConnection connection : connections) {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Closes all pooled sockets without pending requests. Later requests reopen
+	 * the sockets.
+	 */
+	public void closeIdle() {
+		for (BaSyxPipelinedConnection connection : connections) {
+			connection.closeIfIdle();
+		}
+	}
+
+	@Override
+	public CompletableFuture<String> getValueAsync(String path) {
+		return send(BaSyxConnector.createCall(path, VABBaSyxTCPInterface.BASYX_GET));
+	}
+
+	@Override
+	public CompletableFuture<String> setValueAsync(String path, String newValue) {
+		return send(BaSyxConnector.createCall(path, newValue, VABBaSyxTCPInterface.BASYX_SET));
+	}
+
+	@Override
+	public CompletableFuture<String> createValueAsync(String path, String newEntity) {
+		return send(BaSyxConnector.createCall(path, newEntity, VABBaSyxTCPInterface.BASYX_CREATE));
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String path) {
+		return send(BaSyxConnector.createCall(path, VABBaSyxTCPInterface.BASYX_DELETE));
+	}
+
+	@Override
+	public CompletableFuture<String> deleteValueAsync(String path, String obj) {
+		return send(BaSyxConnector.createCall(path, obj, VABBaSyxTCPInterface.BASYX_DELETE));
+	}
+
+	@Override
+	public CompletableFuture<String> invokeOperationAsync(String path, String jsonObject) {
+		return send(BaSyxConnector.createCall(path, jsonObject, VABBaSyxTCPInterface.BASYX_INVOKE));
+	}
+
+	@Override
+	public String getValue(String path) throws ProviderException {
+		return await(getValueAsync(path));
+	}
+
+	@Override
+	public String setValue(String path, String newValue) throws ProviderException {
+		return await(setValueAsync(path, newValue));
+	}
+
+	@Override
+	public String createValue(String path, String newEntity) throws ProviderException {
+		return await(createValueAsync(path, newEntity));
+	}
+
+	@Override
+	public String deleteValue(String path) throws ProviderException {
+		return await(deleteValueAsync(path));
+	}
+
+	@Override
+	public String deleteValue(String path, String obj) throws ProviderException {
+		return await(deleteValueAsync(path, obj));
+	}
+
+	@Override
+	public String invokeOperation(String path, String jsonObject) throws ProviderException {
+		return await(invokeOperationAsync(path, jsonObject));
+	}
+
+	/**
+	 * Get string representation of endpoint for given path for debugging.
+	 * 
+	 * @param path
+	 *            Requested path
+	 * @return String representing requested endpoint
+	 */
+	@Override
+	public String getEndpointRepresentation(String path) {
+		return "basyx://" + serverSocketAddress.getHostString() + ":" + serverSocketAddress.getPort() + "/" + path;
+	}
+
+	/**
+	 * Sends the call on the next pooled socket
+	 */
+	private CompletableFuture<String> send(byte[] call) {
+		int index = Math.floorMod(nextConnection.getAndIncrement(), connections.length);
+		return connections[index].send(call, responseTimeoutMillis);
+	}
+
+	/**
+	 * Waits for the response and unwraps exceptions
+	 */
+	private String await(CompletableFuture<String> future) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ProviderException) {
+				throw (ProviderException) e.getCause();
+			}
+			throw new ProviderException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProviderException(e);
+		}
+	}
+}
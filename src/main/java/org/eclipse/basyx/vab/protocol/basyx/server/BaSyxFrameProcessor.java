@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes native BaSyx request frames, dispatches them to a
+ * {@link JSONProvider} and encodes the corresponding response frames. The
+ * processor is independent of the transport, so that it can be shared by the
+ * thread-per-connection and the selector-based TCP servers.
+ * 
+ * @author kuhn, pschorn, agent
+ *
+ */
+public class BaSyxFrameProcessor<ModelProvider extends IModelProvider> {
+
+	private static Logger logger = LoggerFactory.getLogger(BaSyxFrameProcessor.class);
+
+	/**
+	 * Reference to IModelProvider backend
+	 */
+	protected JSONProvider<ModelProvider> providerBackend = null;
+
+	/**
+	 * Constructor
+	 */
+	public BaSyxFrameProcessor(ModelProvider modelProviderBackend) {
+		this(new JSONProvider<ModelProvider>(modelProviderBackend));
+	}
+
+	/**
+	 * Constructor that accepts an already created JSON provider
+	 */
+	public BaSyxFrameProcessor(JSONProvider<ModelProvider> jsonProvider) {
+		providerBackend = jsonProvider;
+	}
+
+	/**
+	 * Get JSON provider reference
+	 */
+	public JSONProvider<ModelProvider> getProviderReference() {
+		return providerBackend;
+	}
+
+	/**
+	 * Process an input frame and return the encoded response frame
+	 * 
+	 * @param rxFrame
+	 *            received frame without the leading frame size
+	 * @return response frame including the leading frame size, ready to be
+	 *         written to the channel
+	 */
+	public ByteBuffer processInputFrame(byte[] rxFrame) {
+		return processInputFrame(rxFrame, rxFrame.length);
+	}
+
+	/**
+	 * Process an input frame and return the encoded response frame
+	 * 
+	 * @param rxFrame
+	 *            buffer containing the received frame without the leading frame
+	 *            size, starting at index 0
+	 * @param frameLength
+	 *            number of valid bytes in rxFrame. The buffer may be larger, e.g.
+	 *            if it is taken from a buffer pool
+	 * @return response frame including the leading frame size, ready to be
+	 *         written to the channel
+	 */
+	public ByteBuffer processInputFrame(byte[] rxFrame, int frameLength) {
+		ResponseFrameOutputStream output = new ResponseFrameOutputStream(false);
+		processCommand(rxFrame, 0, frameLength, output);
+		return output.toFrame(0, VABBaSyxTCPInterface.BASYX_RESULT_OK);
+	}
+
+	/**
+	 * Process an input frame of a connection that negotiated request ids and
+	 * return the encoded response frame carrying the same request id
+	 * 
+	 * @param rxFrame
+	 *            buffer containing the received frame without the leading frame
+	 *            size, starting with the request id at index 0
+	 * @param frameLength
+	 *            number of valid bytes in rxFrame
+	 * @return response frame including the leading frame size and the request id
+	 */
+	public ByteBuffer processRequestIdFrame(byte[] rxFrame, int frameLength) {
+		ResponseFrameOutputStream output = new ResponseFrameOutputStream(true);
+		processCommand(rxFrame, 4, frameLength - 4, output);
+		return output.toFrame(getRequestId(rxFrame), VABBaSyxTCPInterface.BASYX_RESULT_OK);
+	}
+
+	/**
+	 * Returns the request id of a frame received on a connection that negotiated
+	 * request ids
+	 */
+	public static int getRequestId(byte[] rxFrame) {
+		return CoderTools.getInt32(rxFrame, 0);
+	}
+
+	/**
+	 * Checks if a frame without request id is a capability request. The
+	 * connection switches to request id framing after it has been answered.
+	 * 
+	 * @param rxFrame
+	 * @param frameLength
+	 * @return
+	 */
+	public boolean isCapabilityRequest(byte[] rxFrame, int frameLength) {
+		if (frameLength < 1 + 4 || rxFrame[0] != VABBaSyxTCPInterface.BASYX_GET) {
+			return false;
+		}
+		int pathLen = CoderTools.getInt32(rxFrame, 1);
+		return pathLen == VABBaSyxTCPInterface.BASYX_CAPABILITIES_PATH.length() && VABBaSyxTCPInterface.BASYX_CAPABILITIES_PATH.equals(new String(rxFrame, 1 + 4, pathLen));
+	}
+
+	/**
+	 * Decodes a command starting at <i>offset</i>, forwards it to the provider
+	 * and writes the encoded result to <i>output</i>
+	 */
+	private void processCommand(byte[] rxFrame, int offset, int commandLength, ResponseFrameOutputStream output) {
+		// Get command and path
+		byte command = rxFrame[offset];
+		int pathLen = CoderTools.getInt32(rxFrame, offset + 1);
+		String path = new String(rxFrame, offset + 1 + 4, pathLen);
+
+		try {
+			switch (command) {
+			case VABBaSyxTCPInterface.BASYX_GET:
+				if (VABBaSyxTCPInterface.BASYX_CAPABILITIES_PATH.equals(path)) {
+					output.writeBytes(VABBaSyxTCPInterface.BASYX_CAPABILITIES.getBytes());
+					return;
+				}
+				providerBackend.processBaSysGet(path, output);
+				break;
+			case VABBaSyxTCPInterface.BASYX_SET:
+				providerBackend.processBaSysSet(path, getJsonValue(rxFrame, offset, pathLen), output);
+				break;
+			case VABBaSyxTCPInterface.BASYX_CREATE:
+				providerBackend.processBaSysCreate(path, getJsonValue(rxFrame, offset, pathLen), output);
+				break;
+			case VABBaSyxTCPInterface.BASYX_DELETE:
+				// Value is optional; the empty default indicates that the entity should be
+				// removed
+				if (commandLength >= 1 + 4 + pathLen + 4) {
+					providerBackend.processBaSysDelete(path, getJsonValue(rxFrame, offset, pathLen), output);
+				} else {
+					providerBackend.processBaSysDelete(path, "", output);
+				}
+				break;
+			case VABBaSyxTCPInterface.BASYX_INVOKE:
+				providerBackend.processBaSysInvoke(path, getJsonValue(rxFrame, offset, pathLen), output);
+				break;
+			default:
+				throw new RuntimeException("Unknown BaSyx TCP command received");
+			}
+		} catch (ProviderException e) {
+			logger.debug("Exception in processing BaSyx command " + command, e);
+			// Catch Exceptions from JSONProvider
+			// No further action here, as the current version
+			// of the TCP-Mapping states, that always Statuscode 0x00
+			// should be returned with Exceptions encoded in returned String
+		}
+	}
+
+	/**
+	 * Creates a response frame that carries the serialized exception. Used if a
+	 * frame could not be processed at all, e.g. because the server is overloaded.
+	 * 
+	 * @param e
+	 * @return response frame including the leading frame size
+	 */
+	public ByteBuffer createExceptionFrame(Exception e) {
+		return createResponseFrame(serializeException(e), VABBaSyxTCPInterface.BASYX_RESULT_OK);
+	}
+
+	/**
+	 * Creates a response frame with request id that carries the serialized
+	 * exception
+	 * 
+	 * @param requestId
+	 * @param e
+	 * @return response frame including the leading frame size
+	 */
+	public ByteBuffer createExceptionFrame(int requestId, Exception e) {
+		return createResponseFrame(requestId, serializeException(e), VABBaSyxTCPInterface.BASYX_RESULT_OK);
+	}
+
+	private byte[] serializeException(Exception e) {
+		return providerBackend.getSerializerReference().serialize(new Result(e)).getBytes();
+	}
+
+	/**
+	 * Creates a response frame that carries the JSON response
+	 * 
+	 * @param encodedResult
+	 * @param result
+	 * @return response frame including the leading frame size
+	 */
+	public static ByteBuffer createResponseFrame(byte[] encodedResult, int result) {
+		int resultFrameSize = encodedResult.length + 1;
+		byte[] frameLength = new byte[4];
+		byte[] encodedResultLength = new byte[4];
+		CoderTools.setInt32(frameLength, 0, resultFrameSize + 4);
+		CoderTools.setInt32(encodedResultLength, 0, encodedResult.length);
+
+		// Place response frame in buffer
+		ByteBuffer buffer = ByteBuffer.allocate(resultFrameSize + 4 + 4);
+		buffer.put(frameLength);
+		buffer.put((byte) result);
+		buffer.put(encodedResultLength);
+		buffer.put(encodedResult);
+		buffer.flip();
+
+		return buffer;
+	}
+
+	/**
+	 * Creates a response frame with request id that carries the JSON response
+	 * 
+	 * @param requestId
+	 * @param encodedResult
+	 * @param result
+	 * @return response frame including the leading frame size
+	 */
+	public static ByteBuffer createResponseFrame(int requestId, byte[] encodedResult, int result) {
+		int resultFrameSize = 4 + 1 + 4 + encodedResult.length;
+		byte[] intBuffer = new byte[4];
+
+		ByteBuffer buffer = ByteBuffer.allocate(4 + resultFrameSize);
+		buffer.put(CoderTools.setInt32(intBuffer, 0, resultFrameSize));
+		buffer.put(CoderTools.setInt32(intBuffer, 0, requestId));
+		buffer.put((byte) result);
+		buffer.put(CoderTools.setInt32(intBuffer, 0, encodedResult.length));
+		buffer.put(encodedResult);
+		buffer.flip();
+
+		return buffer;
+	}
+
+	/**
+	 * Returns a stream over the JSON value that follows the path, so that it can
+	 * be deserialized without copying it out of the frame
+	 */
+	private InputStream getJsonValue(byte[] rxFrame, int offset, int pathLen) {
+		int jsonValueLen = CoderTools.getInt32(rxFrame, offset + 1 + 4 + pathLen);
+		return new ByteArrayInputStream(rxFrame, offset + 1 + 4 + pathLen + 4, jsonValueLen);
+	}
+
+	/**
+	 * Output stream that reserves space for the response frame header, so that
+	 * the result can be serialized directly into the frame buffer
+	 */
+	private static class ResponseFrameOutputStream extends ByteArrayOutputStream {
+		private final int headerSize;
+
+		ResponseFrameOutputStream(boolean requestId) {
+			super(256);
+			// Frame size, [request id], result, result length
+			headerSize = 4 + (requestId ? 4 : 0) + 1 + 4;
+			count = headerSize;
+		}
+
+		/**
+		 * Completes the header and returns the frame without copying it
+		 */
+		ByteBuffer toFrame(int requestId, int result) {
+			CoderTools.setInt32(buf, 0, count - 4);
+			int pos = 4;
+			if (headerSize > 4 + 1 + 4) {
+				CoderTools.setInt32(buf, pos, requestId);
+				pos += 4;
+			}
+			buf[pos] = (byte) result;
+			CoderTools.setInt32(buf, pos + 1, count - headerSize);
+			return ByteBuffer.wrap(buf, 0, count);
+		}
+	}
+}
@@ -0,0 +1,639 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.eclipse.basyx.vab.service.api.BaSyxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * BaSyx TCP server that multiplexes all connections over a small pool of
+ * selector based event loops instead of using one thread per connection (see
+ * {@link BaSyxTCPServer}). Frames are decoded incrementally into pooled
+ * buffers. Complete frames are processed on a bounded worker pool, so that
+ * blocking model providers do not stall the event loops. Frames that exceed
+ * the capacity of the worker queue are answered with an exception.<br>
+ * <br>
+ * Frames of a single connection are processed one after another, i.e. reading
+ * of a connection is suspended until the response to its current frame has
+ * been written. Connections that negotiated request ids (see
+ * {@link VABBaSyxTCPInterface#BASYX_CAPABILITIES_PATH}) may have up to
+ * {@link #MAX_FRAMES_IN_FLIGHT} frames in processing, whose responses are
+ * written in order of completion.
+ * 
+ * @author kuhn, agent
+ *
+ */
+public class BaSyxTCPSelectorServer<T extends IModelProvider> implements Runnable, BaSyxService {
+
+	private static Logger logger = LoggerFactory.getLogger(BaSyxTCPSelectorServer.class);
+
+	public static final int DEFAULT_PORT = 6998;
+	public static final int DEFAULT_WORKER_QUEUE_CAPACITY = 1024;
+	public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+	public static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+	public static final int MAX_FRAMES_IN_FLIGHT = 64;
+
+	/**
+	 * Store server socket channel instance
+	 */
+	protected ServerSocketChannel serverSockChannel = null;
+
+	/**
+	 * Selector of the acceptor thread
+	 */
+	protected Selector acceptSelector = null;
+
+	/**
+	 * Shared frame decoder and dispatcher
+	 */
+	protected BaSyxFrameProcessor<T> frameProcessor = null;
+
+	/**
+	 * Event loops that serve the accepted connections
+	 */
+	protected EventLoop[] eventLoops = null;
+
+	/**
+	 * Bounded worker pool that executes the requests
+	 */
+	protected ThreadPoolExecutor workers = null;
+
+	/**
+	 * Pool for frame buffers
+	 */
+	protected ByteBufferPool bufferPool = null;
+
+	/**
+	 * Exit flag
+	 */
+	protected volatile boolean exit = false;
+
+	/**
+	 * Store acceptor thread
+	 */
+	protected Thread thread = null;
+
+	/**
+	 * Store name
+	 */
+	protected String name = null;
+
+	/**
+	 * Index of the event loop that is assigned to the next connection
+	 */
+	private int nextEventLoop = 0;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param modelProviderBackend
+	 * @param serverPort
+	 * @param eventLoopCount
+	 *            number of selector threads serving the connections
+	 * @param workerCount
+	 *            number of threads processing requests
+	 * @param workerQueueCapacity
+	 *            maximum number of frames waiting for a worker
+	 */
+	public BaSyxTCPSelectorServer(T modelProviderBackend, int serverPort, int eventLoopCount, int workerCount, int workerQueueCapacity) {
+		frameProcessor = new BaSyxFrameProcessor<T>(modelProviderBackend);
+		bufferPool = new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+		workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workerQueueCapacity), new NamedThreadFactory("worker"), new ThreadPoolExecutor.AbortPolicy());
+		eventLoops = new BaSyxTCPSelectorServer.EventLoop[eventLoopCount];
+
+		// Create communication channel
+		try {
+			// The channel should listen on all interfaces, binding on 127.0.0.1 prohibits
+			// remote communication
+			InetAddress hostIPAddress = InetAddress.getByName("0.0.0.0");
+
+			// Server socket channel
+			serverSockChannel = ServerSocketChannel.open();
+			serverSockChannel.configureBlocking(false);
+			serverSockChannel.socket().bind(new InetSocketAddress(hostIPAddress, serverPort));
+
+			acceptSelector = Selector.open();
+			serverSockChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+
+			for (int i = 0; i < eventLoopCount; i++) {
+				eventLoops[i] = new EventLoop(Selector.open());
+			}
+		} catch (IOException e) {
+			logger.error("Exception in BaSyxTCPSelectorServer", e);
+		}
+	}
+
+	/**
+	 * Constructor that sizes the event loops and the workers based on the
+	 * available processors
+	 */
+	public BaSyxTCPSelectorServer(T modelProviderBackend, int serverPort) {
+		this(modelProviderBackend, serverPort, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), Runtime.getRuntime().availableProcessors() * 2, DEFAULT_WORKER_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Default constructor without port number
+	 */
+	public BaSyxTCPSelectorServer(T modelProviderBackend) {
+		this(modelProviderBackend, DEFAULT_PORT);
+	}
+
+	/**
+	 * Acceptor thread main method
+	 */
+	@Override
+	public void run() {
+		while (!exit) {
+			try {
+				acceptSelector.select();
+				Iterator<SelectionKey> keys = acceptSelector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (key.isValid() && key.isAcceptable()) {
+						acceptIncomingConnection();
+					}
+				}
+			} catch (ClosedSelectorException e) {
+				// Selector has been closed by shutdown
+				break;
+			} catch (IOException e) {
+				// Indicate exception only iff exit flag is false
+				if (!exit) {
+					logger.error("Exception in run", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Accept all pending connections and assign them to the event loops
+	 */
+	protected void acceptIncomingConnection() throws IOException {
+		SocketChannel communicationSocket;
+		while ((communicationSocket = serverSockChannel.accept()) != null) {
+			communicationSocket.configureBlocking(false);
+			communicationSocket.socket().setTcpNoDelay(true);
+
+			EventLoop loop = eventLoops[nextEventLoop];
+			nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+			loop.register(communicationSocket);
+		}
+	}
+
+	/**
+	 * End server
+	 */
+	protected void shutdown() {
+		// End threads
+		exit = true;
+
+		try {
+			serverSockChannel.close();
+			acceptSelector.close();
+		} catch (IOException e) {
+			logger.error("Exception in shutdown", e);
+		}
+
+		for (EventLoop loop : eventLoops) {
+			loop.shutdown();
+		}
+
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Start the server
+	 */
+	@Override
+	public void start() {
+		for (EventLoop loop : eventLoops) {
+			loop.start();
+		}
+
+		// Create and start acceptor thread
+		thread = new Thread(this, BaSyxTCPSelectorServer.class.getName() + " acceptor");
+		thread.start();
+	}
+
+	/**
+	 * Stop the server and block until all server threads are finished
+	 */
+	@Override
+	public void stop() {
+		// Shutdown threads
+		shutdown();
+
+		// Wait for thread end
+		waitFor();
+	}
+
+	/**
+	 * Change service name
+	 */
+	@Override
+	public BaSyxService setName(String newName) {
+		name = newName;
+		return this;
+	}
+
+	/**
+	 * Return service name
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Wait for end of runnable
+	 */
+	@Override
+	public void waitFor() {
+		try {
+			thread.join();
+			for (EventLoop loop : eventLoops) {
+				loop.join();
+			}
+			workers.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			logger.error("Exception in waitFor", e);
+		}
+	}
+
+	/**
+	 * Indicate if this service has ended
+	 */
+	@Override
+	public boolean hasEnded() {
+		return !serverSockChannel.isOpen();
+	}
+
+	/**
+	 * Returns the number of frames that are waiting for a worker
+	 */
+	public int getQueuedFrameCount() {
+		return workers.getQueue().size();
+	}
+
+	/**
+	 * Returns the number of currently open connections
+	 */
+	public int getConnectionCount() {
+		int count = 0;
+		for (EventLoop loop : eventLoops) {
+			count += loop.selector.keys().size();
+		}
+		return count;
+	}
+
+	/**
+	 * Submits a complete frame to the worker pool. The response is handed back to
+	 * the event loop of the connection.
+	 */
+	private void dispatch(Connection connection, ByteBuffer frame, int frameSize, boolean requestIds) {
+		try {
+			workers.execute(() -> {
+				ByteBuffer response;
+				try {
+					response = processFrame(frame.array(), frameSize, requestIds);
+				} finally {
+					bufferPool.release(frame);
+				}
+				connection.respond(response);
+			});
+		} catch (RejectedExecutionException e) {
+			logger.warn("Worker queue is full, rejecting frame");
+			ProviderException overloaded = new ProviderException("Server is overloaded, request has been rejected");
+			ByteBuffer response;
+			if (requestIds) {
+				response = frameProcessor.createExceptionFrame(BaSyxFrameProcessor.getRequestId(frame.array()), overloaded);
+			} else {
+				response = frameProcessor.createExceptionFrame(overloaded);
+			}
+			bufferPool.release(frame);
+			connection.respond(response);
+		}
+	}
+
+	private ByteBuffer processFrame(byte[] frame, int frameSize, boolean requestIds) {
+		try {
+			if (requestIds) {
+				return frameProcessor.processRequestIdFrame(frame, frameSize);
+			} else {
+				return frameProcessor.processInputFrame(frame, frameSize);
+			}
+		} catch (RuntimeException e) {
+			logger.error("Exception while processing frame", e);
+			if (requestIds) {
+				return frameProcessor.createExceptionFrame(BaSyxFrameProcessor.getRequestId(frame), e);
+			} else {
+				return frameProcessor.createExceptionFrame(e);
+			}
+		}
+	}
+
+	/**
+	 * Selector thread that serves a subset of the connections
+	 */
+	protected class EventLoop extends Thread {
+		private final Selector selector;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+		EventLoop(Selector selector) {
+			this.selector = selector;
+			setName(BaSyxTCPSelectorServer.class.getName() + " event loop " + System.identityHashCode(this));
+		}
+
+		/**
+		 * Registers a new connection. Can be called from any thread.
+		 */
+		void register(SocketChannel channel) {
+			execute(() -> {
+				try {
+					Connection connection = new Connection(this, channel);
+					connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+				} catch (IOException e) {
+					logger.error("Exception while registering connection", e);
+					closeQuietly(channel);
+				}
+			});
+		}
+
+		/**
+		 * Executes a task on this event loop. Can be called from any thread.
+		 */
+		void execute(Runnable task) {
+			tasks.add(task);
+			selector.wakeup();
+		}
+
+		void shutdown() {
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			while (!exit) {
+				try {
+					selector.select();
+					runTasks();
+
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while (keys.hasNext()) {
+						SelectionKey key = keys.next();
+						keys.remove();
+						Connection connection = (Connection) key.attachment();
+						if (!key.isValid()) {
+							connection.close();
+							continue;
+						}
+						if (key.isWritable()) {
+							connection.handleWrite();
+						}
+						if (key.isValid() && key.isReadable()) {
+							connection.handleRead();
+						}
+					}
+				} catch (IOException e) {
+					logger.error("Exception in event loop", e);
+				}
+			}
+
+			// Close all connections of this loop
+			for (SelectionKey key : selector.keys()) {
+				((Connection) key.attachment()).close();
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				logger.debug("Exception while closing selector", e);
+			}
+		}
+
+		private void runTasks() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	/**
+	 * State of a single connection. Except for {@link #respond(ByteBuffer)}, all
+	 * methods are only called by the event loop owning the connection.
+	 */
+	protected class Connection {
+		private final EventLoop loop;
+		private final SocketChannel channel;
+		private SelectionKey key;
+
+		private final ByteBuffer header = ByteBuffer.allocate(4);
+		private ByteBuffer frame = null;
+		private int frameSize;
+
+		private boolean requestIds = false;
+		private int framesInFlight = 0;
+
+		private final Queue<ByteBuffer> pendingWrites = new ArrayDeque<>();
+
+		Connection(EventLoop loop, SocketChannel channel) {
+			this.loop = loop;
+			this.channel = channel;
+		}
+
+		/**
+		 * Reads as much as is available and dispatches each frame once it is
+		 * complete
+		 */
+		void handleRead() {
+			try {
+				while (canRead()) {
+					if (frame == null) {
+						if (channel.read(header) == -1) {
+							close();
+							return;
+						}
+						if (header.hasRemaining()) {
+							return;
+						}
+						frameSize = CoderTools.getInt32(header.array(), 0);
+						frame = bufferPool.acquire(frameSize);
+					}
+
+					if (channel.read(frame) == -1) {
+						close();
+						return;
+					}
+					if (frame.hasRemaining()) {
+						return;
+					}
+
+					ByteBuffer completeFrame = frame;
+					frame = null;
+					header.clear();
+					framesInFlight++;
+
+					boolean frameHasRequestId = requestIds;
+					if (!requestIds && frameProcessor.isCapabilityRequest(completeFrame.array(), frameSize)) {
+						// The client will not send further frames before it received the response,
+						// thus the following frames already carry request ids
+						requestIds = true;
+					}
+
+					dispatch(this, completeFrame, frameSize, frameHasRequestId);
+				}
+			} catch (IOException e) {
+				logger.debug("Exception while reading from connection", e);
+				close();
+			} finally {
+				updateInterest();
+			}
+		}
+
+		/**
+		 * Hands a response to the event loop. Can be called from any thread.
+		 */
+		void respond(ByteBuffer response) {
+			loop.execute(() -> {
+				if (!channel.isOpen()) {
+					return;
+				}
+				framesInFlight--;
+				pendingWrites.add(response);
+				handleWrite();
+			});
+		}
+
+		/**
+		 * Writes pending responses and resumes reading if possible
+		 */
+		void handleWrite() {
+			try {
+				while (!pendingWrites.isEmpty()) {
+					ByteBuffer buffer = pendingWrites.peek();
+					channel.write(buffer);
+					if (buffer.hasRemaining()) {
+						break;
+					}
+					pendingWrites.poll();
+				}
+				updateInterest();
+			} catch (IOException e) {
+				logger.debug("Exception while writing to connection", e);
+				close();
+			}
+		}
+
+		/**
+		 * Connections without request ids are answered strictly in order, thus only
+		 * one frame may be in processing. Connections with request ids are limited to
+		 * a maximum number of frames in processing.
+		 */
+		private boolean canRead() {
+			if (requestIds) {
+				return framesInFlight < MAX_FRAMES_IN_FLIGHT;
+			} else {
+				return framesInFlight == 0 && pendingWrites.isEmpty();
+			}
+		}
+
+		private void updateInterest() {
+			if (!key.isValid()) {
+				return;
+			}
+			int ops = 0;
+			if (canRead()) {
+				ops |= SelectionKey.OP_READ;
+			}
+			if (!pendingWrites.isEmpty()) {
+				ops |= SelectionKey.OP_WRITE;
+			}
+			key.interestOps(ops);
+		}
+
+		void close() {
+			if (key != null) {
+				key.cancel();
+			}
+			if (frame != null) {
+				bufferPool.release(frame);
+				frame = null;
+			}
+			pendingWrites.clear();
+			closeQuietly(channel);
+		}
+	}
+
+	private static void closeQuietly(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			logger.debug("Exception while closing the channel", e);
+		}
+	}
+
+	/**
+	 * Thread factory that names the created threads after the server
+	 */
+	private static class NamedThreadFactory implements java.util.concurrent.ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+		private final String prefix;
+
+		NamedThreadFactory(String prefix) {
+			this.prefix = BaSyxTCPSelectorServer.class.getName() + " " + prefix + " ";
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, prefix + counter.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
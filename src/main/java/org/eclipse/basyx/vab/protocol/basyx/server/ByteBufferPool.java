@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.basyx.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of equally sized heap byte buffers. Buffers are used for
+ * decoding incoming frames, so that frequent small requests do not allocate a
+ * new buffer for each frame. Frames exceeding the buffer size are not served
+ * from the pool.
+ * 
+ * @author agent
+ *
+ */
+public class ByteBufferPool {
+
+	/**
+	 * Capacity of each pooled buffer
+	 */
+	private final int bufferSize;
+
+	/**
+	 * Currently unused buffers
+	 */
+	private final ArrayBlockingQueue<ByteBuffer> freeBuffers;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bufferSize
+	 *            capacity of each pooled buffer
+	 * @param maxPooledBuffers
+	 *            maximum number of buffers that are kept for reuse
+	 */
+	public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+		this.bufferSize = bufferSize;
+		this.freeBuffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+	}
+
+	/**
+	 * Returns a cleared buffer that can hold at least <i>size</i> bytes. Its
+	 * limit is set to <i>size</i>.
+	 * 
+	 * @param size
+	 * @return
+	 */
+	public ByteBuffer acquire(int size) {
+		if (size > bufferSize) {
+			return ByteBuffer.allocate(size);
+		}
+
+		ByteBuffer buffer = freeBuffers.poll();
+		if (buffer == null) {
+			buffer = ByteBuffer.allocate(bufferSize);
+		}
+		buffer.clear();
+		buffer.limit(size);
+		return buffer;
+	}
+
+	/**
+	 * Returns a buffer to the pool. Buffers that have not been created by this
+	 * pool or that exceed the pool capacity are dropped.
+	 * 
+	 * @param buffer
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer == null || buffer.capacity() != bufferSize) {
+			return;
+		}
+		freeBuffers.offer(buffer);
+	}
+
+	/**
+	 * Returns the capacity of each pooled buffer
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Returns the number of buffers that are currently available for reuse
+	 */
+	public int getPooledBufferCount() {
+		return freeBuffers.size();
+	}
+}
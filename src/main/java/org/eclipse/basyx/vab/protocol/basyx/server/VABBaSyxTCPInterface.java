@@ -24,14 +24,12 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.basyx.server;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SocketChannel;
 
 import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
-import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
 import org.slf4j.Logger;
@@ -78,11 +76,36 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	 */
 	public static final byte BASYX_RESULT_OK = 0x00;
 
+	/**
+	 * Path of the capability request. A client sends a BASYX_GET on this path to
+	 * negotiate request ids. Servers that support request ids answer with
+	 * {@link #BASYX_CAPABILITIES}, older servers answer with an exception since
+	 * the path can not be resolved. After a successful negotiation, every frame
+	 * on the connection carries a 4 byte request id directly after the frame
+	 * size, so that responses can be correlated to pipelined requests.
+	 */
+	public static final String BASYX_CAPABILITIES_PATH = "$capabilities";
+
+	/**
+	 * JSON response to a capability request
+	 */
+	public static final String BASYX_CAPABILITIES = "{\"requestIds\":true}";
+
 	/**
 	 * Reference to IModelProvider backend
 	 */
 	protected JSONProvider<ModelProvider> providerBackend = null;
 
+	/**
+	 * Frame decoder and dispatcher
+	 */
+	protected BaSyxFrameProcessor<ModelProvider> frameProcessor = null;
+
+	/**
+	 * Indicates if request ids have been negotiated on this connection
+	 */
+	protected boolean requestIds = false;
+
 	/**
 	 * Socket communication channel
 	 */
@@ -94,6 +117,7 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	public VABBaSyxTCPInterface(ModelProvider modelProviderBackend, SocketChannel channel) {
 		// Store reference to channel and backend
 		providerBackend = new JSONProvider<ModelProvider>(modelProviderBackend);
+		frameProcessor = new BaSyxFrameProcessor<ModelProvider>(providerBackend);
 		commChannel = channel;
 		setName(VABBaSyxTCPInterface.class.getName() + " " + System.currentTimeMillis());
 		logger.debug("Socket created");
@@ -103,193 +127,19 @@ public class VABBaSyxTCPInterface<ModelProvider extends IModelProvider> extends
 	 * Process input frame
 	 */
 	public void processInputFrame(byte[] rxFrame) throws IOException {
-		// Create output streams
-		ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-		// Get command
-		switch (rxFrame[0]) {
-
-		case BASYX_GET: {
-			// Get path string
-			int pathLen = CoderTools.getInt32(rxFrame, 1);
-			String path = new String(rxFrame, 1 + 4, pathLen);
-
-			// Forward request to provider
-			try {
-				providerBackend.processBaSysGet(path, output);
-			} catch (ProviderException e) {
-				logger.debug("Exception in BASYX_GET", e);
-				// Catch Exceptions from JSONProvider
-				// No further action here, as the current version
-				// of the TCP-Mapping states, that always Statuscode 0x00
-				// should be returned with Exceptions encoded in returned String
-			}
-
-			// System.out.println("Processed GET:"+path);
-
-			// Send response frame
-			output.flush();
-			sendResponseFrame(output);
-
-			break;
-		}
-
-		case BASYX_SET: {
-			// Get path string length and value
-			int pathLen = CoderTools.getInt32(rxFrame, 1);
-			String path = new String(rxFrame, 1 + 4, pathLen);
-			// Get value string length and value
-			int jsonValueLen = CoderTools.getInt32(rxFrame, 1 + 4 + pathLen);
-			String jsonValue = new String(rxFrame, 1 + 4 + pathLen + 4, jsonValueLen);
-
-			// Invoke get operation
-			try {
-				providerBackend.processBaSysSet(path, jsonValue, output);
-			} catch (ProviderException e) {
-				logger.debug("Exception in BASYX_SET", e);
-				// Catch Exceptions from JSONProvider
-				// No further action here, as the current version
-				// of the TCP-Mapping states, that always Statuscode 0x00
-				// should be returned with Exceptions encoded in returned String
-			}
-
-			// Send response frame
-			output.flush();
-			sendResponseFrame(output);
-
-			break;
-		}
-
-		case BASYX_CREATE: {
-			// Get path string length and value
-			int pathLen = CoderTools.getInt32(rxFrame, 1);
-			String path = new String(rxFrame, 1 + 4, pathLen);
-			// Get value string length and value
-			int jsonValueLen = CoderTools.getInt32(rxFrame, 1 + 4 + pathLen);
-			String jsonValue = new String(rxFrame, 1 + 4 + pathLen + 4, jsonValueLen);
-
-			// Invoke get operation
-			try {
-				providerBackend.processBaSysCreate(path, jsonValue, output);
-			} catch (ProviderException e) {
-				logger.debug("Exception in BASYX_CREATE", e);
-				// Catch Exceptions from JSONProvider
-				// No further action here, as the current version
-				// of the TCP-Mapping states, that always Statuscode 0x00
-				// should be returned with Exceptions encoded in returned String
-			}
-
-			// Send response frame
-			output.flush();
-			sendResponseFrame(output);
-
-			break;
-		}
-
-		case BASYX_DELETE: {
-			// Get path string length and value
-			int pathLen = CoderTools.getInt32(rxFrame, 1);
-			String path = new String(rxFrame, 1 + 4, pathLen);
-
-			// Get value string length and value if available; default is null value
-			String jsonValue = "";
-			try {
-				int jsonValueLen = CoderTools.getInt32(rxFrame, 1 + 4 + pathLen);
-				jsonValue = new String(rxFrame, 1 + 4 + pathLen + 4, jsonValueLen);
-
-			} catch (ArrayIndexOutOfBoundsException e) {
-				// pass, provide serialize null argument to processBaSysDelete to indicate that
-				// an
-				// entity should be removed
-			}
-
-			// Invoke delete operation
-			try {
-				providerBackend.processBaSysDelete(path, jsonValue, output);
-			} catch (ProviderException e) {
-				logger.debug("Exception in BASYX_DELETE", e);
-				// Catch Exceptions from JSONProvider
-				// No further action here, as the current version
-				// of the TCP-Mapping states, that always Statuscode 0x00
-				// should be returned with Exceptions encoded in returned String
-			}
-
-			// Send response frame
-			output.flush();
-			sendResponseFrame(output);
-
-			break;
-		}
-
-		case BASYX_INVOKE: {
-			// Get path string length and value
-			int pathLen = CoderTools.getInt32(rxFrame, 1);
-			String path = new String(rxFrame, 1 + 4, pathLen);
-			// Get value string length and value
-			int jsonValueLen = CoderTools.getInt32(rxFrame, 1 + 4 + pathLen);
-			String jsonValue = new String(rxFrame, 1 + 4 + pathLen + 4, jsonValueLen);
-			// Invoke get operation
-			try {
-				providerBackend.processBaSysInvoke(path, jsonValue, output);
-			} catch (ProviderException e) {
-				logger.debug("Exception in BASYX_INVOKE", e);
-				// Catch Exceptions from JSONProvider
-				// No further action here, as the current version
-				// of the TCP-Mapping states, that always Statuscode 0x00
-				// should be returned with Exceptions encoded in returned String
-			}
-
-			// Send response frame
-			output.flush();
-			sendResponseFrame(output);
-
-			break;
-		}
-
-		default:
-			throw new RuntimeException("Unknown BaSyx TCP command received");
+		// Decode frame, forward request to provider and create response frame
+		ByteBuffer txBuffer;
+		if (requestIds) {
+			txBuffer = frameProcessor.processRequestIdFrame(rxFrame, rxFrame.length);
+		} else {
+			txBuffer = frameProcessor.processInputFrame(rxFrame);
+			requestIds = frameProcessor.isCapabilityRequest(rxFrame, rxFrame.length);
 		}
-	}
-
-	/**
-	 * Sends a response to the client that carries the JSON response
-	 * 
-	 * @param byteArrayOutput
-	 * @throws IOException
-	 */
-	private void sendResponseFrame(ByteArrayOutputStream byteArrayOutput) throws IOException {
-		// Create response frame with positive response
-		sendResponseFrame(byteArrayOutput, BASYX_RESULT_OK);
-	}
-
-	/**
-	 * Sends a response to the client that carries the JSON response
-	 * 
-	 * @param byteArrayOutput
-	 * @throws IOException
-	 */
-	private void sendResponseFrame(ByteArrayOutputStream byteArrayOutput, int result) throws IOException {
-		// Create response frame
-		byte[] encodedResult = byteArrayOutput.toByteArray();
-		int resultFrameSize = encodedResult.length + 1;
-		byte[] frameLength = new byte[4];
-		byte[] encodedResultLength = new byte[4];
-		CoderTools.setInt32(frameLength, 0, resultFrameSize + 4);
-		CoderTools.setInt32(encodedResultLength, 0, encodedResult.length);
-
-		// Place response frame in buffer
-		ByteBuffer buffer = ByteBuffer.allocate(resultFrameSize + 4 + 4);
-		buffer.put(frameLength);
-		buffer.put((byte) result);
-		buffer.put(encodedResultLength);
-		buffer.put(encodedResult);
-		buffer.flip();
 
 		// Transmit response frame
-		commChannel.write(buffer);
-
-		// Reset output stream
-		byteArrayOutput.reset();
+		while (txBuffer.hasRemaining()) {
+			commChannel.write(txBuffer);
+		}
 	}
 
 	/**
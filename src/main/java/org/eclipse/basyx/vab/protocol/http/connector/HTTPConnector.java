@@ -26,6 +26,8 @@ package org.eclipse.basyx.vab.protocol.http.connector;
 
 import com.google.gson.Gson;
 import io.netty.handler.codec.http.HttpMethod;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -51,7 +53,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
 
 /**
- * HTTP connector class
+ * HTTP connector class<br>
+ * <br>
+ * GET responses carrying an ETag are cached. Subsequent GET requests to the
+ * same path are sent as conditional requests and the cached body is reused, if
+ * the server answers with 304 Not Modified.
  * 
  * @author kuhn, pschorn, schnicke
  *
@@ -60,12 +66,25 @@ public class HTTPConnector implements IBaSyxConnector {
 
 	private static Logger logger = LoggerFactory.getLogger(HTTPConnector.class);
 
+	/**
+	 * Maximum number of GET responses that are cached for conditional requests
+	 */
+	private static final int MAX_CACHED_RESPONSES = 100;
+
 	private String address;
 	private String mediaType;
 	@Nullable
 	private final IAuthorizationSupplier authorizationSupplier;
 	protected Client client;
 
+	@SuppressWarnings("serial")
+	private final Map<String, CachedResponse> responseCache = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+			return size() > MAX_CACHED_RESPONSES;
+		}
+	});
+
 	/**
 	 * Invoke a BaSys get operation via HTTP GET
 	 * 
@@ -202,18 +221,43 @@ public class HTTPConnector implements IBaSyxConnector {
 
 		Builder request = retrieveBuilder(servicePath);
 
+		// Send a conditional request, if the body of a previous response is known
+		CachedResponse cached = responseCache.get(servicePath);
+		if (cached != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, cached.etag);
+		}
+
 		// Perform request
 		Response rsp = null;
 		try {
 			rsp = request.get();
 		} finally {
-			if (!isRequestSuccess(rsp)) {
+			if (!isRequestSuccess(rsp) && !isNotModified(rsp, cached)) {
 				throw this.handleProcessingException(HttpMethod.GET, rsp);
 			}
 		}
 
+		if (isNotModified(rsp, cached)) {
+			rsp.close();
+			return cached.body;
+		}
+
 		// Return response message (header)
-		return rsp.readEntity(String.class);
+		String body = rsp.readEntity(String.class);
+		cacheResponse(servicePath, rsp.getHeaderString(HttpHeaders.ETAG), body);
+		return body;
+	}
+
+	private boolean isNotModified(Response rsp, CachedResponse cached) {
+		return cached != null && rsp != null && rsp.getStatus() == Status.NOT_MODIFIED.getStatusCode();
+	}
+
+	private void cacheResponse(String servicePath, String etag, String body) {
+		if (etag == null) {
+			responseCache.remove(servicePath);
+		} else {
+			responseCache.put(servicePath, new CachedResponse(etag, body));
+		}
 	}
 
 	private String httpPut(String servicePath, String newValue) throws ProviderException {
@@ -399,4 +443,14 @@ public class HTTPConnector implements IBaSyxConnector {
 
 		return message;
 	}
+
+	private static class CachedResponse {
+		private final String etag;
+		private final String body;
+
+		private CachedResponse(String etag, String body) {
+			this.etag = etag;
+			this.body = body;
+		}
+	}
 }
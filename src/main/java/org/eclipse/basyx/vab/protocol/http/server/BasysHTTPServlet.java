@@ -25,7 +25,6 @@
 package org.eclipse.basyx.vab.protocol.http.server;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -124,15 +123,6 @@ public abstract class BasysHTTPServlet extends HttpServlet {
 		return super.getInitParameter(name);
 	}
 
-	/**
-	 * Send a response
-	 */
-	protected void sendResponse(Object value, PrintWriter outputStream) {
-		// Output result
-		outputStream.write(serializer.serialize(value));
-		outputStream.flush();
-	}
-	
 	public String getCorsOrigin() {
 		return corsOrigin;
 	}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.protocol.http.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded cache for serialized GET responses of versioned model providers. <br>
+ * For each path, only the body of the most recently requested version is kept.
+ * If more paths are cached than allowed, the least recently used ones are
+ * removed. <br>
+ * ETags are derived from the change version and an identifier of the cache
+ * instance, so that ETags issued before a restart of the server are not
+ * accepted afterwards.
+ * 
+ * @author agent
+ *
+ */
+public class HTTPResponseCache {
+	public static final int DEFAULT_MAX_ENTRIES = 100;
+
+	private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+	private final Map<String, CachedBody> bodies;
+
+	/**
+	 * Creates a cache with {@value #DEFAULT_MAX_ENTRIES} entries at most
+	 */
+	public HTTPResponseCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a cache
+	 * 
+	 * @param maxEntries
+	 *            maximum number of cached response bodies
+	 */
+	@SuppressWarnings("serial")
+	public HTTPResponseCache(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Invalid maximum number of entries: " + maxEntries);
+		}
+		bodies = new LinkedHashMap<String, CachedBody>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Creates the ETag for a change version
+	 * 
+	 * @param version
+	 * @return the quoted ETag
+	 */
+	public String createETag(long version) {
+		return "\"" + instanceId + "-" + version + "\"";
+	}
+
+	/**
+	 * Checks if the value of an If-None-Match header matches the given ETag
+	 * 
+	 * @param ifNoneMatch
+	 *            the header value, may be null
+	 * @param etag
+	 * @return true, if the client already has the current representation
+	 */
+	public static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			// GET requests use weak comparison
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the cached response body
+	 * 
+	 * @param path
+	 * @param version
+	 * @return the body or null, if no body is cached for this version of the path
+	 */
+	public byte[] get(String path, long version) {
+		synchronized (bodies) {
+			CachedBody cached = bodies.get(path);
+			if (cached == null || cached.version != version) {
+				return null;
+			}
+			return cached.body;
+		}
+	}
+
+	/**
+	 * Caches a response body, replacing the body of older versions of the path
+	 * 
+	 * @param path
+	 * @param version
+	 * @param body
+	 */
+	public void put(String path, long version, byte[] body) {
+		synchronized (bodies) {
+			bodies.put(path, new CachedBody(version, body));
+		}
+	}
+
+	/**
+	 * Returns the number of cached response bodies
+	 * 
+	 * @return
+	 */
+	public int size() {
+		synchronized (bodies) {
+			return bodies.size();
+		}
+	}
+
+	/**
+	 * Removes all cached response bodies
+	 */
+	public void clear() {
+		synchronized (bodies) {
+			bodies.clear();
+		}
+	}
+
+	private static class CachedBody {
+		private final long version;
+		private final byte[] body;
+
+		private CachedBody(long version, byte[] body) {
+			this.version = version;
+			this.body = body;
+		}
+	}
+}
@@ -24,6 +24,7 @@
  ******************************************************************************/
 package org.eclipse.basyx.vab.protocol.http.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
@@ -47,12 +48,10 @@ import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ProviderException;
 import org.eclipse.basyx.vab.modelprovider.VABPathTools;
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.api.IVersionedModelProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Charsets;
-import com.google.common.io.ByteSource;
-
 /**
  * VAB provider class that enables access to an IModelProvider via HTTP REST
  * interface<br>
@@ -67,7 +66,15 @@ import com.google.common.io.ByteSource;
  * - POST /aas/submodels/{subModelId}/operations/a Invoke operation a of
  * submodel {subModelId}<br>
  * - POST /aas/submodels/{subModelId}/operations/a/b Invoke operation a/b of
- * submodel {subModelId}
+ * submodel {subModelId}<br>
+ * <br>
+ * If a {@link HTTPResponseCache} is set and the provider is an
+ * {@link IVersionedModelProvider}, GET responses of versioned paths carry an
+ * ETag. Requests with a matching If-None-Match header are answered with 304 Not
+ * Modified and serialized bodies are reused as long as the version does not
+ * change. This is only correct if all modifications are tracked by the
+ * provider, e.g. by using the observable APIs. Requests carrying an
+ * Authorization header are never answered from the cache.
  * 
  * @author kuhn
  *
@@ -81,11 +88,20 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 */
 	private static final long serialVersionUID = 1L;
 
+	private static final String AUTHORIZATION_HEADER = "Authorization";
+	private static final String ETAG_HEADER = "ETag";
+	private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
 	/**
 	 * Reference to IModelProvider backend
 	 */
 	protected JSONProvider<ModelProvider> providerBackend = null;
 
+	/**
+	 * Cache for serialized GET responses, disabled if null
+	 */
+	private HTTPResponseCache responseCache = null;
+
 	/**
 	 * Constructor
 	 */
@@ -101,6 +117,20 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		return providerBackend.getBackendReference();
 	}
 
+	/**
+	 * Enables conditional GET requests and caching of serialized responses for
+	 * versioned paths. Passing null disables both.
+	 * 
+	 * @param responseCache
+	 */
+	public void setResponseCache(HTTPResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	public HTTPResponseCache getResponseCache() {
+		return responseCache;
+	}
+
 	/**
 	 * Send JSON encoded response
 	 */
@@ -127,6 +157,12 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			resp.setContentType("application/json");
 			resp.setCharacterEncoding("UTF-8");
 
+			long version = getChangeVersion(path, req);
+			if (version != IVersionedModelProvider.UNVERSIONED) {
+				processCachedGet(path, version, req, resp);
+				return;
+			}
+
 			resp.setStatus(200);
 
 			// Process get request
@@ -139,6 +175,53 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 
 	}
 
+	/**
+	 * Returns the change version of the requested path or UNVERSIONED, if the
+	 * response must not be served from the cache
+	 */
+	private long getChangeVersion(String path, HttpServletRequest req) {
+		HTTPResponseCache cache = responseCache;
+		ModelProvider provider = getModelProvider();
+		if (cache == null || !(provider instanceof IVersionedModelProvider) || req.getHeader(AUTHORIZATION_HEADER) != null) {
+			return IVersionedModelProvider.UNVERSIONED;
+		}
+		return ((IVersionedModelProvider) provider).getChangeVersion(path);
+	}
+
+	private void processCachedGet(String path, long version, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		HTTPResponseCache cache = responseCache;
+		String etag = cache.createETag(version);
+
+		if (HTTPResponseCache.matches(req.getHeader(IF_NONE_MATCH_HEADER), etag)) {
+			resp.setHeader(ETAG_HEADER, etag);
+			resp.setStatus(304);
+			return;
+		}
+
+		resp.setStatus(200);
+		byte[] body = cache.get(path, version);
+		if (body == null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			try {
+				providerBackend.processBaSysGet(path, buffer);
+			} catch (ProviderException e) {
+				// Forward the serialized exception, but do not cache it
+				buffer.writeTo(resp.getOutputStream());
+				throw e;
+			}
+			body = buffer.toByteArray();
+
+			// Only cache the body if it was not modified during serialization
+			if (getChangeVersion(path, req) != version) {
+				resp.getOutputStream().write(body);
+				return;
+			}
+			cache.put(path, version, body);
+		}
+		resp.setHeader(ETAG_HEADER, etag);
+		resp.getOutputStream().write(body);
+	}
+
 	private boolean isFileAccessPath(String path) {
 		return VABPathTools.getLastElement(path).equals("File");
 	}
@@ -150,14 +233,14 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
-			String serValue = extractSerializedValue(req);
-			logger.trace("DoPut: {}", serValue);
+			logger.trace("DoPut: {}", path);
 
 			resp.setContentType("application/json");
 			resp.setCharacterEncoding("UTF-8");
 			resp.setStatus(200);
 
-			providerBackend.processBaSysSet(path, serValue.toString(), resp.getOutputStream());
+			// Deserialize the body directly from the request stream
+			providerBackend.processBaSysSet(path, req.getInputStream(), resp.getOutputStream());
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -196,12 +279,11 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	protected void doPatch(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		try {
 			String path = extractPath(req);
-			String serValue = extractSerializedValue(req);
-			logger.trace("DoPatch: {}", serValue);
+			logger.trace("DoPatch: {}", path);
 
 			resp.setStatus(200);
 
-			providerBackend.processBaSysDelete(path, serValue, resp.getOutputStream());
+			providerBackend.processBaSysDelete(path, req.getInputStream(), resp.getOutputStream());
 		} catch (ProviderException e) {
 			int httpCode = ExceptionToHTTPCodeMapper.mapFromException(e);
 			resp.setStatus(httpCode);
@@ -271,10 +353,9 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 			ret.append(paramName);
 			ret.append("=");
 
+			// Repeated parameters, e.g. ?include=a&include=b, are joined to a list a,b
 			String[] paramValues = req.getParameterValues(paramName);
-			for (int i = 0; i < paramValues.length; i++) {
-				ret.append(paramValues[i]);
-			}
+			ret.append(String.join(",", paramValues));
 			parameters.add(ret.toString());
 
 		}
@@ -294,18 +375,6 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		return req.getContextPath().length() + req.getServletPath().length();
 	}
 
-	/**
-	 * Read serialized value
-	 * 
-	 * @param req
-	 * @return
-	 * @throws IOException
-	 */
-	private String extractSerializedValue(HttpServletRequest req) throws IOException {
-		// https://www.baeldung.com/convert-input-stream-to-string#guava
-		return getByteSource(req).asCharSource(Charsets.UTF_8).read();
-	}
-
 	/**
 	 * Extracts input streams from request
 	 * 
@@ -329,20 +398,6 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 		return fileStreams;
 	}
 
-	/**
-	 * Gets a {@link ByteSource} from request stream
-	 * 
-	 * @return
-	 */
-	private ByteSource getByteSource(HttpServletRequest req) {
-		return new ByteSource() {
-			@Override
-			public InputStream openStream() throws IOException {
-				return req.getInputStream();
-			}
-		};
-	}
-
 	/**
 	 * Setup HTML response header for HttpPost
 	 * 
@@ -380,16 +435,16 @@ public class VABHTTPInterface<ModelProvider extends IModelProvider> extends Basy
 	 * @throws IOException
 	 */
 	private void handleJSONPostRequest(HttpServletRequest req, String path, HttpServletResponse resp) throws IOException {
-		String serValue = extractSerializedValue(req);
-		logger.trace("DoPost: {}", serValue);
+		logger.trace("DoPost: {}", path);
 
-		// Check if request is for property creation or operation invoke
+		// Check if request is for property creation or operation invoke. The body is
+		// deserialized directly from the request stream
 		if (VABPathTools.isOperationInvokationPath(path)) {
 			// Invoke BaSys VAB 'invoke' primitive
-			providerBackend.processBaSysInvoke(path, serValue, resp.getOutputStream());
+			providerBackend.processBaSysInvoke(path, req.getInputStream(), resp.getOutputStream());
 		} else {
 			// Invoke the BaSys 'create' primitive
-			providerBackend.processBaSysCreate(path, serValue, resp.getOutputStream());
+			providerBackend.processBaSysCreate(path, req.getInputStream(), resp.getOutputStream());
 		}
 	}
 }
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter for the modifications of an element. <br>
+ * All counters draw their versions from a single sequence, so that a version is
+ * never reused within the JVM, even if an element is removed and recreated with
+ * a new counter.
+ * 
+ * @author agent
+ *
+ */
+public class ChangeVersionCounter {
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	private final AtomicLong version = new AtomicLong(SEQUENCE.incrementAndGet());
+
+	/**
+	 * Marks the element as modified. Has to be called after the modification has
+	 * been applied.
+	 */
+	public void increment() {
+		long next = SEQUENCE.incrementAndGet();
+		// Concurrent modifications may finish in any order, but the version must not
+		// decrease
+		version.accumulateAndGet(next, Math::max);
+	}
+
+	/**
+	 * Returns the current version
+	 * 
+	 * @return
+	 */
+	public long get() {
+		return version.get();
+	}
+}
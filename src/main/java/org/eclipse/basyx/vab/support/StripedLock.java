@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.vab.support;
+
+/**
+ * Provides a fixed number of lock objects that are selected by the hash of a
+ * key. Modifications of different keys can therefore run in parallel, while
+ * modifications of the same key are serialized, e.g.
+ * 
+ * <pre>
+ * synchronized (locks.get(id)) {
+ * 	...
+ * }
+ * </pre>
+ * 
+ * Different keys may share a lock, so a thread must not wait for another key
+ * while holding a lock.
+ * 
+ * @author agent
+ *
+ */
+public class StripedLock {
+	/**
+	 * Default number of stripes
+	 */
+	public static final int DEFAULT_STRIPES = 64;
+
+	private final Object[] locks;
+
+	/**
+	 * Constructor with the default number of stripes
+	 */
+	public StripedLock() {
+		this(DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param stripes
+	 *            number of lock objects, rounded up to the next power of two
+	 */
+	public StripedLock(int stripes) {
+		if (stripes < 1) {
+			throw new IllegalArgumentException("At least one stripe is required");
+		}
+		int size = Integer.highestOneBit(stripes);
+		if (size < stripes) {
+			size <<= 1;
+		}
+		locks = new Object[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Returns the lock object responsible for the key
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public Object get(Object key) {
+		int hash = key == null ? 0 : key.hashCode();
+		// Spread the higher bits, since only the lower bits select the stripe
+		hash ^= (hash >>> 16);
+		return locks[hash & (locks.length - 1)];
+	}
+
+	/**
+	 * Returns the number of stripes
+	 * 
+	 * @return
+	 */
+	public int getStripeCount() {
+		return locks.length;
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.metamodel.api.parts.asset.AssetKind;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.parts.Asset;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.testsuite.regression.vab.support.ConcurrentTaskRunner;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.Test;
+
+/**
+ * Stress tests the {@link AASAggregator} with concurrent requests
+ * 
+ * @author agent
+ *
+ */
+public class TestConcurrentAASAggregator {
+	private static final int THREADS = 8;
+	private static final int AAS_PER_THREAD = 20;
+
+	@Test
+	public void concurrentCreateUpdateDelete() throws Exception {
+		AASAggregator aggregator = new AASAggregator();
+
+		ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+			for (int i = 0; i < AAS_PER_THREAD; i++) {
+				AssetAdministrationShell aas = createAAS("aas_" + thread + "_" + i);
+				aggregator.createAAS(aas);
+
+				aas.setCategory("updated");
+				aggregator.updateAAS(aas);
+				assertEquals("updated", aggregator.getAAS(aas.getIdentification()).getCategory());
+
+				if (i % 2 == 0) {
+					aggregator.deleteAAS(aas.getIdentification());
+				}
+			}
+		});
+
+		assertEquals(THREADS * AAS_PER_THREAD / 2, aggregator.getAASList().size());
+	}
+
+	@Test
+	public void updateDoesNotRestoreDeletedAAS() throws Exception {
+		AASAggregator aggregator = new AASAggregator();
+
+		for (int i = 0; i < AAS_PER_THREAD; i++) {
+			AssetAdministrationShell aas = createAAS("raced_" + i);
+			aggregator.createAAS(aas);
+
+			// Half of the threads update, the other half deletes
+			ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+				try {
+					if (thread % 2 == 0) {
+						aggregator.updateAAS(aas);
+					} else {
+						aggregator.deleteAAS(aas.getIdentification());
+					}
+				} catch (ResourceNotFoundException e) {
+					// Update after delete
+				}
+			});
+
+			assertDeleted(aggregator, aas.getIdentification());
+		}
+	}
+
+	private void assertDeleted(AASAggregator aggregator, IIdentifier aasId) {
+		try {
+			aggregator.getAAS(aasId);
+			fail();
+		} catch (ResourceNotFoundException expected) {
+		}
+	}
+
+	private AssetAdministrationShell createAAS(String id) {
+		return new AssetAdministrationShell(id, new CustomId(id), new Asset(id + "_asset", new CustomId(id + "_asset"), AssetKind.INSTANCE));
+	}
+}
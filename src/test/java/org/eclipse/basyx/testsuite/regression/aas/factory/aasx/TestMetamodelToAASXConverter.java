@@ -33,6 +33,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -44,6 +47,7 @@ import java.util.zip.ZipInputStream;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -51,6 +55,7 @@ import org.eclipse.basyx.aas.bundle.AASBundle;
 import org.eclipse.basyx.aas.factory.aasx.AASXToMetamodelConverter;
 import org.eclipse.basyx.aas.factory.aasx.InMemoryFile;
 import org.eclipse.basyx.aas.factory.aasx.MetamodelToAASXConverter;
+import org.eclipse.basyx.aas.factory.aasx.PathFile;
 import org.eclipse.basyx.aas.factory.aasx.Thumbnail;
 import org.eclipse.basyx.aas.factory.aasx.Thumbnail.ThumbnailExtension;
 import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
@@ -187,6 +192,31 @@ public class TestMetamodelToAASXConverter {
 		assertAASXThumbnailContentIsSame(out);
 	}
 
+	@Test
+	public void buildAASXWithPathFileAndReadFileBacked() throws Exception {
+		Path tempDir = Files.createTempDirectory("basyx-aasx-test");
+		try {
+			byte[] content = { 15, 16, 17, 18, 19 };
+			Path source = Files.write(tempDir.resolve("docu2.pdf"), content);
+			fileList.set(1, new PathFile(source, INTERNAL_FILE_PATH_2));
+
+			Path aasxFile = tempDir.resolve("test.aasx");
+			try (OutputStream out = Files.newOutputStream(aasxFile)) {
+				MetamodelToAASXConverter.buildAASX(aasList, assetList, conceptDescriptionList, submodelList, fileList, out);
+			}
+
+			try (AASXToMetamodelConverter converter = new AASXToMetamodelConverter(aasxFile)) {
+				assertTrue(converter.isFileBacked());
+				assertFilepathsAreCorrect(converter.retrieveAASBundles());
+				try (InputStream in = converter.retrieveFileInputStream(INTERNAL_FILE_PATH_2)) {
+					assertTrue(IOUtils.contentEquals(new ByteArrayInputStream(content), in));
+				}
+			}
+		} finally {
+			FileUtils.deleteDirectory(tempDir.toFile());
+		}
+	}
+
 	@Test
 	public void testFilePathsAreCorrectlyChanged() throws IOException, TransformerException, ParserConfigurationException, InvalidFormatException, SAXException {
 
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.factory.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import javax.xml.transform.stream.StreamResult;
+
+import org.eclipse.basyx.aas.factory.xml.MetamodelToXMLConverter;
+import org.eclipse.basyx.aas.factory.xml.MetamodelToXMLStreamConverter;
+import org.eclipse.basyx.aas.factory.xml.XMLToMetamodelConverter;
+import org.eclipse.basyx.aas.metamodel.map.AasEnv;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.factory.xml.XmlParser;
+import org.junit.Test;
+
+/**
+ * Checks that {@link MetamodelToXMLStreamConverter} creates XML equivalent to
+ * the one of {@link MetamodelToXMLConverter}
+ * 
+ * @author agent
+ *
+ */
+public class TestMetamodelToXMLStreamConverter {
+	private static final String XML_IN_PATH = "src/test/resources/aas/factory/xml/in.xml";
+
+	@Test
+	public void sameXmlAsDomConverter() throws Exception {
+		String xml = new String(Files.readAllBytes(Paths.get(XML_IN_PATH)), StandardCharsets.UTF_8);
+		AasEnv env = new XMLToMetamodelConverter(xml).parseAasEnv();
+
+		assertEquals(XmlParser.buildXmlMap(convertWithDom(env)), XmlParser.buildXmlMap(convertWithStream(env)));
+	}
+
+	@Test
+	public void emptyEnvironment() throws Exception {
+		AasEnv env = new AasEnv(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+		assertEquals(XmlParser.buildXmlMap(convertWithDom(env)), XmlParser.buildXmlMap(convertWithStream(env)));
+	}
+
+	@Test
+	public void roundTripWithSpecialCharacters() throws Exception {
+		String value = "<ä & ö € \"quoted\">";
+		Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "smId"));
+		submodel.addSubmodelElement(new Property("prop", value));
+		AasEnv env = new AasEnv(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), Collections.singletonList(submodel));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MetamodelToXMLStreamConverter.convertToXML(env, out);
+
+		AasEnv parsed = new XMLToMetamodelConverter(new ByteArrayInputStream(out.toByteArray())).parseAasEnv();
+		ISubmodel parsedSubmodel = parsed.getSubmodels().iterator().next();
+		assertEquals("smId", parsedSubmodel.getIdentification().getId());
+		assertEquals(value, parsedSubmodel.getSubmodelElement("prop").getValue());
+	}
+
+	private String convertWithDom(AasEnv env) throws Exception {
+		StringWriter writer = new StringWriter();
+		MetamodelToXMLConverter.convertToXML(env, new StreamResult(writer));
+		return writer.toString();
+	}
+
+	private String convertWithStream(AasEnv env) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		MetamodelToXMLStreamConverter.convertToXML(env, out);
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
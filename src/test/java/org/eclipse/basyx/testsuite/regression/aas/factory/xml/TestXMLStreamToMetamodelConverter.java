@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.factory.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.basyx.aas.factory.xml.XMLStreamToMetamodelConverter;
+import org.eclipse.basyx.aas.metamodel.api.IAssetAdministrationShell;
+import org.eclipse.basyx.aas.metamodel.map.AasEnv;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.junit.Test;
+
+/**
+ * Tests the streaming specific behavior of {@link XMLStreamToMetamodelConverter}.
+ * The conversion itself is tested by {@link TestXMLConverter}.
+ * 
+ * @author agent
+ *
+ */
+public class TestXMLStreamToMetamodelConverter {
+	private static final String XML_IN_PATH = "src/test/resources/aas/factory/xml/in.xml";
+
+	@Test
+	public void submodelsArePassedToConsumer() throws Exception {
+		List<Submodel> consumed = new ArrayList<>();
+		AasEnv env;
+		try (InputStream stream = Files.newInputStream(Paths.get(XML_IN_PATH))) {
+			env = new XMLStreamToMetamodelConverter(stream).parseAasEnv(consumed::add);
+		}
+
+		assertEquals(2, consumed.size());
+		assertEquals("3s7plfdrs35_submodel1", consumed.get(0).getIdShort());
+		assertEquals("testSubmodelIdShort2", consumed.get(1).getIdShort());
+
+		// Submodels are not kept in the environment
+		assertTrue(env.getSubmodels().isEmpty());
+		assertEquals(2, env.getAssetAdministrationShells().size());
+		assertEquals(2, env.getAssets().size());
+	}
+
+	@Test
+	public void parseAasEnvContainsSubmodels() throws Exception {
+		AasEnv env;
+		try (InputStream stream = Files.newInputStream(Paths.get(XML_IN_PATH))) {
+			env = new XMLStreamToMetamodelConverter(stream).parseAasEnv();
+		}
+
+		List<String> idShorts = new ArrayList<>();
+		for (ISubmodel submodel : env.getSubmodels()) {
+			idShorts.add(submodel.getIdShort());
+		}
+		assertTrue(idShorts.contains("3s7plfdrs35_submodel1"));
+		assertTrue(idShorts.contains("testSubmodelIdShort2"));
+	}
+
+	@Test
+	public void shellsReferToAssetsFollowingThem() throws Exception {
+		AasEnv env;
+		try (InputStream stream = Files.newInputStream(Paths.get(XML_IN_PATH))) {
+			env = new XMLStreamToMetamodelConverter(stream).parseAasEnv(s -> {
+			});
+		}
+
+		for (IAssetAdministrationShell shell : env.getAssetAdministrationShells()) {
+			assertNotNull(shell.getAsset());
+		}
+	}
+}
@@ -27,9 +27,13 @@ package org.eclipse.basyx.testsuite.regression.aas.registration;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.basyx.aas.metamodel.api.parts.asset.IAsset;
 import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
@@ -43,6 +47,7 @@ import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
 import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
 import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
 import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
 import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
 import org.junit.After;
 import org.junit.Before;
@@ -148,6 +153,32 @@ public abstract class TestRegistryProviderSuite {
 		}
 	}
 
+	/**
+	 * Tests getting pages of all entries from the registry. The pages have to
+	 * cover all entries without overlap.
+	 */
+	@Test
+	public void testGetPagedAAS() {
+		List<AASDescriptor> firstPage = proxy.lookupAll(0, 1);
+		List<AASDescriptor> secondPage = proxy.lookupAll(1, 1);
+		assertEquals(1, firstPage.size());
+		assertEquals(1, secondPage.size());
+
+		Set<String> idShorts = new HashSet<>();
+		idShorts.add(firstPage.get(0).getIdShort());
+		idShorts.add(secondPage.get(0).getIdShort());
+		assertEquals(new HashSet<>(Arrays.asList(aasIdShort1, aasIdShort2)), idShorts);
+
+		assertEquals(2, proxy.lookupAll(0, 5).size());
+		assertTrue(proxy.lookupAll(2, 1).isEmpty());
+		assertTrue(proxy.lookupAll(0, 0).isEmpty());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void testGetPagedAASWithNegativeOffset() {
+		proxy.lookupAll(-1, 1);
+	}
+
 	/**
 	 * Checks, if the given descriptor is valid. Should contain the values of the
 	 * first descriptor as given by the test setup
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.registration.memory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.testsuite.regression.vab.support.ConcurrentTaskRunner;
+import org.junit.Test;
+
+/**
+ * Stress tests the {@link InMemoryRegistry} with concurrent requests
+ * 
+ * @author agent
+ *
+ */
+public class TestConcurrentMapRegistry {
+	private static final int THREADS = 8;
+	private static final int ENTRIES_PER_THREAD = 50;
+
+	@Test
+	public void concurrentRegisterAndLookup() throws Exception {
+		InMemoryRegistry registry = new InMemoryRegistry();
+
+		ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+			for (int i = 0; i < ENTRIES_PER_THREAD; i++) {
+				IIdentifier aasId = new CustomId("aas_" + thread + "_" + i);
+				registry.register(new AASDescriptor("aas", aasId, "http://localhost/" + aasId.getId()));
+				assertEquals(aasId.getId(), registry.lookupAAS(aasId).getIdentifier().getId());
+				registry.lookupAll();
+
+				if (i % 2 == 0) {
+					registry.delete(aasId);
+				}
+			}
+		});
+
+		assertEquals(THREADS * ENTRIES_PER_THREAD / 2, registry.lookupAll().size());
+	}
+
+	@Test
+	public void concurrentSubmodelRegistrationOfSameAAS() throws Exception {
+		InMemoryRegistry registry = new InMemoryRegistry();
+		IIdentifier aasId = new CustomId("sharedAAS");
+		registry.register(new AASDescriptor("sharedAAS", aasId, "http://localhost/sharedAAS"));
+
+		// No registration may get lost and lookups may not fail while the
+		// descriptor is modified
+		ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+			for (int i = 0; i < ENTRIES_PER_THREAD; i++) {
+				String smIdShort = "sm_" + thread + "_" + i;
+				registry.register(aasId, new SubmodelDescriptor(smIdShort, new CustomId(smIdShort), "http://localhost/" + smIdShort));
+				registry.lookupSubmodels(aasId);
+				registry.lookupSubmodel(aasId, new CustomId(smIdShort));
+			}
+		});
+
+		List<SubmodelDescriptor> submodels = registry.lookupSubmodels(aasId);
+		assertEquals(THREADS * ENTRIES_PER_THREAD, submodels.size());
+	}
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.aas.registration.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.AASDescriptor;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.ModelUrn;
+import org.eclipse.basyx.aas.metamodel.map.descriptor.SubmodelDescriptor;
+import org.eclipse.basyx.aas.registration.api.IAASRegistry;
+import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.aas.registration.memory.IndexedRegistryHandler;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IIdentifier;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.testsuite.regression.aas.registration.TestRegistryProviderSuite;
+import org.junit.Test;
+
+/**
+ * Tests the {@link InMemoryRegistry} based on the
+ * {@link IndexedRegistryHandler}, including its secondary indexes
+ * 
+ * @author agent
+ *
+ */
+public class TestIndexedRegistry extends TestRegistryProviderSuite {
+	private static final String SEMANTIC_ID = "urn:de.FHG:devices.es.iese/test:semantic:1.0:1:status";
+
+	@Override
+	protected IAASRegistry getRegistryService() {
+		return new InMemoryRegistry();
+	}
+
+	@Test
+	public void lookupBySubmodel() {
+		List<AASDescriptor> result = getRegistry().lookupAASBySubmodel(smId1);
+		assertEquals(1, result.size());
+		validateDescriptor1(result.get(0));
+
+		assertTrue(getRegistry().lookupAASBySubmodel(smId2).isEmpty());
+	}
+
+	@Test
+	public void submodelIndexFollowsSubmodelRegistration() {
+		proxy.register(aasId2, new SubmodelDescriptor(smIdShort2, smId2, smEndpoint2));
+		assertEquals(aasId2.getId(), getRegistry().lookupAASBySubmodel(smId2).get(0).getIdentifier().getId());
+		assertEquals(smIdShort2, proxy.lookupSubmodel(aasId2, smId2).getIdShort());
+
+		proxy.delete(aasId2, smId2);
+		assertTrue(getRegistry().lookupAASBySubmodel(smId2).isEmpty());
+
+		proxy.delete(aasId1);
+		assertTrue(getRegistry().lookupAASBySubmodel(smId1).isEmpty());
+	}
+
+	@Test
+	public void lookupBySemanticId() {
+		SubmodelDescriptor smDescriptor = new SubmodelDescriptor(smIdShort2, smId2, smEndpoint2);
+		IIdentifier semanticId = new Identifier(IdentifierType.IRI, SEMANTIC_ID);
+		smDescriptor.setSemanticId(new Reference(semanticId, KeyElements.CONCEPTDESCRIPTION, false));
+		proxy.register(aasId2, smDescriptor);
+
+		List<AASDescriptor> result = getRegistry().lookupAASBySemanticId(SEMANTIC_ID);
+		assertEquals(1, result.size());
+		assertEquals(aasId2.getId(), result.get(0).getIdentifier().getId());
+
+		proxy.delete(aasId2, smId2);
+		assertTrue(getRegistry().lookupAASBySemanticId(SEMANTIC_ID).isEmpty());
+	}
+
+	@Test
+	public void lookupByEndpointHost() {
+		assertEquals(2, getRegistry().lookupAASByEndpointHost("www.registrytest.de").size());
+		assertEquals(2, getRegistry().lookupAASByEndpointHost("WWW.REGISTRYTEST.DE").size());
+		assertTrue(getRegistry().lookupAASByEndpointHost("localhost").isEmpty());
+
+		// Overwriting the descriptor has to replace its indexed endpoints
+		proxy.register(new AASDescriptor(aasIdShort2, aasId2, asset2, "http://localhost:4001/aas"));
+		assertEquals(1, getRegistry().lookupAASByEndpointHost("www.registrytest.de").size());
+		assertEquals(aasId2.getId(), getRegistry().lookupAASByEndpointHost("localhost").get(0).getIdentifier().getId());
+	}
+
+	@Test
+	public void lookupByAssetIdAfterOverwrite() {
+		proxy.register(new AASDescriptor(aasIdShort2, aasId2, asset1, aasEndpoint2));
+
+		// asset002 is not referenced anymore, asset001 now belongs to the latest AAS
+		assertTrue(getRegistry().lookupAll().size() == 2);
+		assertEquals(aasId2.getId(), proxy.lookupAAS(new ModelUrn("asset001")).getIdentifier().getId());
+	}
+
+	@Test
+	public void lookupAllReturnsSnapshot() {
+		List<AASDescriptor> first = proxy.lookupAll();
+		assertSame(first, proxy.lookupAll());
+
+		proxy.delete(aasId2);
+		List<AASDescriptor> afterDelete = proxy.lookupAll();
+		assertEquals(2, first.size());
+		assertEquals(1, afterDelete.size());
+	}
+
+	@Test
+	public void pagingWhileModifying() {
+		IndexedRegistryHandler handler = new IndexedRegistryHandler();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			handler.insert(createDescriptor("aas" + i));
+			expected.add("aas" + i);
+		}
+
+		List<String> read = new ArrayList<>();
+		int offset = 0;
+		int inserted = 0;
+		List<AASDescriptor> page;
+		while (!(page = handler.getAll(offset, 10)).isEmpty()) {
+			for (AASDescriptor descriptor : page) {
+				read.add(descriptor.getIdentifier().getId());
+			}
+			offset += page.size();
+
+			// Register a new descriptor, overwrite an already read one and remove one
+			// that has not been read yet
+			if (inserted < 5) {
+				String newId = "new" + inserted++;
+				handler.insert(createDescriptor(newId));
+				expected.add(newId);
+			}
+			handler.update(createDescriptor(read.get(0)));
+			int unread = read.size() + 5;
+			if (unread < expected.size()) {
+				handler.remove(new Identifier(IdentifierType.CUSTOM, expected.remove(unread)));
+			}
+		}
+
+		assertEquals(expected, read);
+	}
+
+	private AASDescriptor createDescriptor(String id) {
+		return new AASDescriptor(id, new Identifier(IdentifierType.CUSTOM, id), "http://localhost/" + id);
+	}
+
+	private InMemoryRegistry getRegistry() {
+		return (InMemoryRegistry) proxy;
+	}
+}
@@ -24,8 +24,10 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.aas.registration.memory;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.basyx.aas.registration.api.IAASRegistry;
-import org.eclipse.basyx.aas.registration.memory.InMemoryRegistry;
+import org.eclipse.basyx.aas.registration.memory.AASRegistry;
 import org.eclipse.basyx.aas.registration.memory.MapRegistryHandler;
 import org.eclipse.basyx.testsuite.regression.aas.registration.TestRegistryProviderSuite;
 
@@ -40,6 +42,6 @@ public class TestMapRegistry extends TestRegistryProviderSuite {
 
 	@Override
 	protected IAASRegistry getRegistryService() {
-		return new InMemoryRegistry();
+		return new AASRegistry(new MapRegistryHandler(new ConcurrentHashMap<>()));
 	}
 }
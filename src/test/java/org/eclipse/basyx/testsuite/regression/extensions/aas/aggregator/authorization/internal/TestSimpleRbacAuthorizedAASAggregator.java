@@ -193,7 +193,6 @@ public class TestSimpleRbacAuthorizedAASAggregator {
 
 		final Collection<IAssetAdministrationShell> expectedAASDescriptorList = Collections.singletonList(shell);
 		Mockito.when(apiMock.getAASList()).thenReturn(Collections.singletonList(shell));
-		Mockito.when(apiMock.getAAS(SHELL_IDENTIFIER)).thenReturn(shell);
 
 		final Collection<IAssetAdministrationShell> shellList = testSubject.getAASList();
 
@@ -216,7 +215,6 @@ public class TestSimpleRbacAuthorizedAASAggregator {
 
 		final Collection<IAssetAdministrationShell> expectedAASDescriptorList = Collections.singletonList(shell);
 		Mockito.when(apiMock.getAASList()).thenReturn(new HashSet<>(Arrays.asList(shell, secondShell)));
-		Mockito.when(apiMock.getAAS(SHELL_IDENTIFIER)).thenReturn(shell);
 
 		final Collection<IAssetAdministrationShell> returnedShellList = testSubject.getAASList();
 
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.aas.aggregator.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.basyx.aas.aggregator.AASAggregator;
+import org.eclipse.basyx.aas.aggregator.api.IAASAggregator;
+import org.eclipse.basyx.aas.metamodel.map.AssetAdministrationShell;
+import org.eclipse.basyx.aas.restapi.AASAPIFactory;
+import org.eclipse.basyx.extensions.aas.aggregator.storage.StorageAASAggregator;
+import org.eclipse.basyx.extensions.internal.storage.file.FileLogStore;
+import org.eclipse.basyx.extensions.internal.storage.file.FileStorageAPIFactory;
+import org.eclipse.basyx.extensions.submodel.aggregator.storage.StorageDecoratingSubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregatorFactory;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.testsuite.regression.aas.aggregator.AASAggregatorSuite;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the StorageAASAggregator backed by a {@link FileLogStore}. Each call of
+ * {@link #getAggregator()} simulates a restart by restoring a new aggregator
+ * from the store.
+ * 
+ * @author agent
+ *
+ */
+public class TestStorageAASAggregator extends AASAggregatorSuite {
+	private static final String SUBMODEL_PATH = "/aas/submodels/sm";
+	private static final String VALUE_PATH = SUBMODEL_PATH + "/submodel/submodelElements/prop/value";
+
+	private static Path directory;
+	private static FileLogStore store;
+
+	@BeforeClass
+	public static void setUpClass() throws IOException {
+		directory = Files.createTempDirectory("aasstore");
+		store = new FileLogStore(directory);
+	}
+
+	@AfterClass
+	public static void tearDownClass() throws IOException {
+		store.close();
+		FileUtils.deleteDirectory(directory.toFile());
+	}
+
+	@Override
+	protected IAASAggregator getAggregator() {
+		FileStorageAPIFactory storageFactory = new FileStorageAPIFactory(store);
+		AASAggregator aggregator = new AASAggregator(new AASAPIFactory(), new StorageDecoratingSubmodelAggregatorFactory(new SubmodelAggregatorFactory(), storageFactory));
+		return new StorageAASAggregator(aggregator, storageFactory);
+	}
+
+	@Test
+	public void submodelChangesAreRestored() {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas1);
+		IModelProvider provider = aggregator.getAASProvider(aas1.getIdentification());
+		provider.setValue(SUBMODEL_PATH, createSubmodel());
+		provider.setValue(VALUE_PATH, 5);
+
+		IModelProvider restored = getAggregator().getAASProvider(aas1.getIdentification());
+		assertEquals(5, restored.getValue(VALUE_PATH));
+		assertEquals(1, getShell(restored).getSubmodelReferences().size());
+	}
+
+	@Test
+	public void deletedSubmodelIsNotRestored() {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas1);
+		IModelProvider provider = aggregator.getAASProvider(aas1.getIdentification());
+		provider.setValue(SUBMODEL_PATH, createSubmodel());
+		provider.deleteValue(SUBMODEL_PATH);
+
+		IModelProvider restored = getAggregator().getAASProvider(aas1.getIdentification());
+		assertTrue(getShell(restored).getSubmodelReferences().isEmpty());
+		assertSubmodelNotFound(restored);
+	}
+
+	@Test
+	public void recreatedShellHasNoSubmodels() {
+		IAASAggregator aggregator = getAggregator();
+		aggregator.createAAS(aas1);
+		aggregator.getAASProvider(aas1.getIdentification()).setValue(SUBMODEL_PATH, createSubmodel());
+		aggregator.deleteAAS(aas1.getIdentification());
+		aggregator.createAAS(aas1);
+
+		assertSubmodelNotFound(getAggregator().getAASProvider(aas1.getIdentification()));
+	}
+
+	private void assertSubmodelNotFound(IModelProvider provider) {
+		try {
+			provider.getValue(VALUE_PATH);
+			fail("Deleted submodel has been restored");
+		} catch (ResourceNotFoundException e) {
+			// Expected
+		}
+	}
+
+	private Submodel createSubmodel() {
+		Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "smId"));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		return submodel;
+	}
+
+	@SuppressWarnings("unchecked")
+	private AssetAdministrationShell getShell(IModelProvider provider) {
+		return AssetAdministrationShell.createAsFacade((Map<String, Object>) provider.getValue("/aas"));
+	}
+}
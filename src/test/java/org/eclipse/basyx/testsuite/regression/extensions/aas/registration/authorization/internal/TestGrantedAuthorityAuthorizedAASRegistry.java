@@ -195,7 +195,6 @@ public class TestGrantedAuthorityAuthorizedAASRegistry {
 		SecurityContextHolder.setContext(getSecurityContextWithReadAuthority());
 		final List<AASDescriptor> expectedAASDescriptorList = Collections.singletonList(aasDescriptor);
 		Mockito.when(apiMock.lookupAll()).thenReturn(expectedAASDescriptorList);
-		Mockito.when(apiMock.lookupAAS(SHELL_IDENTIFIER)).thenReturn(aasDescriptor);
 
 		final List<AASDescriptor> returnedAasDescriptorList = testSubject.lookupAll();
 		Assert.assertEquals(expectedAASDescriptorList, returnedAasDescriptorList);
@@ -213,7 +212,6 @@ public class TestGrantedAuthorityAuthorizedAASRegistry {
 		SecurityContextHolder.setContext(getSecurityContextWithReadAuthority());
 		final List<SubmodelDescriptor> expectedSubmodelDescriptorList = Collections.singletonList(smDescriptor);
 		Mockito.when(apiMock.lookupSubmodels(SHELL_IDENTIFIER)).thenReturn(expectedSubmodelDescriptorList);
-		Mockito.when(apiMock.lookupSubmodel(SHELL_IDENTIFIER, SUBMODEL_IDENTIFIER)).thenReturn(smDescriptor);
 
 		final List<SubmodelDescriptor> returnedSubmodelDescriptorList = testSubject.lookupSubmodels(SHELL_IDENTIFIER);
 		Assert.assertEquals(expectedSubmodelDescriptorList, returnedSubmodelDescriptorList);
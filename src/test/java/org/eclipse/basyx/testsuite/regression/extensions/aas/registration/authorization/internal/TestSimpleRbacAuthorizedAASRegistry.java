@@ -194,7 +194,6 @@ public class TestSimpleRbacAuthorizedAASRegistry {
 		securityContextProvider.setSecurityContextWithRoles(readerRole);
 		final List<AASDescriptor> expectedAASDescriptorList = Collections.singletonList(aasDescriptor);
 		Mockito.when(apiMock.lookupAll()).thenReturn(Collections.singletonList(aasDescriptor));
-		Mockito.when(apiMock.lookupAAS(SHELL_IDENTIFIER)).thenReturn(aasDescriptor);
 
 		final List<AASDescriptor> returnedAasDescriptorList = testSubject.lookupAll();
 		Assert.assertEquals(expectedAASDescriptorList, returnedAasDescriptorList);
@@ -212,7 +211,6 @@ public class TestSimpleRbacAuthorizedAASRegistry {
 		securityContextProvider.setSecurityContextWithRoles(partialReaderRole);
 		final List<AASDescriptor> expectedAASDescriptorList = Collections.singletonList(aasDescriptor);
 		Mockito.when(apiMock.lookupAll()).thenReturn(Arrays.asList(aasDescriptor, secondAasDescriptor));
-		Mockito.when(apiMock.lookupAAS(SHELL_IDENTIFIER)).thenReturn(aasDescriptor);
 
 		final List<AASDescriptor> returnedAasDescriptorList = testSubject.lookupAll();
 		Assert.assertEquals(expectedAASDescriptorList, returnedAasDescriptorList);
@@ -223,7 +221,6 @@ public class TestSimpleRbacAuthorizedAASRegistry {
 		securityContextProvider.setSecurityContextWithRoles(readerRole);
 		final List<SubmodelDescriptor> expectedSubmodelDescriptorList = Collections.singletonList(smDescriptor);
 		Mockito.when(apiMock.lookupSubmodels(SHELL_IDENTIFIER)).thenReturn(Collections.singletonList(smDescriptor));
-		Mockito.when(apiMock.lookupSubmodel(SHELL_IDENTIFIER, SUBMODEL_IDENTIFIER)).thenReturn(smDescriptor);
 
 		final List<SubmodelDescriptor> returnedSubmodelDescriptorList = testSubject.lookupSubmodels(SHELL_IDENTIFIER);
 		Assert.assertEquals(expectedSubmodelDescriptorList, returnedSubmodelDescriptorList);
@@ -241,8 +238,6 @@ public class TestSimpleRbacAuthorizedAASRegistry {
 		securityContextProvider.setSecurityContextWithRoles(partialReaderRole);
 		final List<SubmodelDescriptor> expectedSubmodelDescriptorList = Collections.singletonList(smDescriptor);
 		Mockito.when(apiMock.lookupSubmodels(SHELL_IDENTIFIER)).thenReturn(Arrays.asList(smDescriptor, secondSmDescriptor));
-		Mockito.when(apiMock.lookupSubmodel(SHELL_IDENTIFIER, SUBMODEL_IDENTIFIER)).thenReturn(smDescriptor);
-		Mockito.when(apiMock.lookupSubmodel(SHELL_IDENTIFIER, SECOND_SUBMODEL_IDENTIFIER)).thenReturn(secondSmDescriptor);
 
 		final List<SubmodelDescriptor> returnedSubmodelDescriptorList = testSubject.lookupSubmodels(SHELL_IDENTIFIER);
 		Assert.assertEquals(expectedSubmodelDescriptorList, returnedSubmodelDescriptorList);
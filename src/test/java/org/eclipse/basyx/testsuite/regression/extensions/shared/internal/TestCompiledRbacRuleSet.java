@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.shared.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.CompiledRbacRuleSet;
+import org.eclipse.basyx.extensions.shared.authorization.internal.PredefinedSetRbacRuleChecker;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRule;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRuleSet;
+import org.eclipse.basyx.extensions.shared.authorization.internal.TagTargetInformation;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link CompiledRbacRuleSet} and the decision cache of
+ * {@link PredefinedSetRbacRuleChecker}
+ *
+ * @author agent
+ */
+public class TestCompiledRbacRuleSet {
+	private final String adminRole = "admin";
+	private final String readAction = "read";
+	private final String writeAction = "write";
+
+	@Test
+	public void wildcardRoleAndActionMatch() {
+		final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+		rbacRuleSet.addRule(new RbacRule("*", "*", new BaSyxObjectTargetInformation("*", "*", "*", "*")));
+
+		final CompiledRbacRuleSet testSubject = new CompiledRbacRuleSet(rbacRuleSet);
+
+		Assert.assertTrue(testSubject.isSatisfied(null, readAction, new BaSyxObjectTargetInformation("aas", "sm", "sem", "a/b")));
+		Assert.assertTrue(testSubject.isSatisfied(Collections.singletonList(adminRole), null, new BaSyxObjectTargetInformation("aas", "sm", "sem", "a/b")));
+	}
+
+	@Test
+	public void ruleValuesAreRegularExpressions() {
+		final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+		rbacRuleSet.addRule(new RbacRule(adminRole, readAction, new BaSyxObjectTargetInformation("urn:aas.1", "*", "*", "sensors/*")));
+
+		final CompiledRbacRuleSet testSubject = new CompiledRbacRuleSet(rbacRuleSet);
+		final List<String> roles = Collections.singletonList(adminRole);
+
+		Assert.assertTrue(testSubject.isSatisfied(roles, readAction, new BaSyxObjectTargetInformation("urn:aas.1", "sm", "sem", "sensors/temp")));
+		// "." is interpreted as any character
+		Assert.assertTrue(testSubject.isSatisfied(roles, readAction, new BaSyxObjectTargetInformation("urn:aasX1", "sm", "sem", "sensors/temp")));
+		Assert.assertFalse(testSubject.isSatisfied(roles, readAction, new BaSyxObjectTargetInformation("urn:aas.1", "sm", "sem", "sensors/temp/value")));
+		Assert.assertFalse(testSubject.isSatisfied(roles, writeAction, new BaSyxObjectTargetInformation("urn:aas.1", "sm", "sem", "sensors/temp")));
+	}
+
+	@Test
+	public void unrelatedTargetInformationTypesDoNotMatch() {
+		final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+		rbacRuleSet.addRule(new RbacRule(adminRole, readAction, new TagTargetInformation("*")));
+
+		final CompiledRbacRuleSet testSubject = new CompiledRbacRuleSet(rbacRuleSet);
+
+		Assert.assertTrue(testSubject.isSatisfied(Collections.singletonList(adminRole), readAction, new TagTargetInformation("tag")));
+		Assert.assertFalse(testSubject.isSatisfied(Collections.singletonList(adminRole), readAction, new BaSyxObjectTargetInformation("*", "*", "*", "*")));
+	}
+
+	@Test
+	public void changedRuleSetInvalidatesCachedDecisions() {
+		final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+		final PredefinedSetRbacRuleChecker testSubject = new PredefinedSetRbacRuleChecker(rbacRuleSet);
+		final BaSyxObjectTargetInformation target = new BaSyxObjectTargetInformation("aas", "sm", "sem", "prop");
+		final RbacRule rule = new RbacRule(adminRole, readAction, new BaSyxObjectTargetInformation("*", "*", "*", "*"));
+
+		Assert.assertFalse(testSubject.checkRbacRuleIsSatisfied(Collections.singletonList(adminRole), readAction, target));
+		Assert.assertEquals(1, testSubject.getCachedDecisionCount());
+
+		rbacRuleSet.addRule(rule);
+		Assert.assertTrue(testSubject.checkRbacRuleIsSatisfied(Collections.singletonList(adminRole), readAction, target));
+
+		rbacRuleSet.deleteRule(rule);
+		Assert.assertFalse(testSubject.checkRbacRuleIsSatisfied(Collections.singletonList(adminRole), readAction, target));
+	}
+
+	@Test
+	public void cachedDecisionIsNotAffectedByModifiedRoles() {
+		final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+		rbacRuleSet.addRule(new RbacRule(adminRole, readAction, new BaSyxObjectTargetInformation("*", "*", "*", "*")));
+		final PredefinedSetRbacRuleChecker testSubject = new PredefinedSetRbacRuleChecker(rbacRuleSet, 1);
+		final BaSyxObjectTargetInformation target = new BaSyxObjectTargetInformation("aas", "sm", "sem", "prop");
+
+		final List<String> roles = new ArrayList<>();
+		roles.add("normal");
+		Assert.assertFalse(testSubject.checkRbacRuleIsSatisfied(roles, readAction, target));
+
+		roles.set(0, adminRole);
+		Assert.assertTrue(testSubject.checkRbacRuleIsSatisfied(roles, readAction, target));
+		Assert.assertEquals(1, testSubject.getCachedDecisionCount());
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.shared.mqtt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.extensions.shared.mqtt.MqttAsyncPublisher;
+import org.eclipse.basyx.extensions.shared.mqtt.MqttAsyncPublisherConfiguration;
+import org.eclipse.basyx.extensions.shared.mqtt.MqttOutboxOverflowPolicy;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.ClasspathResourceLoader;
+import io.moquette.broker.config.IConfig;
+import io.moquette.broker.config.IResourceLoader;
+import io.moquette.broker.config.ResourceLoaderConfig;
+
+/**
+ * Tests the asynchronous publishing of {@link MqttAsyncPublisher}
+ * 
+ * @author agent
+ *
+ */
+public class TestMqttAsyncPublisher {
+	private static final String CLIENT_ID = "testAsyncClient";
+	private static final String SERVER_URI = "tcp://localhost:1884";
+	private static final String TOPIC = "asyncTopic";
+
+	private static Server mqttBroker;
+	private static MqttAsyncClient client;
+	private MqttTestListener listener;
+
+	@BeforeClass
+	public static void setUpClass() throws MqttException, IOException {
+		mqttBroker = new Server();
+		IResourceLoader classpathLoader = new ClasspathResourceLoader();
+		final IConfig classPathConfig = new ResourceLoaderConfig(classpathLoader);
+		mqttBroker.startServer(classPathConfig);
+
+		client = new MqttAsyncClient(SERVER_URI, CLIENT_ID, new MemoryPersistence());
+		client.connect().waitForCompletion();
+	}
+
+	@AfterClass
+	public static void tearDownClass() throws MqttException {
+		client.disconnect().waitForCompletion();
+		client.close();
+		mqttBroker.stopServer();
+	}
+
+	@Before
+	public void setUp() {
+		listener = new MqttTestListener();
+		mqttBroker.addInterceptHandler(listener);
+	}
+
+	@After
+	public void tearDown() {
+		mqttBroker.removeInterceptHandler(listener);
+	}
+
+	@Test
+	public void publishInOrder() throws InterruptedException {
+		try (MqttAsyncPublisher publisher = new MqttAsyncPublisher(client)) {
+			for (int i = 0; i < 10; i++) {
+				assertTrue(publisher.publish(TOPIC, Integer.toString(i), 1));
+			}
+			assertTrue(publisher.flush(5, TimeUnit.SECONDS));
+
+			assertEquals(10, publisher.getPublishedCount());
+			assertEquals(0, publisher.getQueueDepth());
+			assertEquals(0, publisher.getInflightCount());
+			assertTrue(publisher.getMaxLatencyNanos() >= publisher.getAverageLatencyNanos());
+		}
+		waitForMessages(10);
+		assertEquals("9", listener.lastPayload);
+	}
+
+	@Test
+	public void coalesceUpdates() throws InterruptedException {
+		MqttAsyncPublisherConfiguration configuration = new MqttAsyncPublisherConfiguration();
+		configuration.setCoalescingWindowMillis(500);
+		try (MqttAsyncPublisher publisher = new MqttAsyncPublisher(client, configuration)) {
+			for (int i = 0; i < 20; i++) {
+				publisher.publish(TOPIC, Integer.toString(i), 1, TOPIC);
+			}
+			assertTrue(publisher.flush(5, TimeUnit.SECONDS));
+
+			assertEquals(1, publisher.getPublishedCount());
+			assertEquals(19, publisher.getCoalescedCount());
+		}
+		waitForMessages(1);
+		assertEquals("19", listener.lastPayload);
+	}
+
+	@Test
+	public void dropNewestWhenFull() {
+		MqttAsyncPublisherConfiguration configuration = createStalledConfiguration(MqttOutboxOverflowPolicy.DROP_NEWEST);
+		try (MqttAsyncPublisher publisher = new MqttAsyncPublisher(createStalledClient(), configuration)) {
+			fillOutbox(publisher);
+
+			assertFalse(publisher.publish(TOPIC, "dropped", 1));
+			assertEquals(2, publisher.getQueueDepth());
+			assertEquals(1, publisher.getDroppedCount());
+		}
+	}
+
+	@Test
+	public void dropOldestWhenFull() {
+		MqttAsyncPublisherConfiguration configuration = createStalledConfiguration(MqttOutboxOverflowPolicy.DROP_OLDEST);
+		try (MqttAsyncPublisher publisher = new MqttAsyncPublisher(createStalledClient(), configuration)) {
+			fillOutbox(publisher);
+
+			assertTrue(publisher.publish(TOPIC, "queued", 1));
+			assertEquals(2, publisher.getQueueDepth());
+			assertEquals(1, publisher.getDroppedCount());
+		}
+	}
+
+	@Test
+	public void blockUntilTimeoutWhenFull() {
+		MqttAsyncPublisherConfiguration configuration = createStalledConfiguration(MqttOutboxOverflowPolicy.BLOCK);
+		configuration.setBlockTimeoutMillis(100);
+		try (MqttAsyncPublisher publisher = new MqttAsyncPublisher(createStalledClient(), configuration)) {
+			fillOutbox(publisher);
+
+			long start = System.nanoTime();
+			assertFalse(publisher.publish(TOPIC, "dropped", 1));
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+			assertEquals(1, publisher.getDroppedCount());
+		}
+	}
+
+	/**
+	 * Creates a client that accepts messages, but never completes their delivery
+	 */
+	private IMqttAsyncClient createStalledClient() {
+		return Mockito.mock(IMqttAsyncClient.class);
+	}
+
+	private MqttAsyncPublisherConfiguration createStalledConfiguration(MqttOutboxOverflowPolicy policy) {
+		MqttAsyncPublisherConfiguration configuration = new MqttAsyncPublisherConfiguration();
+		configuration.setMaxInflight(1);
+		configuration.setOutboxCapacity(2);
+		configuration.setOverflowPolicy(policy);
+		configuration.setCloseTimeoutMillis(0);
+		return configuration;
+	}
+
+	/**
+	 * Fills the inflight slot and the outbox of a publisher with a stalled client
+	 */
+	private void fillOutbox(MqttAsyncPublisher publisher) {
+		publisher.publish(TOPIC, "inflight", 1);
+		while (publisher.getInflightCount() == 0) {
+			Thread.yield();
+		}
+		publisher.publish(TOPIC, "queued1", 1);
+		publisher.publish(TOPIC, "queued2", 1);
+	}
+
+	/**
+	 * The broker notifies its listeners asynchronously
+	 */
+	private void waitForMessages(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (listener.msgCounter < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, listener.msgCounter);
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.storage.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.basyx.extensions.internal.storage.file.FileLogStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the durability of the {@link FileLogStore}
+ * 
+ * @author agent
+ *
+ */
+public class TestFileLogStore {
+	private Path directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("store");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(directory.toFile());
+	}
+
+	@Test
+	public void logIsReplayedAfterRestart() {
+		FileLogStore store = new FileLogStore(directory);
+		store.put("a", bytes("1"));
+		store.put("b", bytes("2"));
+		store.put("a", bytes("3"));
+		store.remove("b");
+		// Simulate a crash by not closing the store
+
+		FileLogStore restarted = new FileLogStore(directory);
+		assertArrayEquals(bytes("3"), restarted.get("a"));
+		assertFalse(restarted.containsKey("b"));
+		restarted.close();
+	}
+
+	@Test
+	public void checkpointTruncatesLog() throws IOException {
+		FileLogStore store = new FileLogStore(directory, 256);
+		for (int i = 0; i < 100; i++) {
+			store.put("key" + i, bytes("value" + i));
+		}
+		assertTrue(Files.exists(directory.resolve(FileLogStore.SNAPSHOT_FILE)));
+		assertTrue(Files.size(directory.resolve(FileLogStore.LOG_FILE)) < 256);
+
+		FileLogStore restarted = new FileLogStore(directory);
+		for (int i = 0; i < 100; i++) {
+			assertArrayEquals(bytes("value" + i), restarted.get("key" + i));
+		}
+		restarted.close();
+	}
+
+	@Test
+	public void closeCreatesSnapshot() throws IOException {
+		FileLogStore store = new FileLogStore(directory);
+		store.put("a", bytes("1"));
+		store.close();
+		assertEquals(0, Files.size(directory.resolve(FileLogStore.LOG_FILE)));
+
+		FileLogStore restarted = new FileLogStore(directory);
+		assertArrayEquals(bytes("1"), restarted.get("a"));
+		restarted.close();
+	}
+
+	@Test
+	public void tornTailIsDiscarded() throws IOException {
+		FileLogStore store = new FileLogStore(directory);
+		store.put("a", bytes("1"));
+		store.put("b", bytes("2"));
+
+		// Cut off the last bytes of the second record
+		Path log = directory.resolve(FileLogStore.LOG_FILE);
+		try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+
+		FileLogStore restarted = new FileLogStore(directory);
+		assertArrayEquals(bytes("1"), restarted.get("a"));
+		assertNull(restarted.get("b"));
+
+		// New records are appended after the last valid one
+		restarted.put("c", bytes("3"));
+		FileLogStore restartedAgain = new FileLogStore(directory);
+		assertArrayEquals(bytes("1"), restartedAgain.get("a"));
+		assertArrayEquals(bytes("3"), restartedAgain.get("c"));
+		restartedAgain.close();
+	}
+
+	@Test
+	public void getByPrefix() {
+		FileLogStore store = new FileLogStore(directory);
+		store.put("shells\u0000a", bytes("1"));
+		store.put("shells\u0000b", bytes("2"));
+		store.put("submodels\u0000a", bytes("3"));
+
+		assertEquals(Arrays.asList("shells\u0000a", "shells\u0000b"), new ArrayList<>(store.getByPrefix("shells\u0000").keySet()));
+		store.close();
+	}
+
+	@Test
+	public void concurrentWritesAreDurable() throws Exception {
+		FileLogStore store = new FileLogStore(directory, 4096);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 50; i++) {
+					store.put(thread + "/" + i, bytes(Integer.toString(i)));
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		FileLogStore restarted = new FileLogStore(directory);
+		for (int t = 0; t < 8; t++) {
+			for (int i = 0; i < 50; i++) {
+				assertArrayEquals(bytes(Integer.toString(i)), restarted.get(t + "/" + i));
+			}
+		}
+		restarted.close();
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.storage.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.basyx.extensions.internal.storage.file.FileLogStore;
+import org.eclipse.basyx.extensions.internal.storage.file.FileSubmodelStorageAPI;
+import org.eclipse.basyx.extensions.internal.storage.file.LazySubmodelElementMap;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.dataelement.IProperty;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the element-wise persistence of the {@link FileSubmodelStorageAPI}
+ * 
+ * @author agent
+ *
+ */
+public class TestFileSubmodelStorageAPI {
+	private static final String SUBMODEL_ID = "submodelId";
+
+	private Path directory;
+	private FileLogStore store;
+	private FileSubmodelStorageAPI storage;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("submodelstore");
+		store = new FileLogStore(directory);
+		storage = new FileSubmodelStorageAPI(store, "submodels");
+		storage.createOrUpdate(createSubmodel());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		store.close();
+		FileUtils.deleteDirectory(directory.toFile());
+	}
+
+	@Test
+	public void retrieveSubmodel() {
+		Submodel submodel = storage.retrieve(SUBMODEL_ID);
+		assertEquals("submodel", submodel.getIdShort());
+		assertEquals(2, submodel.getSubmodelElements().size());
+		assertEquals(1, getPropertyValue(submodel.getSubmodelElement("prop")));
+
+		ISubmodelElementCollection collection = (ISubmodelElementCollection) submodel.getSubmodelElement("collection");
+		assertEquals("nested", getPropertyValue(collection.getSubmodelElement("nestedProp")));
+	}
+
+	@Test
+	public void elementsAreHydratedOnAccess() {
+		Submodel submodel = storage.retrieve(SUBMODEL_ID);
+		LazySubmodelElementMap elements = (LazySubmodelElementMap) submodel.get(Submodel.SUBMODELELEMENT);
+		assertEquals(0, elements.getHydratedCount());
+
+		submodel.getSubmodelElement("prop");
+		assertEquals(1, elements.getHydratedCount());
+	}
+
+	@Test
+	public void replacingElementsDoesNotHydrate() {
+		Submodel submodel = storage.retrieve(SUBMODEL_ID);
+		LazySubmodelElementMap elements = (LazySubmodelElementMap) submodel.get(Submodel.SUBMODELELEMENT);
+
+		assertNull(elements.put("prop", new Property("prop", 2)));
+		assertNull(elements.remove("collection"));
+		assertEquals(1, elements.getHydratedCount());
+
+		assertEquals(2, getPropertyValue((ISubmodelElement) elements.remove("prop")));
+	}
+
+	@Test
+	public void retrieveSingleElement() {
+		assertEquals("nested", getPropertyValue(storage.retrieveSubmodelElement(SUBMODEL_ID, "collection/nestedProp")));
+		assertNull(storage.retrieveSubmodelElement(SUBMODEL_ID, "unknown"));
+	}
+
+	@Test
+	public void updateNestedElement() {
+		storage.updateSubmodelElement(SUBMODEL_ID, "collection/nestedProp", new Property("nestedProp", "updated"));
+
+		// Restart the store to check that the update is durable
+		store.close();
+		store = new FileLogStore(directory);
+		storage = new FileSubmodelStorageAPI(store, "submodels");
+
+		assertEquals("updated", getPropertyValue(storage.retrieveSubmodelElement(SUBMODEL_ID, "collection/nestedProp")));
+		assertEquals(1, getPropertyValue(storage.retrieveSubmodelElement(SUBMODEL_ID, "prop")));
+	}
+
+	@Test
+	public void replaceCollection() {
+		SubmodelElementCollection replacement = new SubmodelElementCollection("collection");
+		replacement.addSubmodelElement(new Property("otherProp", 2));
+		storage.updateSubmodelElement(SUBMODEL_ID, "collection", replacement);
+
+		ISubmodelElementCollection collection = (ISubmodelElementCollection) storage.retrieve(SUBMODEL_ID).getSubmodelElement("collection");
+		assertEquals(1, collection.getSubmodelElements().size());
+		assertTrue(collection.getSubmodelElements().containsKey("otherProp"));
+	}
+
+	@Test
+	public void deleteCollection() {
+		assertTrue(storage.deleteSubmodelElement(SUBMODEL_ID, "collection"));
+		assertNull(storage.retrieveSubmodelElement(SUBMODEL_ID, "collection/nestedProp"));
+		assertFalse(storage.retrieve(SUBMODEL_ID).getSubmodelElements().containsKey("collection"));
+	}
+
+	@Test
+	public void deleteSubmodel() {
+		assertTrue(storage.delete(SUBMODEL_ID));
+		assertNull(storage.retrieve(SUBMODEL_ID));
+		assertTrue(store.getByPrefix("").isEmpty());
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void updateElementOfUnknownSubmodel() {
+		storage.updateSubmodelElement("unknown", "prop", new Property("prop", 2));
+	}
+
+	private Submodel createSubmodel() {
+		Submodel submodel = new Submodel("submodel", new Identifier(IdentifierType.CUSTOM, SUBMODEL_ID));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("nestedProp", "nested"));
+		submodel.addSubmodelElement(collection);
+		return submodel;
+	}
+
+	private Object getPropertyValue(ISubmodelElement element) {
+		return ((IProperty) element).getValue();
+	}
+}
@@ -109,7 +109,6 @@ public class TestGrantedAuthorityAuthorizedSubmodelAggregator {
 		final Collection<ISubmodel> expectedList = new ArrayList<>();
 		expectedList.add(submodel);
 		Mockito.when(apiMock.getSubmodelList()).thenReturn(expectedList);
-		Mockito.when(apiMock.getSubmodel(SUBMODEL_IDENTIFIER)).thenReturn(submodel);
 
 		final Collection<ISubmodel> smList = testSubject.getSubmodelList();
 		assertEquals(expectedList, smList);
@@ -133,7 +133,6 @@ public class TestSimpleRbacAuthorizedSubmodelAggregator {
 		final Collection<ISubmodel> expectedList = new ArrayList<>();
 		expectedList.add(submodel);
 		Mockito.when(apiMock.getSubmodelList()).thenReturn(expectedList);
-		Mockito.when(apiMock.getSubmodel(submodel.getIdentification())).thenReturn(submodel);
 
 		final Collection<ISubmodel> smList = testSubject.getSubmodelList();
 		assertEquals(expectedList, smList);
@@ -347,7 +346,6 @@ public class TestSimpleRbacAuthorizedSubmodelAggregator {
 
 		final Collection<ISubmodel> expectedSubmodelList = Collections.singletonList(submodel);
 		Mockito.when(apiMock.getSubmodelList()).thenReturn(new HashSet<>(Arrays.asList(submodel, secondSubmodel)));
-		Mockito.when(apiMock.getSubmodel(SUBMODEL_IDENTIFIER)).thenReturn(submodel);
 
 		final Collection<ISubmodel> returnedSubmodelList = testSubject.getSubmodelList();
 
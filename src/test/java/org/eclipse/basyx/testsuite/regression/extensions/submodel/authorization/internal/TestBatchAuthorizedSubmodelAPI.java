@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.extensions.submodel.authorization.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.extensions.shared.authorization.internal.BaSyxObjectTargetInformation;
+import org.eclipse.basyx.extensions.shared.authorization.internal.BatchAuthorizationHelper;
+import org.eclipse.basyx.extensions.shared.authorization.internal.PredefinedSetRbacRuleChecker;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRule;
+import org.eclipse.basyx.extensions.shared.authorization.internal.RbacRuleSet;
+import org.eclipse.basyx.extensions.shared.authorization.internal.SimpleRbacInhibitException;
+import org.eclipse.basyx.extensions.submodel.authorization.SubmodelAPIScopes;
+import org.eclipse.basyx.extensions.submodel.authorization.internal.AuthorizedSubmodelAPI;
+import org.eclipse.basyx.extensions.submodel.authorization.internal.SimpleRbacSubmodelAPIAuthorizer;
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the batch authorization used for filtering the list endpoints of
+ * {@link AuthorizedSubmodelAPI}
+ *
+ * @author agent
+ */
+public class TestBatchAuthorizedSubmodelAPI {
+	private static final String READER_ROLE = "reader";
+	private static final String PARTIAL_READER_ROLE = "partialReader";
+
+	private final RbacRuleSet rbacRuleSet = new RbacRuleSet();
+	private final SimpleRbacSubmodelAPIAuthorizer<List<String>> authorizer = new SimpleRbacSubmodelAPIAuthorizer<>(new PredefinedSetRbacRuleChecker(rbacRuleSet), roles -> roles);
+	private List<String> currentRoles;
+	private AuthorizedSubmodelAPI<List<String>> testSubject;
+
+	@Before
+	public void setUp() {
+		rbacRuleSet.addRule(new RbacRule(READER_ROLE, SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", "*", "*", "*")));
+		rbacRuleSet.addRule(new RbacRule(PARTIAL_READER_ROLE, SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", "*", "*", "visible*")));
+		rbacRuleSet.addRule(new RbacRule(PARTIAL_READER_ROLE, SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation("*", "*", "*", null)));
+
+		final Submodel submodel = new Submodel("submodel", new Identifier(IdentifierType.CUSTOM, "submodelId"));
+		submodel.addSubmodelElement(new Property("visibleProp", 1));
+		submodel.addSubmodelElement(new Property("hiddenProp", 2));
+		submodel.addSubmodelElement(new Property("visibleSecondProp", 3));
+
+		testSubject = new AuthorizedSubmodelAPI<>(new VABSubmodelAPI(new VABMapProvider(submodel)), authorizer, () -> currentRoles);
+	}
+
+	@Test
+	public void readerSeesAllSubmodelElements() {
+		currentRoles = Collections.singletonList(READER_ROLE);
+
+		Assert.assertEquals(3, testSubject.getSubmodelElements().size());
+	}
+
+	@Test
+	public void partialReaderSeesOnlyPermittedSubmodelElements() {
+		currentRoles = Collections.singletonList(PARTIAL_READER_ROLE);
+
+		Assert.assertEquals(Arrays.asList("visibleProp", "visibleSecondProp"), sortedIdShorts(testSubject.getSubmodelElements()));
+	}
+
+	@Test
+	public void batchResultMatchesSingleAuthorization() {
+		final List<String> roles = Collections.singletonList(PARTIAL_READER_ROLE);
+		final List<ISubmodelElement> smEls = Arrays.asList(new Property("visibleProp", 1), new Property("hiddenProp", 2), new Property("visible", 3), new Property("visibleCollection/nested", 4));
+
+		final List<ISubmodelElement> authorized = authorizer.authorizeGetSubmodelElementBatch(roles, null, null, null, smEls);
+		final List<ISubmodelElement> expected = BatchAuthorizationHelper.authorizeEach(smEls, (i, smEl) -> authorizer.authorizeGetSubmodelElement(roles, null, null, null, smEl.getIdShort(), () -> smEl));
+
+		Assert.assertEquals(expected, authorized);
+		Assert.assertEquals(Collections.singletonList(smEls.get(0)), authorized);
+	}
+
+	@Test
+	public void fallbackRetainsElementsReturnedBySingleAuthorization() {
+		final List<String> candidates = Arrays.asList("visible", "hidden", "redacted", "dropped");
+
+		final List<String> authorized = BatchAuthorizationHelper.authorizeEach(candidates, (i, candidate) -> {
+			Assert.assertEquals(candidates.get(i), candidate);
+			switch (candidate) {
+			case "hidden":
+				throw new SimpleRbacInhibitException(Collections.emptyList(), SubmodelAPIScopes.READ_SCOPE, new BaSyxObjectTargetInformation(null, null, null, candidate));
+			case "redacted":
+				return "***";
+			case "dropped":
+				return null;
+			default:
+				return candidate;
+			}
+		});
+
+		Assert.assertEquals(Arrays.asList("visible", "***"), authorized);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void filterRejectsMismatchingMask() {
+		BatchAuthorizationHelper.filter(Arrays.asList("a", "b"), new boolean[] { true });
+	}
+
+	private List<String> sortedIdShorts(final Collection<? extends ISubmodelElement> smEls) {
+		return smEls.stream().map(ISubmodelElement::getIdShort).sorted().collect(Collectors.toList());
+	}
+}
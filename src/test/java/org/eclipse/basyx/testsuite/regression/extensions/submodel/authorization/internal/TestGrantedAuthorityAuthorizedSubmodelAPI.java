@@ -249,7 +249,6 @@ public class TestGrantedAuthorityAuthorizedSubmodelAPI {
 		final Collection<IOperation> expectedOperations = new ArrayList<>();
 		expectedOperations.add(OPERATION);
 		Mockito.when(apiMock.getOperations()).thenReturn(expectedOperations);
-		Mockito.when(apiMock.getSubmodelElement(OPERATION_IDSHORT)).thenReturn(OPERATION);
 
 		final Collection<IOperation> returnedOperations = authorizedSubmodelAPI.getOperations();
 		assertEquals(expectedOperations, returnedOperations);
@@ -275,7 +274,6 @@ public class TestGrantedAuthorityAuthorizedSubmodelAPI {
 		final Collection<ISubmodelElement> expectedElements = new ArrayList<>();
 		expectedElements.add(PROPERTY);
 		Mockito.when(apiMock.getSubmodelElements()).thenReturn(expectedElements);
-		Mockito.when(apiMock.getSubmodelElement(PROPERTY_IDSHORT)).thenReturn(PROPERTY);
 
 		final Collection<ISubmodelElement> returnedElements = authorizedSubmodelAPI.getSubmodelElements();
 		assertEquals(expectedElements, returnedElements);
@@ -242,7 +242,6 @@ public class TestSimpleRbacAuthorizedSubmodelAPI {
 		final Collection<IOperation> expectedOperations = new ArrayList<>();
 		expectedOperations.add(OPERATION);
 		Mockito.when(apiMock.getOperations()).thenReturn(expectedOperations);
-		Mockito.when(apiMock.getSubmodelElement(OPERATION_IDSHORT)).thenReturn(OPERATION);
 		final Collection<IOperation> returnedOperations = authorizedSubmodelAPI.getOperations();
 		assertEquals(expectedOperations, returnedOperations);
 	}
@@ -265,7 +264,6 @@ public class TestSimpleRbacAuthorizedSubmodelAPI {
 		final Collection<ISubmodelElement> expectedElements = new ArrayList<>();
 		expectedElements.add(PROPERTY);
 		Mockito.when(apiMock.getSubmodelElements()).thenReturn(expectedElements);
-		Mockito.when(apiMock.getSubmodelElement(PROPERTY_IDSHORT)).thenReturn(PROPERTY);
 		final Collection<ISubmodelElement> returnedElements = authorizedSubmodelAPI.getSubmodelElements();
 		assertEquals(expectedElements, returnedElements);
 	}
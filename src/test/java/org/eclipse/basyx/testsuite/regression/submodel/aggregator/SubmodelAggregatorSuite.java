@@ -131,6 +131,21 @@ public abstract class SubmodelAggregatorSuite {
 		assertSubmodelisDeleted(smToDelete);
 	}
 
+	@Test
+	public void replaceSubmodelWithSameIdShort() {
+		Submodel original = new Submodel("replacedIdShort", new CustomId("original"));
+		getSubmodelAggregator().createSubmodel(original);
+
+		Submodel replacement = new Submodel("replacedIdShort", new CustomId("replacement"));
+		getSubmodelAggregator().updateSubmodel(replacement);
+
+		assertEquals(replacement, getSubmodelAggregator().getSubmodel(replacement.getIdentification()));
+		assertSubmodelisDeleted(original);
+
+		getSubmodelAggregator().deleteSubmodelByIdentifier(replacement.getIdentification());
+		assertSubmodelisDeleted(replacement);
+	}
+
 	private void assertSubmodelisDeleted(Submodel smToDelete) {
 		try {
 			getSubmodelAggregator().getSubmodel(smToDelete.getIdentification());
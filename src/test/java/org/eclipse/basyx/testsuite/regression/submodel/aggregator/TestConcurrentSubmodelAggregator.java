@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collection;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.submodel.aggregator.SubmodelAggregator;
+import org.eclipse.basyx.submodel.metamodel.api.ISubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.testsuite.regression.vab.support.ConcurrentTaskRunner;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.Test;
+
+/**
+ * Stress tests the {@link SubmodelAggregator} with concurrent requests
+ * 
+ * @author agent
+ *
+ */
+public class TestConcurrentSubmodelAggregator {
+	private static final int THREADS = 8;
+	private static final int SUBMODELS_PER_THREAD = 50;
+
+	@Test
+	public void concurrentCreateGetDelete() throws Exception {
+		SubmodelAggregator aggregator = new SubmodelAggregator();
+
+		ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+			for (int i = 0; i < SUBMODELS_PER_THREAD; i++) {
+				Submodel submodel = createSubmodel(thread, i);
+				aggregator.createSubmodel(submodel);
+				assertEquals(submodel, aggregator.getSubmodel(submodel.getIdentification()));
+				assertEquals(submodel, aggregator.getSubmodelbyIdShort(submodel.getIdShort()));
+			}
+
+			// Delete every second submodel, alternating between both delete variants
+			for (int i = 0; i < SUBMODELS_PER_THREAD; i += 2) {
+				Submodel submodel = createSubmodel(thread, i);
+				if (i % 4 == 0) {
+					aggregator.deleteSubmodelByIdentifier(submodel.getIdentification());
+				} else {
+					aggregator.deleteSubmodelByIdShort(submodel.getIdShort());
+				}
+			}
+		});
+
+		Collection<ISubmodel> submodels = aggregator.getSubmodelList();
+		assertEquals(THREADS * SUBMODELS_PER_THREAD / 2, submodels.size());
+		for (int thread = 0; thread < THREADS; thread++) {
+			for (int i = 0; i < SUBMODELS_PER_THREAD; i++) {
+				Submodel submodel = createSubmodel(thread, i);
+				if (i % 2 == 0) {
+					assertNotFound(aggregator, submodel);
+				} else {
+					assertTrue(submodels.contains(submodel));
+					assertEquals(submodel, aggregator.getSubmodel(submodel.getIdentification()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void concurrentReplaceOfSameIdShort() throws Exception {
+		SubmodelAggregator aggregator = new SubmodelAggregator();
+
+		ConcurrentTaskRunner.runConcurrently(THREADS, thread -> {
+			for (int i = 0; i < SUBMODELS_PER_THREAD; i++) {
+				aggregator.updateSubmodel(new Submodel("shared", new CustomId("shared" + thread)));
+			}
+		});
+
+		// Exactly the identifier of the finally stored submodel has to be resolvable
+		ISubmodel stored = aggregator.getSubmodelbyIdShort("shared");
+		for (int thread = 0; thread < THREADS; thread++) {
+			CustomId id = new CustomId("shared" + thread);
+			if (id.getId().equals(stored.getIdentification().getId())) {
+				assertEquals(stored, aggregator.getSubmodel(id));
+			} else {
+				assertNotFound(aggregator, new Submodel("shared", id));
+			}
+		}
+	}
+
+	private void assertNotFound(SubmodelAggregator aggregator, Submodel submodel) {
+		try {
+			aggregator.getSubmodel(submodel.getIdentification());
+			fail();
+		} catch (ResourceNotFoundException expected) {
+		}
+	}
+
+	private Submodel createSubmodel(int thread, int index) {
+		return new Submodel("sm_" + thread + "_" + index, new CustomId("smId_" + thread + "_" + index));
+	}
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.metamodel.connected;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedElement;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedElementMetadataCache;
+import org.eclipse.basyx.submodel.metamodel.connected.submodelelement.ConnectedSubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.connected.submodelelement.dataelement.ConnectedProperty;
+import org.eclipse.basyx.submodel.metamodel.connected.submodelelement.dataelement.ConnectedRange;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.range.Range;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.range.RangeValue;
+import org.eclipse.basyx.submodel.restapi.SubmodelElementProvider;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.testsuite.regression.submodel.metamodel.connected.submodelelement.SubmodelElementTestHelper;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.support.TypeDestroyer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the shared metadata cache of connected elements
+ * 
+ * @author agent
+ *
+ */
+public class TestConnectedElementMetadataCache {
+	private CountingProvider provider;
+
+	@Before
+	public void build() {
+		Property property = new Property("testProp", ValueType.Int32);
+		property.setValue(10);
+		Map<String, Object> destroyed = TypeDestroyer.destroyType(property);
+		provider = new CountingProvider(new SubmodelElementProvider(new VABMapProvider(destroyed)));
+	}
+
+	@After
+	public void disableCache() {
+		ConnectedElement.setMetadataCache(null);
+	}
+
+	@Test
+	public void metadataIsSharedBetweenElements() {
+		ConnectedElement.setMetadataCache(new ConnectedElementMetadataCache(60000));
+
+		ConnectedProperty first = new ConnectedProperty(new VABElementProxy("", provider));
+		assertEquals(ValueType.Int32, first.getValueType());
+		assertEquals(1, provider.getCount);
+
+		// A second connected element to the same element reads the metadata from the
+		// cache, so that reading the value only needs one request
+		ConnectedProperty second = new ConnectedProperty(new VABElementProxy("", provider));
+		provider.getCount = 0;
+		second.getValue();
+		assertEquals(ValueType.Int32, second.getValueType());
+		assertEquals(1, provider.getCount);
+	}
+
+	@Test
+	public void metadataExpires() throws InterruptedException {
+		ConnectedElementMetadataCache cache = new ConnectedElementMetadataCache(20);
+		ConnectedElement.setMetadataCache(cache);
+
+		VABElementProxy proxy = new VABElementProxy("", provider);
+		new ConnectedProperty(proxy).getValueType();
+		Thread.sleep(50);
+		assertNull(cache.get(proxy));
+
+		new ConnectedProperty(proxy).getValueType();
+		assertEquals(2, provider.getCount);
+	}
+
+	@Test
+	public void setValueInvalidatesMetadata() {
+		ConnectedElementMetadataCache cache = new ConnectedElementMetadataCache(60000);
+		ConnectedElement.setMetadataCache(cache);
+
+		ConnectedProperty property = new ConnectedProperty(new VABElementProxy("", provider));
+		property.getValueType();
+		assertEquals(1, cache.size());
+
+		property.setValue(20);
+		assertEquals(0, cache.size());
+		assertEquals(20, property.getValue());
+	}
+
+	@Test
+	public void rangeSetValueInvalidatesMetadata() {
+		ConnectedElementMetadataCache cache = new ConnectedElementMetadataCache(60000);
+		ConnectedElement.setMetadataCache(cache);
+
+		Range range = new Range(ValueType.Int32, 1, 10);
+		range.setIdShort("testRange");
+		ConnectedRange connectedRange = new ConnectedRange(SubmodelElementTestHelper.createElementProxy(range));
+		connectedRange.getValueType();
+		assertEquals(1, cache.size());
+
+		connectedRange.setValue(new RangeValue(2, 5));
+		assertEquals(0, cache.size());
+		assertEquals(2, connectedRange.getMin());
+	}
+
+	@Test
+	public void structuralChangesInvalidateParentAndChild() {
+		ConnectedElementMetadataCache cache = new ConnectedElementMetadataCache(60000);
+		ConnectedElement.setMetadataCache(cache);
+
+		SubmodelElementCollection collection = new SubmodelElementCollection("testCollection");
+		collection.addSubmodelElement(new Property("testProp", 10));
+		Submodel submodel = new Submodel("testSubmodel", new Identifier(IdentifierType.CUSTOM, "testSubmodelId"));
+		submodel.addSubmodelElement(collection);
+		IModelProvider submodelProvider = new SubmodelProvider(new VABMapProvider(TypeDestroyer.destroyType(submodel)));
+
+		ConnectedSubmodelElementCollection connectedCollection = new ConnectedSubmodelElementCollection(new VABElementProxy("/submodel/submodelElements/testCollection", submodelProvider));
+		connectedCollection.getIdShort();
+		((ConnectedProperty) connectedCollection.getSubmodelElement("testProp")).getValueType();
+		assertEquals(2, cache.size());
+
+		connectedCollection.deleteSubmodelElement("testProp");
+		assertEquals(0, cache.size());
+
+		connectedCollection.getIdShort();
+		connectedCollection.addSubmodelElement(new Property("otherProp", 20));
+		assertEquals(0, cache.size());
+		assertEquals(1, connectedCollection.getSubmodelElements().size());
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryIsEvicted() {
+		ConnectedElementMetadataCache cache = new ConnectedElementMetadataCache(60000, 1);
+		ConnectedElement.setMetadataCache(cache);
+
+		VABElementProxy first = new VABElementProxy("", provider);
+		VABElementProxy second = new VABElementProxy("/value", provider);
+		cache.put(first, new ConnectedProperty(first).getElemLive());
+		cache.put(second, new ConnectedProperty(first).getElemLive());
+
+		assertEquals(1, cache.size());
+		assertNull(cache.get(first));
+	}
+
+	/**
+	 * Counts the number of value requests forwarded to a provider
+	 */
+	private static class CountingProvider implements IModelProvider {
+		private final IModelProvider provider;
+		private int getCount;
+
+		public CountingProvider(IModelProvider provider) {
+			this.provider = provider;
+		}
+
+		@Override
+		public Object getValue(String path) throws ProviderException {
+			getCount++;
+			return provider.getValue(path);
+		}
+
+		@Override
+		public void setValue(String path, Object newValue) throws ProviderException {
+			provider.setValue(path, newValue);
+		}
+
+		@Override
+		public void createValue(String path, Object newEntity) throws ProviderException {
+			provider.createValue(path, newEntity);
+		}
+
+		@Override
+		public void deleteValue(String path) throws ProviderException {
+			provider.deleteValue(path);
+		}
+
+		@Override
+		public void deleteValue(String path, Object obj) throws ProviderException {
+			provider.deleteValue(path, obj);
+		}
+
+		@Override
+		public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+			return provider.invokeOperation(path, parameter);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.metamodel.map.submodelelement.dataelement.property.valuetype;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.PropertyValueCell;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.junit.Test;
+
+/**
+ * Tests the PropertyValueCell class and its usage in Property
+ * 
+ * @author agent
+ *
+ */
+public class TestPropertyValueCell {
+
+	@Test
+	public void parsedValueIsCached() {
+		PropertyValueCell cell = new PropertyValueCell();
+		Object first = cell.getValue("123456", ValueType.Int32);
+		assertEquals(123456, first);
+
+		// An equal string, e.g. received from a remote property, is not parsed again
+		Object second = cell.getValue(new String("123456"), ValueType.Int32);
+		assertSame(first, second);
+
+		// A changed value or type is parsed
+		assertEquals(654321, cell.getValue("654321", ValueType.Int32));
+		assertEquals(654321L, cell.getValue("654321", ValueType.Int64));
+	}
+
+	@Test
+	public void valueTypeIsCached() {
+		PropertyValueCell cell = new PropertyValueCell();
+		assertEquals(ValueType.Double, cell.getValueType("double"));
+		assertEquals(ValueType.Double, cell.getValueType("double"));
+		assertEquals(ValueType.Int8, cell.getValueType("byte"));
+		assertEquals(null, cell.getValueType(null));
+	}
+
+	@Test
+	public void primitiveAccess() {
+		PropertyValueCell cell = new PropertyValueCell();
+		assertEquals(42L, cell.getLong(42, ValueType.Int32));
+		assertEquals(42L, cell.getLong("42", ValueType.Int64));
+		assertEquals(2.5d, cell.getDouble("2.5", ValueType.Double), 0.0);
+		assertEquals(2.5d, cell.getDouble(2.5f, ValueType.Float), 0.0);
+		assertTrue(cell.getBoolean("true", ValueType.Boolean));
+		assertTrue(cell.getBoolean(true, ValueType.Boolean));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void primitiveAccessOfNonNumeric() {
+		new PropertyValueCell().getLong("abc", ValueType.String);
+	}
+
+	@Test
+	public void propertyKeepsNativeValue() {
+		Duration duration = Duration.ofSeconds(30);
+		Property property = new Property("duration", duration);
+
+		// The map contains the serialized value, the native value is returned on read
+		assertEquals(duration.toString(), property.get(Property.VALUE));
+		assertSame(duration, property.getValue());
+	}
+
+	@Test
+	public void propertyDetectsMapChanges() {
+		Property property = new Property("temperature", ValueType.Double);
+		property.setValue(20.5);
+		assertEquals(20.5d, property.getValueAsDouble(), 0.0);
+
+		// Values changed directly in the map, e.g. by a facade, are detected
+		property.put(Property.VALUE, "21.5");
+		assertEquals(21.5d, property.getValue());
+		assertEquals(21.5d, property.getValueAsDouble(), 0.0);
+		assertEquals(21L, property.getValueAsLong());
+
+		property.put(Property.VALUETYPE, ValueType.Float.toString());
+		assertEquals(21.5f, property.getValue());
+	}
+}
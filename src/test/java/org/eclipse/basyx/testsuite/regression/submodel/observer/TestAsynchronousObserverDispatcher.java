@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.observer.AsynchronousObserverDispatcher;
+import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserver;
+import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link AsynchronousObserverDispatcher} using an
+ * {@link ObservableSubmodelAPI}
+ * 
+ * @author agent
+ *
+ */
+public class TestAsynchronousObserverDispatcher {
+	private static final String PROPERTY_ID = "prop";
+
+	private ObservableSubmodelAPI api;
+	private AsynchronousObserverDispatcher<ISubmodelAPIObserver> dispatcher;
+
+	@Before
+	public void setUp() {
+		Submodel sm = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm"));
+		sm.addSubmodelElement(new Property(PROPERTY_ID, 0));
+		api = new ObservableSubmodelAPI(new VABSubmodelAPI(new VABMapProvider(sm)));
+
+		dispatcher = new AsynchronousObserverDispatcher<>(100, 0);
+		api.setObserverDispatcher(dispatcher);
+	}
+
+	@After
+	public void tearDown() {
+		dispatcher.close();
+	}
+
+	@Test
+	public void eventsAreDeliveredInOrder() throws InterruptedException {
+		RecordingObserver first = new RecordingObserver();
+		RecordingObserver second = new RecordingObserver();
+		api.addObserver(first);
+		api.addObserver(second);
+
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			api.updateSubmodelElement(PROPERTY_ID, i);
+			expected.add(i);
+		}
+
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		assertEquals(expected, first.values);
+		assertEquals(expected, second.values);
+		assertEquals(100, dispatcher.getDeliveredCount());
+		assertEquals(0, dispatcher.getQueueDepth());
+		assertEquals(0, dispatcher.getLagNanos());
+	}
+
+	@Test
+	public void slowObserverDoesNotBlockWrites() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		BlockingObserver slow = new BlockingObserver(release);
+		RecordingObserver fast = new RecordingObserver();
+		api.addObserver(slow);
+		api.addObserver(fast);
+
+		for (int i = 0; i < 10; i++) {
+			api.updateSubmodelElement(PROPERTY_ID, i);
+		}
+		assertEquals(9, api.getSubmodelElementValue(PROPERTY_ID));
+
+		// The fast observer is not delayed by the slow one
+		long deadline = System.currentTimeMillis() + 5000;
+		while (fast.values.size() < 10 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(10, fast.values.size());
+		assertEquals(10, dispatcher.getQueueDepth(slow));
+		assertTrue(dispatcher.getLagNanos(slow) > 0);
+
+		release.countDown();
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		assertEquals(0, dispatcher.getQueueDepth(slow));
+	}
+
+	@Test
+	public void fullQueueDropsEvents() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		BlockingObserver slow = new BlockingObserver(release);
+		api.addObserver(slow);
+
+		// One event is in delivery, 100 fit into the queue
+		for (int i = 0; i < 110; i++) {
+			api.updateSubmodelElement(PROPERTY_ID, i);
+		}
+		release.countDown();
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+
+		assertEquals(110, dispatcher.getDeliveredCount() + dispatcher.getDroppedCount());
+		assertTrue(dispatcher.getDroppedCount() >= 9);
+	}
+
+	@Test
+	public void failingObserverIsCounted() throws InterruptedException {
+		RecordingObserver recording = new RecordingObserver();
+		api.addObserver(new RecordingObserver() {
+			@Override
+			public void elementUpdated(String idShortPath, Object newValue) {
+				throw new IllegalStateException();
+			}
+		});
+		api.addObserver(recording);
+
+		api.updateSubmodelElement(PROPERTY_ID, 1);
+
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		assertEquals(1, dispatcher.getFailedCount());
+		assertEquals(Collections.singletonList(1), recording.values);
+	}
+
+	@Test
+	public void removedObserverReceivesPendingEvents() throws InterruptedException {
+		RecordingObserver observer = new RecordingObserver();
+		api.addObserver(observer);
+		api.updateSubmodelElement(PROPERTY_ID, 1);
+		api.removeObserver(observer);
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(Collections.singletonList(1), observer.values);
+	}
+
+	@Test
+	public void eventDispatchedAfterRemovalIsDiscarded() throws InterruptedException {
+		RecordingObserver observer = new RecordingObserver();
+		api.addObserver(observer);
+		api.removeObserver(observer);
+
+		// Simulates a notification that iterated the observers before the removal
+		dispatcher.dispatch(observer, o -> o.elementUpdated(PROPERTY_ID, 1));
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		assertEquals(0, dispatcher.getQueueDepth(observer));
+		assertEquals(0, dispatcher.getDroppedCount());
+		assertTrue(observer.values.isEmpty());
+
+		// Adding the observer again resumes the delivery
+		api.addObserver(observer);
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+		assertTrue(dispatcher.flush(5, TimeUnit.SECONDS));
+		assertEquals(Collections.singletonList(2), observer.values);
+	}
+
+	private static class RecordingObserver implements ISubmodelAPIObserver {
+		private final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void elementAdded(String idShortPath, Object newValue) {
+		}
+
+		@Override
+		public void elementDeleted(String idShortPath) {
+		}
+
+		@Override
+		public void elementUpdated(String idShortPath, Object newValue) {
+			values.add(newValue);
+		}
+	}
+
+	private static class BlockingObserver extends RecordingObserver {
+		private final CountDownLatch release;
+
+		private BlockingObserver(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void elementUpdated(String idShortPath, Object newValue) {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			super.elementUpdated(idShortPath, newValue);
+		}
+	}
+}
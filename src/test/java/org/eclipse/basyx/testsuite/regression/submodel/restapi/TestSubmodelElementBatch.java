@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.aas.metamodel.map.descriptor.CustomId;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedSubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchProcessor;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchRequest;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResponse;
+import org.eclipse.basyx.submodel.restapi.batch.SubmodelElementBatchResult;
+import org.eclipse.basyx.submodel.restapi.api.ISubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPIFactory;
+import org.eclipse.basyx.testsuite.regression.vab.coder.json.IBasyxConnectorFacade;
+import org.eclipse.basyx.vab.coder.json.connector.JSONConnector;
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests reading and writing several submodel element values in one request
+ * 
+ * @author agent
+ *
+ */
+public class TestSubmodelElementBatch {
+	private SubmodelProvider provider;
+	private ConnectedSubmodel connectedSubmodel;
+
+	@Before
+	public void build() {
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("nested", 2));
+
+		Submodel submodel = new Submodel("sm", new CustomId("sm"));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		submodel.addSubmodelElement(collection);
+
+		provider = new SubmodelProvider(new VABSubmodelAPIFactory().create(submodel));
+
+		// Connect over JSON to include the serialization of request and response
+		JSONConnector connector = new JSONConnector(new IBasyxConnectorFacade<IModelProvider>(new JSONProvider<IModelProvider>(provider)));
+		connectedSubmodel = new ConnectedSubmodel(new VABElementProxy("/submodel", connector));
+	}
+
+	@Test
+	public void readValues() {
+		Map<String, SubmodelElementBatchResult> results = connectedSubmodel.getSubmodelElementValues(Arrays.asList("prop", "collection/nested"));
+		assertEquals(2, results.size());
+		assertEquals(1, results.get("prop").getValue());
+		assertEquals(2, results.get("collection/nested").getValue());
+	}
+
+	@Test
+	public void failingEntryDoesNotAffectOthers() {
+		Map<String, SubmodelElementBatchResult> results = connectedSubmodel.getSubmodelElementValues(Arrays.asList("missing", "prop"));
+		assertFalse(results.get("missing").isSuccess());
+		assertEquals("ResourceNotFoundException", results.get("missing").getErrorType());
+		assertTrue(results.get("prop").isSuccess());
+		assertEquals(1, results.get("prop").getValue());
+	}
+
+	@Test
+	public void writeBeforeRead() {
+		SubmodelElementBatchRequest request = new SubmodelElementBatchRequest().write("collection/nested", 5).read("collection/nested");
+		SubmodelElementBatchResponse response = connectedSubmodel.processBatch(request);
+		assertTrue(response.getWriteResults().get("collection/nested").isSuccess());
+		assertEquals(5, response.getReadResults().get("collection/nested").getValue());
+		assertEquals(5, provider.getValue("/submodel/submodelElements/collection/nested/value"));
+	}
+
+	@Test
+	public void writeValues() {
+		Map<String, SubmodelElementBatchResult> results = connectedSubmodel.setSubmodelElementValues(Collections.singletonMap("prop", 10));
+		assertTrue(results.get("prop").isSuccess());
+		assertEquals(10, provider.getValue("/submodel/submodelElements/prop/value"));
+	}
+
+	@Test
+	public void commonPrefixIsResolvedOnce() {
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("a", 1));
+		collection.addSubmodelElement(new Property("b", 2));
+		collection.addSubmodelElement(new Property("c", 3));
+		Submodel submodel = new Submodel("sm", new CustomId("sm"));
+		submodel.addSubmodelElement(collection);
+
+		AtomicInteger collectionTypeLookups = new AtomicInteger();
+		VABLambdaProvider countingProvider = new VABLambdaProvider(submodel) {
+			@Override
+			public Object getValue(String path) {
+				if (path.equals("submodelElements/collection/modelType/name")) {
+					collectionTypeLookups.incrementAndGet();
+				}
+				return super.getValue(path);
+			}
+		};
+
+		SubmodelElementBatchRequest request = new SubmodelElementBatchRequest().write("collection/a", 10).read("collection/a").read("collection/b").read("collection/c");
+		SubmodelElementBatchResponse response = new VABSubmodelAPI(countingProvider).processBatch(request);
+		assertEquals(10, response.getReadResults().get("collection/a").getValue());
+		assertEquals(3, response.getReadResults().get("collection/c").getValue());
+
+		// Once for the write and once for the reads
+		assertEquals(2, collectionTypeLookups.get());
+	}
+
+	@Test
+	public void walkMatchesSingleResolution() {
+		SubmodelElementBatchRequest request = new SubmodelElementBatchRequest().write("collection/nested", 7).write("prop/nested", 1).write("missing/nested", 1).read("collection/nested").read("collection").read("prop").read("prop/nested").read("missing").read("collection/missing").read("");
+
+		ISubmodelAPI api = new VABSubmodelAPIFactory().create(buildSubmodel());
+		SubmodelElementBatchResponse walked = api.processBatch(request);
+		SubmodelElementBatchResponse single = SubmodelElementBatchProcessor.process(new VABSubmodelAPIFactory().create(buildSubmodel()), request);
+
+		assertEquals(single.getWriteResults().keySet(), walked.getWriteResults().keySet());
+		for (String idShortPath : single.getWriteResults().keySet()) {
+			assertSameResult(single.getWriteResults().get(idShortPath), walked.getWriteResults().get(idShortPath));
+		}
+		assertEquals(single.getReadResults().keySet(), walked.getReadResults().keySet());
+		for (String idShortPath : single.getReadResults().keySet()) {
+			if (!idShortPath.isEmpty()) {
+				assertSameResult(single.getReadResults().get(idShortPath), walked.getReadResults().get(idShortPath));
+			}
+		}
+		assertFalse(walked.getReadResults().get("").isSuccess());
+	}
+
+	private void assertSameResult(SubmodelElementBatchResult expected, SubmodelElementBatchResult actual) {
+		assertEquals(expected.isSuccess(), actual.isSuccess());
+		assertEquals(expected.getValue(), actual.getValue());
+		assertEquals(expected.getErrorType(), actual.getErrorType());
+	}
+
+	private Submodel buildSubmodel() {
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("nested", 2));
+
+		Submodel submodel = new Submodel("sm", new CustomId("sm"));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		submodel.addSubmodelElement(collection);
+		return submodel;
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void invalidParameters() {
+		provider.invokeOperation("/submodel/batch/invoke", "prop", "collection");
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the resolution of nested idShortPaths in the submodel REST stack
+ * 
+ * @author agent
+ *
+ */
+public class TestSubmodelElementPathResolver {
+	private static final String SM_PREFIX = "/submodel/submodelElements/";
+	private static final String NESTED_PROPERTY = "a/b/c/prop";
+
+	private RecordingProvider recorder;
+	private SubmodelProvider provider;
+
+	@Before
+	public void build() {
+		SubmodelElementCollection a = new SubmodelElementCollection("a");
+		SubmodelElementCollection b = new SubmodelElementCollection("b");
+		SubmodelElementCollection c = new SubmodelElementCollection("c");
+		c.addSubmodelElement(new Property("prop", 5));
+		// Siblings that would be copied if whole collections were retrieved
+		for (int i = 0; i < 10; i++) {
+			b.addSubmodelElement(new Property("sibling" + i, i));
+		}
+		b.addSubmodelElement(c);
+		a.addSubmodelElement(b);
+
+		Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm"));
+		submodel.addSubmodelElement(a);
+
+		recorder = new RecordingProvider(new VABLambdaProvider(submodel));
+		provider = new SubmodelProvider(recorder);
+	}
+
+	@Test
+	public void getNestedValue() {
+		assertEquals(5, provider.getValue(SM_PREFIX + NESTED_PROPERTY + "/value"));
+	}
+
+	@Test
+	public void collectionsAreNotRetrievedAsWhole() {
+		recorder.paths.clear();
+		provider.getValue(SM_PREFIX + NESTED_PROPERTY + "/value");
+
+		for (String path : recorder.paths) {
+			assertFalse("Collection was retrieved: " + path, path.equals("submodelElements/a") || path.equals("submodelElements/a/value/b") || path.equals("submodelElements/a/value/b/value/c"));
+		}
+	}
+
+	@Test
+	public void setNestedValue() {
+		provider.setValue(SM_PREFIX + NESTED_PROPERTY + "/value", 10);
+		assertEquals(10, provider.getValue(SM_PREFIX + NESTED_PROPERTY + "/value"));
+	}
+
+	@Test
+	public void createAndDeleteNestedElement() {
+		provider.getAPI().addSubmodelElement("a/b/c/newProp", new Property("newProp", 1));
+		assertEquals(1, provider.getValue(SM_PREFIX + "a/b/c/newProp/value"));
+
+		provider.getAPI().deleteSubmodelElement("a/b/c/newProp");
+		try {
+			provider.getValue(SM_PREFIX + "a/b/c/newProp/value");
+		} catch (ResourceNotFoundException e) {
+			return;
+		}
+		throw new AssertionError("Deleted element is still present");
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void getMissingNestedElement() {
+		provider.getValue(SM_PREFIX + "a/b/missing/value");
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void getUnknownPathOfProperty() {
+		provider.getValue(SM_PREFIX + NESTED_PROPERTY + "/unknown");
+	}
+
+	/**
+	 * Records the paths of all value requests
+	 */
+	private static class RecordingProvider implements IModelProvider {
+		private final IModelProvider provider;
+		private final List<String> paths = new ArrayList<>();
+
+		public RecordingProvider(IModelProvider provider) {
+			this.provider = provider;
+		}
+
+		@Override
+		public Object getValue(String path) throws ProviderException {
+			paths.add(path);
+			return provider.getValue(path);
+		}
+
+		@Override
+		public void setValue(String path, Object newValue) throws ProviderException {
+			provider.setValue(path, newValue);
+		}
+
+		@Override
+		public void createValue(String path, Object newEntity) throws ProviderException {
+			provider.createValue(path, newEntity);
+		}
+
+		@Override
+		public void deleteValue(String path) throws ProviderException {
+			provider.deleteValue(path);
+		}
+
+		@Override
+		public void deleteValue(String path, Object obj) throws ProviderException {
+			provider.deleteValue(path, obj);
+		}
+
+		@Override
+		public Object invokeOperation(String path, Object... parameter) throws ProviderException {
+			return provider.invokeOperation(path, parameter);
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.connected.ConnectedSubmodel;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.qualifier.Referable;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.restapi.SubmodelProjection;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.vab.exception.provider.MalformedRequestException;
+import org.eclipse.basyx.vab.modelprovider.VABElementProxy;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProviderHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the level/content/include/exclude projection of submodel GET requests
+ * 
+ * @author agent
+ *
+ */
+public class TestSubmodelProjection {
+	private SubmodelProvider provider;
+
+	@Before
+	public void build() {
+		SubmodelElementCollection inner = new SubmodelElementCollection("inner");
+		inner.addSubmodelElement(new Property("deepProp", 3));
+
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(new Property("nestedProp", 2));
+		collection.addSubmodelElement(inner);
+
+		Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm"));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		submodel.addSubmodelElement(collection);
+
+		provider = new SubmodelProvider(new VABLambdaProvider(submodel));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void metadataOmitsElements() {
+		Map<String, Object> sm = (Map<String, Object>) provider.getValue("/submodel?content=metadata&level=core");
+		assertEquals("sm", sm.get(Referable.IDSHORT));
+		assertFalse(sm.containsKey(Submodel.SUBMODELELEMENT));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void coreOmitsNestedChildren() {
+		Map<String, Object> sm = (Map<String, Object>) provider.getValue("/submodel?level=core");
+		Map<String, Map<String, Object>> elements = toIdMap((Collection<Map<String, Object>>) sm.get(Submodel.SUBMODELELEMENT));
+		assertEquals(2, elements.size());
+		assertEquals(1, elements.get("prop").get(Property.VALUE));
+		assertTrue(((Collection<Object>) elements.get("collection").get(Property.VALUE)).isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void coreOnCollectionReturnsDirectChildren() {
+		Map<String, Object> collection = (Map<String, Object>) provider.getValue("/submodel/submodelElements/collection?level=core");
+		Map<String, Map<String, Object>> children = toIdMap((Collection<Map<String, Object>>) collection.get(Property.VALUE));
+		assertEquals(2, children.size());
+		assertTrue(((Collection<Object>) children.get("inner").get(Property.VALUE)).isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void valueContent() {
+		Map<String, Object> values = (Map<String, Object>) provider.getValue("/submodel?content=value");
+		assertEquals(1, values.get("prop"));
+		Map<String, Object> collection = (Map<String, Object>) values.get("collection");
+		assertEquals(2, collection.get("nestedProp"));
+		assertEquals(3, ((Map<String, Object>) collection.get("inner")).get("deepProp"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void includeAndExclude() {
+		Map<String, Object> values = (Map<String, Object>) provider.getValue("/submodel/values?include=prop");
+		assertEquals(1, values.size());
+		assertEquals(1, values.get("prop"));
+
+		List<Object> elements = (List<Object>) provider.getValue("/submodel/submodelElements?exclude=prop");
+		assertEquals(1, elements.size());
+		assertEquals("collection", ((Map<String, Object>) elements.get(0)).get(Referable.IDSHORT));
+	}
+
+	@Test
+	public void referenceContent() {
+		Object reference = provider.getValue("/submodel?content=reference");
+		assertTrue(reference instanceof Reference);
+		assertEquals("sm", ((Reference) reference).getKeys().get(0).getValue());
+	}
+
+	@Test
+	public void unprojectedRequestIsUnchanged() {
+		assertEquals(provider.getValue("/submodel"), provider.getValue("/submodel?unrelated=true"));
+	}
+
+	@Test
+	public void queryRoundTrip() {
+		SubmodelProjection projection = SubmodelProjection.fromQuery("level=core&content=metadata&include=a,b");
+		assertEquals(projection.toQuery(), SubmodelProjection.fromPath(projection.appendTo("submodel")).toQuery());
+		assertTrue(SubmodelProjection.fromQuery("").isFull());
+	}
+
+	@Test
+	public void connectedSubmodelFallsBackWithoutProjectionSupport() {
+		// Simulates a server that does not know the query modifiers
+		SubmodelProvider legacyProvider = new SubmodelProvider(new VABLambdaProvider(new Submodel("legacy", new Identifier(IdentifierType.CUSTOM, "legacy")))) {
+			@Override
+			public Object getValue(String path) {
+				if (path.contains("?")) {
+					throw new MalformedRequestException("Unknown path " + path);
+				}
+				return super.getValue(path);
+			}
+		};
+
+		ConnectedSubmodel connected = new ConnectedSubmodel(new VABElementProxy("/submodel", legacyProvider));
+		assertEquals("legacy", connected.getIdShort());
+	}
+
+	@Test
+	public void projectionIsAppliedWithoutConvertingTheSubmodel() {
+		ConnectedSubmodel connected = new ConnectedSubmodel(new VABElementProxy("/submodel", provider));
+		assertEquals("sm", connected.getIdShort());
+		assertFalse(connected.getElemLive().containsKey(Submodel.SUBMODELELEMENT));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void projectionOnlyResolvesRequestedElements() {
+		AtomicInteger topReads = new AtomicInteger();
+		AtomicInteger nestedReads = new AtomicInteger();
+
+		Property top = new Property("top", ValueType.Int32);
+		top.set(VABLambdaProviderHelper.createSimple(() -> topReads.incrementAndGet(), null), ValueType.Int32);
+		Property nested = new Property("nested", ValueType.Int32);
+		nested.set(VABLambdaProviderHelper.createSimple(() -> nestedReads.incrementAndGet(), null), ValueType.Int32);
+		SubmodelElementCollection collection = new SubmodelElementCollection("collection");
+		collection.addSubmodelElement(nested);
+
+		Submodel submodel = new Submodel("lambda", new Identifier(IdentifierType.CUSTOM, "lambda"));
+		submodel.addSubmodelElement(top);
+		submodel.addSubmodelElement(collection);
+		SubmodelProvider lambdaProvider = new SubmodelProvider(new VABLambdaProvider(submodel));
+
+		Map<String, Object> metadata = (Map<String, Object>) lambdaProvider.getValue("/submodel?content=metadata&level=core");
+		assertEquals("lambda", metadata.get(Referable.IDSHORT));
+		assertEquals(0, topReads.get());
+		assertEquals(0, nestedReads.get());
+
+		Map<String, Object> core = (Map<String, Object>) lambdaProvider.getValue("/submodel?level=core");
+		Map<String, Map<String, Object>> elements = toIdMap((Collection<Map<String, Object>>) core.get(Submodel.SUBMODELELEMENT));
+		assertEquals(1, elements.get("top").get(Property.VALUE));
+		assertTrue(((Collection<Object>) elements.get("collection").get(Property.VALUE)).isEmpty());
+		assertEquals(0, nestedReads.get());
+
+		lambdaProvider.getValue("/submodel/values?include=top");
+		assertEquals(2, topReads.get());
+		assertEquals(0, nestedReads.get());
+
+		Map<String, Object> values = (Map<String, Object>) lambdaProvider.getValue("/submodel/values?include=collection");
+		assertEquals(1, ((Map<String, Object>) values.get("collection")).get("nested"));
+		assertEquals(2, topReads.get());
+	}
+
+	@Test(expected = MalformedRequestException.class)
+	public void unknownModifierValue() {
+		provider.getValue("/submodel?level=unknown");
+	}
+
+	private Map<String, Map<String, Object>> toIdMap(Collection<Map<String, Object>> elements) {
+		return elements.stream().collect(Collectors.toMap(e -> (String) e.get(Referable.IDSHORT), e -> e));
+	}
+}
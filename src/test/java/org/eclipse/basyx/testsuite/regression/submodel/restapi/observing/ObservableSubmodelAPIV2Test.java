@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi.observing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.api.reference.enums.KeyElements;
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.ISubmodelElement;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Key;
+import org.eclipse.basyx.submodel.metamodel.map.reference.Reference;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.SubmodelElementCollection;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.observing.ISubmodelAPIObserverV2;
+import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPIV2;
+import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPIV2Helper;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for ObservableSubmodelAPIV2
+ * 
+ * @author agent
+ *
+ */
+public class ObservableSubmodelAPIV2Test {
+	private static final String AAS_ID = "testaasid";
+	private static final String SUBMODEL_ID = "testsubmodelid";
+	private static final String REPO_ID = "testrepo";
+	private static final String PROPERTY_ID = "testpropertyid";
+	private static final String COLLECTION_ID = "testcollection";
+
+	private CountingSubmodelAPI countingAPI;
+	private ObservableSubmodelAPIV2 api;
+	private List<MockObserver> observers;
+
+	@Before
+	public void setup() {
+		Submodel sm = new Submodel(SUBMODEL_ID, new Identifier(IdentifierType.CUSTOM, SUBMODEL_ID));
+		sm.setParent(new Reference(new Key(KeyElements.ASSETADMINISTRATIONSHELL, true, AAS_ID, IdentifierType.IRDI)));
+		sm.addSubmodelElement(new Property(PROPERTY_ID, 1));
+
+		SubmodelElementCollection collection = new SubmodelElementCollection(COLLECTION_ID);
+		sm.addSubmodelElement(collection);
+
+		countingAPI = new CountingSubmodelAPI(sm);
+		api = new ObservableSubmodelAPIV2(countingAPI, REPO_ID);
+
+		observers = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			MockObserver observer = new MockObserver();
+			observers.add(observer);
+			api.addObserver(observer);
+		}
+	}
+
+	@Test
+	public void eventContext() {
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+
+		for (MockObserver observer : observers) {
+			assertEquals(PROPERTY_ID, observer.idShortPath);
+			assertEquals(2, observer.value);
+			assertEquals(AAS_ID, observer.aasId);
+			assertEquals(SUBMODEL_ID, observer.submodelId);
+			assertEquals(REPO_ID, observer.repoId);
+		}
+	}
+
+	@Test
+	public void valueUpdateDoesNotRetrieveModel() {
+		// Warm up the event context and the element flags
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+		countingAPI.resetCounts();
+
+		for (int i = 0; i < 10; i++) {
+			api.updateSubmodelElement(PROPERTY_ID, i);
+		}
+
+		assertEquals(0, countingAPI.getSubmodelCount);
+		assertEquals(0, countingAPI.getSubmodelElementCount);
+		assertEquals(9, observers.get(2).value);
+	}
+
+	@Test
+	public void replacedElementUpdatesEmptyValueFlag() {
+		api.updateSubmodelElement(PROPERTY_ID, 2);
+		assertEquals(2, observers.get(0).value);
+
+		Property replacement = new Property(PROPERTY_ID, 1);
+		replacement.setQualifiers(Collections.singleton(ObservableSubmodelAPIV2Helper.createEmptyValueEventEnabledQualifier()));
+		api.addSubmodelElement(replacement);
+
+		api.updateSubmodelElement(PROPERTY_ID, 3);
+		assertNull(observers.get(0).value);
+		assertEquals(3, countingAPI.getSubmodelElementValue(PROPERTY_ID));
+	}
+
+	@Test
+	public void replacedCollectionUpdatesChildEmptyValueFlag() {
+		String childPath = COLLECTION_ID + "/" + PROPERTY_ID;
+		api.addSubmodelElement(childPath, new Property(PROPERTY_ID, 1));
+		api.updateSubmodelElement(childPath, 2);
+		assertEquals(2, observers.get(0).value);
+
+		Property child = new Property(PROPERTY_ID, 1);
+		child.setQualifiers(Collections.singleton(ObservableSubmodelAPIV2Helper.createEmptyValueEventEnabledQualifier()));
+		SubmodelElementCollection replacement = new SubmodelElementCollection(COLLECTION_ID);
+		replacement.addSubmodelElement(child);
+		api.addSubmodelElement(replacement);
+
+		api.updateSubmodelElement(childPath, 3);
+		assertNull(observers.get(0).value);
+	}
+
+	private static class CountingSubmodelAPI extends VABSubmodelAPI {
+		private int getSubmodelCount = 0;
+		private int getSubmodelElementCount = 0;
+
+		public CountingSubmodelAPI(Submodel submodel) {
+			super(new VABMapProvider(submodel));
+		}
+
+		public void resetCounts() {
+			getSubmodelCount = 0;
+			getSubmodelElementCount = 0;
+		}
+
+		@Override
+		public Submodel getSubmodel() {
+			getSubmodelCount++;
+			return super.getSubmodel();
+		}
+
+		@Override
+		public ISubmodelElement getSubmodelElement(String idShortPath) {
+			getSubmodelElementCount++;
+			return super.getSubmodelElement(idShortPath);
+		}
+	}
+
+	private static class MockObserver implements ISubmodelAPIObserverV2 {
+		private String idShortPath;
+		private Object value;
+		private String aasId;
+		private String submodelId;
+		private String repoId;
+
+		@Override
+		public void elementAdded(String idShortPath, Object newValue, String aasId, String submodelId, String repoId) {
+		}
+
+		@Override
+		public void elementDeleted(String idShortPath, ISubmodelElement submodelElement, String aasId, String submodelId, String repoId) {
+		}
+
+		@Override
+		public void elementUpdated(String idShortPath, ISubmodelElement submodelElement, String aasId, String submodelId, String repoId) {
+		}
+
+		@Override
+		public void elementValue(String idShortPath, Object value, String aasId, String submodelId, String repoId) {
+			this.idShortPath = idShortPath;
+			this.value = value;
+			this.aasId = aasId;
+			this.submodelId = submodelId;
+			this.repoId = repoId;
+		}
+	}
+}
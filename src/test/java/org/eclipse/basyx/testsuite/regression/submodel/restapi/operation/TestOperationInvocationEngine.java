@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.submodel.restapi.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.basyx.submodel.metamodel.api.submodelelement.operation.IOperationVariable;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.valuetype.ValueType;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.operation.OperationVariable;
+import org.eclipse.basyx.submodel.restapi.operation.AsyncOperationHandler;
+import org.eclipse.basyx.submodel.restapi.operation.ExecutionState;
+import org.eclipse.basyx.submodel.restapi.operation.InvocationResponse;
+import org.eclipse.basyx.submodel.restapi.operation.OperationInvocationEngine;
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the OperationInvocationEngine
+ * 
+ * @author agent
+ *
+ */
+public class TestOperationInvocationEngine {
+	private static final String OPERATION_ID = "op";
+	private static final Object[] NO_INPUTS = new Object[0];
+
+	private OperationInvocationEngine engine;
+
+	@Before
+	public void setUp() {
+		engine = new OperationInvocationEngine(2);
+	}
+
+	@After
+	public void tearDown() {
+		engine.shutdown();
+	}
+
+	@Test
+	public void completedResultIsRemovedOnRetrieval() throws Exception {
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		waitForState(response, ExecutionState.COMPLETED);
+
+		assertEquals(5, response.getFirstOutput());
+		assertEquals(1, engine.getCompletedCount());
+		assertEquals(0, engine.getRunningCount());
+
+		assertEquals(response, engine.retrieveResult("req", OPERATION_ID));
+		assertFalse(engine.hasRequestId("req"));
+	}
+
+	@Test
+	public void retrievedResultIsNotRetainedUntilExpiry() throws Exception {
+		WeakReference<InvocationResponse> reference = invokeAndRetrieve();
+
+		// The default TTL is long enough that only the cancelled expiry allows the
+		// collection of the response
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	private WeakReference<InvocationResponse> invokeAndRetrieve() throws Exception {
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		waitForState(response, ExecutionState.COMPLETED);
+		engine.retrieveResult("req", OPERATION_ID);
+		return new WeakReference<>(response);
+	}
+
+	@Test
+	public void swappedEngineKeepsPendingInvocations() throws Exception {
+		OperationInvocationEngine original = AsyncOperationHandler.getInvocationEngine();
+		OperationInvocationEngine replacement = new OperationInvocationEngine(1);
+		try {
+			AsyncOperationHandler.setInvocationEngine(engine);
+			CountDownLatch release = new CountDownLatch(1);
+			InvocationResponse pending = engine.invoke(OPERATION_ID, "pending", blockUntil(release), NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+
+			AsyncOperationHandler.setInvocationEngine(replacement);
+			assertTrue(AsyncOperationHandler.hasRequestId("pending"));
+
+			release.countDown();
+			waitForState(pending, ExecutionState.COMPLETED);
+			assertEquals(pending, AsyncOperationHandler.retrieveResult("pending", OPERATION_ID));
+			assertFalse(AsyncOperationHandler.hasRequestId("pending"));
+			assertEquals(0, engine.getStoredResultCount());
+		} finally {
+			AsyncOperationHandler.setInvocationEngine(original);
+			replacement.shutdown();
+		}
+	}
+
+	@Test(expected = ResourceNotFoundException.class)
+	public void wrongOperationId() throws Exception {
+		engine.invoke(OPERATION_ID, "req", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		engine.retrieveResult("req", "otherOp");
+	}
+
+	@Test
+	public void rejectsExceedingInvocations() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		engine.setMaxPendingInvocations(1);
+
+		InvocationResponse blocking = engine.invoke(OPERATION_ID, "blocking", blockUntil(release), NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		InvocationResponse rejected = engine.invoke(OPERATION_ID, "rejected", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+
+		assertEquals(ExecutionState.CANCELED, rejected.getExecutionState());
+		assertEquals(1, engine.getRejectedCount());
+
+		release.countDown();
+		waitForState(blocking, ExecutionState.COMPLETED);
+
+		// Slot is free again
+		InvocationResponse accepted = engine.invoke(OPERATION_ID, "accepted", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		waitForState(accepted, ExecutionState.COMPLETED);
+	}
+
+	@Test
+	public void timeoutInterruptsOperation() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Function<Object[], Object> sleeping = p -> {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		};
+
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", sleeping, NO_INPUTS, new ArrayList<>(), createOutput(), 50);
+		waitForState(response, ExecutionState.TIMEOUT);
+
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertEquals(1, engine.getTimedOutCount());
+	}
+
+	@Test
+	public void failedOperation() throws Exception {
+		Function<Object[], Object> failing = p -> {
+			throw new IllegalStateException();
+		};
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", failing, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		waitForState(response, ExecutionState.FAILED);
+		assertEquals(1, engine.getFailedCount());
+	}
+
+	@Test
+	public void unretrievedResultExpires() throws Exception {
+		engine.setResultTtl(50);
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", p -> 5, NO_INPUTS, new ArrayList<>(), createOutput(), 10000);
+		waitForState(response, ExecutionState.COMPLETED);
+
+		long start = System.currentTimeMillis();
+		while (engine.hasRequestId("req") && System.currentTimeMillis() - start < 5000) {
+			Thread.sleep(10);
+		}
+		assertFalse(engine.hasRequestId("req"));
+		assertEquals(1, engine.getExpiredCount());
+		assertEquals(0, engine.getStoredResultCount());
+	}
+
+	@Test
+	public void operationSpecificExecutor() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "dedicated"));
+		engine.setOperationExecutor(OPERATION_ID, executor);
+
+		InvocationResponse response = engine.invoke(OPERATION_ID, "req", p -> Thread.currentThread().getName(), NO_INPUTS, new ArrayList<>(), createOutput(ValueType.String), 10000);
+		waitForState(response, ExecutionState.COMPLETED);
+		assertEquals("dedicated", response.getFirstOutput());
+	}
+
+	private static Function<Object[], Object> blockUntil(CountDownLatch latch) {
+		return p -> {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 1;
+		};
+	}
+
+	private static Collection<IOperationVariable> createOutput() {
+		return createOutput(ValueType.Int32);
+	}
+
+	private static Collection<IOperationVariable> createOutput(ValueType type) {
+		Property output = new Property("output", type);
+		return Collections.singletonList(new OperationVariable(output));
+	}
+
+	private static void waitForState(InvocationResponse response, ExecutionState state) throws InterruptedException {
+		long start = System.currentTimeMillis();
+		while (response.getExecutionState() != state && System.currentTimeMillis() - start < 5000) {
+			Thread.sleep(10);
+		}
+		assertEquals(state, response.getExecutionState());
+	}
+}
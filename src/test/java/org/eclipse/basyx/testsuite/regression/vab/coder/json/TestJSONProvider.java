@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.coder.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.basyx.vab.coder.json.metaprotocol.Result;
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.coder.json.serialization.DefaultTypeFactory;
+import org.eclipse.basyx.vab.coder.json.serialization.GSONTools;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.junit.Test;
+
+/**
+ * Tests the responses of the JSONProvider
+ * 
+ * @author agent
+ *
+ */
+public class TestJSONProvider {
+
+	/**
+	 * A value that fails to serialize after a large part of it has already been
+	 * written must not leave a partial body in front of the exception
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void failingSerializationSendsOnlyException() {
+		char[] large = new char[64 * 1024];
+		Arrays.fill(large, 'a');
+
+		Map<String, Object> model = new LinkedHashMap<>();
+		model.put("large", new String(large));
+		model.put("unserializable", new Object());
+
+		JSONProvider<VABMapProvider> provider = new JSONProvider<>(new VABMapProvider(model));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			provider.processBaSysGet("", out);
+			fail();
+		} catch (ProviderException e) {
+			// expected
+		}
+
+		String response = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		Map<String, Object> result = (Map<String, Object>) new GSONTools(new DefaultTypeFactory()).deserialize(response);
+		assertEquals(false, result.get(Result.SUCCESS));
+	}
+}
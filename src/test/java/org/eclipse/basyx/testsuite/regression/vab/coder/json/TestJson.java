@@ -27,11 +27,13 @@ package org.eclipse.basyx.testsuite.regression.vab.coder.json;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -357,6 +359,47 @@ public class TestJson {
 		assertEquals(expectedObj.toString(), toolWithRemoveFlagOn.serialize(expected));
 	}
 
+	/**
+	 * Tests if serializing to a stream results in the same UTF-8 encoded JSON as
+	 * serializing to a string
+	 */
+	@Test
+	public void testSerializeToStream() throws IOException {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("a", Arrays.asList(1, 2.5, "\u00e4\u20ac"));
+		map.put("b", null);
+		map.put("c", Collections.singletonMap("d", true));
+		map.put("e", new int[] { 1, 2 });
+
+		for (GSONTools gsonTools : Arrays.asList(tools, new GSONTools(new DefaultTypeFactory()))) {
+			ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+			gsonTools.serialize(map, outStream);
+			assertEquals(gsonTools.serialize(map), new String(outStream.toByteArray(), StandardCharsets.UTF_8));
+		}
+		assertEquals("{\"a\":[1,2.5,\"\u00e4\u20ac\"],\"b\":null,\"c\":{\"d\":true},\"e\":[1,2]}", tools.serialize(map));
+	}
+
+	/**
+	 * Tests if deserializing from a stream results in the same object as
+	 * deserializing from a string
+	 */
+	@Test
+	public void testDeserializeFromStream() {
+		String json = "{\"a\":[1,2.5,\"\u00e4\u20ac\",9223372036854775807],\"b\":null,\"c\":{\"d\":true},\"e\":{\"" + GSONTools.BASYXFUNCTIONTYPE + "\":\"" + GSONTools.OPERATION + "\"}}";
+		Object expected = tools.deserialize(json);
+		assertEquals(expected, tools.deserialize(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("a", Arrays.asList(1, 2.5, "\u00e4\u20ac", Long.MAX_VALUE));
+		map.put("b", null);
+		map.put("c", Collections.singletonMap("d", true));
+		map.put("e", GSONTools.BASYXINVOCABLE);
+		assertEquals(map, expected);
+
+		// Empty input is deserialized to null
+		assertEquals(null, tools.deserialize(new ByteArrayInputStream(new byte[0])));
+	}
+
 	/**
 	 * Tests for an arbitrary primitive object if it is deserialized correctly
 	 * 
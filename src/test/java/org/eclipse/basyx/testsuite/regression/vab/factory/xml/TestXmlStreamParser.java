@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.factory.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.eclipse.basyx.vab.factory.xml.XmlParser;
+import org.eclipse.basyx.vab.factory.xml.XmlStreamParser;
+import org.junit.Test;
+
+/**
+ * Checks that {@link XmlStreamParser} creates the same Map structure as
+ * {@link XmlParser}
+ * 
+ * @author agent
+ *
+ */
+public class TestXmlStreamParser {
+
+	@Test
+	public void genericXml() throws Exception {
+		assertSameMap(TestXmlParser.xmlTestContent);
+	}
+
+	@Test
+	public void textWithAttributesAndEmptyElements() throws Exception {
+		assertSameMap("<root xmlns:a=\"urn:a\"><a:text a:attr=\" x \"> some text </a:text><empty/><emptyAttr b=\"1\"></emptyAttr><escaped>&lt;&amp;&gt;</escaped></root>");
+	}
+
+	/**
+	 * In contrast to XmlParser, CDATA sections are treated as text
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void cdataIsText() throws Exception {
+		Map<String, Object> map = buildStreamMap("<root><cdata><![CDATA[<raw>]]></cdata></root>");
+		assertEquals("<raw>", ((Map<String, Object>) map.get("root")).get("cdata"));
+	}
+
+	@Test
+	public void aasEnvironments() throws Exception {
+		assertSameMapForFile("src/test/resources/aas/factory/xml/in.xml");
+		assertSameMapForFile("src/test/resources/aas/factory/xml/inExternalAllowed.xml");
+		assertSameMapForFile("src/test/resources/aas/factory/xml/inWorkarounds.xml");
+	}
+
+	private void assertSameMapForFile(String path) throws Exception {
+		assertSameMap(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8));
+	}
+
+	private void assertSameMap(String xml) throws Exception {
+		assertEquals(XmlParser.buildXmlMap(xml), buildStreamMap(xml));
+	}
+
+	private Map<String, Object> buildStreamMap(String xml) throws Exception {
+		try (InputStream stream = new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))) {
+			return XmlStreamParser.buildXmlMap(stream);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.basyx.vab.exception.provider.ResourceNotFoundException;
+import org.eclipse.basyx.vab.protocol.api.ConcurrentRemoteRetriever;
+import org.eclipse.basyx.vab.protocol.api.ConcurrentRemoteRetriever.Result;
+import org.junit.Test;
+
+/**
+ * Tests the concurrent retrieval of remote elements
+ * 
+ * @author agent
+ *
+ */
+public class TestConcurrentRemoteRetriever {
+	private static final List<String> ENDPOINTS = Arrays.asList("http://a:4001/aas/submodels/1", "http://b:4001/aas/submodels/2", "http://a:4001/aas/submodels/3", "http://c:4001/aas/submodels/4");
+
+	@Test
+	public void retrievalsRunConcurrently() {
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(4);
+		long start = System.currentTimeMillis();
+		Result<String, String> result = retriever.retrieve(ENDPOINTS, e -> e, e -> {
+			sleep(300);
+			return e.substring(e.length() - 1);
+		});
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue(result.isComplete());
+		assertTrue("Retrieval took " + duration + "ms", duration < 4 * 300);
+		// The order of the requested keys is kept
+		assertArrayEquals(new String[] { "1", "2", "3", "4" }, result.getValues().values().toArray());
+	}
+
+	@Test
+	public void failuresArePartial() {
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(2);
+		Result<String, String> result = retriever.retrieve(ENDPOINTS, e -> e, e -> {
+			if (e.startsWith("http://b")) {
+				throw new ResourceNotFoundException("Not found");
+			}
+			return e;
+		});
+
+		assertFalse(result.isComplete());
+		assertEquals(3, result.getValues().size());
+		assertTrue(result.getFailures().get(ENDPOINTS.get(1)) instanceof ResourceNotFoundException);
+	}
+
+	@Test
+	public void timeoutPerRetrieval() {
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(4);
+		retriever.setTimeout(200);
+		Result<String, String> result = retriever.retrieve(ENDPOINTS, e -> e, e -> {
+			if (e.startsWith("http://c")) {
+				sleep(5000);
+			}
+			return e;
+		});
+
+		assertEquals(3, result.getValues().size());
+		assertTrue(result.getFailures().get(ENDPOINTS.get(3)) instanceof TimeoutException);
+	}
+
+	@Test
+	public void timeoutStartsWithExecution() {
+		// With a single thread, the retrievals are queued behind each other
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(1);
+		retriever.setTimeout(250);
+		Result<String, String> result = retriever.retrieve(ENDPOINTS, e -> e, e -> {
+			sleep(100);
+			return e;
+		});
+		assertTrue(result.isComplete());
+	}
+
+	@Test
+	public void overallTimeoutCoversQueuedRetrievals() {
+		// With a single thread, the retrievals queued behind the hanging one would
+		// wait for its whole timeout
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(1);
+		retriever.setTimeout(3000);
+		retriever.setOverallTimeout(500);
+		long start = System.currentTimeMillis();
+		Result<String, String> result = retriever.retrieve(ENDPOINTS, e -> e, e -> {
+			sleep(e.startsWith("http://b") ? 10000 : 100);
+			return e;
+		});
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue("Retrieval took " + duration + "ms", duration < 2000);
+		assertEquals(ENDPOINTS.get(0), result.getValues().get(ENDPOINTS.get(0)));
+		assertTrue(result.getFailures().get(ENDPOINTS.get(1)) instanceof TimeoutException);
+		assertTrue(result.getFailures().get(ENDPOINTS.get(2)) instanceof TimeoutException);
+	}
+
+	@Test
+	public void nestedRetrieval() {
+		ConcurrentRemoteRetriever retriever = new ConcurrentRemoteRetriever(1);
+		Result<String, Integer> result = retriever.retrieve(ENDPOINTS, e -> e, e -> retriever.retrieve(ENDPOINTS, n -> n, n -> n).getValues().size());
+		assertTrue(result.isComplete());
+		assertEquals(4, (int) result.getValues().get(ENDPOINTS.get(0)));
+	}
+
+	@Test
+	public void getServer() {
+		assertEquals("http://localhost:4001", ConcurrentRemoteRetriever.getServer("http://localhost:4001/aasServer/shells/a/aas"));
+		assertEquals("basyx://localhost:6998", ConcurrentRemoteRetriever.getServer("basyx://localhost:6998"));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
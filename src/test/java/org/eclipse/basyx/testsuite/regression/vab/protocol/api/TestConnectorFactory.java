@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.api.ConnectorFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the connector cache of the ConnectorFactory
+ * 
+ * @author agent
+ *
+ */
+public class TestConnectorFactory {
+	private AtomicInteger created;
+	private ConnectorFactory factory;
+
+	@Before
+	public void build() {
+		created = new AtomicInteger();
+		factory = new ConnectorFactory() {
+			@Override
+			protected IModelProvider createProvider(String addr) {
+				created.incrementAndGet();
+				return new VABMapProvider(new HashMap<>());
+			}
+		};
+	}
+
+	@Test
+	public void connectorIsReused() {
+		IModelProvider first = factory.getConnector("http://localhost:4001/a");
+		IModelProvider second = factory.getConnector("http://localhost:4001/a");
+		assertSame(first, second);
+		assertEquals(1, created.get());
+
+		factory.getConnector("http://localhost:4001/b");
+		assertEquals(2, created.get());
+		assertEquals(2, factory.getCachedConnectorCount());
+	}
+
+	@Test
+	public void leastRecentlyUsedConnectorIsEvicted() throws InterruptedException {
+		factory.setMaxCachedConnectors(2);
+		IModelProvider a = factory.getConnector("a");
+		Thread.sleep(2);
+		factory.getConnector("b");
+		Thread.sleep(2);
+		// Access a again, so that b is the least recently used connector
+		factory.getConnector("a");
+		Thread.sleep(2);
+		factory.getConnector("c");
+
+		assertEquals(2, factory.getCachedConnectorCount());
+		assertSame(a, factory.getConnector("a"));
+		assertEquals(3, created.get());
+
+		factory.getConnector("b");
+		assertEquals(4, created.get());
+	}
+
+	@Test
+	public void idleConnectorIsEvicted() throws InterruptedException {
+		factory.setIdleTimeout(20);
+		IModelProvider a = factory.getConnector("a");
+		Thread.sleep(50);
+		factory.getConnector("b");
+
+		assertEquals(1, factory.getCachedConnectorCount());
+		assertNotSame(a, factory.getConnector("a"));
+		assertEquals(3, created.get());
+	}
+
+	@Test
+	public void clearCache() {
+		IModelProvider a = factory.getConnector("a");
+		factory.clearCache();
+		assertEquals(0, factory.getCachedConnectorCount());
+		assertNotSame(a, factory.getConnector("a"));
+	}
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.vab.coder.json.provider.JSONProvider;
+import org.eclipse.basyx.vab.exception.provider.ProviderException;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.basyx.CoderTools;
+import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnectorFactory;
+import org.eclipse.basyx.vab.protocol.basyx.connector.PipelinedBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxFrameProcessor;
+import org.eclipse.basyx.vab.protocol.basyx.server.VABBaSyxTCPInterface;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the pipelined BaSyx connector against a server that does not support
+ * request ids
+ * 
+ * @author agent
+ *
+ */
+public class TestPipelinedBaSyxConnectorLegacyServer {
+	/**
+	 * Path the legacy server never answers
+	 */
+	private static final String LOST_RESPONSE_PATH = "lost";
+
+	private LegacyServer server;
+
+	@Before
+	public void startServer() throws IOException {
+		server = new LegacyServer();
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		server.close();
+	}
+
+	/**
+	 * Tests that responses are correlated by their order if the server does not
+	 * support request ids
+	 */
+	@Test
+	public void fallbackWithoutRequestIds() throws Exception {
+		PipelinedBaSyxConnector connector = new PipelinedBaSyxConnector("localhost", server.getPort(), 2);
+		try {
+			List<CompletableFuture<String>> results = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String path = i % 2 == 0 ? "primitives/integer" : "primitives/string";
+				results.add(connector.getValueAsync(path));
+			}
+
+			for (int i = 0; i < results.size(); i++) {
+				String expected = i % 2 == 0 ? "123" : "\"TestValue\"";
+				assertEquals(expected, results.get(i).get());
+			}
+		} finally {
+			connector.close();
+		}
+	}
+
+	/**
+	 * Tests that a lost response fails the request after the response timeout and
+	 * that the connector recovers afterwards
+	 */
+	@Test
+	public void lostResponseTimesOut() {
+		PipelinedBaSyxConnector connector = new PipelinedBaSyxConnector("localhost", server.getPort(), 1);
+		connector.setResponseTimeout(200);
+		try {
+			try {
+				connector.getValue(LOST_RESPONSE_PATH);
+				fail();
+			} catch (ProviderException e) {
+				// expected
+			}
+
+			assertEquals("123", connector.getValue("primitives/integer"));
+		} finally {
+			connector.close();
+		}
+	}
+
+	/**
+	 * Tests that closing the factory closes the sockets of its pipelined
+	 * connectors
+	 */
+	@Test
+	public void factoryCloseClosesConnectors() throws Exception {
+		BaSyxConnectorFactory factory = new BaSyxConnectorFactory(1);
+		IModelProvider provider = factory.getConnector("basyx://localhost:" + server.getPort() + "/primitives");
+		assertEquals(123, provider.getValue("integer"));
+		assertEquals(1, server.getOpenConnections());
+
+		factory.close();
+		awaitOpenConnections(server, 0);
+	}
+
+	/**
+	 * Tests that the sockets of a pipelined connector are closed once no address
+	 * of its endpoint is cached anymore
+	 */
+	@Test
+	public void evictionClosesConnectors() throws Exception {
+		BaSyxConnectorFactory factory = new BaSyxConnectorFactory(1);
+		factory.setMaxCachedConnectors(1);
+		try (LegacyServer otherServer = new LegacyServer()) {
+			assertEquals(123, factory.getConnector("basyx://localhost:" + server.getPort() + "/primitives").getValue("integer"));
+			assertEquals(123, factory.getConnector("basyx://localhost:" + otherServer.getPort() + "/primitives").getValue("integer"));
+
+			awaitOpenConnections(server, 0);
+			assertEquals(1, otherServer.getOpenConnections());
+		} finally {
+			factory.close();
+		}
+	}
+
+	private void awaitOpenConnections(LegacyServer legacyServer, int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (legacyServer.getOpenConnections() != expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, legacyServer.getOpenConnections());
+	}
+
+	/**
+	 * Answers GET frames in order without request ids, as servers did before
+	 * request ids were introduced. The capability request is answered like any
+	 * other unknown path.
+	 */
+	private static class LegacyServer implements Closeable {
+		private final ServerSocket serverSocket = new ServerSocket(0);
+		private final JSONProvider<IModelProvider> provider = new JSONProvider<>(new VABMapProvider(new SimpleVABElement()));
+		private final AtomicInteger openConnections = new AtomicInteger();
+
+		public LegacyServer() throws IOException {
+			Thread acceptor = new Thread(this::accept);
+			acceptor.setDaemon(true);
+			acceptor.start();
+		}
+
+		public int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		public int getOpenConnections() {
+			return openConnections.get();
+		}
+
+		@Override
+		public void close() throws IOException {
+			serverSocket.close();
+		}
+
+		private void accept() {
+			try {
+				while (true) {
+					Socket socket = serverSocket.accept();
+					openConnections.incrementAndGet();
+					Thread handler = new Thread(() -> handle(socket));
+					handler.setDaemon(true);
+					handler.start();
+				}
+			} catch (IOException e) {
+				// Server closed
+			}
+		}
+
+		private void handle(Socket socket) {
+			try (Socket s = socket) {
+				DataInputStream input = new DataInputStream(s.getInputStream());
+				OutputStream output = s.getOutputStream();
+				byte[] header = new byte[4];
+				while (true) {
+					input.readFully(header);
+					byte[] frame = new byte[CoderTools.getInt32(header, 0)];
+					input.readFully(frame);
+
+					int pathLen = CoderTools.getInt32(frame, 1);
+					String path = new String(frame, 1 + 4, pathLen);
+					if (frame[0] != VABBaSyxTCPInterface.BASYX_GET || path.equals(LOST_RESPONSE_PATH)) {
+						continue;
+					}
+
+					ByteArrayOutputStream result = new ByteArrayOutputStream();
+					try {
+						provider.processBaSysGet(path, result);
+					} catch (ProviderException e) {
+						// Exception is encoded in the result
+					}
+					ByteBuffer response = BaSyxFrameProcessor.createResponseFrame(result.toByteArray(), VABBaSyxTCPInterface.BASYX_RESULT_OK);
+					output.write(response.array(), 0, response.limit());
+				}
+			} catch (IOException e) {
+				// Connection closed by the client
+			} finally {
+				openConnections.decrementAndGet();
+			}
+		}
+	}
+}
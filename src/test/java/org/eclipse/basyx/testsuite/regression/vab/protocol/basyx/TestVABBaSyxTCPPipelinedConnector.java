@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (C) 2023 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.SimpleVABElement;
+import org.eclipse.basyx.testsuite.regression.vab.modelprovider.TestProvider;
+import org.eclipse.basyx.vab.manager.VABConnectionManager;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.map.VABMapProvider;
+import org.eclipse.basyx.vab.protocol.basyx.connector.BaSyxConnectorFactory;
+import org.eclipse.basyx.vab.protocol.basyx.connector.PipelinedBaSyxConnector;
+import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxTCPSelectorServer;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Test VAB using the pipelined BaSyx connector against the selector based
+ * server. This is an integration test
+ * 
+ * @author agent
+ *
+ */
+public class TestVABBaSyxTCPPipelinedConnector extends TestProvider {
+	protected VABConnectionManager connManager = new VABConnectionManager(new TestsuiteDirectory_BaSyxNative(), new BaSyxConnectorFactory(2));
+
+	@Rule
+	public VABTCPServerResource res = new VABTCPServerResource(() -> new BaSyxTCPSelectorServer<IModelProvider>(new VABMapProvider(new SimpleVABElement()), 6998, 2, 4, 1024));
+
+	@Override
+	protected VABConnectionManager getConnectionManager() {
+		return connManager;
+	}
+
+	/**
+	 * Tests that many requests in flight are correlated to the correct responses
+	 */
+	@Test
+	public void testAsyncRequestsInFlight() throws Exception {
+		PipelinedBaSyxConnector connector = new PipelinedBaSyxConnector("localhost", 6998, 2);
+		try {
+			List<CompletableFuture<String>> results = new ArrayList<>();
+			for (int i = 0; i < 500; i++) {
+				String path = i % 2 == 0 ? "primitives/integer" : "primitives/string";
+				results.add(connector.getValueAsync(path));
+			}
+
+			for (int i = 0; i < results.size(); i++) {
+				String expected = i % 2 == 0 ? "123" : "\"TestValue\"";
+				assertEquals(expected, results.get(i).get());
+			}
+		} finally {
+			connector.close();
+		}
+	}
+}
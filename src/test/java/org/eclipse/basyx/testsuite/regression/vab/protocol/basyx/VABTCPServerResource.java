@@ -24,8 +24,11 @@
  ******************************************************************************/
 package org.eclipse.basyx.testsuite.regression.vab.protocol.basyx;
 
+import java.util.function.Supplier;
+
 import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
 import org.eclipse.basyx.vab.protocol.basyx.server.BaSyxTCPServer;
+import org.eclipse.basyx.vab.service.api.BaSyxService;
 import org.junit.rules.ExternalResource;
 
 /**
@@ -37,19 +40,28 @@ import org.junit.rules.ExternalResource;
  *
  */
 public class VABTCPServerResource extends ExternalResource {
-	private IModelProvider provider;
-	private BaSyxTCPServer<IModelProvider> server;
+	private Supplier<BaSyxService> serverSupplier;
+	private BaSyxService server;
 
 	/**
-	 * Constructor taking the provider of the requested server resource
+	 * Constructor taking the provider of the requested server resource. Uses the
+	 * thread-per-connection server.
 	 */
 	public VABTCPServerResource(IModelProvider provider) {
-		this.provider = provider;
+		this(() -> new BaSyxTCPServer<IModelProvider>(provider));
+	}
+
+	/**
+	 * Constructor taking a supplier for the server, e.g. to test different server
+	 * modes
+	 */
+	public VABTCPServerResource(Supplier<BaSyxService> serverSupplier) {
+		this.serverSupplier = serverSupplier;
 	}
 
 	@Override
 	protected void before() {
-		server = new BaSyxTCPServer<IModelProvider>(provider);
+		server = serverSupplier.get();
 		server.start();
 	}
 
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.protocol.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.basyx.submodel.metamodel.api.identifier.IdentifierType;
+import org.eclipse.basyx.submodel.metamodel.map.Submodel;
+import org.eclipse.basyx.submodel.metamodel.map.identifier.Identifier;
+import org.eclipse.basyx.submodel.metamodel.map.submodelelement.dataelement.property.Property;
+import org.eclipse.basyx.submodel.restapi.SubmodelProvider;
+import org.eclipse.basyx.submodel.restapi.observing.ObservableSubmodelAPI;
+import org.eclipse.basyx.submodel.restapi.vab.VABSubmodelAPI;
+import org.eclipse.basyx.vab.modelprovider.api.IModelProvider;
+import org.eclipse.basyx.vab.modelprovider.lambda.VABLambdaProvider;
+import org.eclipse.basyx.vab.protocol.http.connector.HTTPConnector;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxContext;
+import org.eclipse.basyx.vab.protocol.http.server.BaSyxHTTPServer;
+import org.eclipse.basyx.vab.protocol.http.server.HTTPResponseCache;
+import org.eclipse.basyx.vab.protocol.http.server.VABHTTPInterface;
+import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests conditional GET requests and the response cache of the
+ * VABHTTPInterface
+ * 
+ * @author agent
+ *
+ */
+public class TestHttpResponseCache {
+	private static final String CONTEXT_PATH = "/submodelServer";
+	private static final String DOCBASE_PATH = System.getProperty("java.io.tmpdir");
+	private static final String HOSTNAME = "localhost";
+	private static final int PORT = 4001;
+
+	private static final String ENDPOINT = "http://" + HOSTNAME + ":" + PORT + CONTEXT_PATH + "/sm";
+	private static final String PROPERTY_PATH = "/submodel/submodelElements/prop/value";
+	private static final String PROPERTY_URL = ENDPOINT + PROPERTY_PATH;
+
+	private BaSyxHTTPServer server;
+	private ObservableSubmodelAPI submodelAPI;
+	private VABHTTPInterface<IModelProvider> servlet;
+	private Client client;
+
+	@Before
+	public void startServer() {
+		Submodel submodel = new Submodel("sm", new Identifier(IdentifierType.CUSTOM, "sm"));
+		submodel.addSubmodelElement(new Property("prop", 1));
+		submodelAPI = new ObservableSubmodelAPI(new VABSubmodelAPI(new VABLambdaProvider(submodel)));
+
+		servlet = new VABHTTPInterface<>(new SubmodelProvider(submodelAPI));
+		servlet.setResponseCache(new HTTPResponseCache());
+
+		BaSyxContext context = new BaSyxContext(CONTEXT_PATH, DOCBASE_PATH, HOSTNAME, PORT);
+		context.addServletMapping("/sm/*", servlet);
+		server = new BaSyxHTTPServer(context);
+		server.start();
+
+		client = new JerseyClientBuilder().build();
+	}
+
+	@After
+	public void stopServer() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	public void unchangedResourceIsNotModified() {
+		Response first = get(null);
+		String etag = first.getHeaderString(HttpHeaders.ETAG);
+		assertEquals(200, first.getStatus());
+		assertNotNull(etag);
+		assertEquals("1", first.readEntity(String.class));
+
+		Response second = get(etag);
+		assertEquals(304, second.getStatus());
+		assertEquals(etag, second.getHeaderString(HttpHeaders.ETAG));
+		second.close();
+	}
+
+	@Test
+	public void changedResourceIsSentAgain() {
+		Response first = get(null);
+		String etag = first.getHeaderString(HttpHeaders.ETAG);
+		first.close();
+
+		submodelAPI.updateSubmodelElement("prop", 2);
+
+		Response second = get(etag);
+		assertEquals(200, second.getStatus());
+		assertNotEquals(etag, second.getHeaderString(HttpHeaders.ETAG));
+		assertEquals("2", second.readEntity(String.class));
+	}
+
+	@Test
+	public void authorizedRequestIsNotCached() {
+		Builder request = client.target(PROPERTY_URL).request();
+		request.accept(MediaType.APPLICATION_JSON);
+		request.header(HttpHeaders.AUTHORIZATION, "Bearer token");
+		Response response = request.get();
+
+		assertEquals(200, response.getStatus());
+		assertNull(response.getHeaderString(HttpHeaders.ETAG));
+		response.close();
+	}
+
+	@Test
+	public void disabledCacheSendsNoETag() {
+		servlet.setResponseCache(null);
+
+		Response response = get(null);
+		assertEquals(200, response.getStatus());
+		assertNull(response.getHeaderString(HttpHeaders.ETAG));
+		response.close();
+	}
+
+	@Test
+	public void connectorReusesCachedBody() {
+		HTTPConnector connector = new HTTPConnector(ENDPOINT);
+		assertEquals("1", connector.getValue(PROPERTY_PATH));
+		assertEquals("1", connector.getValue(PROPERTY_PATH));
+		assertEquals(1, servlet.getResponseCache().size());
+
+		submodelAPI.updateSubmodelElement("prop", 2);
+		assertEquals("2", connector.getValue(PROPERTY_PATH));
+	}
+
+	@Test
+	public void matchIfNoneMatch() {
+		String etag = "\"abc-1\"";
+		assertTrue(HTTPResponseCache.matches(etag, etag));
+		assertTrue(HTTPResponseCache.matches("W/" + etag, etag));
+		assertTrue(HTTPResponseCache.matches("\"other\", " + etag, etag));
+		assertTrue(HTTPResponseCache.matches("*", etag));
+		assertFalse(HTTPResponseCache.matches("\"abc-2\"", etag));
+		assertFalse(HTTPResponseCache.matches(null, etag));
+	}
+
+	private Response get(String ifNoneMatch) {
+		Builder request = client.target(PROPERTY_URL).request();
+		request.accept(MediaType.APPLICATION_JSON);
+		if (ifNoneMatch != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		return request.get();
+	}
+}
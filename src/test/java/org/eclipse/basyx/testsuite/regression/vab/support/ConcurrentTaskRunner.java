@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Helper for stress tests that runs a task on several threads at the same time
+ * and propagates the first failure to the test
+ * 
+ * @author agent
+ *
+ */
+public class ConcurrentTaskRunner {
+	private static final long TIMEOUT_SECONDS = 60;
+
+	/**
+	 * Runs the task once on each thread. All threads are released at the same
+	 * time to maximize contention. The task receives the index of its thread.
+	 * 
+	 * @param threadCount
+	 * @param task
+	 * @throws Exception
+	 *             the first exception thrown by a task in order of the threads
+	 */
+	public static void runConcurrently(int threadCount, IntConsumer task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < threadCount; i++) {
+				int threadIndex = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					task.accept(threadIndex);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				try {
+					future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				} catch (ExecutionException e) {
+					// Rethrow the original failure, e.g. an AssertionError of the task
+					if (e.getCause() instanceof Error) {
+						throw (Error) e.getCause();
+					}
+					throw (Exception) e.getCause();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (C) 2021 the Eclipse BaSyx Authors
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ * 
+ * SPDX-License-Identifier: MIT
+ ******************************************************************************/
+package org.eclipse.basyx.testsuite.regression.vab.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.basyx.vab.support.StripedLock;
+import org.junit.Test;
+
+/**
+ * Tests the selection of lock objects of {@link StripedLock}
+ * 
+ * @author agent
+ *
+ */
+public class TestStripedLock {
+
+	@Test
+	public void stripeCountIsRoundedToPowerOfTwo() {
+		assertEquals(1, new StripedLock(1).getStripeCount());
+		assertEquals(64, new StripedLock(50).getStripeCount());
+		assertEquals(64, new StripedLock(64).getStripeCount());
+	}
+
+	@Test
+	public void sameKeyUsesSameLock() {
+		StripedLock locks = new StripedLock();
+		assertSame(locks.get("key"), locks.get(new String("key")));
+		assertSame(locks.get(null), locks.get(null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidStripeCount() {
+		new StripedLock(0);
+	}
+}